@@ -0,0 +1,87 @@
+package com.j256.ormlite.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Information about an entity class annotated with @DatabaseTable that was found by the {@link TableConfigProcessor}.
+ *
+ * @author graywatson
+ */
+class EntityInfo {
+
+	private final TypeElement element;
+	private final String packageName;
+	private final String className;
+	private final String configSimpleName;
+	private final String tableName;
+	private final boolean constructorAccessible;
+	private final List<FieldInfo> fields = new ArrayList<FieldInfo>();
+
+	public EntityInfo(TypeElement element, String packageName, String configSimpleName, String tableName,
+			boolean constructorAccessible) {
+		this.element = element;
+		this.packageName = packageName;
+		this.className = element.getQualifiedName().toString();
+		this.configSimpleName = configSimpleName;
+		this.tableName = tableName;
+		this.constructorAccessible = constructorAccessible;
+	}
+
+	public TypeElement getElement() {
+		return element;
+	}
+
+	/**
+	 * Package of the entity which is where the generated configuration is written or "" if the default package.
+	 */
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Canonical name of the entity class which can be used in generated source.
+	 */
+	public String getClassName() {
+		return className;
+	}
+
+	/**
+	 * Simple name of the generated table configuration class such as Foo_TableConfig.
+	 */
+	public String getConfigSimpleName() {
+		return configSimpleName;
+	}
+
+	/**
+	 * Fully qualified name of the generated table configuration class.
+	 */
+	public String getConfigClassName() {
+		if (packageName.length() == 0) {
+			return configSimpleName;
+		} else {
+			return packageName + "." + configSimpleName;
+		}
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * Whether or not the generated code can call the no-arg constructor directly.
+	 */
+	public boolean isConstructorAccessible() {
+		return constructorAccessible;
+	}
+
+	public void addField(FieldInfo fieldInfo) {
+		fields.add(fieldInfo);
+	}
+
+	public List<FieldInfo> getFields() {
+		return fields;
+	}
+}
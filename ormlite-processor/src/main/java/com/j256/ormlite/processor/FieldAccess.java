@@ -0,0 +1,65 @@
+package com.j256.ormlite.processor;
+
+/**
+ * How the generated code can get and set a field without reflection. All of the names are canonical and can be used
+ * directly in the generated source.
+ *
+ * @author graywatson
+ */
+class FieldAccess {
+
+	private final String ownerClassName;
+	private final String fieldClassName;
+	private final String valueClassName;
+	private final String getMethodName;
+	private final String setMethodName;
+	private final String foreignCollectionClassName;
+
+	/**
+	 * @param ownerClassName
+	 *            Class that the object is cast to before the field or methods are accessed.
+	 * @param fieldClassName
+	 *            Erasure of the field's type such as "int" or "java.util.List".
+	 * @param valueClassName
+	 *            Class that the value is cast to before it is set which is the boxed class for primitives.
+	 * @param getMethodName
+	 *            Name of the get method or null to access the field directly.
+	 * @param setMethodName
+	 *            Name of the set method or null to access the field directly.
+	 * @param foreignCollectionClassName
+	 *            Generic argument of the collection if a foreign collection otherwise null.
+	 */
+	public FieldAccess(String ownerClassName, String fieldClassName, String valueClassName, String getMethodName,
+			String setMethodName, String foreignCollectionClassName) {
+		this.ownerClassName = ownerClassName;
+		this.fieldClassName = fieldClassName;
+		this.valueClassName = valueClassName;
+		this.getMethodName = getMethodName;
+		this.setMethodName = setMethodName;
+		this.foreignCollectionClassName = foreignCollectionClassName;
+	}
+
+	public String getOwnerClassName() {
+		return ownerClassName;
+	}
+
+	public String getFieldClassName() {
+		return fieldClassName;
+	}
+
+	public String getValueClassName() {
+		return valueClassName;
+	}
+
+	public String getGetMethodName() {
+		return getMethodName;
+	}
+
+	public String getSetMethodName() {
+		return setMethodName;
+	}
+
+	public String getForeignCollectionClassName() {
+		return foreignCollectionClassName;
+	}
+}
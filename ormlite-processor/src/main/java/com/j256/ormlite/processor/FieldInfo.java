@@ -0,0 +1,84 @@
+package com.j256.ormlite.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.VariableElement;
+
+/**
+ * Information about a persisted field that was found by the {@link TableConfigProcessor}.
+ *
+ * @author graywatson
+ */
+class FieldInfo {
+
+	private final VariableElement element;
+	private final String fieldName;
+	private final String declaringClassName;
+	private final List<String> configSetters = new ArrayList<String>();
+	private boolean useGetSet;
+	private boolean foreignCollection;
+	private FieldAccess access;
+
+	public FieldInfo(VariableElement element, String declaringClassName) {
+		this.element = element;
+		this.fieldName = element.getSimpleName().toString();
+		this.declaringClassName = declaringClassName;
+	}
+
+	public VariableElement getElement() {
+		return element;
+	}
+
+	/**
+	 * Name of the field in the class.
+	 */
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * Canonical name of the class that declares the field which may be a super-class of the entity.
+	 */
+	public String getDeclaringClassName() {
+		return declaringClassName;
+	}
+
+	/**
+	 * Add a setter call to be made on the generated DatabaseFieldConfig such as "setCanBeNull(false)".
+	 */
+	public void addConfigSetter(String setter) {
+		configSetters.add(setter);
+	}
+
+	public List<String> getConfigSetters() {
+		return configSetters;
+	}
+
+	public boolean isUseGetSet() {
+		return useGetSet;
+	}
+
+	public void setUseGetSet(boolean useGetSet) {
+		this.useGetSet = useGetSet;
+	}
+
+	public boolean isForeignCollection() {
+		return foreignCollection;
+	}
+
+	public void setForeignCollection(boolean foreignCollection) {
+		this.foreignCollection = foreignCollection;
+	}
+
+	/**
+	 * How the generated code gets and sets the field or null if it has to go through reflection.
+	 */
+	public FieldAccess getAccess() {
+		return access;
+	}
+
+	public void setAccess(FieldAccess access) {
+		this.access = access;
+	}
+}
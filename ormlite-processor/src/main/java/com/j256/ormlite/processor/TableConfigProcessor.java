@@ -0,0 +1,572 @@
+package com.j256.ormlite.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+import com.j256.ormlite.fast.BaseTableConfig;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.field.types.VoidType;
+import com.j256.ormlite.table.DatabaseTable;
+
+/**
+ * Annotation processor which reads the {@link DatabaseTable} and {@link DatabaseField} annotations at compile time and
+ * generates a {@link com.j256.ormlite.fast.BaseTableConfig} subclass for each entity. The generated configuration
+ * builds its field configs in code, creates its field types through {@link com.j256.ormlite.fast.FieldTypeFactory}s,
+ * and creates entities through a {@link com.j256.ormlite.fast.BaseFastTableInfo} that calls the constructor directly.
+ * Fields that the generated code can reach are read and written through a generated
+ * {@link com.j256.ormlite.fast.FieldAccessor}, the others still go through reflection.
+ *
+ * <p>
+ * A registry class (by default OrmLiteTableConfigs in the package of the first entity) is also generated. Calling its
+ * register() method at startup adds all of the configurations to the {@link com.j256.ormlite.dao.DaoManager} so the
+ * DAOs are built without scanning the classes with reflection. The registry class name can be changed with the
+ * -Aormlite.tableConfigsClass=com.example.MyConfigs compiler option.
+ * </p>
+ *
+ * @author graywatson
+ */
+@SupportedAnnotationTypes("com.j256.ormlite.table.DatabaseTable")
+@SupportedOptions(TableConfigProcessor.OPTION_TABLE_CONFIGS_CLASS)
+public class TableConfigProcessor extends AbstractProcessor {
+
+	/** compiler option to set the fully qualified name of the generated registry class */
+	public static final String OPTION_TABLE_CONFIGS_CLASS = "ormlite.tableConfigsClass";
+	/** simple name of the registry class if the option is not set */
+	public static final String DEFAULT_TABLE_CONFIGS_NAME = "OrmLiteTableConfigs";
+	/** suffix added to the entity name to make the generated table configuration class name */
+	public static final String TABLE_CONFIG_SUFFIX = BaseTableConfig.GENERATED_CONFIG_SUFFIX;
+
+	/** javax.persistence annotations which make JavaxPersistenceImpl configure a field */
+	private static final Set<String> JAVAX_PERSISTENCE_FIELD_ANNOTATIONS = new HashSet<String>(Arrays.asList(
+			"javax.persistence.Column", "javax.persistence.Basic", "javax.persistence.Id",
+			"javax.persistence.OneToOne", "javax.persistence.ManyToOne", "javax.persistence.Enumerated",
+			"javax.persistence.Version"));
+
+	private Messager messager;
+	private Set<String> generatedConfigs = new HashSet<String>();
+	private boolean registryWritten;
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		this.messager = processingEnv.getMessager();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		List<EntityInfo> entities = new ArrayList<EntityInfo>();
+		for (Element element : roundEnv.getElementsAnnotatedWith(DatabaseTable.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				continue;
+			}
+			EntityInfo entityInfo = processEntity((TypeElement) element);
+			if (entityInfo != null && generatedConfigs.add(entityInfo.getConfigClassName())) {
+				entities.add(entityInfo);
+			}
+		}
+		if (entities.isEmpty()) {
+			return false;
+		}
+		// sort them so the generated registry is stable from build to build
+		Collections.sort(entities, new Comparator<EntityInfo>() {
+			@Override
+			public int compare(EntityInfo entity1, EntityInfo entity2) {
+				return entity1.getClassName().compareTo(entity2.getClassName());
+			}
+		});
+		TableConfigWriter writer = new TableConfigWriter();
+		for (EntityInfo entityInfo : entities) {
+			writeSource(entityInfo.getConfigClassName(), writer.writeTableConfig(entityInfo), entityInfo.getElement());
+		}
+		if (registryWritten) {
+			for (EntityInfo entityInfo : entities) {
+				messager.printMessage(Kind.WARNING, "Entity was generated in a later processing round so "
+						+ entityInfo.getConfigClassName() + " is not in the table-configs registry",
+						entityInfo.getElement());
+			}
+		} else {
+			String registryClassName = processingEnv.getOptions().get(OPTION_TABLE_CONFIGS_CLASS);
+			if (registryClassName == null || registryClassName.length() == 0) {
+				String packageName = entities.get(0).getPackageName();
+				if (packageName.length() == 0) {
+					registryClassName = DEFAULT_TABLE_CONFIGS_NAME;
+				} else {
+					registryClassName = packageName + "." + DEFAULT_TABLE_CONFIGS_NAME;
+				}
+			}
+			writeSource(registryClassName, writer.writeRegistry(registryClassName, entities), null);
+			registryWritten = true;
+		}
+		// we don't claim the annotations, other processors may want them as well
+		return false;
+	}
+
+	/**
+	 * Extract the information about an entity class or return null if we can't generate a configuration for it.
+	 */
+	private EntityInfo processEntity(TypeElement typeElement) {
+		if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+			// abstract classes are often used as base classes and can't be instantiated
+			return null;
+		}
+		if (!typeElement.getTypeParameters().isEmpty()) {
+			warning("Skipping generic entity class", typeElement);
+			return null;
+		}
+		// walk up through the enclosing classes to build our name and make sure we can reference the class
+		StringBuilder configName = new StringBuilder();
+		for (Element walk = typeElement; walk.getKind() != ElementKind.PACKAGE; walk = walk.getEnclosingElement()) {
+			if (walk.getModifiers().contains(Modifier.PRIVATE)) {
+				warning("Skipping private entity class which cannot be referenced from generated code", typeElement);
+				return null;
+			}
+			if (walk instanceof TypeElement && ((TypeElement) walk).getNestingKind() == NestingKind.MEMBER
+					&& !walk.getModifiers().contains(Modifier.STATIC)) {
+				warning("Skipping inner entity class, missing static?", typeElement);
+				return null;
+			}
+			if (configName.length() > 0) {
+				configName.insert(0, '_');
+			}
+			configName.insert(0, walk.getSimpleName());
+		}
+		configName.append(TABLE_CONFIG_SUFFIX);
+
+		String packageName = packageOf(typeElement);
+
+		DatabaseTable databaseTable = typeElement.getAnnotation(DatabaseTable.class);
+		String tableName = databaseTable.tableName();
+		if (tableName == null || tableName.length() == 0) {
+			// same as DatabaseTableConfig.extractTableName(...)
+			tableName = typeElement.getSimpleName().toString().toLowerCase();
+		}
+
+		EntityInfo entityInfo = new EntityInfo(typeElement, packageName, configName.toString(), tableName,
+				hasAccessibleNoArgConstructor(typeElement));
+		// same order as DatabaseTableConfig.extractFieldTypes(...), our class first and then the super-classes
+		for (TypeElement classWalk = typeElement; classWalk != null; classWalk = superClassOf(classWalk)) {
+			String declaringClassName = classWalk.getQualifiedName().toString();
+			for (VariableElement field : ElementFilter.fieldsIn(classWalk.getEnclosedElements())) {
+				FieldInfo fieldInfo = processField(field, declaringClassName);
+				if (fieldInfo != null) {
+					fieldInfo.setAccess(findFieldAccess(typeElement, packageName, fieldInfo));
+					entityInfo.addField(fieldInfo);
+				} else if (hasJavaxPersistenceAnnotation(field)) {
+					// we would lose the field so leave the whole class to the reflection configuration
+					warning("Skipping entity class with javax.persistence field " + field.getSimpleName()
+							+ " which is only configured with reflection", typeElement);
+					return null;
+				}
+			}
+		}
+		if (entityInfo.getFields().isEmpty()) {
+			warning("No fields have a " + DatabaseField.class.getSimpleName() + " annotation", typeElement);
+			return null;
+		}
+		return entityInfo;
+	}
+
+	/**
+	 * Build our field information from the annotations. This mirrors
+	 * {@link DatabaseFieldConfig#fromDatabaseField} so we only generate the settings that differ from the defaults.
+	 */
+	private FieldInfo processField(VariableElement field, String declaringClassName) {
+		DatabaseField databaseField = field.getAnnotation(DatabaseField.class);
+		if (databaseField != null) {
+			if (!databaseField.persisted()) {
+				return null;
+			}
+			FieldInfo fieldInfo = new FieldInfo(field, declaringClassName);
+			addStringSetter(fieldInfo, "setColumnName", databaseField.columnName());
+			if (databaseField.dataType() != DatabaseFieldConfig.DEFAULT_DATA_TYPE) {
+				fieldInfo.addConfigSetter("setDataType(" + DataType.class.getName() + "."
+						+ databaseField.dataType().name() + ")");
+			}
+			if (!databaseField.defaultValue().equals(DatabaseField.DEFAULT_STRING)) {
+				fieldInfo.addConfigSetter("setDefaultValue(" + TableConfigWriter.quote(databaseField.defaultValue())
+						+ ")");
+			}
+			if (databaseField.width() != 0) {
+				fieldInfo.addConfigSetter("setWidth(" + databaseField.width() + ")");
+			}
+			if (databaseField.canBeNull() != DatabaseFieldConfig.DEFAULT_CAN_BE_NULL) {
+				fieldInfo.addConfigSetter("setCanBeNull(" + databaseField.canBeNull() + ")");
+			}
+			addBooleanSetter(fieldInfo, "setId", databaseField.id());
+			addBooleanSetter(fieldInfo, "setGeneratedId", databaseField.generatedId());
+			addStringSetter(fieldInfo, "setGeneratedIdSequence", databaseField.generatedIdSequence());
+			addBooleanSetter(fieldInfo, "setForeign", databaseField.foreign());
+			addBooleanSetter(fieldInfo, "setUseGetSet", databaseField.useGetSet());
+			fieldInfo.setUseGetSet(databaseField.useGetSet());
+			String unknownEnumName = databaseField.unknownEnumName();
+			if (unknownEnumName.length() > 0) {
+				String enumConstant = findEnumConstant(field, unknownEnumName);
+				if (enumConstant == null) {
+					return null;
+				}
+				fieldInfo.addConfigSetter("setUnknownEnumValue(" + enumConstant + ")");
+			}
+			addBooleanSetter(fieldInfo, "setThrowIfNull", databaseField.throwIfNull());
+			addStringSetter(fieldInfo, "setFormat", databaseField.format());
+			addBooleanSetter(fieldInfo, "setUnique", databaseField.unique());
+			addBooleanSetter(fieldInfo, "setUniqueCombo", databaseField.uniqueCombo());
+			addBooleanSetter(fieldInfo, "setIndex", databaseField.index());
+			addStringSetter(fieldInfo, "setIndexName", databaseField.indexName());
+			addBooleanSetter(fieldInfo, "setUniqueIndex", databaseField.uniqueIndex());
+			addStringSetter(fieldInfo, "setUniqueIndexName", databaseField.uniqueIndexName());
+			addBooleanSetter(fieldInfo, "setForeignAutoRefresh", databaseField.foreignAutoRefresh());
+			if (databaseField.foreignAutoRefresh()
+					|| databaseField.maxForeignAutoRefreshLevel() != DatabaseField.DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL) {
+				fieldInfo.addConfigSetter("setMaxForeignAutoRefreshLevel(" + databaseField.maxForeignAutoRefreshLevel()
+						+ ")");
+			}
+			String persisterClassName = persisterClassName(databaseField);
+			if (persisterClassName != null) {
+				fieldInfo.addConfigSetter("setPersisterClass(" + persisterClassName + ".class)");
+			}
+			addBooleanSetter(fieldInfo, "setAllowGeneratedIdInsert", databaseField.allowGeneratedIdInsert());
+			addStringSetter(fieldInfo, "setColumnDefinition", databaseField.columnDefinition());
+			addBooleanSetter(fieldInfo, "setForeignAutoCreate", databaseField.foreignAutoCreate());
+			addBooleanSetter(fieldInfo, "setVersion", databaseField.version());
+			addStringSetter(fieldInfo, "setForeignColumnName", databaseField.foreignColumnName());
+			addBooleanSetter(fieldInfo, "setReadOnly", databaseField.readOnly());
+			return fieldInfo;
+		}
+
+		ForeignCollectionField foreignCollection = field.getAnnotation(ForeignCollectionField.class);
+		if (foreignCollection != null) {
+			// mirrors DatabaseFieldConfig.fromForeignCollection(...)
+			FieldInfo fieldInfo = new FieldInfo(field, declaringClassName);
+			addStringSetter(fieldInfo, "setColumnName", foreignCollection.columnName());
+			fieldInfo.addConfigSetter("setForeignCollection(true)");
+			fieldInfo.setForeignCollection(true);
+			addBooleanSetter(fieldInfo, "setForeignCollectionEager", foreignCollection.eager());
+			addBooleanSetter(fieldInfo, "setForeignCollectionPrefetch", foreignCollection.prefetch());
+			if (foreignCollection.maxEagerLevel() != ForeignCollectionField.DEFAULT_MAX_EAGER_LEVEL) {
+				fieldInfo.addConfigSetter("setForeignCollectionMaxEagerLevel(" + foreignCollection.maxEagerLevel()
+						+ ")");
+			}
+			addStringSetter(fieldInfo, "setForeignCollectionOrderColumnName", foreignCollection.orderColumnName());
+			if (foreignCollection.orderAscending() != DatabaseFieldConfig.DEFAULT_FOREIGN_COLLECTION_ORDER_ASCENDING) {
+				fieldInfo.addConfigSetter("setForeignCollectionOrderAscending(" + foreignCollection.orderAscending()
+						+ ")");
+			}
+			addStringSetter(fieldInfo, "setForeignCollectionColumnName", foreignCollection.columnName());
+			addStringSetter(fieldInfo, "setForeignCollectionForeignFieldName", foreignCollection.foreignFieldName());
+			return fieldInfo;
+		}
+
+		// NOTE: javax.persistence annotations are handled by the reflection configuration, see processEntity(...)
+		return null;
+	}
+
+	/**
+	 * Return true if the field has one of the javax.persistence annotations that the reflection configuration uses.
+	 */
+	private boolean hasJavaxPersistenceAnnotation(VariableElement field) {
+		for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (JAVAX_PERSISTENCE_FIELD_ANNOTATIONS.contains(annotationType.getQualifiedName().toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Figure out how the generated code can get and set the field. Returns null if the field is not accessible from
+	 * the generated code, in which case the field type is built with reflection like before.
+	 */
+	private FieldAccess findFieldAccess(TypeElement entity, String packageName, FieldInfo fieldInfo) {
+		Types types = processingEnv.getTypeUtils();
+		VariableElement field = fieldInfo.getElement();
+		TypeElement declaringClass = (TypeElement) field.getEnclosingElement();
+		TypeMirror fieldType = types.erasure(field.asType());
+		if (!isAccessible(fieldType, packageName)) {
+			return null;
+		}
+		String foreignCollectionClassName = null;
+		if (fieldInfo.isForeignCollection()) {
+			foreignCollectionClassName = foreignCollectionClassName(entity, field, packageName);
+			if (foreignCollectionClassName == null) {
+				return null;
+			}
+		}
+
+		if (fieldInfo.isUseGetSet()) {
+			ExecutableElement getMethod = findGetSetMethod(declaringClass, field, fieldType, true);
+			ExecutableElement setMethod = findGetSetMethod(declaringClass, field, fieldType, false);
+			if (getMethod == null || setMethod == null
+					|| !isAccessible(types.erasure(getMethod.getEnclosingElement().asType()), packageName)
+					|| !isAccessible(types.erasure(setMethod.getEnclosingElement().asType()), packageName)) {
+				// reflection will throw the appropriate exception if the methods are missing
+				return null;
+			}
+			// the set argument may be a type variable that is resolved in the entity class
+			ExecutableType setType = (ExecutableType) types.asMemberOf((DeclaredType) entity.asType(), setMethod);
+			TypeMirror valueType = types.erasure(setType.getParameterTypes().get(0));
+			return new FieldAccess(entity.getQualifiedName().toString(), fieldType.toString(), boxedName(valueType),
+					getMethod.getSimpleName().toString(), setMethod.getSimpleName().toString(),
+					foreignCollectionClassName);
+		}
+
+		Set<Modifier> modifiers = field.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+				|| modifiers.contains(Modifier.STATIC)) {
+			return null;
+		}
+		if (!modifiers.contains(Modifier.PUBLIC) && !packageOf(declaringClass).equals(packageName)) {
+			return null;
+		}
+		if (!isAccessible(types.erasure(declaringClass.asType()), packageName)) {
+			return null;
+		}
+		// we go through the declaring class in case the field is hidden by a field in a sub-class
+		return new FieldAccess(declaringClass.getQualifiedName().toString(), fieldType.toString(),
+				boxedName(fieldType), null, null, foreignCollectionClassName);
+	}
+
+	/**
+	 * Return the canonical name of the generic argument of the foreign collection or null if it can't be determined.
+	 */
+	private String foreignCollectionClassName(TypeElement entity, VariableElement field, String packageName) {
+		Types types = processingEnv.getTypeUtils();
+		// this resolves any type variables from super-classes
+		TypeMirror memberType = types.asMemberOf((DeclaredType) entity.asType(), field);
+		if (memberType.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		List<? extends TypeMirror> typeArguments = ((DeclaredType) memberType).getTypeArguments();
+		if (typeArguments.isEmpty() || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeMirror elementType = types.erasure(typeArguments.get(0));
+		if (isAccessible(elementType, packageName)) {
+			return elementType.toString();
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Mirrors {@link DatabaseFieldConfig#findGetMethod} and {@link DatabaseFieldConfig#findSetMethod}.
+	 */
+	private ExecutableElement findGetSetMethod(TypeElement declaringClass, VariableElement field,
+			TypeMirror fieldType, boolean isGetMethod) {
+		Types types = processingEnv.getTypeUtils();
+		String name = field.getSimpleName().toString();
+		String capitalized = name.substring(0, 1).toUpperCase(Locale.ENGLISH) + name.substring(1);
+		List<String> methodNames;
+		if (isGetMethod) {
+			methodNames = Arrays.asList("get" + capitalized, "is" + capitalized);
+		} else {
+			methodNames = Arrays.asList("set" + capitalized);
+		}
+		List<ExecutableElement> methods =
+				ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(declaringClass));
+		for (String methodName : methodNames) {
+			for (ExecutableElement method : methods) {
+				if (!method.getSimpleName().contentEquals(methodName)
+						|| !method.getModifiers().contains(Modifier.PUBLIC)
+						|| method.getModifiers().contains(Modifier.STATIC)) {
+					continue;
+				}
+				List<? extends VariableElement> parameters = method.getParameters();
+				if (isGetMethod) {
+					if (parameters.isEmpty() && types.isSameType(types.erasure(method.getReturnType()), fieldType)) {
+						return method;
+					}
+				} else if (parameters.size() == 1
+						&& types.isSameType(types.erasure(parameters.get(0).asType()), fieldType)) {
+					return method;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return true if the type can be referenced from generated code in the package.
+	 */
+	private boolean isAccessible(TypeMirror type, String packageName) {
+		if (type.getKind().isPrimitive()) {
+			return true;
+		} else if (type.getKind() == TypeKind.ARRAY) {
+			return isAccessible(((ArrayType) type).getComponentType(), packageName);
+		} else if (type.getKind() != TypeKind.DECLARED) {
+			return false;
+		}
+		Element element = ((DeclaredType) type).asElement();
+		boolean samePackage = packageOf(element).equals(packageName);
+		for (Element walk = element; walk.getKind() != ElementKind.PACKAGE; walk = walk.getEnclosingElement()) {
+			Set<Modifier> modifiers = walk.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String boxedName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+		} else {
+			return type.toString();
+		}
+	}
+
+	private String packageOf(Element element) {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(element);
+		return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+	}
+
+	private void addBooleanSetter(FieldInfo fieldInfo, String setter, boolean value) {
+		// all of the boolean settings default to false
+		if (value) {
+			fieldInfo.addConfigSetter(setter + "(true)");
+		}
+	}
+
+	private void addStringSetter(FieldInfo fieldInfo, String setter, String value) {
+		// blank values are the same as not set
+		if (value != null && value.length() > 0) {
+			fieldInfo.addConfigSetter(setter + "(" + TableConfigWriter.quote(value) + ")");
+		}
+	}
+
+	/**
+	 * Return the canonical name of the persister-class or null if the default.
+	 */
+	private String persisterClassName(DatabaseField databaseField) {
+		TypeMirror typeMirror;
+		try {
+			// this will throw because the class is not (usually) compiled yet
+			Class<?> persisterClass = databaseField.persisterClass();
+			if (persisterClass == VoidType.class) {
+				return null;
+			} else {
+				return persisterClass.getCanonicalName();
+			}
+		} catch (MirroredTypeException mte) {
+			typeMirror = mte.getTypeMirror();
+		}
+		TypeElement typeElement = (TypeElement) processingEnv.getTypeUtils().asElement(typeMirror);
+		String className = typeElement.getQualifiedName().toString();
+		if (className.equals(VoidType.class.getName())) {
+			return null;
+		} else {
+			return className;
+		}
+	}
+
+	/**
+	 * Find the enum constant in the field's enum type and return it as source or null if not found.
+	 */
+	private String findEnumConstant(VariableElement field, String enumName) {
+		Element typeElement = processingEnv.getTypeUtils().asElement(field.asType());
+		if (typeElement == null || typeElement.getKind() != ElementKind.ENUM) {
+			error("unknownEnumName is set but the field is not an enum", field);
+			return null;
+		}
+		for (Element enclosed : typeElement.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT && enclosed.getSimpleName().contentEquals(enumName)) {
+				return ((TypeElement) typeElement).getQualifiedName() + "." + enumName;
+			}
+		}
+		error("Unknown enum name " + enumName + " for field " + field.getSimpleName(), field);
+		return null;
+	}
+
+	private boolean hasAccessibleNoArgConstructor(TypeElement typeElement) {
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty()) {
+				return !constructor.getModifiers().contains(Modifier.PRIVATE);
+			}
+		}
+		return false;
+	}
+
+	private TypeElement superClassOf(TypeElement typeElement) {
+		TypeMirror superClass = typeElement.getSuperclass();
+		if (superClass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeElement superElement = (TypeElement) ((DeclaredType) superClass).asElement();
+		if (superElement.getQualifiedName().contentEquals(Object.class.getName())) {
+			return null;
+		} else {
+			return superElement;
+		}
+	}
+
+	private void writeSource(String className, String source, Element originatingElement) {
+		try {
+			JavaFileObject fileObject;
+			if (originatingElement == null) {
+				fileObject = processingEnv.getFiler().createSourceFile(className);
+			} else {
+				fileObject = processingEnv.getFiler().createSourceFile(className, originatingElement);
+			}
+			Writer writer = fileObject.openWriter();
+			try {
+				writer.write(source);
+			} finally {
+				writer.close();
+			}
+		} catch (IOException e) {
+			error("Could not write generated class " + className + ": " + e.getMessage(), originatingElement);
+		}
+	}
+
+	private void warning(String message, Element element) {
+		messager.printMessage(Kind.WARNING, message, element);
+	}
+
+	private void error(String message, Element element) {
+		messager.printMessage(Kind.ERROR, message, element);
+	}
+}
@@ -0,0 +1,428 @@
+package com.j256.ormlite.processor;
+
+import java.util.List;
+
+/**
+ * Writes the Java source of the classes generated by the {@link TableConfigProcessor}.
+ *
+ * @author graywatson
+ */
+class TableConfigWriter {
+
+	private static final String[] PRIMITIVE_NAMES =
+			new String[] { "boolean", "byte", "char", "short", "int", "long", "float", "double" };
+	private static final String GENERATED_COMMENT =
+			"// generated by the ORMLite annotation processor from the @DatabaseTable and @DatabaseField annotations";
+
+	/**
+	 * Return the source of the table configuration class for the entity.
+	 */
+	public String writeTableConfig(EntityInfo entityInfo) {
+		String entity = entityInfo.getClassName();
+		String name = entityInfo.getConfigSimpleName();
+		List<FieldInfo> fields = entityInfo.getFields();
+
+		SourceBuilder sb = new SourceBuilder();
+		sb.line(GENERATED_COMMENT);
+		if (entityInfo.getPackageName().length() > 0) {
+			sb.line("package " + entityInfo.getPackageName() + ";");
+			sb.line();
+		}
+		sb.line("import java.sql.SQLException;");
+		sb.line("import java.util.ArrayList;");
+		sb.line("import java.util.HashMap;");
+		sb.line("import java.util.List;");
+		sb.line("import java.util.Map;");
+		sb.line();
+		sb.line("import com.j256.ormlite.dao.Dao;");
+		sb.line("import com.j256.ormlite.db.DatabaseType;");
+		sb.line("import com.j256.ormlite.fast.BaseFastTableInfo;");
+		sb.line("import com.j256.ormlite.fast.BaseFieldAccessor;");
+		sb.line("import com.j256.ormlite.fast.BaseFieldTypeFactory;");
+		sb.line("import com.j256.ormlite.fast.BaseTableConfig;");
+		sb.line("import com.j256.ormlite.fast.FastFieldType;");
+		sb.line("import com.j256.ormlite.fast.FieldTypeFactoryHolder;");
+		sb.line("import com.j256.ormlite.field.DatabaseFieldConfig;");
+		sb.line("import com.j256.ormlite.field.FieldType;");
+		sb.line("import com.j256.ormlite.field.ReflectiveFieldType;");
+		sb.line("import com.j256.ormlite.support.ConnectionSource;");
+		sb.line("import com.j256.ormlite.table.DatabaseTableConfig;");
+		sb.line("import com.j256.ormlite.table.TableInfo;");
+		sb.line();
+		sb.line("/**");
+		sb.line(" * Table configuration for {@link " + entity + "} built without reflection.");
+		sb.line(" */");
+		sb.open("public class " + name + " extends BaseTableConfig<" + entity + ">");
+		sb.line();
+		sb.line("private final Map<String, FieldTypeFactoryHolder> fieldFactories;");
+		sb.line();
+
+		// constructor
+		sb.open("public " + name + "()");
+		sb.line("super(" + entity + ".class, " + quote(entityInfo.getTableName()) + ", buildFieldConfigs());");
+		sb.line("List<DatabaseFieldConfig> fieldConfigs = getFieldConfigs();");
+		sb.line("Map<String, FieldTypeFactoryHolder> factories = new HashMap<String, FieldTypeFactoryHolder>();");
+		sb.open("for (int i = 0; i < fieldConfigs.size(); i++)");
+		sb.line("DatabaseFieldConfig fieldConfig = fieldConfigs.get(i);");
+		sb.line("factories.put(fieldConfig.getFieldName(), new FieldTypeFactoryHolder(fieldConfig, new FieldFactory(i)));");
+		sb.close();
+		sb.line("this.fieldFactories = factories;");
+		sb.close();
+		sb.line();
+
+		sb.line("@Override");
+		sb.open("protected FieldType[] convertFieldConfigs(ConnectionSource connectionSource, List<DatabaseFieldConfig> all) throws SQLException");
+		sb.line("return getFieldTypes(connectionSource, getTableName(), all, fieldFactories);");
+		sb.close();
+		sb.line();
+
+		sb.line("@Override");
+		sb.open("public <ID> TableInfo<" + entity + ", ID> createTableInfo(DatabaseType databaseType, Dao<" + entity
+				+ ", ID> dao) throws SQLException");
+		sb.line("return new FastTableInfo<ID>(databaseType, dao, this);");
+		sb.close();
+		sb.line();
+
+		// field configs
+		sb.open("private static List<DatabaseFieldConfig> buildFieldConfigs()");
+		sb.line("List<DatabaseFieldConfig> fieldConfigs = new ArrayList<DatabaseFieldConfig>(" + fields.size() + ");");
+		sb.line("DatabaseFieldConfig config;");
+		for (FieldInfo field : fields) {
+			sb.line("config = new DatabaseFieldConfig(" + quote(field.getFieldName()) + ");");
+			for (String setter : field.getConfigSetters()) {
+				sb.line("config." + setter + ";");
+			}
+			sb.line("fieldConfigs.add(config);");
+		}
+		sb.line("return fieldConfigs;");
+		sb.close();
+		sb.line();
+
+		// field factories
+		sb.line("/**");
+		sb.line(" * Creates the field type for the field at the index in the field configs.");
+		sb.line(" */");
+		sb.open("private static class FieldFactory extends BaseFieldTypeFactory");
+		sb.line();
+		sb.line("private final int index;");
+		sb.line();
+		sb.open("public FieldFactory(int index)");
+		sb.line("this.index = index;");
+		sb.close();
+		sb.line();
+		sb.line("@Override");
+		sb.open("protected FieldType createFieldType(DatabaseFieldConfig config, ConnectionSource connectionSource, String tableName) throws SQLException");
+		sb.open("switch (index)");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldInfo field = fields.get(i);
+			FieldAccess access = field.getAccess();
+			sb.line("case " + i + ":");
+			sb.indent();
+			if (access == null) {
+				sb.line("// not accessible from here so we have to use reflection");
+				sb.line("return new ReflectiveFieldType(connectionSource, tableName, findDeclaredField("
+						+ field.getDeclaringClassName() + ".class, " + quote(field.getFieldName()) + "), config, "
+						+ entity + ".class);");
+			} else {
+				String foreignCollectionClass = access.getForeignCollectionClassName();
+				sb.line("return new FastFieldType(connectionSource, tableName, config, " + entity + ".class, "
+						+ access.getFieldClassName() + ".class, "
+						+ (foreignCollectionClass == null ? "null" : foreignCollectionClass + ".class")
+						+ ", new Accessor(" + i + "));");
+			}
+			sb.outdent();
+		}
+		writeDefaultCase(sb, "throw new SQLException", entity);
+		sb.close();
+		sb.close();
+		sb.close();
+		sb.line();
+
+		if (hasFieldAccess(fields)) {
+			writeAccessor(sb, entity, fields);
+		}
+
+		// table info
+		sb.line("/**");
+		sb.line(" * Table information which creates the entities without going through reflection.");
+		sb.line(" */");
+		sb.open("private static class FastTableInfo<ID> extends BaseFastTableInfo<" + entity + ", ID>");
+		sb.line();
+		sb.open("public FastTableInfo(DatabaseType databaseType, Dao<" + entity + ", ID> dao, DatabaseTableConfig<"
+				+ entity + "> tableConfig) throws SQLException");
+		sb.line("super(databaseType, dao, tableConfig);");
+		sb.close();
+		sb.line();
+		sb.line("@Override");
+		if (entityInfo.isConstructorAccessible()) {
+			sb.open("protected " + entity + " createEntity()");
+			sb.line("return new " + entity + "();");
+		} else {
+			sb.open("protected " + entity + " createEntity() throws Exception");
+			sb.line("// the no-arg constructor is private so we have to go through reflection");
+			sb.line("return DatabaseTableConfig.findNoArgConstructor(" + entity + ".class).newInstance();");
+		}
+		sb.close();
+		sb.close();
+		sb.close();
+		return sb.toString();
+	}
+
+	/**
+	 * Write the class which gets and sets the fields directly.
+	 */
+	private void writeAccessor(SourceBuilder sb, String entity, List<FieldInfo> fields) {
+		sb.line("/**");
+		sb.line(" * Gets and sets the field at the index in the field configs without reflection.");
+		sb.line(" */");
+		sb.open("private static class Accessor extends BaseFieldAccessor");
+		sb.line();
+		sb.line("private final int index;");
+		sb.line();
+		sb.open("public Accessor(int index)");
+		sb.line("this.index = index;");
+		sb.close();
+		sb.line();
+
+		sb.line("@Override");
+		sb.open("public Object getValue(Object object)");
+		sb.open("switch (index)");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldAccess access = fields.get(i).getAccess();
+			if (access == null) {
+				continue;
+			}
+			sb.line("case " + i + ":");
+			sb.indent();
+			if (access.getGetMethodName() == null) {
+				sb.line("return ((" + access.getOwnerClassName() + ") object)." + fields.get(i).getFieldName() + ";");
+			} else {
+				sb.line("return ((" + access.getOwnerClassName() + ") object)." + access.getGetMethodName() + "();");
+			}
+			sb.outdent();
+		}
+		writeDefaultCase(sb, "throw new IllegalStateException", entity);
+		sb.close();
+		sb.close();
+		sb.line();
+
+		sb.line("@Override");
+		// fields in generic super-classes are assigned through the raw type
+		sb.line("@SuppressWarnings(\"unchecked\")");
+		sb.open("public void setValue(Object object, Object value)");
+		sb.open("switch (index)");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldAccess access = fields.get(i).getAccess();
+			if (access == null) {
+				continue;
+			}
+			sb.line("case " + i + ":");
+			sb.indent();
+			String castValue = "(" + access.getValueClassName() + ") value";
+			if (access.getSetMethodName() == null) {
+				sb.line("((" + access.getOwnerClassName() + ") object)." + fields.get(i).getFieldName() + " = "
+						+ castValue + ";");
+			} else {
+				sb.line("((" + access.getOwnerClassName() + ") object)." + access.getSetMethodName() + "(" + castValue
+						+ ");");
+			}
+			sb.line("break;");
+			sb.outdent();
+		}
+		writeDefaultCase(sb, "throw new IllegalStateException", entity);
+		sb.close();
+		sb.close();
+
+		// primitive fields also get setters that don't box the value
+		for (String primitive : PRIMITIVE_NAMES) {
+			writePrimitiveSetter(sb, primitive, fields);
+		}
+		sb.close();
+		sb.line();
+	}
+
+	private void writePrimitiveSetter(SourceBuilder sb, String primitive, List<FieldInfo> fields) {
+		String methodName = "set" + Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+		boolean first = true;
+		for (int i = 0; i < fields.size(); i++) {
+			FieldAccess access = fields.get(i).getAccess();
+			if (access == null || !access.getFieldClassName().equals(primitive)) {
+				continue;
+			}
+			if (first) {
+				sb.line();
+				sb.line("@Override");
+				sb.open("public void " + methodName + "(Object object, " + primitive + " value)");
+				sb.open("switch (index)");
+				first = false;
+			}
+			sb.line("case " + i + ":");
+			sb.indent();
+			if (access.getSetMethodName() == null) {
+				sb.line("((" + access.getOwnerClassName() + ") object)." + fields.get(i).getFieldName() + " = value;");
+			} else {
+				sb.line("((" + access.getOwnerClassName() + ") object)." + access.getSetMethodName() + "(value);");
+			}
+			sb.line("break;");
+			sb.outdent();
+		}
+		if (!first) {
+			sb.line("default:");
+			sb.indent();
+			sb.line("super." + methodName + "(object, value);");
+			sb.line("break;");
+			sb.outdent();
+			sb.close();
+			sb.close();
+		}
+	}
+
+	private void writeDefaultCase(SourceBuilder sb, String throwPrefix, String entity) {
+		sb.line("default:");
+		sb.indent();
+		sb.line(throwPrefix + "(\"Unknown field index \" + index + \" for " + escape(entity) + "\");");
+		sb.outdent();
+	}
+
+	private boolean hasFieldAccess(List<FieldInfo> fields) {
+		for (FieldInfo field : fields) {
+			if (field.getAccess() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the source of the registry class which lists all of the generated table configurations.
+	 */
+	public String writeRegistry(String registryClassName, List<EntityInfo> entities) {
+		int index = registryClassName.lastIndexOf('.');
+		String packageName = (index < 0 ? "" : registryClassName.substring(0, index));
+		String name = registryClassName.substring(index + 1);
+
+		SourceBuilder sb = new SourceBuilder();
+		sb.line(GENERATED_COMMENT);
+		if (packageName.length() > 0) {
+			sb.line("package " + packageName + ";");
+			sb.line();
+		}
+		sb.line("import java.util.ArrayList;");
+		sb.line("import java.util.List;");
+		sb.line();
+		sb.line("import com.j256.ormlite.dao.DaoManager;");
+		sb.line("import com.j256.ormlite.table.DatabaseTableConfig;");
+		sb.line();
+		sb.line("/**");
+		sb.line(" * All of the table configurations that were generated at compile time. Call {@link #register()} before any");
+		sb.line(" * DAOs are created so they are built without reflection.");
+		sb.line(" */");
+		sb.open("public final class " + name);
+		sb.line();
+		sb.open("private " + name + "()");
+		sb.line("// only for static usage");
+		sb.close();
+		sb.line();
+		sb.line("/**");
+		sb.line(" * Return a new list of the generated table configurations.");
+		sb.line(" */");
+		sb.open("public static List<DatabaseTableConfig<?>> getTableConfigs()");
+		sb.line("List<DatabaseTableConfig<?>> configs = new ArrayList<DatabaseTableConfig<?>>(" + entities.size()
+				+ ");");
+		for (EntityInfo entityInfo : entities) {
+			sb.line("configs.add(new " + entityInfo.getConfigClassName() + "());");
+		}
+		sb.line("return configs;");
+		sb.close();
+		sb.line();
+		sb.line("/**");
+		sb.line(" * Add the generated table configurations to the {@link DaoManager} cache.");
+		sb.line(" */");
+		sb.open("public static void register()");
+		sb.line("DaoManager.addCachedDatabaseConfigs(getTableConfigs());");
+		sb.close();
+		sb.close();
+		return sb.toString();
+	}
+
+	/**
+	 * Return the string as a quoted Java string literal.
+	 */
+	public static String quote(String value) {
+		return "\"" + escape(value) + "\"";
+	}
+
+	private static String escape(String value) {
+		StringBuilder sb = new StringBuilder(value.length() + 8);
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+				case '"' :
+					sb.append("\\\"");
+					break;
+				case '\\' :
+					sb.append("\\\\");
+					break;
+				case '\n' :
+					sb.append("\\n");
+					break;
+				case '\r' :
+					sb.append("\\r");
+					break;
+				case '\t' :
+					sb.append("\\t");
+					break;
+				default :
+					if (ch < ' ' || ch > '~') {
+						sb.append(String.format("\\u%04x", (int) ch));
+					} else {
+						sb.append(ch);
+					}
+					break;
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Little helper which handles the indenting of the generated source.
+	 */
+	private static class SourceBuilder {
+		private final StringBuilder sb = new StringBuilder(4096);
+		private int level;
+
+		public void line(String line) {
+			for (int i = 0; i < level; i++) {
+				sb.append('\t');
+			}
+			sb.append(line).append('\n');
+		}
+
+		public void line() {
+			sb.append('\n');
+		}
+
+		public void open(String line) {
+			line(line + " {");
+			level++;
+		}
+
+		public void close() {
+			level--;
+			line("}");
+		}
+
+		public void indent() {
+			level++;
+		}
+
+		public void outdent() {
+			level--;
+		}
+
+		@Override
+		public String toString() {
+			return sb.toString();
+		}
+	}
+}
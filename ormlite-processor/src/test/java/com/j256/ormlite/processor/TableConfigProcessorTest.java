@@ -0,0 +1,269 @@
+package com.j256.ormlite.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.fast.BaseFieldAccessor;
+import com.j256.ormlite.fast.FieldAccessor;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.table.DatabaseTableConfig;
+
+public class TableConfigProcessorTest {
+
+	private File tempDir;
+
+	@Before
+	public void before() throws IOException {
+		tempDir = File.createTempFile(getClass().getSimpleName(), "");
+		assertTrue(tempDir.delete());
+		assertTrue(tempDir.mkdir());
+	}
+
+	@After
+	public void after() {
+		deleteRecursively(tempDir);
+	}
+
+	@Test
+	public void testGeneratedConfig() throws Exception {
+		writeSource("com/example/Foo.java", //
+				"package com.example;", //
+				"import com.j256.ormlite.field.DataType;", //
+				"import com.j256.ormlite.field.DatabaseField;", //
+				"import com.j256.ormlite.table.DatabaseTable;", //
+				"@DatabaseTable(tableName = \"foos\")", //
+				"public class Foo {", //
+				"  @DatabaseField(generatedId = true) int id;", //
+				"  @DatabaseField(columnName = \"str\", canBeNull = false, defaultValue = \"a\\\"b\") String stuff;", //
+				"  @DatabaseField(dataType = DataType.LONG_STRING) String longString;", //
+				"  @DatabaseField(persisted = false) String ignored;", //
+				"  String notAnnotated;", //
+				"  Foo() { }", //
+				"}");
+		ClassLoader classLoader = compile();
+
+		Class<?> configClass = classLoader.loadClass("com.example.Foo_TableConfig");
+		DatabaseTableConfig<?> tableConfig = (DatabaseTableConfig<?>) configClass.newInstance();
+		assertEquals("com.example.Foo", tableConfig.getDataClass().getName());
+		assertEquals("foos", tableConfig.getTableName());
+		List<DatabaseFieldConfig> fieldConfigs = tableConfig.getFieldConfigs();
+		assertEquals(3, fieldConfigs.size());
+
+		DatabaseFieldConfig fieldConfig = fieldConfigs.get(0);
+		assertEquals("id", fieldConfig.getFieldName());
+		assertTrue(fieldConfig.isGeneratedId());
+
+		fieldConfig = fieldConfigs.get(1);
+		assertEquals("stuff", fieldConfig.getFieldName());
+		assertEquals("str", fieldConfig.getColumnName());
+		assertFalse(fieldConfig.isCanBeNull());
+		assertEquals("a\"b", fieldConfig.getDefaultValue());
+
+		fieldConfig = fieldConfigs.get(2);
+		assertEquals("longString", fieldConfig.getFieldName());
+		assertEquals(DataType.LONG_STRING, fieldConfig.getDataType());
+
+		Class<?> registryClass = classLoader.loadClass("com.example." + TableConfigProcessor.DEFAULT_TABLE_CONFIGS_NAME);
+		List<?> configs = (List<?>) registryClass.getMethod("getTableConfigs").invoke(null);
+		assertEquals(1, configs.size());
+		assertEquals(configClass, configs.get(0).getClass());
+	}
+
+	@Test
+	public void testSuperClassAndNested() throws Exception {
+		writeSource("com/example/Base.java", //
+				"package com.example;", //
+				"import com.j256.ormlite.field.DatabaseField;", //
+				"public abstract class Base {", //
+				"  @DatabaseField(id = true) long id;", //
+				"}");
+		writeSource("com/example/Outer.java", //
+				"package com.example;", //
+				"import com.j256.ormlite.field.DatabaseField;", //
+				"import com.j256.ormlite.table.DatabaseTable;", //
+				"public class Outer {", //
+				"  @DatabaseTable", //
+				"  public static class Inner extends Base {", //
+				"    @DatabaseField String name;", //
+				"    private Inner() { }", //
+				"  }", //
+				"}");
+		ClassLoader classLoader = compile();
+
+		Class<?> configClass = classLoader.loadClass("com.example.Outer_Inner_TableConfig");
+		DatabaseTableConfig<?> tableConfig = (DatabaseTableConfig<?>) configClass.newInstance();
+		assertEquals("inner", tableConfig.getTableName());
+		List<DatabaseFieldConfig> fieldConfigs = tableConfig.getFieldConfigs();
+		assertEquals(2, fieldConfigs.size());
+		// our fields come before the super-class fields
+		assertEquals("name", fieldConfigs.get(0).getFieldName());
+		assertEquals("id", fieldConfigs.get(1).getFieldName());
+		assertTrue(fieldConfigs.get(1).isId());
+	}
+
+	@Test
+	public void testFieldAccessors() throws Exception {
+		writeSource("com/example/Base.java", //
+				"package com.example;", //
+				"import com.j256.ormlite.field.DatabaseField;", //
+				"public abstract class Base<T> {", //
+				"  @DatabaseField T value;", //
+				"}");
+		writeSource("com/example/Bar.java", //
+				"package com.example;", //
+				"import com.j256.ormlite.field.DatabaseField;", //
+				"import com.j256.ormlite.table.DatabaseTable;", //
+				"@DatabaseTable", //
+				"public class Bar extends Base<String> {", //
+				"  @DatabaseField(id = true) int id;", //
+				"  @DatabaseField(useGetSet = true) private long count;", //
+				"  @DatabaseField private String hidden;", //
+				"  public long getCount() { return count; }", //
+				"  public void setCount(long count) { this.count = count; }", //
+				"}");
+		ClassLoader classLoader = compile();
+
+		Class<?> barClass = classLoader.loadClass("com.example.Bar");
+		Object bar = barClass.newInstance();
+		// id is index 0, count is 1, hidden is 2, and value from the super-class is 3
+		FieldAccessor idAccessor = createAccessor(classLoader, "com.example.Bar_TableConfig", 0);
+		idAccessor.setValue(bar, 10);
+		assertEquals(10, idAccessor.getValue(bar));
+		FieldAccessor countAccessor = createAccessor(classLoader, "com.example.Bar_TableConfig", 1);
+		countAccessor.setValue(bar, 20L);
+		assertEquals(20L, countAccessor.getValue(bar));
+		assertEquals(20L, barClass.getMethod("getCount").invoke(bar));
+		// primitives can also be set without boxing
+		((BaseFieldAccessor) idAccessor).setInt(bar, 11);
+		assertEquals(11, idAccessor.getValue(bar));
+		((BaseFieldAccessor) countAccessor).setLong(bar, 21L);
+		assertEquals(21L, countAccessor.getValue(bar));
+		FieldAccessor valueAccessor = createAccessor(classLoader, "com.example.Bar_TableConfig", 3);
+		valueAccessor.setValue(bar, "foo");
+		assertEquals("foo", valueAccessor.getValue(bar));
+
+		// private fields without get/set methods are not accessible so they go through reflection
+		FieldAccessor hiddenAccessor = createAccessor(classLoader, "com.example.Bar_TableConfig", 2);
+		try {
+			hiddenAccessor.getValue(bar);
+			fail("should have thrown");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testJavaxPersistenceFieldSkipsClass() throws Exception {
+		// stand-in for the real annotation which is not on our classpath
+		writeSource("javax/persistence/Column.java", //
+				"package javax.persistence;", //
+				"import java.lang.annotation.Retention;", //
+				"import java.lang.annotation.RetentionPolicy;", //
+				"@Retention(RetentionPolicy.RUNTIME)", //
+				"public @interface Column {", //
+				"  String name() default \"\";", //
+				"}");
+		writeSource("com/example/Mixed.java", //
+				"package com.example;", //
+				"import javax.persistence.Column;", //
+				"import com.j256.ormlite.field.DatabaseField;", //
+				"import com.j256.ormlite.table.DatabaseTable;", //
+				"@DatabaseTable", //
+				"public class Mixed {", //
+				"  @DatabaseField(id = true) int id;", //
+				"  @Column String name;", //
+				"}");
+		ClassLoader classLoader = compile();
+
+		try {
+			classLoader.loadClass("com.example.Mixed_TableConfig");
+			fail("should have thrown");
+		} catch (ClassNotFoundException e) {
+			// expected
+		}
+		classLoader.loadClass("com.example.Mixed");
+	}
+
+	private FieldAccessor createAccessor(ClassLoader classLoader, String configClassName, int index)
+			throws Exception {
+		Class<?> accessorClass = classLoader.loadClass(configClassName + "$Accessor");
+		Constructor<?> constructor = accessorClass.getDeclaredConstructor(int.class);
+		constructor.setAccessible(true);
+		return (FieldAccessor) constructor.newInstance(index);
+	}
+
+	private void writeSource(String path, String... lines) throws IOException {
+		File file = new File(tempDir, "src/" + path);
+		file.getParentFile().mkdirs();
+		FileWriter writer = new FileWriter(file);
+		try {
+			for (String line : lines) {
+				writer.write(line);
+				writer.write('\n');
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private ClassLoader compile() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+		List<File> sources = new ArrayList<File>();
+		findSources(new File(tempDir, "src"), sources);
+		File classesDir = new File(tempDir, "classes");
+		classesDir.mkdir();
+		Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+		List<String> options =
+				Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", classesDir.getPath(), "-s",
+						classesDir.getPath());
+		CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+		task.setProcessors(Arrays.asList(new TableConfigProcessor()));
+		assertTrue("compilation failed", task.call());
+		fileManager.close();
+		return new URLClassLoader(new URL[] { classesDir.toURI().toURL() }, getClass().getClassLoader());
+	}
+
+	private void findSources(File dir, List<File> sources) {
+		for (File file : dir.listFiles()) {
+			if (file.isDirectory()) {
+				findSources(file, sources);
+			} else if (file.getName().endsWith(".java")) {
+				sources.add(file);
+			}
+		}
+	}
+
+	private void deleteRecursively(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				deleteRecursively(child);
+			}
+		}
+		file.delete();
+	}
+}
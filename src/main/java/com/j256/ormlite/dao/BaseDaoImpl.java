@@ -19,10 +19,12 @@ import com.j256.ormlite.misc.BaseDaoEnabled;
 import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.PrefetchingSelectIterator;
 import com.j256.ormlite.stmt.PreparedDelete;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.PreparedUpdate;
 import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.QueryResultCache;
 import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.stmt.SelectIterator;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
@@ -65,6 +67,9 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 					return new ArrayList<BaseDaoImpl<?, ?>>(10);
 				}
 			};
+	/** default maximum number of objects inserted in a single batch by {@link #create(Collection)} */
+	public static final int DEFAULT_CREATE_BATCH_SIZE = 1000;
+
 	private static ReferenceObjectCache defaultObjectCache;
 	private static final Object constantObject = new Object();
 
@@ -79,6 +84,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	private boolean initialized;
 	ObjectCache objectCache;
+	private QueryResultCache queryResultCache;
+	private volatile NegativeIdCache negativeIdCache;
+	// set while making a change which takes care of the negative-id cache itself
+	private final ThreadLocal<Boolean> localIdChangeStarted = new ThreadLocal<Boolean>();
+	private int createBatchSize = DEFAULT_CREATE_BATCH_SIZE;
 	private Map<DaoObserver, Object> daoObserverMap;
 
 	/**
@@ -218,10 +228,10 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	protected TableInfo<T, ID> createTableInfo() throws SQLException {
 		TableInfo<T, ID> tableInfo = null;
 		if (tableConfig == null) {
-			tableInfo = new TableInfo<T, ID>(connectionSource, this, dataClass);
+			tableInfo = DatabaseTableConfig.fromClass(connectionSource, dataClass).createTableInfo(databaseType, this);
 		} else {
 			tableConfig.extractFieldTypes(connectionSource);
-			tableInfo = new TableInfo<T, ID>(databaseType, this, tableConfig);
+			tableInfo = tableConfig.createTableInfo(databaseType, this);
 		}
 		return tableInfo;
 	}
@@ -229,9 +239,29 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public T queryForId(ID id) throws SQLException {
 		checkForInitialized();
+		NegativeIdCache negativeCache = negativeIdCache;
+		if (negativeCache != null && negativeCache.isMissing(id)) {
+			return null;
+		}
+		long changeCount = (negativeCache == null ? 0 : negativeCache.getChangeCount());
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.queryForId(connection, id, objectCache);
+			T result = statementExecutor.queryForId(connection, id, objectCache);
+			if (result == null && negativeCache != null) {
+				negativeCache.putMissing(id, changeCount);
+			}
+			return result;
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	@Override
+	public Map<ID, T> queryForIds(Collection<ID> ids) throws SQLException {
+		checkForInitialized();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		try {
+			return statementExecutor.queryForIds(connection, ids, objectCache);
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -280,7 +310,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public List<T> query(PreparedQuery<T> preparedQuery) throws SQLException {
 		checkForInitialized();
-		return statementExecutor.query(connectionSource, preparedQuery, objectCache);
+		return statementExecutor.query(connectionSource, preparedQuery, objectCache, queryResultCache);
 	}
 
 	@Override
@@ -330,42 +360,27 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			daoEnabled.setDao(this);
 		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		NegativeIdCache negativeCache = startIdChange();
 		try {
-			return statementExecutor.create(connection, data, objectCache);
+			int result = statementExecutor.create(connection, data, objectCache);
+			if (negativeCache != null) {
+				negativeCache.remove(extractId(data));
+			}
+			return result;
 		} finally {
+			endIdChange(negativeCache);
 			connectionSource.releaseConnection(connection);
 		}
 	}
 
 	@Override
-	public int create(final Collection<T> datas) throws SQLException {
-		checkForInitialized();
-		for (T data : datas) {
-			if (data instanceof BaseDaoEnabled) {
-				@SuppressWarnings("unchecked")
-				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
-				daoEnabled.setDao(this);
-			}
-		}
-		/*
-		 * This is a little strange in that we get the connection but then the call-batch-task saves another one. I
-		 * thought that it was an ok thing to do otherwise it made the call-batch-tasks more complicated.
-		 */
-		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
-		try {
-			return callBatchTasks(new Callable<Integer>() {
-				@Override
-				public Integer call() throws SQLException {
-					int modCount = 0;
-					for (T data : datas) {
-						modCount += statementExecutor.create(connection, data, objectCache);
-					}
-					return modCount;
-				}
-			});
-		} finally {
-			connectionSource.releaseConnection(connection);
-		}
+	public int create(Collection<T> datas) throws SQLException {
+		return createCollection(datas, false);
+	}
+
+	@Override
+	public int createBulk(Collection<T> datas) throws SQLException {
+		return createCollection(datas, true);
 	}
 
 	@Override
@@ -398,6 +413,58 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public int createOrUpdateAll(final Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		if (!statementExecutor.isUpsertSupported()) {
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					int numRows = 0;
+					for (T data : datas) {
+						numRows += createOrUpdate(data).getNumLinesChanged();
+					}
+					return numRows;
+				}
+			});
+		}
+		final List<T> creates = new ArrayList<T>();
+		final List<T> upserts = new ArrayList<T>(datas.size());
+		for (T data : datas) {
+			if (data == null) {
+				continue;
+			}
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+			if (isCreateNeeded(data, extractId(data))) {
+				creates.add(data);
+			} else {
+				upserts.add(data);
+			}
+		}
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					int numRows = 0;
+					if (!creates.isEmpty()) {
+						numRows += statementExecutor.create(connection, creates, createBatchSize, objectCache);
+					}
+					if (!upserts.isEmpty()) {
+						numRows += statementExecutor.upsert(connection, upserts, createBatchSize, objectCache);
+					}
+					return numRows;
+				}
+			});
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	@Override
 	public int update(T data) throws SQLException {
 		checkForInitialized();
@@ -411,9 +478,12 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			daoEnabled.setDao(this);
 		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		// updating an object doesn't change its id
+		NegativeIdCache negativeCache = startIdChange();
 		try {
 			return statementExecutor.update(connection, data, objectCache);
 		} finally {
+			endIdChange(negativeCache);
 			connectionSource.releaseConnection(connection);
 		}
 	}
@@ -426,9 +496,15 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			return 0;
 		} else {
 			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+			NegativeIdCache negativeCache = startIdChange();
 			try {
-				return statementExecutor.updateId(connection, data, newId, objectCache);
+				int result = statementExecutor.updateId(connection, data, newId, objectCache);
+				if (negativeCache != null) {
+					negativeCache.remove(newId);
+				}
+				return result;
 			} finally {
+				endIdChange(negativeCache);
 				connectionSource.releaseConnection(connection);
 			}
 		}
@@ -615,6 +691,20 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		return lastIterator;
 	}
 
+	@Override
+	public CloseableIterator<T> prefetchIterator(PreparedQuery<T> preparedQuery, int bufferSize) throws SQLException {
+		checkForInitialized();
+		SelectIterator<T, ID> iterator;
+		try {
+			iterator = statementExecutor.buildIterator(this, connectionSource, preparedQuery, objectCache,
+					DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Could not build prefetching iterator for " + dataClass, e);
+		}
+		lastIterator = new PrefetchingSelectIterator<T, ID>(dataClass, this, iterator, bufferSize);
+		return lastIterator;
+	}
+
 	@Override
 	public GenericRawResults<String[]> queryRaw(String query, String... arguments) throws SQLException {
 		checkForInitialized();
@@ -867,6 +957,9 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			if (tableInfo.getIdField() == null) {
 				throw new SQLException("Class " + dataClass + " must have an id field to enable the object cache");
 			}
+			if (objectCache instanceof TableInfoObjectCache) {
+				((TableInfoObjectCache) objectCache).registerTableInfo(tableInfo);
+			}
 			this.objectCache = objectCache;
 			this.objectCache.registerClass(dataClass);
 		}
@@ -884,6 +977,61 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public void setQueryResultCache(boolean enabled) throws SQLException {
+		if (enabled) {
+			if (queryResultCache == null) {
+				setQueryResultCache(new QueryResultCache());
+			}
+		} else {
+			setQueryResultCache(null);
+		}
+	}
+
+	@Override
+	public void setQueryResultCache(QueryResultCache queryResultCache) throws SQLException {
+		if (queryResultCache != null && tableInfo.getIdField() == null) {
+			throw new SQLException("Class " + dataClass + " must have an id field to enable the query result cache");
+		}
+		if (this.queryResultCache != null) {
+			unregisterObserver(this.queryResultCache);
+		}
+		if (queryResultCache != null) {
+			// the results are thrown away whenever the table changes
+			registerObserver(queryResultCache);
+		}
+		this.queryResultCache = queryResultCache;
+	}
+
+	@Override
+	public QueryResultCache getQueryResultCache() {
+		return queryResultCache;
+	}
+
+	@Override
+	public void setNegativeIdCache(boolean enabled) throws SQLException {
+		if (enabled) {
+			if (negativeIdCache == null) {
+				setNegativeIdCache(new NegativeIdCache());
+			}
+		} else {
+			setNegativeIdCache(null);
+		}
+	}
+
+	@Override
+	public void setNegativeIdCache(NegativeIdCache negativeIdCache) throws SQLException {
+		if (negativeIdCache != null && tableInfo.getIdField() == null) {
+			throw new SQLException("Class " + dataClass + " must have an id field to enable the negative-id cache");
+		}
+		this.negativeIdCache = negativeIdCache;
+	}
+
+	@Override
+	public NegativeIdCache getNegativeIdCache() {
+		return negativeIdCache;
+	}
+
 	/**
 	 * Special call mostly used in testing to clear the internal object caches so we can reset state.
 	 */
@@ -901,6 +1049,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public void notifyChanges() {
+		NegativeIdCache negativeCache = negativeIdCache;
+		if (negativeCache != null && localIdChangeStarted.get() == null) {
+			// we don't know which ids may have been added
+			negativeCache.clear();
+		}
 		if (daoObserverMap != null) {
 			for (DaoObserver daoObserver : daoObserverMap.keySet()) {
 				daoObserver.onChange();
@@ -947,9 +1100,18 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public boolean idExists(ID id) throws SQLException {
+		NegativeIdCache negativeCache = negativeIdCache;
+		if (negativeCache != null && negativeCache.isMissing(id)) {
+			return false;
+		}
+		long changeCount = (negativeCache == null ? 0 : negativeCache.getChangeCount());
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.ifExists(connection, id);
+			boolean exists = statementExecutor.ifExists(connection, id);
+			if (!exists && negativeCache != null) {
+				negativeCache.putMissing(id, changeCount);
+			}
+			return exists;
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -998,6 +1160,17 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		this.objectFactory = objectFactory;
 	}
 
+	@Override
+	public void setCreateBatchSize(int createBatchSize) {
+		this.createBatchSize = createBatchSize;
+	}
+
+	@Override
+	public void setBatchForeignAutoRefresh(boolean batchForeignAutoRefresh) {
+		checkForInitialized();
+		statementExecutor.setBatchForeignAutoRefresh(batchForeignAutoRefresh);
+	}
+
 	/**
 	 * Returns the table configuration information associated with the Dao's class or null if none.
 	 */
@@ -1031,7 +1204,12 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	@Override
 	public String getTableName() {
-		return tableConfig.getTableName();
+		// the table config is null if the DAO was configured from the class
+		if (tableInfo == null) {
+			return tableConfig.getTableName();
+		} else {
+			return tableInfo.getTableName();
+		}
 	}
 
 	/**
@@ -1068,6 +1246,64 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * Start a change which updates the negative-id cache itself so it is not cleared when the change is notified.
+	 */
+	private NegativeIdCache startIdChange() {
+		NegativeIdCache negativeCache = negativeIdCache;
+		if (negativeCache != null) {
+			localIdChangeStarted.set(Boolean.TRUE);
+		}
+		return negativeCache;
+	}
+
+	private void endIdChange(NegativeIdCache negativeCache) {
+		if (negativeCache != null) {
+			localIdChangeStarted.remove();
+		}
+	}
+
+	private int createCollection(final Collection<T> datas, final boolean multiRow) throws SQLException {
+		checkForInitialized();
+		for (T data : datas) {
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+		}
+		/*
+		 * This is a little strange in that we get the connection but then the call-batch-task saves another one. I
+		 * thought that it was an ok thing to do otherwise it made the call-batch-tasks more complicated.
+		 */
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					if (multiRow) {
+						return statementExecutor.createBulk(connection, datas, createBatchSize, objectCache);
+					} else {
+						return statementExecutor.create(connection, datas, createBatchSize, objectCache);
+					}
+				}
+			});
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Returns true if the object has no id yet so it has to be created instead of upserted.
+	 */
+	private boolean isCreateNeeded(T data, ID id) throws SQLException {
+		if (id == null) {
+			return true;
+		}
+		FieldType idField = tableInfo.getIdField();
+		return idField.isGeneratedId() && idField.isObjectsFieldValueDefault(data);
+	}
+
 	private <FT> ForeignCollection<FT> makeEmptyForeignCollection(T parent, String fieldName) throws SQLException {
 		checkForInitialized();
 		ID id;
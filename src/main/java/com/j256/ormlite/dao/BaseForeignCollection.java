@@ -10,6 +10,7 @@ import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.Where;
 import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 
 /**
@@ -191,6 +192,16 @@ public abstract class BaseForeignCollection<T, ID> implements ForeignCollection<
 		return preparedQuery;
 	}
 
+	/**
+	 * Set the where clause of the query builder to match the items in this collection and return it so more clauses can
+	 * be and-ed on.
+	 */
+	protected Where<T, ID> whereParentId(QueryBuilder<T, ID> qb) throws SQLException {
+		SelectArg fieldArg = new SelectArg();
+		fieldArg.setValue(parentId);
+		return qb.where().eq(foreignFieldType.getColumnName(), fieldArg);
+	}
+
 	private boolean addElement(T data) throws SQLException {
 		if (dao == null) {
 			return false;
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
@@ -20,6 +21,7 @@ import com.j256.ormlite.stmt.PreparedDelete;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.PreparedUpdate;
 import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.QueryResultCache;
 import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.stmt.UpdateBuilder;
 import com.j256.ormlite.support.ConnectionSource;
@@ -51,6 +53,20 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public T queryForId(ID id) throws SQLException;
 
+	/**
+	 * Retrieves the objects associated with a collection of IDs. Objects that are in the object cache (see
+	 * {@link #setObjectCache(boolean)}) are returned from it and the rest are queried for using "WHERE id IN (...)"
+	 * statements which are chunked to stay inside of {@link DatabaseType#getMaxStatementArguments()}. Objects that are
+	 * queried for are added to the cache.
+	 * 
+	 * @param ids
+	 *            Identifiers that match rows in the database to find and return.
+	 * @return Map of the ids to their associated objects. Ids with no matching rows are not in the map.
+	 * @throws SQLException
+	 *             on any SQL problems.
+	 */
+	public Map<ID, T> queryForIds(Collection<ID> ids) throws SQLException;
+
 	/**
 	 * Query for and return the first item in the object table which matches the PreparedQuery. See
 	 * {@link #queryBuilder()} for more information. This can be used to return the object that matches a single unique
@@ -164,7 +180,8 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 
 	/**
 	 * Just like {@link #create(Object)} but with a collection of objects. This will wrap the creates using the same
-	 * mechanism as {@link #callBatchTasks(Callable)}.
+	 * mechanism as {@link #callBatchTasks(Callable)}. The objects are sent to the database in batches of inserts using
+	 * the same statement, see {@link #setCreateBatchSize(int)}.
 	 * 
 	 * @param datas
 	 *            The collection of data items that we are creating in the database.
@@ -172,6 +189,19 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public int create(Collection<T> datas) throws SQLException;
 
+	/**
+	 * Just like {@link #create(Collection)} but the objects are inserted using "INSERT ... VALUES (...),(...)" statements
+	 * which insert a number of rows at once if {@link DatabaseType#isMultiRowInsertSupported()}. The number of rows in
+	 * each statement is limited by {@link #setCreateBatchSize(int)} and {@link DatabaseType#getMaxStatementArguments()}.
+	 * Objects whose generated-ids have to be returned by the database are inserted in a batch instead because most
+	 * databases do not return all of the keys from a multi-row insert.
+	 * 
+	 * @param datas
+	 *            The collection of data items that we are creating in the database.
+	 * @return The number of rows updated in the database.
+	 */
+	public int createBulk(Collection<T> datas) throws SQLException;
+
 	/**
 	 * This is a convenience method to creating a data item but only if the ID does not already exist in the table. This
 	 * extracts the id from the data parameter, does a {@link #queryForId(Object)} on it, returning the data if it
@@ -193,6 +223,22 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public CreateOrUpdateStatus createOrUpdate(T data) throws SQLException;
 
+	/**
+	 * Just like {@link #createOrUpdate(Object)} but with a collection of objects. This will wrap the statements using
+	 * the same mechanism as {@link #callBatchTasks(Callable)}.
+	 * 
+	 * <p>
+	 * If the database type supports native upserts (see {@link DatabaseType#isUpsertSupported()}) and the table has no
+	 * version or foreign auto-create fields then the objects with ids are sent to the database as batches of upsert
+	 * statements, see {@link #setCreateBatchSize(int)}, instead of querying for each of their ids.
+	 * </p>
+	 * 
+	 * @param datas
+	 *            The collection of data items that we are creating or updating in the database.
+	 * @return The number of rows changed in the database.
+	 */
+	public int createOrUpdateAll(Collection<T> datas) throws SQLException;
+
 	/**
 	 * Store the fields from an object to the database row corresponding to the id from the data parameter. If you have
 	 * made changes to an object, this is how you persist those changes to the database. You cannot use this method to
@@ -394,6 +440,18 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public CloseableIterator<T> iterator(PreparedQuery<T> preparedQuery, int resultFlags) throws SQLException;
 
+	/**
+	 * Same as {@link #iterator(PreparedQuery)} but the rows are read and mapped into objects by a background thread
+	 * while the caller works on the earlier ones. Up to bufferSize objects are read ahead. The iterator can only move
+	 * forward and it <i>must</i> be closed, which stops the thread, if it is not run to the end.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> This is only worth it when each row takes a good amount of work by the caller. The database
+	 * connection is used by the background thread so the database driver must allow that.
+	 * </p>
+	 */
+	public CloseableIterator<T> prefetchIterator(PreparedQuery<T> preparedQuery, int bufferSize) throws SQLException;
+
 	/**
 	 * <p>
 	 * This makes a one time use iterable class that can be closed afterwards. The DAO itself is
@@ -693,6 +751,60 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void clearObjectCache();
 
+	/**
+	 * Call this with true to cache the results of the {@link #query(PreparedQuery)} method in a
+	 * {@link QueryResultCache}. The ids of the results of each query are held and the objects are looked up in the
+	 * object cache the next time the same query is made with the same arguments. The cache is cleared whenever
+	 * {@link #notifyChanges()} is called. Set to false to disable the cache.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The results are only cached if the object cache is also enabled with {@link #setObjectCache(boolean)}
+	 * or {@link #setObjectCache(ObjectCache)}.
+	 * </p>
+	 * 
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field.
+	 */
+	public void setQueryResultCache(boolean enabled) throws SQLException;
+
+	/**
+	 * Same as {@link #setQueryResultCache(boolean)} except you specify the actual cache instance to use for the DAO.
+	 * Call it with null to disable the cache.
+	 * 
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field.
+	 */
+	public void setQueryResultCache(QueryResultCache queryResultCache) throws SQLException;
+
+	/**
+	 * Returns the current query result cache being used by the DAO or null if none.
+	 */
+	public QueryResultCache getQueryResultCache();
+
+	/**
+	 * Call this with true to remember the ids which {@link #queryForId(Object)} and {@link #idExists(Object)} did not
+	 * find in a {@link NegativeIdCache} so looking them up again doesn't go to the database. Set to false to disable
+	 * the cache.
+	 * 
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field.
+	 */
+	public void setNegativeIdCache(boolean enabled) throws SQLException;
+
+	/**
+	 * Same as {@link #setNegativeIdCache(boolean)} except you specify the actual cache instance to use for the DAO.
+	 * Call it with null to disable the cache.
+	 * 
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field.
+	 */
+	public void setNegativeIdCache(NegativeIdCache negativeIdCache) throws SQLException;
+
+	/**
+	 * Returns the current negative-id cache being used by the DAO or null if none.
+	 */
+	public NegativeIdCache getNegativeIdCache();
+
 	/**
 	 * Return the latest row from the database results from a query to select * (star).
 	 */
@@ -823,6 +935,21 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void setObjectFactory(ObjectFactory<T> objectFactory);
 
+	/**
+	 * Set the maximum number of objects that {@link #create(Collection)} will send to the database in a single batch of
+	 * inserts. Set to 1 or less to insert each of the objects on its own. Default is
+	 * {@link BaseDaoImpl#DEFAULT_CREATE_BATCH_SIZE}.
+	 */
+	public void setCreateBatchSize(int createBatchSize);
+
+	/**
+	 * Set to true to have the query methods that return lists fetch {@link DatabaseField#foreignAutoRefresh()} fields
+	 * with one "IN (...)" query per foreign field after all of the rows have been read instead of with a query for each
+	 * row. The {@link DatabaseField#maxForeignAutoRefreshLevel()} setting and the object caches are still honored.
+	 * Only the first level of auto-refreshed objects are fetched in batches. Default is false.
+	 */
+	public void setBatchForeignAutoRefresh(boolean batchForeignAutoRefresh);
+
 	/**
 	 * Get current object factory
 	 * @return current Dao object factory instance
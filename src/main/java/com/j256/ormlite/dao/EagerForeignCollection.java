@@ -44,6 +44,17 @@ public class EagerForeignCollection<T, ID> extends BaseForeignCollection<T, ID>
 		}
 	}
 
+	/**
+	 * WARNING: The user should not be calling this constructor. This is used when the results of the collection have
+	 * been (or are going to be) retrieved along with those of other parents. See
+	 * {@link ForeignCollectionField#prefetch()}.
+	 */
+	public EagerForeignCollection(Dao<T, ID> dao, Object parent, Object parentId, FieldType foreignFieldType,
+			String orderColumn, boolean orderAscending, List<T> results) {
+		super(dao, parent, parentId, foreignFieldType, orderColumn, orderAscending);
+		this.results = results;
+	}
+
 	@Override
 	public CloseableIterator<T> iterator() {
 		return iteratorThrow(DatabaseConnection.DEFAULT_RESULT_FLAGS);
@@ -0,0 +1,63 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.Date;
+
+import com.j256.ormlite.field.FieldType;
+
+/**
+ * Weigher which estimates the size of an object from the values of its database fields. Strings, byte arrays, and
+ * character arrays are weighed by their length and all other values are given a fixed size. Foreign objects and foreign
+ * collections are only counted as a reference since they are cached on their own. This is used by the
+ * {@link WeightedObjectCache} for classes that don't have their own weigher.
+ * 
+ * @author graywatson
+ */
+public class FieldTypeObjectWeigher<T> implements ObjectWeigher<T> {
+
+	private static final int OBJECT_OVERHEAD = 16;
+	private static final int REFERENCE_SIZE = 8;
+	private static final int ARRAY_OVERHEAD = 16;
+	private static final int STRING_OVERHEAD = 40;
+	private static final int DATE_SIZE = 24;
+	private static final int VALUE_SIZE = 16;
+
+	private final FieldType[] fieldTypes;
+
+	public FieldTypeObjectWeigher(FieldType[] fieldTypes) {
+		this.fieldTypes = fieldTypes;
+	}
+
+	@Override
+	public long weigh(T data) {
+		long weight = OBJECT_OVERHEAD;
+		for (FieldType fieldType : fieldTypes) {
+			weight += REFERENCE_SIZE;
+			if (fieldType.isForeign() || fieldType.isForeignCollection()) {
+				continue;
+			}
+			try {
+				weight += weighValue(fieldType.extractRawJavaFieldValue(data));
+			} catch (SQLException e) {
+				// we can't get at the field so just count the reference
+			}
+		}
+		return weight;
+	}
+
+	private long weighValue(Object value) {
+		if (value == null) {
+			return 0;
+		} else if (value instanceof String) {
+			return STRING_OVERHEAD + 2L * ((String) value).length();
+		} else if (value instanceof byte[]) {
+			return ARRAY_OVERHEAD + ((byte[]) value).length;
+		} else if (value instanceof char[]) {
+			return ARRAY_OVERHEAD + 2L * ((char[]) value).length;
+		} else if (value instanceof Date) {
+			return DATE_SIZE;
+		} else {
+			return VALUE_SIZE;
+		}
+	}
+}
@@ -12,13 +12,21 @@ import java.util.Set;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
 import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Collection that is set on a field that as been marked with the {@link ForeignCollectionField} annotation when an
  * object is refreshed or queried (i.e. not created). Most of the methods here require a pass through the database.
- * Operations such as size() therefore should most likely not be used because of their expense. Chances are you only
- * want to use the {@link #iterator()}, {@link #toArray()}, and {@link #toArray(Object[])} methods.
+ * The {@link #size()}, {@link #isEmpty()}, and {@link #contains(Object)} methods use COUNT and id-matching queries
+ * but other operations such as {@link #containsAll(Collection)} iterate across the collection so should be used with
+ * care. Chances are you only want to use the {@link #iterator()}, {@link #toArray()}, and {@link #toArray(Object[])}
+ * methods.
  * 
  * <p>
  * <b>WARNING:</b> Most likely for(;;) loops should not be used here since we need to be careful about closing the
@@ -120,43 +128,74 @@ public class LazyForeignCollection<T, ID> extends BaseForeignCollection<T, ID> i
 		return false;
 	}
 
+	/**
+	 * Returns the number of items in the collection using a "SELECT COUNT(*)" query. The items are not read from the
+	 * database.
+	 */
 	@Override
 	public int size() {
-		CloseableIterator<T> iterator = iterator();
+		checkDao();
 		try {
-			int sizeC;
-			for (sizeC = 0; iterator.hasNext(); sizeC++) {
-				// move to next without constructing the object
-				iterator.moveToNext();
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			qb.setCountOf(true);
+			whereParentId(qb);
+			long count = dao.countOf(qb.prepare());
+			if (count > Integer.MAX_VALUE) {
+				return Integer.MAX_VALUE;
+			} else {
+				return (int) count;
 			}
-			return sizeC;
-		} finally {
-			IOUtils.closeQuietly(iterator);
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not count the items in the collection for " + dao.getDataClass(),
+					e);
 		}
 	}
 
+	/**
+	 * Returns true if there are no items in the collection. This runs a "SELECT 1 ..." query that stops at the first
+	 * matching row.
+	 */
 	@Override
 	public boolean isEmpty() {
-		CloseableIterator<T> iterator = iterator();
+		checkDao();
 		try {
-			return !iterator.hasNext();
-		} finally {
-			IOUtils.closeQuietly(iterator);
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			qb.selectRaw("1");
+			qb.limit(1L);
+			whereParentId(qb);
+			return !hasResults(qb.prepare());
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not see if the collection is empty for " + dao.getDataClass(), e);
 		}
 	}
 
+	/**
+	 * Returns true if the collection contains an item with the same id as the argument. This runs a query that matches
+	 * the id and the foreign field. If the class does not have an id field then this iterates across the collection
+	 * using {@link Object#equals(Object)}.
+	 */
 	@Override
 	public boolean contains(Object obj) {
-		CloseableIterator<T> iterator = iterator();
+		checkDao();
+		if (obj == null || !dao.getDataClass().isInstance(obj)) {
+			return false;
+		}
+		if (dao instanceof BaseDaoImpl<?, ?> && ((BaseDaoImpl<?, ?>) dao).getTableInfo().getIdField() == null) {
+			return iteratorContains(obj);
+		}
 		try {
-			while (iterator.hasNext()) {
-				if (iterator.next().equals(obj)) {
-					return true;
-				}
+			@SuppressWarnings("unchecked")
+			ID id = dao.extractId((T) obj);
+			if (id == null) {
+				return false;
 			}
-			return false;
-		} finally {
-			IOUtils.closeQuietly(iterator);
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			qb.setCountOf(true);
+			whereParentId(qb).and().idEq(id);
+			return (dao.countOf(qb.prepare()) > 0);
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not look for the item in the collection for " + dao.getDataClass(),
+					e);
 		}
 	}
 
@@ -299,14 +338,53 @@ public class LazyForeignCollection<T, ID> extends BaseForeignCollection<T, ID> i
 		return super.hashCode();
 	}
 
+	private boolean iteratorContains(Object obj) {
+		CloseableIterator<T> iterator = iterator();
+		try {
+			while (iterator.hasNext()) {
+				if (iterator.next().equals(obj)) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			IOUtils.closeQuietly(iterator);
+		}
+	}
+
+	/**
+	 * Run the raw query and return true if it returns at least one row.
+	 */
+	private boolean hasResults(PreparedQuery<T> preparedQuery) throws SQLException {
+		ConnectionSource connectionSource = dao.getConnectionSource();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(dao.getTableName());
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			compiledStatement = preparedQuery.compile(connection, StatementType.SELECT_RAW);
+			compiledStatement.setMaxRows(1);
+			results = compiledStatement.runQuery(null);
+			return results.first();
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	CloseableIterator<T> seperateIteratorThrow(int flags) throws SQLException {
-		// check state to make sure we have a DAO in case we have a deserialized collection
+		checkDao();
+		return dao.iterator(getPreparedQuery(), flags);
+	}
+
+	/**
+	 * Check state to make sure we have a DAO in case we have a deserialized collection.
+	 */
+	private void checkDao() {
 		if (dao == null) {
 			throw new IllegalStateException(
 					"Internal DAO object is null.  Maybe the collection was deserialized or otherwise constructed wrongly.  "
 							+ "Use dao.assignEmptyForeignCollection(...) or dao.getEmptyForeignCollection(...) instead");
-		} else {
-			return dao.iterator(getPreparedQuery(), flags);
 		}
 	}
 }
@@ -9,7 +9,8 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Cache for ORMLite which stores a certain number of items for each Class. Inserting an object into the cache once it
  * is full will cause the least-recently-used object to be ejected. They can be injected into a dao with the
- * {@link Dao#setObjectCache(ObjectCache)}.
+ * {@link Dao#setObjectCache(ObjectCache)}. The hits, misses, puts, and evictions of each class are counted and are
+ * returned by {@link #getStats(Class)}.
  * 
  * <p>
  * <b>NOTE:</b> If you set the capacity to be 100 then each <i>Class</i> will allow 100 items in the cache. If you have
@@ -18,11 +19,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * @author graywatson
  */
-public class LruObjectCache implements ObjectCache {
+public class LruObjectCache implements StatsObjectCache {
 
 	private final int capacity;
 	private final ConcurrentHashMap<Class<?>, Map<Object, Object>> classMaps =
 			new ConcurrentHashMap<Class<?>, Map<Object, Object>>();
+	private final ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter> statsCounters =
+			new ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter>();
 
 	public LruObjectCache(int capacity) {
 		this.capacity = capacity;
@@ -32,7 +35,10 @@ public class LruObjectCache implements ObjectCache {
 	public synchronized <T> void registerClass(Class<T> clazz) {
 		Map<Object, Object> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
-			objectMap = Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity));
+			ObjectCacheStatsCounter statsCounter = new ObjectCacheStatsCounter();
+			statsCounters.put(clazz, statsCounter);
+			objectMap =
+					Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity, statsCounter));
 			classMaps.put(clazz, objectMap);
 		}
 	}
@@ -44,6 +50,12 @@ public class LruObjectCache implements ObjectCache {
 			return null;
 		}
 		Object obj = objectMap.get(id);
+		ObjectCacheStatsCounter statsCounter = statsCounters.get(clazz);
+		if (obj == null) {
+			statsCounter.recordMiss();
+		} else {
+			statsCounter.recordHit();
+		}
 		@SuppressWarnings("unchecked")
 		T castObj = (T) obj;
 		return castObj;
@@ -54,6 +66,7 @@ public class LruObjectCache implements ObjectCache {
 		Map<Object, Object> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
 			objectMap.put(id, data);
+			statsCounters.get(clazz).recordPut();
 		}
 	}
 
@@ -115,6 +128,25 @@ public class LruObjectCache implements ObjectCache {
 		return size;
 	}
 
+	@Override
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ObjectCacheStatsCounter statsCounter = statsCounters.get(clazz);
+		if (statsCounter == null) {
+			return new ObjectCacheStats(0, 0, 0, 0, 0);
+		} else {
+			return statsCounter.getStats();
+		}
+	}
+
+	@Override
+	public ObjectCacheStats getStatsAll() {
+		ObjectCacheStats stats = new ObjectCacheStats(0, 0, 0, 0, 0);
+		for (ObjectCacheStatsCounter statsCounter : statsCounters.values()) {
+			stats = stats.plus(statsCounter.getStats());
+		}
+		return stats;
+	}
+
 	private Map<Object, Object> getMapForClass(Class<?> clazz) {
 		Map<Object, Object> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
@@ -131,15 +163,22 @@ public class LruObjectCache implements ObjectCache {
 
 		private static final long serialVersionUID = -4566528080395573236L;
 		private final int capacity;
+		private final ObjectCacheStatsCounter statsCounter;
 
-		public LimitedLinkedHashMap(int capacity) {
+		public LimitedLinkedHashMap(int capacity, ObjectCacheStatsCounter statsCounter) {
 			super(capacity, 0.75F, true);
 			this.capacity = capacity;
+			this.statsCounter = statsCounter;
 		}
 
 		@Override
 		protected boolean removeEldestEntry(Entry<K, V> eldest) {
-			return size() > capacity;
+			if (size() > capacity) {
+				statsCounter.recordEviction();
+				return true;
+			} else {
+				return false;
+			}
 		}
 	}
 }
@@ -0,0 +1,136 @@
+package com.j256.ormlite.dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the ids which are known to not be in the table of a DAO so repeated {@link Dao#queryForId(Object)} and
+ * {@link Dao#idExists(Object)} calls for missing ids can be answered without going to the database. It is enabled with
+ * {@link Dao#setNegativeIdCache(boolean)}.
+ *
+ * <p>
+ * The DAO removes the id of each object that it creates or whose id it updates from the cache. Any other change to the
+ * table, including deletes and calls to {@link Dao#notifyChanges()}, clears the whole cache. Updates of objects never
+ * add ids so they leave the cache alone.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Rows added with the raw methods or outside of the DAO are not seen until {@link #clear()} or
+ * {@link Dao#notifyChanges()} is called. Rows created in a transaction that has not been committed may be recorded as
+ * missing by other threads until the next change. In the same way, if a row is deleted in a transaction and its id is
+ * then looked up before the transaction is rolled back, the id stays missing after the rollback. Call
+ * {@link Dao#notifyChanges()} after rolling back such a transaction.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class NegativeIdCache {
+
+	/** default number of missing ids that are held in the cache */
+	public static final int DEFAULT_MAX_IDS = 10000;
+
+	private final int maxIds;
+	private final Map<Object, Object> idMap;
+	// incremented on each change so ids looked up during a change are not stored
+	private long changeCount;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public NegativeIdCache() {
+		this(DEFAULT_MAX_IDS);
+	}
+
+	/**
+	 * @param maxIds
+	 *            Maximum number of missing ids to hold in the cache. Once it is full, the least-recently-used ids are
+	 *            ejected.
+	 */
+	public NegativeIdCache(final int maxIds) {
+		this.maxIds = maxIds;
+		this.idMap = new LinkedHashMap<Object, Object>(16, 0.75F, true) {
+			private static final long serialVersionUID = 4870261528362015643L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+				return size() > maxIds;
+			}
+		};
+	}
+
+	/**
+	 * Return true if the id is known to not be in the table.
+	 */
+	public boolean isMissing(Object id) {
+		boolean missing;
+		synchronized (this) {
+			missing = (idMap.get(id) != null);
+		}
+		if (missing) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+		}
+		return missing;
+	}
+
+	/**
+	 * Return the number of changes which is passed to {@link #putMissing(Object, long)} after the database is queried.
+	 */
+	public synchronized long getChangeCount() {
+		return changeCount;
+	}
+
+	/**
+	 * Record that the id is not in the table unless there has been a change since the database was queried.
+	 */
+	public synchronized void putMissing(Object id, long startChangeCount) {
+		if (startChangeCount == changeCount) {
+			idMap.put(id, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Remove an id that may have been added to the table.
+	 */
+	public synchronized void remove(Object id) {
+		idMap.remove(id);
+		changeCount++;
+	}
+
+	/**
+	 * Remove all of the ids from the cache.
+	 */
+	public synchronized void clear() {
+		idMap.clear();
+		changeCount++;
+	}
+
+	/**
+	 * Return the number of ids in the cache.
+	 */
+	public synchronized int size() {
+		return idMap.size();
+	}
+
+	/**
+	 * Return the maximum number of ids that are held in the cache.
+	 */
+	public int getMaxIds() {
+		return maxIds;
+	}
+
+	/**
+	 * Return the number of lookups that were answered from the cache.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that had to go to the database.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+}
@@ -0,0 +1,89 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Statistics of a {@link StatsObjectCache} at a point in time. The counts start when the class is registered with the
+ * cache and are not reset when the cache is cleared.
+ *
+ * @author graywatson
+ */
+public class ObjectCacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long putCount;
+	private final long evictionCount;
+	private final long clearedReferenceCount;
+
+	public ObjectCacheStats(long hitCount, long missCount, long putCount, long evictionCount,
+			long clearedReferenceCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+		this.evictionCount = evictionCount;
+		this.clearedReferenceCount = clearedReferenceCount;
+	}
+
+	/**
+	 * Return the number of lookups that found an object.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that did not find an object.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of objects put into the cache.
+	 */
+	public long getPutCount() {
+		return putCount;
+	}
+
+	/**
+	 * Return the number of objects ejected to make room for others.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Return the number of objects that were removed because they had been garbage collected.
+	 */
+	public long getClearedReferenceCount() {
+		return clearedReferenceCount;
+	}
+
+	/**
+	 * Return the number of lookups.
+	 */
+	public long getRequestCount() {
+		return hitCount + missCount;
+	}
+
+	/**
+	 * Return the fraction of the lookups that found an object or 0 if there have been none.
+	 */
+	public double getHitRate() {
+		long requestCount = getRequestCount();
+		return (requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+	}
+
+	/**
+	 * Return the sum of these statistics and another's.
+	 */
+	public ObjectCacheStats plus(ObjectCacheStats other) {
+		return new ObjectCacheStats(hitCount + other.hitCount, missCount + other.missCount, putCount + other.putCount,
+				evictionCount + other.evictionCount, clearedReferenceCount + other.clearedReferenceCount);
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount + ", misses=" + missCount + ", puts=" + putCount + ", evictions=" + evictionCount
+				+ ", cleared=" + clearedReferenceCount;
+	}
+}
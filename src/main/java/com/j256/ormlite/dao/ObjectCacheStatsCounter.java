@@ -0,0 +1,74 @@
+package com.j256.ormlite.dao;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters behind {@link ObjectCacheStats}. The counts are spread over a number of stripes picked by the thread so
+ * threads on different processors don't fight over the same cache line on every lookup. The stripes are added up when
+ * the statistics are requested.
+ *
+ * @author graywatson
+ */
+class ObjectCacheStatsCounter {
+
+	private static final int HIT = 0;
+	private static final int MISS = 1;
+	private static final int PUT = 2;
+	private static final int EVICTION = 3;
+	private static final int CLEARED = 4;
+	// each stripe takes up a 64 byte cache line
+	private static final int STRIPE_LENGTH = 8;
+	private static final int STRIPE_COUNT;
+
+	static {
+		int count = 1;
+		int processors = Runtime.getRuntime().availableProcessors();
+		while (count < processors && count < 64) {
+			count <<= 1;
+		}
+		STRIPE_COUNT = count;
+	}
+
+	private final AtomicLongArray counts = new AtomicLongArray(STRIPE_COUNT * STRIPE_LENGTH);
+
+	public void recordHit() {
+		increment(HIT);
+	}
+
+	public void recordMiss() {
+		increment(MISS);
+	}
+
+	public void recordPut() {
+		increment(PUT);
+	}
+
+	public void recordEviction() {
+		increment(EVICTION);
+	}
+
+	public void recordCleared() {
+		increment(CLEARED);
+	}
+
+	/**
+	 * Return a snapshot of the counts.
+	 */
+	public ObjectCacheStats getStats() {
+		return new ObjectCacheStats(sum(HIT), sum(MISS), sum(PUT), sum(EVICTION), sum(CLEARED));
+	}
+
+	private void increment(int counter) {
+		long threadId = Thread.currentThread().getId();
+		int stripe = (int) (threadId ^ (threadId >>> 16)) & (STRIPE_COUNT - 1);
+		counts.incrementAndGet(stripe * STRIPE_LENGTH + counter);
+	}
+
+	private long sum(int counter) {
+		long sum = 0;
+		for (int i = counter; i < counts.length(); i += STRIPE_LENGTH) {
+			sum += counts.get(i);
+		}
+		return sum;
+	}
+}
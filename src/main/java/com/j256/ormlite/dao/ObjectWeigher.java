@@ -0,0 +1,14 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Estimates how much memory an object takes so it can be held in a {@link WeightedObjectCache}.
+ * 
+ * @author graywatson
+ */
+public interface ObjectWeigher<T> {
+
+	/**
+	 * Return the approximate number of bytes used by the object. This is called when the object is put into the cache.
+	 */
+	public long weigh(T data);
+}
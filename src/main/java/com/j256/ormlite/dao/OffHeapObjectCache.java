@@ -0,0 +1,542 @@
+package com.j256.ormlite.dao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.field.DataPersister;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Cache for ORMLite which stores the objects outside of the Java heap in a compact binary form in direct
+ * {@link ByteBuffer}s. This is meant for large, read-mostly tables where holding millions of objects on the heap would
+ * cost much more memory than the data itself. It can be injected into a dao with the
+ * {@link Dao#setObjectCache(ObjectCache)}.
+ *
+ * <p>
+ * Each field of an object is converted by the {@link DataPersister} of its {@link FieldType} into its SQL argument form
+ * and written to the buffers when the object is put into the cache. Each {@link #get(Class, Object)} decodes a new
+ * instance from the buffers the same way that an object is built from a database row, including the foreign objects
+ * and foreign collections. Objects with field values that can't be written in the binary form are not cached.
+ * </p>
+ *
+ * <p>
+ * The memory is split into segments which are filled one after another. Once all of the segments are full, the oldest
+ * segment is cleared and reused so the objects that were put in the cache the longest time ago are ejected first.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Since every lookup returns a new instance, changes made to an object returned by the cache are not seen
+ * by the cache unless the object is updated or refreshed with the dao or put into the cache again. The classes must be
+ * set up through a dao so the cache has the field information. Classes registered in some other manner are not cached.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class OffHeapObjectCache implements TableInfoObjectCache {
+
+	/** default size of each of the direct buffer segments */
+	public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+	private static Logger logger = LoggerFactory.getLogger(OffHeapObjectCache.class);
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_STRING = 1;
+	private static final byte TYPE_BOOLEAN = 2;
+	private static final byte TYPE_BYTE = 3;
+	private static final byte TYPE_CHAR = 4;
+	private static final byte TYPE_SHORT = 5;
+	private static final byte TYPE_INTEGER = 6;
+	private static final byte TYPE_LONG = 7;
+	private static final byte TYPE_FLOAT = 8;
+	private static final byte TYPE_DOUBLE = 9;
+	private static final byte TYPE_BYTE_ARRAY = 10;
+	private static final byte TYPE_DATE = 11;
+	private static final byte TYPE_SQL_DATE = 12;
+	private static final byte TYPE_TIMESTAMP = 13;
+	private static final byte TYPE_BIG_DECIMAL = 14;
+	private static final byte TYPE_BIG_INTEGER = 15;
+
+	private final int segmentSize;
+	private final Segment[] segments;
+	private int currentSegment;
+	private final Map<Class<?>, RowCodec<?>> codecMap = new HashMap<Class<?>, RowCodec<?>>();
+	private final Map<Class<?>, Map<Object, Location>> classIndexMap = new HashMap<Class<?>, Map<Object, Location>>();
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	/**
+	 * @param maxBytes
+	 *            Maximum number of bytes of direct memory to use.
+	 */
+	public OffHeapObjectCache(long maxBytes) {
+		this(maxBytes, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * @param maxBytes
+	 *            Maximum number of bytes of direct memory to use.
+	 * @param segmentSize
+	 *            Size of each of the direct buffers. An object which is bigger than this is not cached.
+	 */
+	public OffHeapObjectCache(long maxBytes, int segmentSize) {
+		if (maxBytes < segmentSize) {
+			segmentSize = (int) Math.max(0, maxBytes);
+		}
+		this.segmentSize = segmentSize;
+		int segmentCount = (segmentSize == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, maxBytes / segmentSize));
+		this.segments = new Segment[segmentCount];
+	}
+
+	@Override
+	public synchronized <T, ID> void registerTableInfo(TableInfo<T, ID> tableInfo) {
+		codecMap.put(tableInfo.getDataClass(), new RowCodec<T>(tableInfo));
+	}
+
+	@Override
+	public synchronized <T> void registerClass(Class<T> clazz) {
+		if (!classIndexMap.containsKey(clazz)) {
+			classIndexMap.put(clazz, new HashMap<Object, Location>());
+		}
+	}
+
+	@Override
+	public <T, ID> T get(Class<T> clazz, ID id) {
+		RowCodec<T> codec;
+		byte[] bytes;
+		synchronized (this) {
+			Map<Object, Location> indexMap = classIndexMap.get(clazz);
+			codec = getCodec(clazz);
+			if (indexMap == null || codec == null) {
+				return null;
+			}
+			Location location = indexMap.get(id);
+			if (location == null) {
+				missCount++;
+				return null;
+			}
+			hitCount++;
+			bytes = location.segment.read(location.offset, location.length);
+		}
+		// we decode outside of the lock since it may load foreign objects
+		try {
+			return codec.decode(bytes);
+		} catch (Exception e) {
+			logger.warn(e, "could not decode cached {} with id {}", clazz, id);
+			remove(clazz, id);
+			return null;
+		}
+	}
+
+	@Override
+	public <T, ID> void put(Class<T> clazz, ID id, T data) {
+		RowCodec<T> codec;
+		synchronized (this) {
+			codec = getCodec(clazz);
+			if (codec == null || !classIndexMap.containsKey(clazz)) {
+				return;
+			}
+		}
+		byte[] bytes;
+		try {
+			bytes = codec.encode(data);
+		} catch (Exception e) {
+			logger.trace("could not encode {} with id {}: {}", clazz, id, e.getMessage());
+			// the previous version of the object may be out of date
+			remove(clazz, id);
+			return;
+		}
+		store(clazz, id, bytes);
+	}
+
+	@Override
+	public synchronized <T> void clear(Class<T> clazz) {
+		Map<Object, Location> indexMap = classIndexMap.get(clazz);
+		if (indexMap != null) {
+			// the space is reclaimed when the segments are reused
+			indexMap.clear();
+		}
+	}
+
+	@Override
+	public synchronized void clearAll() {
+		for (Map<Object, Location> indexMap : classIndexMap.values()) {
+			indexMap.clear();
+		}
+		for (Segment segment : segments) {
+			if (segment != null) {
+				segment.reset();
+			}
+		}
+		currentSegment = 0;
+	}
+
+	@Override
+	public synchronized <T, ID> void remove(Class<T> clazz, ID id) {
+		Map<Object, Location> indexMap = classIndexMap.get(clazz);
+		if (indexMap != null) {
+			indexMap.remove(id);
+		}
+	}
+
+	@Override
+	public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+		T obj = get(clazz, oldId);
+		if (obj == null) {
+			return null;
+		}
+		remove(clazz, oldId);
+		RowCodec<T> codec;
+		synchronized (this) {
+			codec = getCodec(clazz);
+		}
+		try {
+			codec.idField.assignField(obj, newId, false, null);
+		} catch (SQLException e) {
+			logger.warn(e, "could not assign new id {} to cached {}", newId, clazz);
+			return null;
+		}
+		put(clazz, newId, obj);
+		return obj;
+	}
+
+	@Override
+	public synchronized <T> int size(Class<T> clazz) {
+		Map<Object, Location> indexMap = classIndexMap.get(clazz);
+		return (indexMap == null ? 0 : indexMap.size());
+	}
+
+	@Override
+	public synchronized int sizeAll() {
+		int size = 0;
+		for (Map<Object, Location> indexMap : classIndexMap.values()) {
+			size += indexMap.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Return the number of bytes of direct memory that have been allocated.
+	 */
+	public synchronized long getAllocatedBytes() {
+		long allocated = 0;
+		for (Segment segment : segments) {
+			if (segment != null) {
+				allocated += segmentSize;
+			}
+		}
+		return allocated;
+	}
+
+	/**
+	 * Return the number of lookups that found an object.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that did not find an object.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of objects that were removed because their segment was reused or that were too big to store.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	private synchronized void store(Class<?> clazz, Object id, byte[] bytes) {
+		Map<Object, Location> indexMap = classIndexMap.get(clazz);
+		if (indexMap == null) {
+			return;
+		}
+		if (bytes.length > segmentSize) {
+			indexMap.remove(id);
+			evictionCount++;
+			return;
+		}
+		Segment segment = segments[currentSegment];
+		if (segment == null) {
+			segment = new Segment(ByteBuffer.allocateDirect(segmentSize));
+			segments[currentSegment] = segment;
+		} else if (segment.remaining() < bytes.length) {
+			// move on to the next segment and throw away anything still in it
+			currentSegment = (currentSegment + 1) % segments.length;
+			segment = segments[currentSegment];
+			if (segment == null) {
+				segment = new Segment(ByteBuffer.allocateDirect(segmentSize));
+				segments[currentSegment] = segment;
+			} else {
+				evictSegment(segment);
+			}
+		}
+		Location location = new Location(clazz, id, segment, segment.write(bytes), bytes.length);
+		segment.locations.add(location);
+		indexMap.put(id, location);
+	}
+
+	private void evictSegment(Segment segment) {
+		for (Location location : segment.locations) {
+			Map<Object, Location> indexMap = classIndexMap.get(location.clazz);
+			// it may have been replaced by a newer version in another segment
+			if (indexMap != null && indexMap.get(location.id) == location) {
+				indexMap.remove(location.id);
+				evictionCount++;
+			}
+		}
+		segment.reset();
+	}
+
+	private <T> RowCodec<T> getCodec(Class<T> clazz) {
+		@SuppressWarnings("unchecked")
+		RowCodec<T> codec = (RowCodec<T>) codecMap.get(clazz);
+		return codec;
+	}
+
+	private static void writeValue(DataOutputStream output, Object value) throws IOException, SQLException {
+		if (value == null) {
+			output.writeByte(TYPE_NULL);
+		} else if (value instanceof String) {
+			output.writeByte(TYPE_STRING);
+			byte[] bytes = ((String) value).getBytes("UTF-8");
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		} else if (value instanceof Boolean) {
+			output.writeByte(TYPE_BOOLEAN);
+			output.writeBoolean((Boolean) value);
+		} else if (value instanceof Byte) {
+			output.writeByte(TYPE_BYTE);
+			output.writeByte((Byte) value);
+		} else if (value instanceof Character) {
+			output.writeByte(TYPE_CHAR);
+			output.writeChar((Character) value);
+		} else if (value instanceof Short) {
+			output.writeByte(TYPE_SHORT);
+			output.writeShort((Short) value);
+		} else if (value instanceof Integer) {
+			output.writeByte(TYPE_INTEGER);
+			output.writeInt((Integer) value);
+		} else if (value instanceof Long) {
+			output.writeByte(TYPE_LONG);
+			output.writeLong((Long) value);
+		} else if (value instanceof Float) {
+			output.writeByte(TYPE_FLOAT);
+			output.writeFloat((Float) value);
+		} else if (value instanceof Double) {
+			output.writeByte(TYPE_DOUBLE);
+			output.writeDouble((Double) value);
+		} else if (value instanceof byte[]) {
+			output.writeByte(TYPE_BYTE_ARRAY);
+			byte[] bytes = (byte[]) value;
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		} else if (value instanceof Timestamp) {
+			output.writeByte(TYPE_TIMESTAMP);
+			Timestamp timestamp = (Timestamp) value;
+			output.writeLong(timestamp.getTime());
+			output.writeInt(timestamp.getNanos());
+		} else if (value instanceof java.sql.Date) {
+			output.writeByte(TYPE_SQL_DATE);
+			output.writeLong(((java.sql.Date) value).getTime());
+		} else if (value.getClass() == java.util.Date.class) {
+			output.writeByte(TYPE_DATE);
+			output.writeLong(((java.util.Date) value).getTime());
+		} else if (value.getClass() == BigDecimal.class) {
+			output.writeByte(TYPE_BIG_DECIMAL);
+			output.writeUTF(value.toString());
+		} else if (value.getClass() == BigInteger.class) {
+			output.writeByte(TYPE_BIG_INTEGER);
+			output.writeUTF(value.toString());
+		} else {
+			throw new SQLException("Cannot store value of " + value.getClass() + " in the off-heap cache");
+		}
+	}
+
+	private static Object readValue(DataInputStream input) throws IOException, SQLException {
+		byte type = input.readByte();
+		switch (type) {
+			case TYPE_NULL:
+				return null;
+			case TYPE_STRING: {
+				byte[] bytes = new byte[input.readInt()];
+				input.readFully(bytes);
+				return new String(bytes, "UTF-8");
+			}
+			case TYPE_BOOLEAN:
+				return input.readBoolean();
+			case TYPE_BYTE:
+				return input.readByte();
+			case TYPE_CHAR:
+				return input.readChar();
+			case TYPE_SHORT:
+				return input.readShort();
+			case TYPE_INTEGER:
+				return input.readInt();
+			case TYPE_LONG:
+				return input.readLong();
+			case TYPE_FLOAT:
+				return input.readFloat();
+			case TYPE_DOUBLE:
+				return input.readDouble();
+			case TYPE_BYTE_ARRAY: {
+				byte[] bytes = new byte[input.readInt()];
+				input.readFully(bytes);
+				return bytes;
+			}
+			case TYPE_TIMESTAMP: {
+				Timestamp timestamp = new Timestamp(input.readLong());
+				timestamp.setNanos(input.readInt());
+				return timestamp;
+			}
+			case TYPE_SQL_DATE:
+				return new java.sql.Date(input.readLong());
+			case TYPE_DATE:
+				return new java.util.Date(input.readLong());
+			case TYPE_BIG_DECIMAL:
+				return new BigDecimal(input.readUTF());
+			case TYPE_BIG_INTEGER:
+				return new BigInteger(input.readUTF());
+			default:
+				throw new SQLException("Unknown value type " + type + " in the off-heap cache");
+		}
+	}
+
+	/**
+	 * Converts the objects of a class to and from the binary form using the field-types of the class.
+	 */
+	private static class RowCodec<T> {
+
+		private final TableInfo<T, ?> tableInfo;
+		private final FieldType[] fieldTypes;
+		private final FieldType[] foreignCollections;
+		final FieldType idField;
+
+		public RowCodec(TableInfo<T, ?> tableInfo) {
+			this.tableInfo = tableInfo;
+			List<FieldType> fieldTypeList = new ArrayList<FieldType>();
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (!fieldType.isForeignCollection()) {
+					fieldTypeList.add(fieldType);
+				}
+			}
+			this.fieldTypes = fieldTypeList.toArray(new FieldType[fieldTypeList.size()]);
+			this.foreignCollections = tableInfo.getForeignCollections();
+			this.idField = tableInfo.getIdField();
+		}
+
+		public byte[] encode(T data) throws IOException, SQLException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+			DataOutputStream output = new DataOutputStream(bytes);
+			for (FieldType fieldType : fieldTypes) {
+				Object value = fieldType.extractJavaFieldValue(data);
+				if (value != null) {
+					value = fieldType.getDataPersister().javaToSqlArg(fieldType, value);
+				}
+				writeValue(output, value);
+			}
+			output.flush();
+			return bytes.toByteArray();
+		}
+
+		public T decode(byte[] bytes) throws IOException, SQLException {
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+			T instance = tableInfo.createObject();
+			Object id = null;
+			for (int i = 0; i < fieldTypes.length; i++) {
+				FieldType fieldType = fieldTypes[i];
+				Object value = readValue(input);
+				if (value != null) {
+					value = fieldType.getDataPersister().sqlArgToJava(fieldType, value, i);
+				}
+				fieldType.assignField(instance, value, false, null);
+				if (fieldType == idField) {
+					id = value;
+				}
+			}
+			// just like building an object from a database row
+			for (FieldType fieldType : foreignCollections) {
+				Object collection = fieldType.buildForeignCollection(instance, id);
+				if (collection != null) {
+					fieldType.assignField(instance, collection, false, null);
+				}
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * One of the direct buffers and the locations of the objects written to it.
+	 */
+	private static class Segment {
+		private final ByteBuffer buffer;
+		final List<Location> locations = new ArrayList<Location>();
+
+		public Segment(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		public int remaining() {
+			return buffer.remaining();
+		}
+
+		/**
+		 * Write the bytes at the end of the segment and return their offset.
+		 */
+		public int write(byte[] bytes) {
+			int offset = buffer.position();
+			buffer.put(bytes);
+			return offset;
+		}
+
+		public byte[] read(int offset, int length) {
+			byte[] bytes = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.position(offset);
+			view.get(bytes);
+			return bytes;
+		}
+
+		public void reset() {
+			buffer.clear();
+			locations.clear();
+		}
+	}
+
+	/**
+	 * Where an object is stored.
+	 */
+	private static class Location {
+		final Class<?> clazz;
+		final Object id;
+		final Segment segment;
+		final int offset;
+		final int length;
+
+		public Location(Class<?> clazz, Object id, Segment segment, int offset, int length) {
+			this.clazz = clazz;
+			this.id = id;
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+}
@@ -1,25 +1,42 @@
 package com.j256.ormlite.dao;
 
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Cache for ORMLite which stores objects with a {@link WeakReference} or {@link SoftReference} to them. Java Garbage
  * Collection can then free these objects if no one has a "strong" reference to the object (weak) or if it runs out of
- * memory (soft).
+ * memory (soft). The hits, misses, puts, and references cleared by the GC of each class are counted and are returned
+ * by {@link #getStats(Class)}.
+ * 
+ * <p>
+ * The references are registered with a {@link ReferenceQueue} so the entries of objects which have been garbage
+ * collected are removed a few at a time by the next {@link #get(Class, Object)} or {@link #put(Class, Object, Object)}
+ * call. If the cache may sit idle after it has held a lot of objects, {@link #startCleanerThread()} can be called to
+ * have a daemon thread remove them as soon as they are collected.
+ * </p>
  * 
  * @author graywatson
  */
-public class ReferenceObjectCache implements ObjectCache {
+public class ReferenceObjectCache implements StatsObjectCache {
+
+	/** maximum number of collected entries removed by each get or put so a single call is never held up for long */
+	static final int MAX_COLLECTED_REMOVED_PER_CALL = 10;
 
-	private final ConcurrentHashMap<Class<?>, Map<Object, Reference<Object>>> classMaps =
-			new ConcurrentHashMap<Class<?>, Map<Object, Reference<Object>>>();
+	private final ConcurrentHashMap<Class<?>, ConcurrentMap<Object, Reference<Object>>> classMaps =
+			new ConcurrentHashMap<Class<?>, ConcurrentMap<Object, Reference<Object>>>();
+	private final ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter> statsCounters =
+			new ConcurrentHashMap<Class<?>, ObjectCacheStatsCounter>();
 	private final boolean useWeak;
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+	private Thread cleanerThread;
 
 	/**
 	 * @param useWeak
@@ -46,8 +63,9 @@ public class ReferenceObjectCache implements ObjectCache {
 
 	@Override
 	public synchronized <T> void registerClass(Class<T> clazz) {
-		Map<Object, Reference<Object>> objectMap = classMaps.get(clazz);
+		ConcurrentMap<Object, Reference<Object>> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
+			statsCounters.put(clazz, new ObjectCacheStatsCounter());
 			objectMap = new ConcurrentHashMap<Object, Reference<Object>>();
 			classMaps.put(clazz, objectMap);
 		}
@@ -55,19 +73,26 @@ public class ReferenceObjectCache implements ObjectCache {
 
 	@Override
 	public <T, ID> T get(Class<T> clazz, ID id) {
+		removeCollectedReferences();
 		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap == null) {
 			return null;
 		}
+		ObjectCacheStatsCounter statsCounter = statsCounters.get(clazz);
 		Reference<Object> ref = objectMap.get(id);
 		if (ref == null) {
+			statsCounter.recordMiss();
 			return null;
 		}
 		Object obj = ref.get();
 		if (obj == null) {
-			objectMap.remove(id);
+			if (objectMap.remove(id) != null) {
+				statsCounter.recordCleared();
+			}
+			statsCounter.recordMiss();
 			return null;
 		} else {
+			statsCounter.recordHit();
 			@SuppressWarnings("unchecked")
 			T castObj = (T) obj;
 			return castObj;
@@ -76,13 +101,11 @@ public class ReferenceObjectCache implements ObjectCache {
 
 	@Override
 	public <T, ID> void put(Class<T> clazz, ID id, T data) {
+		removeCollectedReferences();
 		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
-			if (useWeak) {
-				objectMap.put(id, new WeakReference<Object>(data));
-			} else {
-				objectMap.put(id, new SoftReference<Object>(data));
-			}
+			objectMap.put(id, makeReference(clazz, id, data));
+			statsCounters.get(clazz).recordPut();
 		}
 	}
 
@@ -119,9 +142,15 @@ public class ReferenceObjectCache implements ObjectCache {
 		if (ref == null) {
 			return null;
 		}
-		objectMap.put(newId, ref);
+		Object obj = ref.get();
+		if (obj == null) {
+			statsCounters.get(clazz).recordCleared();
+			return null;
+		}
+		// the reference knows its id so it is replaced with one for the new id
+		objectMap.put(newId, makeReference(clazz, newId, obj));
 		@SuppressWarnings("unchecked")
-		T castObj = (T) ref.get();
+		T castObj = (T) obj;
 		return castObj;
 	}
 
@@ -144,13 +173,48 @@ public class ReferenceObjectCache implements ObjectCache {
 		return size;
 	}
 
+	/**
+	 * Start a daemon thread which removes the entries of objects as soon as they have been garbage collected instead
+	 * of waiting for the next get or put. The thread holds on to the cache so {@link #stopCleanerThread()} should be
+	 * called once the cache is no longer used.
+	 */
+	public synchronized void startCleanerThread() {
+		if (cleanerThread != null) {
+			return;
+		}
+		cleanerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						removeCollectedReference(referenceQueue.remove());
+					}
+				} catch (InterruptedException e) {
+					// we have been stopped
+				}
+			}
+		}, getClass().getSimpleName() + "-cleaner");
+		cleanerThread.setDaemon(true);
+		cleanerThread.start();
+	}
+
+	/**
+	 * Stop the thread started by {@link #startCleanerThread()}.
+	 */
+	public synchronized void stopCleanerThread() {
+		if (cleanerThread != null) {
+			cleanerThread.interrupt();
+			cleanerThread = null;
+		}
+	}
+
 	/**
 	 * Run through the map and remove any references that have been null'd out by the GC.
 	 */
 	public <T> void cleanNullReferences(Class<T> clazz) {
 		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
-			cleanMap(objectMap);
+			cleanMap(objectMap, statsCounters.get(clazz));
 		}
 	}
 
@@ -158,26 +222,127 @@ public class ReferenceObjectCache implements ObjectCache {
 	 * Run through all maps and remove any references that have been null'd out by the GC.
 	 */
 	public <T> void cleanNullReferencesAll() {
-		for (Map<Object, Reference<Object>> objectMap : classMaps.values()) {
-			cleanMap(objectMap);
+		for (Entry<Class<?>, ConcurrentMap<Object, Reference<Object>>> entry : classMaps.entrySet()) {
+			cleanMap(entry.getValue(), statsCounters.get(entry.getKey()));
+		}
+	}
+
+	@Override
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ObjectCacheStatsCounter statsCounter = statsCounters.get(clazz);
+		if (statsCounter == null) {
+			return new ObjectCacheStats(0, 0, 0, 0, 0);
+		} else {
+			return statsCounter.getStats();
+		}
+	}
+
+	@Override
+	public ObjectCacheStats getStatsAll() {
+		ObjectCacheStats stats = new ObjectCacheStats(0, 0, 0, 0, 0);
+		for (ObjectCacheStatsCounter statsCounter : statsCounters.values()) {
+			stats = stats.plus(statsCounter.getStats());
+		}
+		return stats;
+	}
+
+	/**
+	 * Remove some of the entries of the objects that the GC has collected. The rest are removed by the next calls.
+	 */
+	private void removeCollectedReferences() {
+		for (int i = 0; i < MAX_COLLECTED_REMOVED_PER_CALL; i++) {
+			Reference<?> ref = referenceQueue.poll();
+			if (ref == null) {
+				break;
+			}
+			removeCollectedReference(ref);
+		}
+	}
+
+	private void removeCollectedReference(Reference<?> ref) {
+		KeyedReference keyedRef = (KeyedReference) ref;
+		ConcurrentMap<Object, Reference<Object>> objectMap = classMaps.get(keyedRef.getClazz());
+		// the entry may have already been removed or replaced by a newer object
+		if (objectMap != null && objectMap.remove(keyedRef.getId(), ref)) {
+			statsCounters.get(keyedRef.getClazz()).recordCleared();
+		}
+	}
+
+	private Reference<Object> makeReference(Class<?> clazz, Object id, Object data) {
+		if (useWeak) {
+			return new WeakKeyedReference(clazz, id, data, referenceQueue);
+		} else {
+			return new SoftKeyedReference(clazz, id, data, referenceQueue);
 		}
 	}
 
-	private void cleanMap(Map<Object, Reference<Object>> objectMap) {
+	private void cleanMap(Map<Object, Reference<Object>> objectMap, ObjectCacheStatsCounter statsCounter) {
 		Iterator<Entry<Object, Reference<Object>>> iterator = objectMap.entrySet().iterator();
 		while (iterator.hasNext()) {
 			if (iterator.next().getValue().get() == null) {
 				iterator.remove();
+				statsCounter.recordCleared();
 			}
 		}
 	}
 
 	private Map<Object, Reference<Object>> getMapForClass(Class<?> clazz) {
-		Map<Object, Reference<Object>> objectMap = classMaps.get(clazz);
+		ConcurrentMap<Object, Reference<Object>> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
 			return null;
 		} else {
 			return objectMap;
 		}
 	}
+
+	/**
+	 * Reference which knows where it is stored in the cache so it can be removed once it has been cleared.
+	 */
+	private interface KeyedReference {
+		public Class<?> getClazz();
+
+		public Object getId();
+	}
+
+	private static class WeakKeyedReference extends WeakReference<Object> implements KeyedReference {
+		private final Class<?> clazz;
+		private final Object id;
+
+		public WeakKeyedReference(Class<?> clazz, Object id, Object data, ReferenceQueue<Object> queue) {
+			super(data, queue);
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		@Override
+		public Class<?> getClazz() {
+			return clazz;
+		}
+
+		@Override
+		public Object getId() {
+			return id;
+		}
+	}
+
+	private static class SoftKeyedReference extends SoftReference<Object> implements KeyedReference {
+		private final Class<?> clazz;
+		private final Object id;
+
+		public SoftKeyedReference(Class<?> clazz, Object id, Object data, ReferenceQueue<Object> queue) {
+			super(data, queue);
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		@Override
+		public Class<?> getClazz() {
+			return clazz;
+		}
+
+		@Override
+		public Object getId() {
+			return id;
+		}
+	}
 }
@@ -18,6 +18,7 @@ import com.j256.ormlite.stmt.PreparedDelete;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.PreparedUpdate;
 import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.QueryResultCache;
 import com.j256.ormlite.stmt.UpdateBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -85,6 +86,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryForIds(Collection)
+	 */
+	@Override
+	public Map<ID, T> queryForIds(Collection<ID> ids) {
+		try {
+			return dao.queryForIds(ids);
+		} catch (SQLException e) {
+			logMessage(e, "queryForIds threw exception on: " + ids);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryForFirst(PreparedQuery)
 	 */
@@ -252,6 +266,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#createBulk(Collection)
+	 */
+	@Override
+	public int createBulk(Collection<T> datas) {
+		try {
+			return dao.createBulk(datas);
+		} catch (SQLException e) {
+			logMessage(e, "createBulk threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#createIfNotExists(Object)
 	 */
@@ -278,6 +305,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#createOrUpdateAll(Collection)
+	 */
+	@Override
+	public int createOrUpdateAll(Collection<T> datas) {
+		try {
+			return dao.createOrUpdateAll(datas);
+		} catch (SQLException e) {
+			logMessage(e, "createOrUpdateAll threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#update(Object)
 	 */
@@ -471,6 +511,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#prefetchIterator(PreparedQuery, int)
+	 */
+	@Override
+	public CloseableIterator<T> prefetchIterator(PreparedQuery<T> preparedQuery, int bufferSize) {
+		try {
+			return dao.prefetchIterator(preparedQuery, bufferSize);
+		} catch (SQLException e) {
+			logMessage(e, "prefetchIterator threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryRaw(String, String...)
 	 */
@@ -759,6 +812,74 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#setQueryResultCache(boolean)
+	 */
+	@Override
+	public void setQueryResultCache(boolean enabled) {
+		try {
+			dao.setQueryResultCache(enabled);
+		} catch (SQLException e) {
+			logMessage(e, "setQueryResultCache(" + enabled + ") threw exception");
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#setQueryResultCache(QueryResultCache)
+	 */
+	@Override
+	public void setQueryResultCache(QueryResultCache queryResultCache) {
+		try {
+			dao.setQueryResultCache(queryResultCache);
+		} catch (SQLException e) {
+			logMessage(e, "setQueryResultCache threw exception on " + queryResultCache);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#getQueryResultCache()
+	 */
+	@Override
+	public QueryResultCache getQueryResultCache() {
+		return dao.getQueryResultCache();
+	}
+
+	/**
+	 * @see Dao#setNegativeIdCache(boolean)
+	 */
+	@Override
+	public void setNegativeIdCache(boolean enabled) {
+		try {
+			dao.setNegativeIdCache(enabled);
+		} catch (SQLException e) {
+			logMessage(e, "setNegativeIdCache(" + enabled + ") threw exception");
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#setNegativeIdCache(NegativeIdCache)
+	 */
+	@Override
+	public void setNegativeIdCache(NegativeIdCache negativeIdCache) {
+		try {
+			dao.setNegativeIdCache(negativeIdCache);
+		} catch (SQLException e) {
+			logMessage(e, "setNegativeIdCache threw exception on " + negativeIdCache);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#getNegativeIdCache()
+	 */
+	@Override
+	public NegativeIdCache getNegativeIdCache() {
+		return dao.getNegativeIdCache();
+	}
+
 	/**
 	 * @see Dao#clearObjectCache()
 	 */
@@ -892,6 +1013,22 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		dao.setObjectFactory(objectFactory);
 	}
 
+	/**
+	 * @see Dao#setCreateBatchSize(int)
+	 */
+	@Override
+	public void setCreateBatchSize(int createBatchSize) {
+		dao.setCreateBatchSize(createBatchSize);
+	}
+
+	/**
+	 * @see Dao#setBatchForeignAutoRefresh(boolean)
+	 */
+	@Override
+	public void setBatchForeignAutoRefresh(boolean batchForeignAutoRefresh) {
+		dao.setBatchForeignAutoRefresh(batchForeignAutoRefresh);
+	}
+
 	@Override
 	public ObjectFactory<T> getObjectFactory() {
 		return dao.getObjectFactory();
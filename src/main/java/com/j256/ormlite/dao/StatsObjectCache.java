@@ -0,0 +1,28 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Object cache which keeps statistics about how well it is working. The cache of a dao can be checked with something
+ * like:
+ *
+ * <pre>
+ * ObjectCache cache = dao.getObjectCache();
+ * if (cache instanceof StatsObjectCache) {
+ * 	ObjectCacheStats stats = ((StatsObjectCache) cache).getStats(Account.class);
+ * 	...
+ * }
+ * </pre>
+ *
+ * @author graywatson
+ */
+public interface StatsObjectCache extends ObjectCache {
+
+	/**
+	 * Return the statistics of the objects of a certain class.
+	 */
+	public <T> ObjectCacheStats getStats(Class<T> clazz);
+
+	/**
+	 * Return the statistics of the objects of all of the classes.
+	 */
+	public ObjectCacheStats getStatsAll();
+}
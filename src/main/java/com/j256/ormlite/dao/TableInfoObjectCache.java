@@ -0,0 +1,18 @@
+package com.j256.ormlite.dao;
+
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Object cache which needs the table information of the classes that it holds to do its job, to estimate the size of
+ * the objects or to copy them for example. The dao calls {@link #registerTableInfo(TableInfo)} right before it calls
+ * {@link #registerClass(Class)} when the cache is set with {@link Dao#setObjectCache(ObjectCache)}.
+ * 
+ * @author graywatson
+ */
+public interface TableInfoObjectCache extends ObjectCache {
+
+	/**
+	 * Register the table information for a class.
+	 */
+	public <T, ID> void registerTableInfo(TableInfo<T, ID> tableInfo);
+}
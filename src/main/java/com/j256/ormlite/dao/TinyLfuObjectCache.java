@@ -0,0 +1,488 @@
+package com.j256.ormlite.dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent cache for ORMLite which stores a certain number of items for each Class. It can be used instead of the
+ * {@link LruObjectCache} when many threads are reading the same classes. It can be injected into a dao with the
+ * {@link Dao#setObjectCache(ObjectCache)}.
+ *
+ * <p>
+ * The objects of each class are held in a {@link ConcurrentHashMap} so lookups never block. The eviction order is kept
+ * in a number of independently locked segments. A lookup only updates the access order of its segment if the segment
+ * lock is free so readers never wait for each other. Each segment has a small LRU "window" that all new objects go
+ * into and a main LRU area. When an object falls out of a full window it only replaces the least-recently-used object
+ * of the main area if it has been used more often recently, as estimated by a small frequency sketch. This
+ * W-TinyLFU-like admission keeps frequently used objects from being pushed out by scans of objects that are only used
+ * once.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> If you set the capacity to be 100 then each <i>Class</i> will allow 100 items in the cache. If you have
+ * 5 classes then the cache will hold 500 objects. The capacity of a particular class can be changed with
+ * {@link #setCapacity(Class, int)}. Since the capacity is split between the segments, objects may be evicted a bit
+ * before the class is full if the ids are not spread evenly.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class TinyLfuObjectCache implements ObjectCache {
+
+	/** default number of segments that each class is split into */
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	// we don't split a class into segments smaller than this
+	private static final int MIN_SEGMENT_CAPACITY = 32;
+	// percentage of each segment which is the admission window
+	private static final int WINDOW_PERCENTAGE = 1;
+
+	private final int capacity;
+	private final int concurrencyLevel;
+	private final ConcurrentHashMap<Class<?>, Integer> classCapacities = new ConcurrentHashMap<Class<?>, Integer>();
+	private final ConcurrentHashMap<Class<?>, ClassCache> classCaches = new ConcurrentHashMap<Class<?>, ClassCache>();
+
+	public TinyLfuObjectCache(int capacity) {
+		this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * @param capacity
+	 *            Number of objects to hold for each class.
+	 * @param concurrencyLevel
+	 *            Maximum number of segments that each class is split into. More segments means less contention.
+	 */
+	public TinyLfuObjectCache(int capacity, int concurrencyLevel) {
+		this.capacity = capacity;
+		this.concurrencyLevel = concurrencyLevel;
+	}
+
+	/**
+	 * Set the number of objects to hold for a particular class instead of the capacity passed into the constructor. If
+	 * the class has already been registered then its objects are removed from the cache.
+	 */
+	public synchronized <T> void setCapacity(Class<T> clazz, int capacity) {
+		classCapacities.put(clazz, capacity);
+		if (classCaches.containsKey(clazz)) {
+			classCaches.put(clazz, new ClassCache(capacity, concurrencyLevel));
+		}
+	}
+
+	@Override
+	public synchronized <T> void registerClass(Class<T> clazz) {
+		if (!classCaches.containsKey(clazz)) {
+			Integer classCapacity = classCapacities.get(clazz);
+			classCaches.put(clazz,
+					new ClassCache((classCapacity == null ? capacity : classCapacity), concurrencyLevel));
+		}
+	}
+
+	@Override
+	public <T, ID> T get(Class<T> clazz, ID id) {
+		ClassCache classCache = classCaches.get(clazz);
+		if (classCache == null) {
+			return null;
+		}
+		Object obj = classCache.get(id);
+		@SuppressWarnings("unchecked")
+		T castObj = (T) obj;
+		return castObj;
+	}
+
+	@Override
+	public <T, ID> void put(Class<T> clazz, ID id, T data) {
+		ClassCache classCache = classCaches.get(clazz);
+		if (classCache != null) {
+			classCache.put(id, data);
+		}
+	}
+
+	@Override
+	public <T> void clear(Class<T> clazz) {
+		ClassCache classCache = classCaches.get(clazz);
+		if (classCache != null) {
+			classCache.clear();
+		}
+	}
+
+	@Override
+	public void clearAll() {
+		for (ClassCache classCache : classCaches.values()) {
+			classCache.clear();
+		}
+	}
+
+	@Override
+	public <T, ID> void remove(Class<T> clazz, ID id) {
+		ClassCache classCache = classCaches.get(clazz);
+		if (classCache != null) {
+			classCache.remove(id);
+		}
+	}
+
+	@Override
+	public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+		ClassCache classCache = classCaches.get(clazz);
+		if (classCache == null) {
+			return null;
+		}
+		Object obj = classCache.remove(oldId);
+		if (obj == null) {
+			return null;
+		}
+		classCache.put(newId, obj);
+		@SuppressWarnings("unchecked")
+		T castObj = (T) obj;
+		return castObj;
+	}
+
+	@Override
+	public <T> int size(Class<T> clazz) {
+		ClassCache classCache = classCaches.get(clazz);
+		if (classCache == null) {
+			return 0;
+		} else {
+			return classCache.objectMap.size();
+		}
+	}
+
+	@Override
+	public int sizeAll() {
+		int size = 0;
+		for (ClassCache classCache : classCaches.values()) {
+			size += classCache.objectMap.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Return the number of lookups that found an object for all of the classes.
+	 */
+	public long getHitCount() {
+		long count = 0;
+		for (ClassCache classCache : classCaches.values()) {
+			count += classCache.getHitCount();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of lookups that found an object for a particular class.
+	 */
+	public <T> long getHitCount(Class<T> clazz) {
+		ClassCache classCache = classCaches.get(clazz);
+		return (classCache == null ? 0 : classCache.getHitCount());
+	}
+
+	/**
+	 * Return the number of lookups that did not find an object for all of the classes.
+	 */
+	public long getMissCount() {
+		long count = 0;
+		for (ClassCache classCache : classCaches.values()) {
+			count += classCache.getMissCount();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of lookups that did not find an object for a particular class.
+	 */
+	public <T> long getMissCount(Class<T> clazz) {
+		ClassCache classCache = classCaches.get(clazz);
+		return (classCache == null ? 0 : classCache.getMissCount());
+	}
+
+	/**
+	 * Return the number of objects that were removed or not admitted because the cache was full for all of the classes.
+	 */
+	public long getEvictionCount() {
+		long count = 0;
+		for (ClassCache classCache : classCaches.values()) {
+			count += classCache.getEvictionCount();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of objects that were removed or not admitted because the cache was full for a particular class.
+	 */
+	public <T> long getEvictionCount(Class<T> clazz) {
+		ClassCache classCache = classCaches.get(clazz);
+		return (classCache == null ? 0 : classCache.getEvictionCount());
+	}
+
+	private static int spread(int hash) {
+		// from the ConcurrentHashMap supplemental hash
+		hash += (hash << 15) ^ 0xffffcd7d;
+		hash ^= (hash >>> 10);
+		hash += (hash << 3);
+		hash ^= (hash >>> 6);
+		hash += (hash << 2) + (hash << 14);
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * The objects for a particular class and the segments that track their eviction order.
+	 */
+	private static class ClassCache {
+
+		final ConcurrentHashMap<Object, Object> objectMap = new ConcurrentHashMap<Object, Object>();
+		private final Segment[] segments;
+		private final int segmentMask;
+
+		public ClassCache(int capacity, int concurrencyLevel) {
+			int segmentCount = 1;
+			while (segmentCount < concurrencyLevel && segmentCount * 2 * MIN_SEGMENT_CAPACITY <= capacity) {
+				segmentCount <<= 1;
+			}
+			this.segments = new Segment[segmentCount];
+			this.segmentMask = segmentCount - 1;
+			int extra = capacity % segmentCount;
+			for (int i = 0; i < segmentCount; i++) {
+				segments[i] = new Segment(objectMap, capacity / segmentCount + (i < extra ? 1 : 0));
+			}
+		}
+
+		public Object get(Object id) {
+			int hash = spread(id.hashCode());
+			Object obj = objectMap.get(id);
+			segments[hash & segmentMask].recordAccess(id, hash, obj != null);
+			return obj;
+		}
+
+		public void put(Object id, Object data) {
+			int hash = spread(id.hashCode());
+			segments[hash & segmentMask].put(id, hash, data);
+		}
+
+		public Object remove(Object id) {
+			int hash = spread(id.hashCode());
+			return segments[hash & segmentMask].remove(id);
+		}
+
+		public void clear() {
+			for (Segment segment : segments) {
+				segment.clear();
+			}
+		}
+
+		public long getHitCount() {
+			long count = 0;
+			for (Segment segment : segments) {
+				count += segment.hitCount.get();
+			}
+			return count;
+		}
+
+		public long getMissCount() {
+			long count = 0;
+			for (Segment segment : segments) {
+				count += segment.missCount.get();
+			}
+			return count;
+		}
+
+		public long getEvictionCount() {
+			long count = 0;
+			for (Segment segment : segments) {
+				count += segment.evictionCount.get();
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Eviction order and frequency sketch for the ids that hash to this segment. The objects themselves are in the
+	 * shared object-map but they are only added and removed while holding the segment lock.
+	 */
+	private static class Segment {
+
+		final AtomicLong hitCount = new AtomicLong();
+		final AtomicLong missCount = new AtomicLong();
+		final AtomicLong evictionCount = new AtomicLong();
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Map<Object, Object> objectMap;
+		private final int windowCapacity;
+		private final int mainCapacity;
+		// access-ordered ids, the values are not used
+		private final LinkedHashMap<Object, Boolean> window = new LinkedHashMap<Object, Boolean>(16, 0.75F, true);
+		private final LinkedHashMap<Object, Boolean> main = new LinkedHashMap<Object, Boolean>(16, 0.75F, true);
+		private final FrequencySketch sketch;
+
+		public Segment(Map<Object, Object> objectMap, int capacity) {
+			this.objectMap = objectMap;
+			if (capacity <= 0) {
+				this.windowCapacity = 0;
+			} else {
+				this.windowCapacity = Math.max(1, capacity * WINDOW_PERCENTAGE / 100);
+			}
+			this.mainCapacity = capacity - windowCapacity;
+			this.sketch = new FrequencySketch(capacity);
+		}
+
+		/**
+		 * Record a lookup. If another thread is holding the lock then we don't wait for it and the access is not
+		 * recorded in the eviction order.
+		 */
+		public void recordAccess(Object id, int hash, boolean found) {
+			if (found) {
+				hitCount.incrementAndGet();
+			} else {
+				missCount.incrementAndGet();
+			}
+			if (!lock.tryLock()) {
+				return;
+			}
+			try {
+				sketch.increment(hash);
+				if (found && window.get(id) == null) {
+					main.get(id);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		public void put(Object id, int hash, Object data) {
+			lock.lock();
+			try {
+				if (windowCapacity == 0) {
+					return;
+				}
+				sketch.increment(hash);
+				if (objectMap.put(id, data) != null) {
+					// already in the cache so just touch it
+					if (window.get(id) == null) {
+						main.get(id);
+					}
+					return;
+				}
+				window.put(id, Boolean.TRUE);
+				if (window.size() <= windowCapacity) {
+					return;
+				}
+				// the eldest in the window is a candidate for the main area
+				Object candidate = removeEldest(window);
+				if (main.size() < mainCapacity) {
+					main.put(candidate, Boolean.TRUE);
+					return;
+				}
+				if (mainCapacity > 0) {
+					Object victim = main.keySet().iterator().next();
+					if (sketch.frequency(spread(candidate.hashCode())) > sketch.frequency(spread(victim.hashCode()))) {
+						main.remove(victim);
+						main.put(candidate, Boolean.TRUE);
+						candidate = victim;
+					}
+				}
+				objectMap.remove(candidate);
+				evictionCount.incrementAndGet();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		public Object remove(Object id) {
+			lock.lock();
+			try {
+				Object obj = objectMap.remove(id);
+				if (obj != null && window.remove(id) == null) {
+					main.remove(id);
+				}
+				return obj;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		public void clear() {
+			lock.lock();
+			try {
+				for (Object id : window.keySet()) {
+					objectMap.remove(id);
+				}
+				for (Object id : main.keySet()) {
+					objectMap.remove(id);
+				}
+				window.clear();
+				main.clear();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private Object removeEldest(LinkedHashMap<Object, Boolean> map) {
+			Iterator<Object> iterator = map.keySet().iterator();
+			Object eldest = iterator.next();
+			iterator.remove();
+			return eldest;
+		}
+	}
+
+	/**
+	 * Count-min sketch of 4-bit counters which estimates how often an id has been used recently. All of the counters
+	 * are halved after a number of increments so old usage fades out.
+	 */
+	private static class FrequencySketch {
+
+		private static final int DEPTH = 4;
+		private static final int MAX_COUNT = 15;
+		private static final int[] SEEDS = new int[] { 0x97cb3127, 0xc3a5c85c, 0x9ae16a3b, 0x8ebc6af0 };
+
+		private final byte[][] counts;
+		private final int widthMask;
+		private final int resetSize;
+		private int additions;
+
+		public FrequencySketch(int capacity) {
+			int width = 16;
+			while (width < capacity * 2 && width < (1 << 24)) {
+				width <<= 1;
+			}
+			this.counts = new byte[DEPTH][width];
+			this.widthMask = width - 1;
+			this.resetSize = width * 10;
+		}
+
+		public void increment(int hash) {
+			boolean added = false;
+			for (int i = 0; i < DEPTH; i++) {
+				int index = indexOf(hash, i);
+				if (counts[i][index] < MAX_COUNT) {
+					counts[i][index]++;
+					added = true;
+				}
+			}
+			if (added && ++additions >= resetSize) {
+				reset();
+			}
+		}
+
+		public int frequency(int hash) {
+			int frequency = MAX_COUNT;
+			for (int i = 0; i < DEPTH; i++) {
+				frequency = Math.min(frequency, counts[i][indexOf(hash, i)]);
+			}
+			return frequency;
+		}
+
+		private int indexOf(int hash, int row) {
+			int index = (hash ^ SEEDS[row]) * 0x9e3779b9;
+			index ^= (index >>> 16);
+			return index & widthMask;
+		}
+
+		private void reset() {
+			for (byte[] row : counts) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] = (byte) (row[i] >>> 1);
+				}
+			}
+			additions /= 2;
+		}
+	}
+}
@@ -0,0 +1,324 @@
+package com.j256.ormlite.dao;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Cache for ORMLite which holds objects of all classes up to a single memory budget instead of a number of objects
+ * for each class. The size of each object is estimated by the {@link ObjectWeigher} of its class when it is put into
+ * the cache. Inserting an object into the cache once it is over its budget will cause the least-recently-used objects
+ * of any class to be ejected so the classes that are used the least give up their memory first. It can be injected
+ * into a dao with the {@link Dao#setObjectCache(ObjectCache)}.
+ *
+ * <p>
+ * When the cache is set on a dao, a {@link FieldTypeObjectWeigher} is built from the field-types of the class unless a
+ * weigher has been set with {@link #setWeigher(Class, ObjectWeigher)}. Classes registered in some other manner are
+ * given a fixed weight of {@link #DEFAULT_OBJECT_WEIGHT} bytes per object.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> The weights are estimates and do not include any objects that are referenced by the cached objects but
+ * not by their database fields.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class WeightedObjectCache implements TableInfoObjectCache {
+
+	/** weight of each object of a class which does not have a weigher */
+	public static final long DEFAULT_OBJECT_WEIGHT = 256;
+
+	private final long maxWeight;
+	private final Map<Class<?>, ObjectWeigher<?>> weigherMap = new HashMap<Class<?>, ObjectWeigher<?>>();
+	private final Map<Class<?>, ObjectWeigher<?>> fieldTypeWeigherMap = new HashMap<Class<?>, ObjectWeigher<?>>();
+	private final Map<Class<?>, ClassInfo> classInfoMap = new HashMap<Class<?>, ClassInfo>();
+	// access-ordered so the first entry is the least-recently-used of all of the classes
+	private final LinkedHashMap<CacheKey, CacheEntry> entryMap = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75F,
+			true);
+	private long totalWeight;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	/**
+	 * @param maxWeight
+	 *            Approximate maximum number of bytes of objects to hold in the cache.
+	 */
+	public WeightedObjectCache(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Set the weigher for a class. This overrides the weigher built from the field-types of the class. If the class
+	 * already has objects in the cache, they keep their previous weights.
+	 */
+	public synchronized <T> void setWeigher(Class<T> clazz, ObjectWeigher<? super T> weigher) {
+		weigherMap.put(clazz, weigher);
+		ClassInfo classInfo = classInfoMap.get(clazz);
+		if (classInfo != null) {
+			classInfo.weigher = weigher;
+		}
+	}
+
+	/**
+	 * Register the table information of a class. Its field-types are used to build its weigher if none has been set.
+	 */
+	@Override
+	public synchronized <T, ID> void registerTableInfo(TableInfo<T, ID> tableInfo) {
+		Class<T> clazz = tableInfo.getDataClass();
+		fieldTypeWeigherMap.put(clazz, new FieldTypeObjectWeigher<T>(tableInfo.getFieldTypes()));
+		ClassInfo classInfo = classInfoMap.get(clazz);
+		if (classInfo != null && !weigherMap.containsKey(clazz)) {
+			classInfo.weigher = fieldTypeWeigherMap.get(clazz);
+		}
+	}
+
+	@Override
+	public synchronized <T> void registerClass(Class<T> clazz) {
+		if (classInfoMap.containsKey(clazz)) {
+			return;
+		}
+		ObjectWeigher<?> weigher = weigherMap.get(clazz);
+		if (weigher == null) {
+			weigher = fieldTypeWeigherMap.get(clazz);
+		}
+		classInfoMap.put(clazz, new ClassInfo(weigher));
+	}
+
+	@Override
+	public synchronized <T, ID> T get(Class<T> clazz, ID id) {
+		if (!classInfoMap.containsKey(clazz)) {
+			return null;
+		}
+		CacheEntry entry = entryMap.get(new CacheKey(clazz, id));
+		if (entry == null) {
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		@SuppressWarnings("unchecked")
+		T castObj = (T) entry.data;
+		return castObj;
+	}
+
+	@Override
+	public synchronized <T, ID> void put(Class<T> clazz, ID id, T data) {
+		ClassInfo classInfo = classInfoMap.get(clazz);
+		if (classInfo == null) {
+			return;
+		}
+		CacheKey key = new CacheKey(clazz, id);
+		long weight = classInfo.weigh(data);
+		if (weight > maxWeight) {
+			// too big to ever fit so it replaces nothing
+			removeEntry(key);
+			evictionCount++;
+			return;
+		}
+		CacheEntry oldEntry = entryMap.put(key, new CacheEntry(data, weight, classInfo));
+		if (oldEntry != null) {
+			oldEntry.classInfo.remove(oldEntry.weight);
+			totalWeight -= oldEntry.weight;
+		}
+		classInfo.add(weight);
+		totalWeight += weight;
+		evictOverBudget();
+	}
+
+	@Override
+	public synchronized <T> void clear(Class<T> clazz) {
+		ClassInfo classInfo = classInfoMap.get(clazz);
+		if (classInfo == null || classInfo.count == 0) {
+			return;
+		}
+		Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entryMap.entrySet().iterator();
+		while (iterator.hasNext()) {
+			CacheEntry entry = iterator.next().getValue();
+			if (entry.classInfo == classInfo) {
+				iterator.remove();
+				totalWeight -= entry.weight;
+			}
+		}
+		classInfo.count = 0;
+		classInfo.weight = 0;
+	}
+
+	@Override
+	public synchronized void clearAll() {
+		entryMap.clear();
+		for (ClassInfo classInfo : classInfoMap.values()) {
+			classInfo.count = 0;
+			classInfo.weight = 0;
+		}
+		totalWeight = 0;
+	}
+
+	@Override
+	public synchronized <T, ID> void remove(Class<T> clazz, ID id) {
+		removeEntry(new CacheKey(clazz, id));
+	}
+
+	@Override
+	public synchronized <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+		CacheEntry entry = removeEntry(new CacheKey(clazz, oldId));
+		if (entry == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		T castObj = (T) entry.data;
+		put(clazz, newId, castObj);
+		return castObj;
+	}
+
+	@Override
+	public synchronized <T> int size(Class<T> clazz) {
+		ClassInfo classInfo = classInfoMap.get(clazz);
+		return (classInfo == null ? 0 : classInfo.count);
+	}
+
+	@Override
+	public synchronized int sizeAll() {
+		return entryMap.size();
+	}
+
+	/**
+	 * Return the approximate number of bytes of objects that are in the cache.
+	 */
+	public synchronized long getWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Return the approximate number of bytes of objects of a certain class that are in the cache.
+	 */
+	public synchronized <T> long getWeight(Class<T> clazz) {
+		ClassInfo classInfo = classInfoMap.get(clazz);
+		return (classInfo == null ? 0 : classInfo.weight);
+	}
+
+	/**
+	 * Return the approximate maximum number of bytes of objects that the cache will hold.
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Return the number of lookups that found an object.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that did not find an object.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of objects that were removed or not stored because the cache was over its budget.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	private CacheEntry removeEntry(CacheKey key) {
+		CacheEntry entry = entryMap.remove(key);
+		if (entry != null) {
+			entry.classInfo.remove(entry.weight);
+			totalWeight -= entry.weight;
+		}
+		return entry;
+	}
+
+	private void evictOverBudget() {
+		Iterator<CacheEntry> iterator = entryMap.values().iterator();
+		while (totalWeight > maxWeight && iterator.hasNext()) {
+			CacheEntry entry = iterator.next();
+			iterator.remove();
+			entry.classInfo.remove(entry.weight);
+			totalWeight -= entry.weight;
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * Weigher and totals for a class.
+	 */
+	private static class ClassInfo {
+		ObjectWeigher<?> weigher;
+		int count;
+		long weight;
+
+		public ClassInfo(ObjectWeigher<?> weigher) {
+			this.weigher = weigher;
+		}
+
+		public long weigh(Object data) {
+			if (weigher == null) {
+				return DEFAULT_OBJECT_WEIGHT;
+			}
+			@SuppressWarnings("unchecked")
+			ObjectWeigher<Object> castWeigher = (ObjectWeigher<Object>) weigher;
+			return castWeigher.weigh(data);
+		}
+
+		public void add(long weight) {
+			count++;
+			this.weight += weight;
+		}
+
+		public void remove(long weight) {
+			count--;
+			this.weight -= weight;
+		}
+	}
+
+	/**
+	 * Cached object with its weight.
+	 */
+	private static class CacheEntry {
+		final Object data;
+		final long weight;
+		final ClassInfo classInfo;
+
+		public CacheEntry(Object data, long weight, ClassInfo classInfo) {
+			this.data = data;
+			this.weight = weight;
+			this.classInfo = classInfo;
+		}
+	}
+
+	/**
+	 * Key made up of the class and id of the object.
+	 */
+	private static class CacheKey {
+		final Class<?> clazz;
+		final Object id;
+
+		public CacheKey(Class<?> clazz, Object id) {
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return clazz.hashCode() * 31 + id.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return clazz == other.clazz && id.equals(other.id);
+		}
+	}
+}
@@ -550,6 +550,16 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return false;
+	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		return 0;
+	}
+
 	/**
 	 * @throws SQLException
 	 *             for sub classes.
@@ -566,6 +576,54 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		sb.append("() VALUES ()");
 	}
 
+	@Override
+	public boolean isUpsertSupported() {
+		return false;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, FieldType[] columnFieldTypes, FieldType idFieldType) {
+		sb.append("MERGE INTO ");
+		appendEscapedEntityName(sb, tableName);
+		sb.append(' ');
+		appendInsertColumns(sb, columnFieldTypes);
+		sb.append(" KEY (");
+		appendEscapedEntityName(sb, idFieldType.getColumnName());
+		sb.append(") ");
+		appendInsertValues(sb, columnFieldTypes);
+	}
+
+	/**
+	 * Append the "(col1,col2,...)" list of column names for an insert statement.
+	 */
+	protected void appendInsertColumns(StringBuilder sb, FieldType[] fieldTypes) {
+		sb.append('(');
+		boolean first = true;
+		for (FieldType fieldType : fieldTypes) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+		sb.append(')');
+	}
+
+	/**
+	 * Append the "VALUES (?,?,...)" part of an insert statement with one argument for each of the field types.
+	 */
+	protected void appendInsertValues(StringBuilder sb, FieldType[] fieldTypes) {
+		sb.append("VALUES (");
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+		sb.append(')');
+	}
+
 	/**
 	 * If the field can be nullable, do we need to add some sort of NULL SQL for the create table. By default it is a
 	 * noop. This is necessary because MySQL has a auto default value for the TIMESTAMP type that required a default
@@ -20,6 +20,7 @@ import com.j256.ormlite.field.types.BigDecimalStringType;
 public abstract class BaseSqliteDatabaseType extends BaseDatabaseType {
 
 	private final static FieldConverter booleanConverter = new BooleanNumberFieldConverter();
+	private boolean upsertSupported;
 
 	@Override
 	protected void appendLongType(StringBuilder sb, FieldType fieldType, int fieldWidth) {
@@ -71,6 +72,68 @@ public abstract class BaseSqliteDatabaseType extends BaseDatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// SQLITE_MAX_VARIABLE_NUMBER defaults to 999
+		return 999;
+	}
+
+	/**
+	 * Returns false unless {@link #setUpsertSupported(boolean)} has been called with true since the upsert statement
+	 * needs Sqlite 3.24.0 or later.
+	 */
+	@Override
+	public boolean isUpsertSupported() {
+		return upsertSupported;
+	}
+
+	/**
+	 * Set to true to use native upsert statements. Only do this if the Sqlite version is 3.24.0 or later which can be
+	 * checked with "SELECT sqlite_version()". Older versions, such as those on Android before API level 30, will throw
+	 * syntax errors.
+	 */
+	public void setUpsertSupported(boolean upsertSupported) {
+		this.upsertSupported = upsertSupported;
+	}
+
+	@Override
+	public void appendUpsert(StringBuilder sb, String tableName, FieldType[] columnFieldTypes, FieldType idFieldType) {
+		// needs Sqlite 3.24.0 or later
+		sb.append("INSERT INTO ");
+		appendEscapedEntityName(sb, tableName);
+		sb.append(' ');
+		appendInsertColumns(sb, columnFieldTypes);
+		sb.append(' ');
+		appendInsertValues(sb, columnFieldTypes);
+		sb.append(" ON CONFLICT (");
+		appendEscapedEntityName(sb, idFieldType.getColumnName());
+		sb.append(") ");
+		boolean first = true;
+		for (FieldType fieldType : columnFieldTypes) {
+			if (fieldType == idFieldType) {
+				continue;
+			}
+			if (first) {
+				sb.append("DO UPDATE SET ");
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+			sb.append("=excluded.");
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+		if (first) {
+			// nothing to update if the id is the only column
+			sb.append("DO NOTHING");
+		}
+	}
+
 	@Override
 	public FieldConverter getFieldConverter(DataPersister dataPersister, FieldType fieldType) {
 		// we are only overriding certain types
@@ -232,6 +232,35 @@ public interface DatabaseType {
 	 */
 	public boolean isAllowGeneratedIdInsertSupported();
 
+	/**
+	 * Returns true if the database supports inserting a number of rows with a single "INSERT INTO xxx (...) VALUES
+	 * (...),(...)" statement.
+	 */
+	public boolean isMultiRowInsertSupported();
+
+	/**
+	 * Return the maximum number of '?' arguments that can be used in a single statement or 0 if there is no limit.
+	 */
+	public int getMaxStatementArguments();
+
+	/**
+	 * Returns true if the database supports a native "upsert" statement which inserts a row or updates the existing row
+	 * with the same id in one step. See {@link #appendUpsert(StringBuilder, String, FieldType[], FieldType)}.
+	 */
+	public boolean isUpsertSupported();
+
+	/**
+	 * Append the SQL necessary to insert a row into the table or update the existing row if one with the same id
+	 * already exists. The statement must take one '?' argument for each of the column field-types in the same order.
+	 * By default this appends a "MERGE INTO xxx (...) KEY (id) VALUES (...)" statement.
+	 * 
+	 * @param columnFieldTypes
+	 *            Field types of the columns that are being set including the id field.
+	 * @param idFieldType
+	 *            Field type of the id column which is used to see if the row already exists.
+	 */
+	public void appendUpsert(StringBuilder sb, String tableName, FieldType[] columnFieldTypes, FieldType idFieldType);
+
 	/**
 	 * Return the name of the database for logging purposes.
 	 */
@@ -30,11 +30,15 @@ public abstract class BaseFastTableInfo<T, ID> extends TableInfo<T, ID> {
             } else {
                 instance = factory.createObject(null, getDataClass());
             }
+            wireNewInstance(baseDao, instance);
             return instance;
         } catch (Exception e) {
             throw SqlExceptionUtil.create("Could not create object for " + getDataClass(), e);
         }
     }
 
-    protected abstract T createEntity();
+    /**
+     * Instantiate a new entity, generated implementations call the no-arg constructor directly.
+     */
+    protected abstract T createEntity() throws Exception;
 }
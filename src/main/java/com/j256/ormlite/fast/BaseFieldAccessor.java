@@ -0,0 +1,41 @@
+package com.j256.ormlite.fast;
+
+/**
+ * Base class for the generated {@link FieldAccessor}s which adds setters for primitive fields so rows can be mapped
+ * without boxing the values. The defaults box and call {@link #setValue(Object, Object)}, the generated classes override
+ * them for their primitive fields.
+ */
+public abstract class BaseFieldAccessor implements FieldAccessor {
+
+    public void setBoolean(Object object, boolean value) {
+        setValue(object, value);
+    }
+
+    public void setByte(Object object, byte value) {
+        setValue(object, value);
+    }
+
+    public void setChar(Object object, char value) {
+        setValue(object, value);
+    }
+
+    public void setShort(Object object, short value) {
+        setValue(object, value);
+    }
+
+    public void setInt(Object object, int value) {
+        setValue(object, value);
+    }
+
+    public void setLong(Object object, long value) {
+        setValue(object, value);
+    }
+
+    public void setFloat(Object object, float value) {
+        setValue(object, value);
+    }
+
+    public void setDouble(Object object, double value) {
+        setValue(object, value);
+    }
+}
@@ -3,18 +3,38 @@ package com.j256.ormlite.fast;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseFieldConfig;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.support.ConnectionSource;
 
+import java.lang.reflect.Field;
 import java.sql.SQLException;
 
 public abstract class BaseFieldTypeFactory implements FieldTypeFactory {
 
     @Override
-    public FieldType create(DatabaseFieldConfig config, ConnectionSource connectionSource) throws SQLException {
+    public FieldType create(DatabaseFieldConfig config, ConnectionSource connectionSource, String tableName) throws SQLException {
         DatabaseType databaseType = connectionSource.getDatabaseType();
         if (databaseType.isEntityNamesMustBeUpCase()) {
             config.setFieldName(databaseType.upCaseEntityName(config.getFieldName()));
         }
-        return null;
+        return createFieldType(config, connectionSource, tableName);
+    }
+
+    /**
+     * Build the field type for the config which has already had its names adjusted for the database type.
+     */
+    protected abstract FieldType createFieldType(DatabaseFieldConfig config, ConnectionSource connectionSource,
+                                                 String tableName) throws SQLException;
+
+    /**
+     * Lookup the declared field with the name in the class. Used by generated factories for the fields that still need
+     * a {@link Field} such as ones that are not accessible from generated code.
+     */
+    protected static Field findDeclaredField(Class<?> clazz, String fieldName) throws SQLException {
+        try {
+            return clazz.getDeclaredField(fieldName);
+        } catch (NoSuchFieldException e) {
+            throw SqlExceptionUtil.create("Could not find declared field with name '" + fieldName + "' for " + clazz, e);
+        }
     }
 }
@@ -1,35 +1,99 @@
 package com.j256.ormlite.fast;
 
+import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseFieldConfig;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.TableInfo;
 
+import java.lang.reflect.Constructor;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Table configuration whose field types are built by {@link FieldTypeFactory}s instead of by scanning the class with
+ * reflection. Subclasses are usually generated at compile time by the ormlite-processor module.
+ */
 public abstract class BaseTableConfig<E> extends DatabaseTableConfig<E> {
+
+    /** suffix added to the entity name, with '$' replaced by '_', to make the generated configuration class name */
+    public static final String GENERATED_CONFIG_SUFFIX = "_TableConfig";
+
+    /** marker in the lookup cache for classes that have no generated configuration */
+    private static final Class<?> NO_GENERATED_CONFIG = Void.class;
+    private static final Map<Class<?>, Class<?>> generatedConfigClasses = new ConcurrentHashMap<Class<?>, Class<?>>();
+
     private FieldType[] fieldTypes;
 
     public BaseTableConfig(Class<E> dataClass, String tableName, List<DatabaseFieldConfig> fieldConfigs) {
         super(dataClass, tableName, fieldConfigs);
     }
 
-    public static FieldType[] getFieldTypes(ConnectionSource connectionSource, List<DatabaseFieldConfig> all, Map<String, FieldTypeFactoryHolder> fields) throws SQLException {
+    public static FieldType[] getFieldTypes(ConnectionSource connectionSource, String tableName,
+                                            List<DatabaseFieldConfig> all, Map<String, FieldTypeFactoryHolder> fields) throws SQLException {
         FieldType[] result = new FieldType[all.size()];
         for (int i = 0; i < all.size(); i ++ ) {
             DatabaseFieldConfig each = all.get(i);
-            result[i] = fields.get(each.getFieldName())
-                    .getFactory().create(each, connectionSource);
+            FieldTypeFactoryHolder holder = fields.get(each.getFieldName());
+            if (holder == null) {
+                throw new SQLException("No field type factory configured for field '" + each.getFieldName() + "'");
+            }
+            result[i] = holder.getFactory().create(each, connectionSource, tableName);
         }
         return result;
     }
 
+    /**
+     * Return a new instance of the configuration that was generated at compile time for the data class or null if
+     * there is none. The class lookups are cached so this is cheap to call for classes without a generated config.
+     */
+    public static <T> BaseTableConfig<T> findGeneratedConfig(Class<T> dataClass) throws SQLException {
+        Class<?> configClass = generatedConfigClasses.get(dataClass);
+        if (configClass == null) {
+            configClass = loadGeneratedConfigClass(dataClass);
+            generatedConfigClasses.put(dataClass, configClass);
+        }
+        if (configClass == NO_GENERATED_CONFIG) {
+            return null;
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            BaseTableConfig<T> tableConfig = (BaseTableConfig<T>) configClass.newInstance();
+            return tableConfig;
+        } catch (Exception e) {
+            throw SqlExceptionUtil.create("Could not create generated table config " + configClass, e);
+        }
+    }
+
+    private static Class<?> loadGeneratedConfigClass(Class<?> dataClass) {
+        String configClassName = dataClass.getName().replace('$', '_') + GENERATED_CONFIG_SUFFIX;
+        Class<?> configClass;
+        try {
+            configClass = Class.forName(configClassName, true, dataClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return NO_GENERATED_CONFIG;
+        } catch (LinkageError e) {
+            return NO_GENERATED_CONFIG;
+        }
+        if (BaseTableConfig.class.isAssignableFrom(configClass)) {
+            return configClass;
+        } else {
+            return NO_GENERATED_CONFIG;
+        }
+    }
+
     @Override
     public void extractFieldTypes(ConnectionSource connectionSource) throws SQLException {
         if (fieldTypes == null) {
+            DatabaseType databaseType = connectionSource.getDatabaseType();
+            if (databaseType.isEntityNamesMustBeUpCase()) {
+                setTableName(databaseType.upCaseEntityName(getTableName()));
+            }
             List<DatabaseFieldConfig> fieldConfigs = getFieldConfigs();
             fieldTypes = convertFieldConfigs(connectionSource, fieldConfigs);
         }
@@ -37,6 +101,14 @@ public abstract class BaseTableConfig<E> extends DatabaseTableConfig<E> {
 
     protected abstract FieldType[] convertFieldConfigs(ConnectionSource connectionSource, List<DatabaseFieldConfig> all) throws SQLException;
 
+    /**
+     * Entities are instantiated by {@link BaseFastTableInfo#createEntity()} so we never go looking for the constructor.
+     */
+    @Override
+    public Constructor<E> getConstructor() {
+        return null;
+    }
+
     @Override
     public List<DatabaseFieldConfig> getFieldConfigs() {
         return super.getFieldConfigs();
@@ -49,4 +121,10 @@ public abstract class BaseTableConfig<E> extends DatabaseTableConfig<E> {
         }
         return fieldTypes;
     }
+
+    /**
+     * Return the {@link BaseFastTableInfo} that goes with this configuration.
+     */
+    @Override
+    public abstract <ID> TableInfo<E, ID> createTableInfo(DatabaseType databaseType, Dao<E, ID> dao) throws SQLException;
 }
@@ -0,0 +1,208 @@
+package com.j256.ormlite.fast;
+
+import com.j256.ormlite.dao.ForeignCollection;
+import com.j256.ormlite.field.BaseFieldType;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.ConnectionSource;
+
+import java.lang.reflect.Type;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Field type which reads and writes the field through a {@link FieldAccessor} instead of a reflection {@link
+ * java.lang.reflect.Field}. The field and foreign-collection classes are passed in since they are known at compile
+ * time.
+ */
+public class FastFieldType extends BaseFieldType {
+
+    private final FieldAccessor accessor;
+    /** same as the accessor if it can set primitives directly otherwise null */
+    private final BaseFieldAccessor primitiveAccessor;
+    private final Class<?> foreignCollectionClass;
+
+    /**
+     * @param fieldClass
+     *            Class of the field which is the erasure of its declared type.
+     * @param foreignCollectionClass
+     *            Generic argument of the collection if the field is a foreign collection otherwise null.
+     * @param accessor
+     *            Used to get and set the field in the entities.
+     */
+    public FastFieldType(ConnectionSource connectionSource, String tableName, DatabaseFieldConfig fieldConfig,
+                         Class<?> parentClass, Class<?> fieldClass, Class<?> foreignCollectionClass, FieldAccessor accessor)
+            throws SQLException {
+        super(tableName, fieldConfig, connectionSource, parentClass, fieldClass);
+        this.accessor = accessor;
+        if (accessor instanceof BaseFieldAccessor) {
+            this.primitiveAccessor = (BaseFieldAccessor) accessor;
+        } else {
+            this.primitiveAccessor = null;
+        }
+        this.foreignCollectionClass = foreignCollectionClass;
+    }
+
+    /**
+     * We don't have the generic information at runtime so this just returns the class of the field.
+     */
+    @Override
+    public Type getGenericType() {
+        return getType();
+    }
+
+    @Override
+    protected void assignFieldValue(Object data, Object val) throws SQLException {
+        try {
+            accessor.setValue(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign object '" + val + "' of type "
+                    + (val == null ? "null" : val.getClass()) + " to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignBoolean(Object data, boolean val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setBoolean(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign boolean value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignByte(Object data, byte val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setByte(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign byte value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignChar(Object data, char val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setChar(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign char value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignShort(Object data, short val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setShort(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign short value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignInt(Object data, int val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setInt(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign int value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignLong(Object data, long val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setLong(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign long value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignFloat(Object data, float val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setFloat(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign float value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public void assignDouble(Object data, double val) throws SQLException {
+        if (primitiveAccessor == null) {
+            assignFieldValue(data, val);
+            return;
+        }
+        try {
+            primitiveAccessor.setDouble(data, val);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not assign double value '" + val + "' to field " + this, e);
+        }
+    }
+
+    @Override
+    public <FV> FV extractRawJavaFieldValue(Object object) throws SQLException {
+        Object val;
+        try {
+            val = accessor.getValue(object);
+        } catch (RuntimeException e) {
+            throw SqlExceptionUtil.create("Could not get field value for " + this, e);
+        }
+        @SuppressWarnings("unchecked")
+        FV converted = (FV) val;
+        return converted;
+    }
+
+    @Override
+    protected Class<?> getForeignCollectionClass(Class<?> parentClass, Class<?> fieldClass) throws SQLException {
+        if (fieldClass != Collection.class && !ForeignCollection.class.isAssignableFrom(fieldClass)) {
+            throw new SQLException("Field class for '" + getFieldName() + "' must be of class "
+                    + ForeignCollection.class.getSimpleName() + " or Collection.");
+        }
+        if (foreignCollectionClass == null) {
+            throw new SQLException("Field class for '" + getFieldName()
+                    + "' must be a parameterized Collection whose generic argument is an entity class");
+        }
+        return foreignCollectionClass;
+    }
+
+    @Override
+    public boolean equals(Object arg) {
+        if (arg == null || arg.getClass() != this.getClass()) {
+            return false;
+        }
+        FastFieldType other = (FastFieldType) arg;
+        return getFieldName().equals(other.getFieldName())
+                && (parentClass == null ? other.parentClass == null : parentClass.equals(other.parentClass));
+    }
+
+    @Override
+    public int hashCode() {
+        return getFieldName().hashCode();
+    }
+}
@@ -0,0 +1,19 @@
+package com.j256.ormlite.fast;
+
+/**
+ * Gets and sets the value of a field in an entity without going through reflection. Implementations are usually
+ * generated at compile time by the ormlite-processor module and access the field (or its get/set methods) directly.
+ */
+public interface FieldAccessor {
+
+    /**
+     * Return the value of the field from the object. Primitive values are returned boxed.
+     */
+    Object getValue(Object object);
+
+    /**
+     * Set the value of the field in the object. The value has already been converted to the field's type and may be
+     * null for non-primitive fields.
+     */
+    void setValue(Object object, Object value);
+}
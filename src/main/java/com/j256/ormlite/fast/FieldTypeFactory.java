@@ -7,5 +7,5 @@ import com.j256.ormlite.support.ConnectionSource;
 import java.sql.SQLException;
 
 public interface FieldTypeFactory {
-    FieldType create(DatabaseFieldConfig config, ConnectionSource connectionSource) throws SQLException;
+    FieldType create(DatabaseFieldConfig config, ConnectionSource connectionSource, String tableName) throws SQLException;
 }
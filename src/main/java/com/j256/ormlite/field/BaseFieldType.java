@@ -9,11 +9,15 @@ import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.dao.LazyForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.types.BaseDataType;
 import com.j256.ormlite.field.types.VoidType;
+import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.mapped.MappedQueryForFieldEq;
+import com.j256.ormlite.stmt.mapped.MappedQueryForIds;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.DatabaseResults;
@@ -24,6 +28,11 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public abstract class BaseFieldType implements FieldType {
@@ -59,6 +68,7 @@ public abstract class BaseFieldType implements FieldType {
 	protected Object defaultValue;
 	protected Object dataTypeConfigObj;
 	protected FieldConverter fieldConverter;
+	private BaseDataType primitiveDataType;
 	protected FieldType foreignIdField;
 	protected TableInfo<?, ?> foreignTableInfo;
 	protected Dao<?, ?> foreignDao;
@@ -194,7 +204,35 @@ public abstract class BaseFieldType implements FieldType {
 		assignDataType(databaseType, dataPersister);
 	}
 
-	protected abstract DataPersister getDataPersister(Class<? extends DataPersister> persisterClass) throws SQLException;
+	/**
+	 * Return the data persister singleton from the persister class' static getSingleton() method.
+	 */
+	protected DataPersister getDataPersister(Class<? extends DataPersister> persisterClass) throws SQLException {
+		Method method;
+		try {
+			method = persisterClass.getDeclaredMethod("getSingleton");
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not find getSingleton static method on class " + persisterClass, e);
+		}
+		Object result;
+		try {
+			result = method.invoke(null);
+		} catch (InvocationTargetException e) {
+			throw SqlExceptionUtil.create("Could not run getSingleton method on class " + persisterClass,
+					e.getTargetException());
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not run getSingleton method on class " + persisterClass, e);
+		}
+		if (result == null) {
+			throw new SQLException("Static getSingleton method should not return null on class " + persisterClass);
+		}
+		try {
+			return (DataPersister) result;
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create(
+					"Could not cast result of static getSingleton method to DataPersister from class " + persisterClass, e);
+		}
+	}
 
 	@Override
 	public String getTableName() {
@@ -382,6 +420,14 @@ public abstract class BaseFieldType implements FieldType {
 		return fieldConfig.isForeignCollection();
 	}
 
+	/**
+	 * Call through to {@link DatabaseFieldConfig#isForeignCollectionPrefetch()}
+	 */
+	@Override
+	public boolean isForeignCollectionPrefetch() {
+		return fieldConfig.isForeignCollectionPrefetch();
+	}
+
 	/**
 	 * Build and return a foreign collection based on the field settings that matches the id argument. This can return
 	 * null in certain circumstances.
@@ -400,7 +446,7 @@ public abstract class BaseFieldType implements FieldType {
 		}
 		@SuppressWarnings("unchecked")
 		Dao<FT, FID> castDao = (Dao<FT, FID>) foreignDao;
-		if (!fieldConfig.isForeignCollectionEager()) {
+		if (!fieldConfig.isForeignCollectionEager() && !fieldConfig.isForeignCollectionPrefetch()) {
 			// we know this won't go recursive so no need for the counters
 			return new LazyForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
 					fieldConfig.getForeignCollectionOrderColumnName(), fieldConfig.isForeignCollectionOrderAscending());
@@ -428,6 +474,21 @@ public abstract class BaseFieldType implements FieldType {
 			return new LazyForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
 					fieldConfig.getForeignCollectionOrderColumnName(), fieldConfig.isForeignCollectionOrderAscending());
 		}
+		ForeignFetchBatch fetchBatch = null;
+		if (fieldConfig.isForeignCollectionPrefetch() && id != null) {
+			fetchBatch = ForeignFetchBatch.current();
+		}
+		if (fetchBatch != null) {
+			// the collection is filled in with the rest of the batch after all of the rows are mapped
+			List<FT> results = new ArrayList<FT>();
+			@SuppressWarnings("unchecked")
+			List<Object> castResults = (List<Object>) results;
+			fetchBatch.addForeignCollection(this, parent, id, castResults, levelCounters.foreignCollectionLevel,
+					levelCounters.foreignCollectionLevelMax);
+			return new EagerForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
+					fieldConfig.getForeignCollectionOrderColumnName(), fieldConfig.isForeignCollectionOrderAscending(),
+					results);
+		}
 		levelCounters.foreignCollectionLevel++;
 		try {
 			return new EagerForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
@@ -617,6 +678,161 @@ public abstract class BaseFieldType implements FieldType {
 		}
 	}
 
+	/**
+	 * Return the foreign auto-refresh batch that this field should be added to or null if the foreign object should be
+	 * fetched now. Only the top level of auto-refreshing is batched and only when the foreign field is the id.
+	 */
+	private ForeignFetchBatch findForeignAutoRefreshBatch() {
+		if (!fieldConfig.isForeignAutoRefresh() || fieldConfig.getForeignColumnName() != null
+				|| fieldConfig.getMaxForeignAutoRefreshLevel() <= 0) {
+			return null;
+		}
+		LevelCounters levelCounters = threadLevelCounters.get();
+		if (levelCounters != null && levelCounters.autoRefreshLevel > 0) {
+			return null;
+		}
+		ForeignFetchBatch fetchBatch = ForeignFetchBatch.current();
+		if (fetchBatch == null || !fetchBatch.isAutoRefresh()) {
+			return null;
+		}
+		return fetchBatch;
+	}
+
+	/**
+	 * Fetch the foreign objects that match the ids with as few queries as possible and assign them to the field in the
+	 * associated parent objects. This is called by the {@link ForeignFetchBatch}.
+	 */
+	void refreshForeignObjects(List<Object> datas, List<Object> ids, ObjectCache objectCache) throws SQLException {
+		// the objects we are fetching are at the first auto-refresh level just like with createForeignObject(...)
+		LevelCounters savedLevelCounters = threadLevelCounters.get();
+		LevelCounters levelCounters = new LevelCounters();
+		levelCounters.autoRefreshLevel = 1;
+		levelCounters.autoRefreshLevelMax = fieldConfig.getMaxForeignAutoRefreshLevel();
+		threadLevelCounters.set(levelCounters);
+		Map<Object, Object> foreignObjects = new HashMap<Object, Object>();
+		try {
+			DatabaseConnection databaseConnection = connectionSource.getReadOnlyConnection(getTableName());
+			try {
+				@SuppressWarnings("unchecked")
+				TableInfo<Object, Object> castTableInfo = (TableInfo<Object, Object>) foreignTableInfo;
+				MappedQueryForIds.queryForIds(connectionSource.getDatabaseType(), castTableInfo, databaseConnection,
+						ids, foreignObjects, objectCache);
+			} finally {
+				connectionSource.releaseConnection(databaseConnection);
+			}
+		} finally {
+			if (savedLevelCounters == null) {
+				threadLevelCounters.remove();
+			} else {
+				threadLevelCounters.set(savedLevelCounters);
+			}
+		}
+		for (int i = 0; i < datas.size(); i++) {
+			// this will be null if there is no matching foreign row just like with createForeignObject(...)
+			assignFieldValue(datas.get(i), foreignObjects.get(ids.get(i)));
+		}
+	}
+
+	/**
+	 * Query for the objects in the foreign collections of the parents with as few "IN (...)" queries as possible and add
+	 * them to the result lists of the collections. This is called by the {@link ForeignFetchBatch} with the
+	 * foreign-collection recursion levels that were current when the collections were built.
+	 */
+	void prefetchForeignCollections(List<Object> parents, List<Object> parentIds, List<List<Object>> resultsList,
+			int collectionLevel, int collectionLevelMax) throws SQLException {
+		/*
+		 * The same parent id may show up more than once if there is no object cache. Each of the different parent
+		 * objects needs its own collection objects that point back at it, so they are queried in separate rounds.
+		 */
+		List<Map<Object, List<Integer>>> rounds = new ArrayList<Map<Object, List<Integer>>>(1);
+		for (int i = 0; i < parentIds.size(); i++) {
+			Object parentId = parentIds.get(i);
+			List<Integer> indexes = null;
+			Map<Object, List<Integer>> round = null;
+			for (Map<Object, List<Integer>> walk : rounds) {
+				indexes = walk.get(parentId);
+				if (indexes == null) {
+					round = walk;
+					break;
+				}
+				if (parents.get(indexes.get(0)) == parents.get(i)) {
+					// the same parent object can share the results
+					break;
+				}
+				indexes = null;
+			}
+			if (indexes == null) {
+				if (round == null) {
+					round = new LinkedHashMap<Object, List<Integer>>();
+					rounds.add(round);
+				}
+				indexes = new ArrayList<Integer>(1);
+				round.put(parentId, indexes);
+			}
+			indexes.add(i);
+		}
+
+		int maxIds = MappedQueryForIds.DEFAULT_MAX_IDS_PER_QUERY;
+		int maxArgs = connectionSource.getDatabaseType().getMaxStatementArguments();
+		if (maxArgs > 0 && maxArgs < maxIds) {
+			maxIds = maxArgs;
+		}
+		@SuppressWarnings("unchecked")
+		Dao<Object, Object> castDao = (Dao<Object, Object>) foreignDao;
+
+		// the objects in the collections build their collections one level down just like the eager collection
+		LevelCounters savedLevelCounters = threadLevelCounters.get();
+		LevelCounters levelCounters = new LevelCounters();
+		levelCounters.foreignCollectionLevel = collectionLevel + 1;
+		levelCounters.foreignCollectionLevelMax = collectionLevelMax;
+		threadLevelCounters.set(levelCounters);
+		try {
+			for (Map<Object, List<Integer>> idIndexes : rounds) {
+				prefetchForeignCollectionRound(castDao, parents, idIndexes, resultsList, maxIds);
+			}
+		} finally {
+			if (savedLevelCounters == null) {
+				threadLevelCounters.remove();
+			} else {
+				threadLevelCounters.set(savedLevelCounters);
+			}
+		}
+	}
+
+	/**
+	 * Query for the objects in the foreign collections of the parents whose ids are the keys of the map in chunks of
+	 * maxIds. The parents at each list of indexes are the same object.
+	 */
+	private void prefetchForeignCollectionRound(Dao<Object, Object> castDao, List<Object> parents,
+			Map<Object, List<Integer>> idIndexes, List<List<Object>> resultsList, int maxIds) throws SQLException {
+		List<Object> chunk = new ArrayList<Object>(Math.min(maxIds, idIndexes.size()));
+		Iterator<Object> idIterator = idIndexes.keySet().iterator();
+		while (idIterator.hasNext()) {
+			chunk.add(idIterator.next());
+			if (chunk.size() < maxIds && idIterator.hasNext()) {
+				continue;
+			}
+			QueryBuilder<Object, Object> qb = castDao.queryBuilder();
+			if (fieldConfig.getForeignCollectionOrderColumnName() != null) {
+				qb.orderBy(fieldConfig.getForeignCollectionOrderColumnName(),
+						fieldConfig.isForeignCollectionOrderAscending());
+			}
+			qb.where().in(foreignFieldType.getColumnName(), chunk);
+			for (Object result : castDao.query(qb.prepare())) {
+				List<Integer> indexes = idIndexes.get(foreignFieldType.extractJavaFieldValue(result));
+				if (indexes == null) {
+					continue;
+				}
+				for (int index : indexes) {
+					resultsList.get(index).add(result);
+				}
+				// point the result at the parent object like the per-parent eager query does
+				foreignFieldType.assignField(result, parents.get(indexes.get(0)), true, null);
+			}
+			chunk.clear();
+		}
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + ":name=" + fieldConfig.getFieldName() + ",class="
@@ -650,8 +866,138 @@ public abstract class BaseFieldType implements FieldType {
 		}
 	}
 
-	protected abstract FieldType findForeignFieldType(Class<?> clazz, Class<?> foreignClass, BaseDaoImpl<?, ?> foreignDao)
-			throws SQLException;
+	/**
+	 * Assign to the data object the val corresponding to the fieldType.
+	 */
+	@Override
+	public void assignField(Object data, Object val, boolean parentObject, ObjectCache objectCache)
+			throws SQLException {
+		if (logger.isLevelEnabled(Level.TRACE)) {
+			logger.trace("assiging from data {}, val {}: {}", (data == null ? "null" : data.getClass()),
+					(val == null ? "null" : val.getClass()), val);
+		}
+		// if this is a foreign object then val is the foreign object's id val
+		if (foreignRefField != null && val != null) {
+			// get the current field value which is the foreign-id
+			Object foreignRef = extractJavaFieldValue(data);
+			/*
+			 * See if we don't need to create a new foreign object. If we are refreshing and the id field has not
+			 * changed then there is no need to create a new foreign object and maybe lose previously refreshed field
+			 * information.
+			 */
+			if (foreignRef != null && foreignRef.equals(val)) {
+				return;
+			}
+			// awhitlock: raised as OrmLite issue: bug #122
+			Object cachedVal;
+			ObjectCache foreignCache = foreignDao.getObjectCache();
+			if (foreignCache == null) {
+				cachedVal = null;
+			} else {
+				cachedVal = foreignCache.get(getType(), val);
+			}
+			if (cachedVal != null) {
+				val = cachedVal;
+			} else if (!parentObject) {
+				ForeignFetchBatch fetchBatch = findForeignAutoRefreshBatch();
+				if (fetchBatch == null) {
+					// the value we are to assign to our field is now the foreign object itself
+					val = createForeignObject(val, objectCache);
+				} else {
+					// the foreign object is fetched with the rest of the batch after all of the rows are mapped
+					fetchBatch.addForeignRefresh(this, data, val, objectCache);
+					val = createForeignShell(val, objectCache);
+				}
+			}
+		}
+		assignFieldValue(data, val);
+	}
+
+	/**
+	 * Set the field in the data object to the val which has already been converted to the field's type.
+	 */
+	protected abstract void assignFieldValue(Object data, Object val) throws SQLException;
+
+	@Override
+	public BaseDataType getPrimitiveDataType() {
+		return primitiveDataType;
+	}
+
+	/*
+	 * The primitive assign methods box the value by default. Sub-classes should override them if they can set the
+	 * primitive field directly.
+	 */
+
+	@Override
+	public void assignBoolean(Object data, boolean val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignByte(Object data, byte val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignChar(Object data, char val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignShort(Object data, short val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignInt(Object data, int val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignLong(Object data, long val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignFloat(Object data, float val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	@Override
+	public void assignDouble(Object data, double val) throws SQLException {
+		assignFieldValue(data, val);
+	}
+
+	/**
+	 * If we have a class Foo with a collection of Bar's then we go through Bar's DAO looking for a Foo field. We need
+	 * this field to build the query that is able to find all Bar's that have foo_id that matches our id.
+	 */
+	protected FieldType findForeignFieldType(Class<?> clazz, Class<?> foreignClass, BaseDaoImpl<?, ?> foreignDao)
+			throws SQLException {
+		String foreignColumnName = fieldConfig.getForeignCollectionForeignFieldName();
+		for (FieldType fieldType : foreignDao.getTableInfo().getFieldTypes()) {
+			if (fieldType.getType() == foreignClass
+					&& (foreignColumnName == null || fieldType.getFieldName().equals(foreignColumnName))) {
+				if (!fieldType.isForeign() && !fieldType.isForeignAutoRefresh()) {
+					// this may never be reached
+					throw new SQLException("Foreign collection object " + clazz + " for field '"
+							+ fieldConfig.getFieldName() + "' contains a field of class " + foreignClass
+							+ " but it's not foreign");
+				}
+				return fieldType;
+			}
+		}
+		// build our complex error message
+		StringBuilder sb = new StringBuilder();
+		sb.append("Foreign collection class ").append(clazz.getName());
+		sb.append(" for field '").append(fieldConfig.getFieldName());
+		sb.append("' column-name does not contain a foreign field");
+		if (foreignColumnName != null) {
+			sb.append(" named '").append(foreignColumnName).append('\'');
+		}
+		sb.append(" of class ").append(foreignClass.getName());
+		throw new SQLException(sb.toString());
+	}
 
 	protected abstract Class<?> getForeignCollectionClass(Class<?> parentClass, Class<?> fieldClass) throws SQLException;
 
@@ -665,7 +1011,15 @@ public abstract class BaseFieldType implements FieldType {
 			dbColumnPos = results.findColumn(columnName);
 			columnPositions.put(columnName, dbColumnPos);
 		}
+		return resultToJava(results, dbColumnPos.intValue());
+	}
 
+	/**
+	 * Get the result object from the results at the column position. Callers that map a lot of rows should look up the
+	 * column positions once and call this directly.
+	 */
+	@Override
+	public <T> T resultToJava(DatabaseResults results, int dbColumnPos) throws SQLException {
 		/*
 		 * Subtle problem here. If the field is a foreign-field and/or a primitive and the value was null then we get 0
 		 * from results.getInt() which mirrors the ResultSet. We have to specifically test to see if we have a null
@@ -923,6 +1277,16 @@ public abstract class BaseFieldType implements FieldType {
 			return;
 		}
 		this.fieldConverter = databaseType.getFieldConverter(dataPersister, this);
+		/*
+		 * We can only read the primitive directly if the database type hasn't swapped in its own converter. If
+		 * throwIfNull is set then we need the wasNull() checks in resultToJava(...).
+		 */
+		if (fieldType.isPrimitive() && dataPersister.isPrimitive() && fieldConverter == dataPersister
+				&& dataPersister instanceof BaseDataType && !fieldConfig.isForeign() && !fieldConfig.isThrowIfNull()) {
+			this.primitiveDataType = (BaseDataType) dataPersister;
+		} else {
+			this.primitiveDataType = null;
+		}
 		if (this.isGeneratedId && !dataPersister.isValidGeneratedType()) {
 			StringBuilder sb = new StringBuilder();
 			sb.append("Generated-id field '").append(fieldConfig.getFieldName());
@@ -64,6 +64,7 @@ public class DatabaseFieldConfig {
 	// foreign collection field information
 	private boolean foreignCollection;
 	private boolean foreignCollectionEager;
+	private boolean foreignCollectionPrefetch;
 	private int foreignCollectionMaxEagerLevel = DEFAULT_MAX_EAGER_FOREIGN_COLLECTION_LEVEL;
 	private String foreignCollectionColumnName;
 	private String foreignCollectionOrderColumnName;
@@ -400,6 +401,14 @@ public class DatabaseFieldConfig {
 		this.foreignCollectionEager = foreignCollectionEager;
 	}
 
+	public boolean isForeignCollectionPrefetch() {
+		return foreignCollectionPrefetch;
+	}
+
+	public void setForeignCollectionPrefetch(boolean foreignCollectionPrefetch) {
+		this.foreignCollectionPrefetch = foreignCollectionPrefetch;
+	}
+
 	public int getForeignCollectionMaxEagerLevel() {
 		return foreignCollectionMaxEagerLevel;
 	}
@@ -679,6 +688,7 @@ public class DatabaseFieldConfig {
 		}
 		config.foreignCollection = true;
 		config.foreignCollectionEager = foreignCollection.eager();
+		config.foreignCollectionPrefetch = foreignCollection.prefetch();
 		config.foreignCollectionMaxEagerLevel = foreignCollection.maxEagerLevel();
 		config.foreignCollectionOrderColumnName = valueIfNotBlank(foreignCollection.orderColumnName());
 		config.foreignCollectionOrderAscending = foreignCollection.orderAscending();
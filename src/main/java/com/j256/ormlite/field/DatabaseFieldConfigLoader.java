@@ -107,6 +107,7 @@ public class DatabaseFieldConfigLoader {
 
 	private static final String FIELD_NAME_FOREIGN_COLLECTION = "foreignCollection";
 	private static final String FIELD_NAME_FOREIGN_COLLECTION_EAGER = "foreignCollectionEager";
+	private static final String FIELD_NAME_FOREIGN_COLLECTION_PREFETCH = "foreignCollectionPrefetch";
 	private static final String FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL_OLD = "maxEagerForeignCollectionLevel";
 	private static final String FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL = "foreignCollectionMaxEagerLevel";
 	private static final String FIELD_NAME_FOREIGN_COLLECTION_COLUMN_NAME = "foreignCollectionColumnName";
@@ -267,6 +268,10 @@ public class DatabaseFieldConfigLoader {
 			writer.append(FIELD_NAME_FOREIGN_COLLECTION_EAGER).append('=').append("true");
 			writer.newLine();
 		}
+		if (config.isForeignCollectionPrefetch()) {
+			writer.append(FIELD_NAME_FOREIGN_COLLECTION_PREFETCH).append('=').append("true");
+			writer.newLine();
+		}
 		if (config.getForeignCollectionMaxEagerLevel() != DEFAULT_MAX_EAGER_FOREIGN_COLLECTION_LEVEL) {
 			writer.append(FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL)
 					.append('=')
@@ -406,6 +411,8 @@ public class DatabaseFieldConfigLoader {
 			config.setForeignCollection(Boolean.parseBoolean(value));
 		} else if (field.equals(FIELD_NAME_FOREIGN_COLLECTION_EAGER)) {
 			config.setForeignCollectionEager(Boolean.parseBoolean(value));
+		} else if (field.equals(FIELD_NAME_FOREIGN_COLLECTION_PREFETCH)) {
+			config.setForeignCollectionPrefetch(Boolean.parseBoolean(value));
 		} else if (field.equals(FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL_OLD)) {
 			config.setForeignCollectionMaxEagerLevel(Integer.parseInt(value));
 		} else if (field.equals(FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL)) {
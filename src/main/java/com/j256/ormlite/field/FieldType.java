@@ -2,6 +2,7 @@ package com.j256.ormlite.field;
 
 import com.j256.ormlite.dao.BaseForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.types.BaseDataType;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseResults;
 
@@ -90,10 +91,44 @@ public interface FieldType {
 
 	boolean isForeignCollection();
 
+	boolean isForeignCollectionPrefetch();
+
 	<FT, FID> BaseForeignCollection<FT, FID> buildForeignCollection(Object parent, FID id) throws SQLException;
 
 	<T> T resultToJava(DatabaseResults results, Map<String, Integer> columnPositions) throws SQLException;
 
+	/**
+	 * Get the result object from the results at the column position which has already been looked up.
+	 */
+	<T> T resultToJava(DatabaseResults results, int columnPos) throws SQLException;
+
+	/**
+	 * Return the data type which can read this primitive field's value from the results without boxing it or null if
+	 * the field has to go through {@link #resultToJava(DatabaseResults, int)} and {@link #assignField}.
+	 */
+	BaseDataType getPrimitiveDataType();
+
+	/*
+	 * Assign a primitive value to the field in the data object without boxing it. These should only be called when
+	 * {@link #getPrimitiveDataType()} is not null and the field is of the matching primitive type.
+	 */
+
+	void assignBoolean(Object data, boolean val) throws SQLException;
+
+	void assignByte(Object data, byte val) throws SQLException;
+
+	void assignChar(Object data, char val) throws SQLException;
+
+	void assignShort(Object data, short val) throws SQLException;
+
+	void assignInt(Object data, int val) throws SQLException;
+
+	void assignLong(Object data, long val) throws SQLException;
+
+	void assignFloat(Object data, float val) throws SQLException;
+
+	void assignDouble(Object data, double val) throws SQLException;
+
 	boolean isSelfGeneratedId();
 
 	boolean isAllowGeneratedIdInsert();
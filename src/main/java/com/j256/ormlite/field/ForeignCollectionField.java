@@ -61,6 +61,22 @@ public @interface ForeignCollectionField {
 	 */
 	int maxEagerLevel() default DEFAULT_MAX_EAGER_LEVEL;
 
+	/**
+	 * <p>
+	 * Set to true to have the collection prefetched for all of the parent objects returned by a {@link Dao#query}
+	 * or {@link Dao#queryForAll()} call. Instead of one query per parent object, the objects in the collections are
+	 * retrieved with a single "WHERE parent_id IN (...)" query (per group of parents) after all of the parents have
+	 * been read and then grouped into the collections in memory. This implies {@link #eager()} and is subject to the
+	 * {@link #maxEagerLevel()} setting.
+	 * </p>
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The prefetch only happens with the list returning query methods. When the parent is returned from
+	 * an iterator or one of the query-for-id methods, the collection is loaded eagerly with its own query.
+	 * </p>
+	 */
+	boolean prefetch() default false;
+
 	/**
 	 * The name of the column. This is only used when you want to match the string passed to
 	 * {@link Dao#getEmptyForeignCollection(String)} or when you want to specify it in
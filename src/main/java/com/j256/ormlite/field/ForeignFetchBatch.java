@@ -0,0 +1,187 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.dao.ObjectCache;
+
+/**
+ * Collects the foreign objects and foreign collections of the rows returned by a query so they can be fetched with one
+ * "IN (...)" query per foreign field instead of one query per row. While a batch is active on the current thread:
+ *
+ * <ul>
+ * <li>If the batch was started with auto-refresh enabled, the top-level {@link DatabaseField#foreignAutoRefresh()}
+ * fields are assigned a shell object with just the id set and are registered here.</li>
+ * <li>The {@link ForeignCollectionField#prefetch()} collections are assigned an empty eager collection and are
+ * registered here.</li>
+ * </ul>
+ *
+ * <p>
+ * Calling {@link #fetch()} after all of the rows have been mapped then replaces the shells with the objects from the
+ * database and fills in the collections.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class ForeignFetchBatch {
+
+	private static final ThreadLocal<ForeignFetchBatch> threadBatch = new ThreadLocal<ForeignFetchBatch>();
+
+	private final boolean autoRefresh;
+	private Map<BaseFieldType, PendingRefreshes> pendingRefreshMap =
+			new LinkedHashMap<BaseFieldType, PendingRefreshes>();
+	private Map<CollectionKey, PendingCollections> pendingCollectionMap =
+			new LinkedHashMap<CollectionKey, PendingCollections>();
+
+	private ForeignFetchBatch(boolean autoRefresh) {
+		this.autoRefresh = autoRefresh;
+	}
+
+	/**
+	 * Start a batch on the current thread. If there is already a batch running then this returns null and the foreign
+	 * fields are collected by the outer batch.
+	 *
+	 * @param autoRefresh
+	 *            Set to true to batch the foreign auto-refresh fields. Prefetch foreign collections are always batched.
+	 */
+	public static ForeignFetchBatch start(boolean autoRefresh) {
+		if (threadBatch.get() != null) {
+			return null;
+		}
+		ForeignFetchBatch batch = new ForeignFetchBatch(autoRefresh);
+		threadBatch.set(batch);
+		return batch;
+	}
+
+	/**
+	 * Return the batch running on the current thread or null if none.
+	 */
+	static ForeignFetchBatch current() {
+		return threadBatch.get();
+	}
+
+	/**
+	 * Fetch the foreign objects and foreign collections for all of the fields that have been collected and assign them
+	 * to their parents. Any fields collected while the foreign objects are being mapped are also fetched.
+	 */
+	public void fetch() throws SQLException {
+		while (!pendingRefreshMap.isEmpty() || !pendingCollectionMap.isEmpty()) {
+			Map<BaseFieldType, PendingRefreshes> refreshMap = pendingRefreshMap;
+			pendingRefreshMap = new LinkedHashMap<BaseFieldType, PendingRefreshes>();
+			for (Map.Entry<BaseFieldType, PendingRefreshes> entry : refreshMap.entrySet()) {
+				PendingRefreshes pending = entry.getValue();
+				entry.getKey().refreshForeignObjects(pending.datas, pending.ids, pending.objectCache);
+			}
+			Map<CollectionKey, PendingCollections> collectionMap = pendingCollectionMap;
+			pendingCollectionMap = new LinkedHashMap<CollectionKey, PendingCollections>();
+			for (Map.Entry<CollectionKey, PendingCollections> entry : collectionMap.entrySet()) {
+				CollectionKey key = entry.getKey();
+				PendingCollections pending = entry.getValue();
+				key.fieldType.prefetchForeignCollections(pending.parents, pending.parentIds, pending.results,
+						key.collectionLevel, key.collectionLevelMax);
+			}
+		}
+	}
+
+	/**
+	 * End the batch on the current thread. This must be called in a finally block after {@link #start(boolean)}.
+	 */
+	public void end() {
+		if (threadBatch.get() == this) {
+			threadBatch.remove();
+		}
+	}
+
+	/**
+	 * Return true if the foreign auto-refresh fields should be batched.
+	 */
+	boolean isAutoRefresh() {
+		return autoRefresh;
+	}
+
+	/**
+	 * Register a parent object whose foreign field needs to be refreshed with the object that has the id.
+	 */
+	void addForeignRefresh(BaseFieldType fieldType, Object data, Object id, ObjectCache objectCache) {
+		PendingRefreshes pending = pendingRefreshMap.get(fieldType);
+		if (pending == null) {
+			pending = new PendingRefreshes(objectCache);
+			pendingRefreshMap.put(fieldType, pending);
+		}
+		pending.datas.add(data);
+		pending.ids.add(id);
+	}
+
+	/**
+	 * Register a parent object whose foreign collection needs to be filled in with the objects that match its id. The
+	 * collection levels are the foreign-collection recursion levels at the time the collection was built.
+	 */
+	void addForeignCollection(BaseFieldType fieldType, Object parent, Object parentId, List<Object> results,
+			int collectionLevel, int collectionLevelMax) {
+		CollectionKey key = new CollectionKey(fieldType, collectionLevel, collectionLevelMax);
+		PendingCollections pending = pendingCollectionMap.get(key);
+		if (pending == null) {
+			pending = new PendingCollections();
+			pendingCollectionMap.put(key, pending);
+		}
+		pending.parents.add(parent);
+		pending.parentIds.add(parentId);
+		pending.results.add(results);
+	}
+
+	/**
+	 * Parent objects and the foreign ids that they need for a particular field.
+	 */
+	private static class PendingRefreshes {
+		final List<Object> datas = new ArrayList<Object>();
+		final List<Object> ids = new ArrayList<Object>();
+		final ObjectCache objectCache;
+
+		public PendingRefreshes(ObjectCache objectCache) {
+			this.objectCache = objectCache;
+		}
+	}
+
+	/**
+	 * Parent objects, their ids, and the result lists of their collections for a particular field.
+	 */
+	private static class PendingCollections {
+		final List<Object> parents = new ArrayList<Object>();
+		final List<Object> parentIds = new ArrayList<Object>();
+		final List<List<Object>> results = new ArrayList<List<Object>>();
+	}
+
+	/**
+	 * Collections are grouped by field and recursion level since the levels determine how the objects in the
+	 * collections build their own collections.
+	 */
+	private static class CollectionKey {
+		final BaseFieldType fieldType;
+		final int collectionLevel;
+		final int collectionLevelMax;
+
+		public CollectionKey(BaseFieldType fieldType, int collectionLevel, int collectionLevelMax) {
+			this.fieldType = fieldType;
+			this.collectionLevel = collectionLevel;
+			this.collectionLevelMax = collectionLevelMax;
+		}
+
+		@Override
+		public int hashCode() {
+			return (fieldType.hashCode() * 31 + collectionLevel) * 31 + collectionLevelMax;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			CollectionKey other = (CollectionKey) obj;
+			return fieldType == other.fieldType && collectionLevel == other.collectionLevel
+					&& collectionLevelMax == other.collectionLevelMax;
+		}
+	}
+}
@@ -2,7 +2,6 @@ package com.j256.ormlite.field;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -11,7 +10,6 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Map;
 
-import com.j256.ormlite.dao.BaseDaoImpl;
 import com.j256.ormlite.dao.BaseForeignCollection;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
@@ -21,7 +19,6 @@ import com.j256.ormlite.dao.LazyForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.types.VoidType;
-import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.misc.SqlExceptionUtil;
@@ -85,38 +82,6 @@ public class ReflectiveFieldType extends BaseFieldType {
 		}
 	}
 
-	@Override
-	protected DataPersister getDataPersister(Class<? extends DataPersister> persisterClass) throws SQLException  {
-		DataPersister dataPersister;Method method;
-		try {
-			method = persisterClass.getDeclaredMethod("getSingleton");
-		} catch (Exception e) {
-			throw SqlExceptionUtil
-					.create("Could not find getSingleton static method on class " + persisterClass, e);
-		}
-		Object result;
-		try {
-			result = method.invoke(null);
-		} catch (InvocationTargetException e) {
-			throw SqlExceptionUtil.create("Could not run getSingleton method on class " + persisterClass,
-					e.getTargetException());
-		} catch (Exception e) {
-			throw SqlExceptionUtil.create("Could not run getSingleton method on class " + persisterClass, e);
-		}
-		if (result == null) {
-			throw new SQLException(
-					"Static getSingleton method should not return null on class " + persisterClass);
-		}
-		try {
-			dataPersister = (DataPersister) result;
-		} catch (Exception e) {
-			throw SqlExceptionUtil
-					.create("Could not cast result of static getSingleton method to DataPersister from class "
-							+ persisterClass, e);
-		}
-		return dataPersister;
-	}
-
 	public Field getField() {
 		return field;
 	}
@@ -130,43 +95,10 @@ public class ReflectiveFieldType extends BaseFieldType {
 	}
 
 	/**
-	 * Assign to the data object the val corresponding to the fieldType.
+	 * Set the value of the field in the data object either directly or through the set method.
 	 */
 	@Override
-	public void assignField(Object data, Object val, boolean parentObject, ObjectCache objectCache)
-			throws SQLException {
-		if (logger.isLevelEnabled(Level.TRACE)) {
-			logger.trace("assiging from data {}, val {}: {}", (data == null ? "null" : data.getClass()),
-					(val == null ? "null" : val.getClass()), val);
-		}
-		// if this is a foreign object then val is the foreign object's id val
-		if (getForeignRefField() != null && val != null) {
-			// get the current field value which is the foreign-id
-			Object foreignRef = extractJavaFieldValue(data);
-			/*
-			 * See if we don't need to create a new foreign object. If we are refreshing and the id field has not
-			 * changed then there is no need to create a new foreign object and maybe lose previously refreshed field
-			 * information.
-			 */
-			if (foreignRef != null && foreignRef.equals(val)) {
-				return;
-			}
-			// awhitlock: raised as OrmLite issue: bug #122
-			Object cachedVal;
-			ObjectCache foreignCache = foreignDao.getObjectCache();
-			if (foreignCache == null) {
-				cachedVal = null;
-			} else {
-				cachedVal = foreignCache.get(getType(), val);
-			}
-			if (cachedVal != null) {
-				val = cachedVal;
-			} else if (!parentObject) {
-				// the value we are to assign to our field is now the foreign object itself
-				val = createForeignObject(val, objectCache);
-			}
-		}
-
+	protected void assignFieldValue(Object data, Object val) throws SQLException {
 		if (fieldSetMethod == null) {
 			try {
 				field.set(data, val);
@@ -187,6 +119,114 @@ public class ReflectiveFieldType extends BaseFieldType {
 		}
 	}
 
+	/*
+	 * We use the primitive Field setters if we aren't using a set method so the value isn't boxed.
+	 */
+
+	@Override
+	public void assignBoolean(Object data, boolean val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setBoolean(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign boolean value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignByte(Object data, byte val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setByte(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign byte value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignChar(Object data, char val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setChar(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign char value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignShort(Object data, short val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setShort(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign short value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignInt(Object data, int val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setInt(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign int value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignLong(Object data, long val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setLong(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign long value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignFloat(Object data, float val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setFloat(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign float value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
+	@Override
+	public void assignDouble(Object data, double val) throws SQLException {
+		if (fieldSetMethod == null) {
+			try {
+				field.setDouble(data, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign double value '" + val + "' to field " + this, e);
+			}
+		} else {
+			assignFieldValue(data, val);
+		}
+	}
+
 	/**
 	 * Return the value from the field in the object that is defined by this ReflectiveFieldType.
 	 */
@@ -242,36 +282,6 @@ public class ReflectiveFieldType extends BaseFieldType {
 		return field.hashCode();
 	}
 
-	/**
-	 * If we have a class Foo with a collection of Bar's then we go through Bar's DAO looking for a Foo field. We need
-	 * this field to build the query that is able to find all Bar's that have foo_id that matches our id.
-	 */
-	@Override
-	protected FieldType findForeignFieldType(Class<?> clazz, Class<?> foreignClass, BaseDaoImpl<?, ?> foreignDao)
-			throws SQLException {
-		String foreignColumnName = fieldConfig.getForeignCollectionForeignFieldName();
-		for (FieldType fieldType : foreignDao.getTableInfo().getFieldTypes()) {
-			if (fieldType.getType() == foreignClass
-					&& (foreignColumnName == null || fieldType.getFieldName().equals(foreignColumnName))) {
-				if (!fieldType.isForeign() && !fieldType.isForeignAutoRefresh()) {
-					// this may never be reached
-					throw new SQLException("Foreign collection object " + clazz + " for field '" + field.getName()
-							+ "' contains a field of class " + foreignClass + " but it's not foreign");
-				}
-				return fieldType;
-			}
-		}
-		// build our complex error message
-		StringBuilder sb = new StringBuilder();
-		sb.append("Foreign collection class ").append(clazz.getName());
-		sb.append(" for field '").append(field.getName()).append("' column-name does not contain a foreign field");
-		if (foreignColumnName != null) {
-			sb.append(" named '").append(foreignColumnName).append('\'');
-		}
-		sb.append(" of class ").append(foreignClass.getName());
-		throw new SQLException(sb.toString());
-	}
-
 	@Override
 	protected Class<?> getForeignCollectionClass(Class<?> parentClass, Class<?> fieldClass) throws SQLException {
 		if (fieldClass != Collection.class && !ForeignCollection.class.isAssignableFrom(fieldClass)) {
@@ -6,6 +6,7 @@ import com.j256.ormlite.field.BaseFieldConverter;
 import com.j256.ormlite.field.DataPersister;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Base data type that defines the default persistance methods for the various data types.
@@ -192,6 +193,53 @@ public abstract class BaseDataType extends BaseFieldConverter implements DataPer
 		return sqlArgToJava(fieldType, parseDefaultString(fieldType, stringValue), columnPos);
 	}
 
+	/*
+	 * Primitive specialized versions of {@link #resultToJava(FieldType, DatabaseResults, int)} which are used when
+	 * mapping rows into primitive fields so the values don't have to be boxed. The default implementations go through
+	 * resultToJava(...) so they work for any persister, the primitive types override them to call the results getters
+	 * directly. If you subclass one of those types and change resultToSqlArg(...) or sqlArgToJava(...) then you need to
+	 * override the matching method here as well. Null results are returned as 0 or false like the JDBC getters.
+	 */
+	public boolean resultToBoolean(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? false : ((Boolean) value).booleanValue());
+	}
+
+	public byte resultToByte(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? 0 : ((Number) value).byteValue());
+	}
+
+	public char resultToChar(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? '\0' : ((Character) value).charValue());
+	}
+
+	public short resultToShort(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? 0 : ((Number) value).shortValue());
+	}
+
+	public int resultToInt(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? 0 : ((Number) value).intValue());
+	}
+
+	public long resultToLong(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? 0 : ((Number) value).longValue());
+	}
+
+	public float resultToFloat(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? 0 : ((Number) value).floatValue());
+	}
+
+	public double resultToDouble(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		Object value = resultToJava(fieldType, results, columnPos);
+		return (value == null ? 0 : ((Number) value).doubleValue());
+	}
+
 	@Override
 	public String getSqlOtherType() {
 		// here to be overridden by custom persisters
@@ -56,6 +56,12 @@ public class BooleanCharType extends BooleanType {
 		return ((Character) sqlArg == format.charAt(0) ? Boolean.TRUE : Boolean.FALSE);
 	}
 
+	@Override
+	public boolean resultToBoolean(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		String format = (String) fieldType.getDataTypeConfigObj();
+		return (results.getChar(columnPos) == format.charAt(0));
+	}
+
 	@Override
 	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) {
 		if (stringValue.length() == 0) {
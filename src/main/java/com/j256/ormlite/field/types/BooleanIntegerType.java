@@ -54,6 +54,11 @@ public class BooleanIntegerType extends BooleanType {
 		return ((Integer) sqlArg == 0 ? Boolean.FALSE : Boolean.TRUE);
 	}
 
+	@Override
+	public boolean resultToBoolean(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return (results.getInt(columnPos) != 0);
+	}
+
 	@Override
 	public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) {
 		if (stringValue.length() == 0) {
@@ -1,6 +1,10 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a boolean primitive.
@@ -27,6 +31,11 @@ public class BooleanType extends BooleanObjectType {
 		super(sqlType);
 	}
 
+	@Override
+	public boolean resultToBoolean(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getBoolean(columnPos);
+	}
+
 	@Override
 	public boolean isPrimitive() {
 		return true;
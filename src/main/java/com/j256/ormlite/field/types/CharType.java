@@ -1,7 +1,10 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a char primitive.
@@ -38,6 +41,11 @@ public class CharType extends CharacterObjectType {
 		}
 	}
 
+	@Override
+	public char resultToChar(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getChar(columnPos);
+	}
+
 	@Override
 	public boolean isPrimitive() {
 		return true;
@@ -1,6 +1,10 @@
 package com.j256.ormlite.field.types;
 
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Type that persists a long primitive.
@@ -26,6 +30,11 @@ public class LongType extends LongObjectType {
 		super(sqlType, classes);
 	}
 
+	@Override
+	public long resultToLong(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+		return results.getLong(columnPos);
+	}
+
 	@Override
 	public boolean isPrimitive() {
 		return true;
@@ -0,0 +1,76 @@
+package com.j256.ormlite.stmt;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Returns the results of a query a page at a time using {@link QueryBuilder#pageAfter(Object)} so that each page is
+ * found with the order-by columns instead of counting through the rows before it with an offset. For example:
+ *
+ * <pre>
+ * QueryBuilder&lt;Account, Integer&gt; qb = accountDao.queryBuilder();
+ * qb.where().eq(Account.STATUS_FIELD_NAME, &quot;open&quot;);
+ * qb.orderBy(Account.NAME_FIELD_NAME, true);
+ * KeysetPager&lt;Account, Integer&gt; pager = new KeysetPager&lt;Account, Integer&gt;(qb, 100);
+ * List&lt;Account&gt; page;
+ * while (!(page = pager.nextPage()).isEmpty()) {
+ * 	...
+ * }
+ * </pre>
+ *
+ * <p>
+ * The pager sets the limit and page keys of the query builder so it should not be used for other queries at the same
+ * time. Call {@link QueryBuilder#pageAfterKeys(Object...)} with null to stop paging. {@link #getCursor()} returns the keys of the last row returned which can be saved and passed to
+ * {@link #setCursor(Object[])} of a new pager to carry on from the same place.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class KeysetPager<T, ID> {
+
+	private final QueryBuilder<T, ID> queryBuilder;
+	private final long pageSize;
+	private Object[] cursor;
+
+	public KeysetPager(QueryBuilder<T, ID> queryBuilder, long pageSize) throws SQLException {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+		}
+		this.queryBuilder = queryBuilder;
+		this.pageSize = pageSize;
+		// make sure that we can page through the query
+		queryBuilder.getPageOrderBys();
+	}
+
+	/**
+	 * Return the next page of results or an empty list if there are no more.
+	 */
+	public List<T> nextPage() throws SQLException {
+		if (cursor == null) {
+			// the first page is also ordered by the id
+			queryBuilder.pageFromStart();
+		} else {
+			queryBuilder.pageAfterKeys(cursor);
+		}
+		queryBuilder.limit(pageSize);
+		List<T> results = queryBuilder.query();
+		if (!results.isEmpty()) {
+			cursor = queryBuilder.getPageKeys(results.get(results.size() - 1));
+		}
+		return results;
+	}
+
+	/**
+	 * Return the keys of the last row returned or null if no rows have been returned.
+	 */
+	public Object[] getCursor() {
+		return (cursor == null ? null : cursor.clone());
+	}
+
+	/**
+	 * Set the keys of the row that the next page comes after or null to start at the first page.
+	 */
+	public void setCursor(Object[] cursor) {
+		this.cursor = (cursor == null ? null : cursor.clone());
+	}
+}
@@ -0,0 +1,320 @@
+package com.j256.ormlite.stmt;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Iterator which reads and maps the rows of a {@link SelectIterator} in a background thread so the database can be
+ * fetching and mapping the next rows while the caller is working on the earlier ones. This is used by the
+ * {@link Dao#prefetchIterator(PreparedQuery, int)} method.
+ *
+ * <p>
+ * The rows are handed over through a buffer of a fixed size and the background thread waits if the buffer is full so
+ * no more than that many rows are held in memory. Any exception or error from reading a row is thrown as a SQLException
+ * by the iterator when that row would have been returned. Closing the iterator cancels the query and waits for the
+ * thread to stop. The thread is not interrupted since it may be in the middle of a database call, instead it stops
+ * after the current row. This iterator can only move forward.
+ * </p>
+ *
+ * @param <T>
+ *            The class that the code will be operating on.
+ * @param <ID>
+ *            The class of the ID column associated with the class.
+ * @author graywatson
+ */
+public class PrefetchingSelectIterator<T, ID> implements CloseableIterator<T> {
+
+	/** marks the end of the results in the buffer */
+	private static final Object END_MARKER = new Object();
+	/** how long the background thread waits for room in the buffer before seeing if we have been closed */
+	private static final long OFFER_WAIT_MILLIS = 100;
+
+	private final Class<?> dataClass;
+	private final Dao<T, ID> classDao;
+	private final SelectIterator<T, ID> iterator;
+	private final BlockingQueue<Object> buffer;
+	private final Thread thread;
+	private volatile boolean closed;
+	private T next;
+	private T last;
+
+	public PrefetchingSelectIterator(Class<?> dataClass, Dao<T, ID> classDao, SelectIterator<T, ID> iterator,
+			int bufferSize) {
+		if (bufferSize <= 0) {
+			iterator.closeQuietly();
+			throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+		}
+		this.dataClass = dataClass;
+		this.classDao = classDao;
+		this.iterator = iterator;
+		this.buffer = new ArrayBlockingQueue<Object>(bufferSize);
+		this.thread = new Thread(new Prefetcher(), getClass().getSimpleName() + "-" + dataClass.getSimpleName());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Returns whether or not there are any remaining objects in the table. Can be called before next().
+	 *
+	 * @throws SQLException
+	 *             If there was a problem getting more results via SQL.
+	 */
+	public boolean hasNextThrow() throws SQLException {
+		if (closed) {
+			return false;
+		}
+		if (next != null) {
+			return true;
+		}
+		Object item;
+		try {
+			item = buffer.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw SqlExceptionUtil.create("Interrupted while waiting for the next result of " + dataClass, e);
+		}
+		if (item == END_MARKER) {
+			IOUtils.closeThrowSqlException(this, "iterator");
+			return false;
+		}
+		if (item instanceof PrefetchException) {
+			closeQuietly();
+			throw SqlExceptionUtil.create("Could not get next result for " + dataClass,
+					((PrefetchException) item).cause);
+		}
+		@SuppressWarnings("unchecked")
+		T castItem = (T) item;
+		next = castItem;
+		return true;
+	}
+
+	/**
+	 * Returns whether or not there are any remaining objects in the table. Can be called before next().
+	 *
+	 * @throws IllegalStateException
+	 *             If there was a problem getting more results via SQL.
+	 */
+	@Override
+	public boolean hasNext() {
+		try {
+			return hasNextThrow();
+		} catch (SQLException e) {
+			last = null;
+			closeQuietly();
+			// unfortunately, can't propagate back the SQLException
+			throw new IllegalStateException("Errors getting more results of " + dataClass, e);
+		}
+	}
+
+	@Override
+	public T nextThrow() throws SQLException {
+		if (!hasNextThrow()) {
+			return null;
+		}
+		last = next;
+		next = null;
+		return last;
+	}
+
+	/**
+	 * Returns the next object in the table.
+	 *
+	 * @throws IllegalStateException
+	 *             If there was a problem extracting the object from SQL.
+	 */
+	@Override
+	public T next() {
+		SQLException sqlException = null;
+		try {
+			T result = nextThrow();
+			if (result != null) {
+				return result;
+			}
+		} catch (SQLException e) {
+			sqlException = e;
+		}
+		// we have to throw if there is no next or on a SQLException
+		last = null;
+		closeQuietly();
+		throw new IllegalStateException("Could not get next result for " + dataClass, sqlException);
+	}
+
+	/**
+	 * Not supported since the rows have already been read ahead.
+	 */
+	@Override
+	public T first() throws SQLException {
+		throw new SQLException("Prefetching iterator of " + dataClass + " can only move forward");
+	}
+
+	/**
+	 * Not supported since the rows have already been read ahead.
+	 */
+	@Override
+	public T previous() throws SQLException {
+		throw new SQLException("Prefetching iterator of " + dataClass + " can only move forward");
+	}
+
+	/**
+	 * Returns the last object returned by next().
+	 */
+	@Override
+	public T current() {
+		return last;
+	}
+
+	/**
+	 * Not supported since the rows have already been read ahead.
+	 */
+	@Override
+	public T moveRelative(int offset) throws SQLException {
+		throw new SQLException("Prefetching iterator of " + dataClass + " can only move forward");
+	}
+
+	/**
+	 * Removes the last object returned by next() by calling delete on the dao associated with the object.
+	 *
+	 * @throws IllegalStateException
+	 *             If there was no previous next() call.
+	 * @throws SQLException
+	 *             If the delete failed.
+	 */
+	public void removeThrow() throws SQLException {
+		if (last == null) {
+			throw new IllegalStateException("No last " + dataClass
+					+ " object to remove. Must be called after a call to next.");
+		}
+		try {
+			classDao.delete(last);
+		} finally {
+			// if we've try to delete it, clear the last marker
+			last = null;
+		}
+	}
+
+	/**
+	 * Removes the last object returned by next() by calling delete on the dao associated with the object.
+	 *
+	 * @throws IllegalStateException
+	 *             If there was no previous next() call or if delete() throws a SQLException (set as the cause).
+	 */
+	@Override
+	public void remove() {
+		try {
+			removeThrow();
+		} catch (SQLException e) {
+			closeQuietly();
+			// unfortunately, can't propagate back the SQLException
+			throw new IllegalStateException("Could not delete " + dataClass + " object " + last, e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		next = null;
+		last = null;
+		if (thread.isAlive()) {
+			try {
+				iterator.cancel();
+			} catch (SQLException e) {
+				// not all of the databases can cancel a query, the thread will stop after the current row
+			}
+			// make room in case the thread is waiting to add a row
+			buffer.clear();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		buffer.clear();
+		iterator.close();
+	}
+
+	@Override
+	public void closeQuietly() {
+		IOUtils.closeQuietly(this);
+	}
+
+	/**
+	 * Returns null since the results are being read by the background thread.
+	 */
+	@Override
+	public DatabaseResults getRawResults() {
+		return null;
+	}
+
+	/**
+	 * Skips the object found by the last hasNext() call.
+	 */
+	@Override
+	public void moveToNext() {
+		last = null;
+		next = null;
+	}
+
+	/**
+	 * Reads the rows from the iterator and adds them to the buffer.
+	 */
+	private class Prefetcher implements Runnable {
+		@Override
+		public void run() {
+			while (!closed) {
+				Object item;
+				try {
+					item = iterator.nextThrow();
+				} catch (Throwable t) {
+					// errors as well so the caller is not left waiting for a row that never comes
+					item = new PrefetchException(t);
+				}
+				if (item == null) {
+					offer(END_MARKER);
+					return;
+				}
+				if (!offer(item) || item instanceof PrefetchException) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Add the item to the buffer, waiting if it is full. Returns false if we have been closed.
+		 */
+		private boolean offer(Object item) {
+			try {
+				while (!closed) {
+					if (buffer.offer(item, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Passes an exception from the background thread to the caller through the buffer.
+	 */
+	private static class PrefetchException {
+		final Throwable cause;
+
+		public PrefetchException(Throwable cause) {
+			this.cause = cause;
+		}
+	}
+}
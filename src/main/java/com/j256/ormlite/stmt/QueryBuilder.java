@@ -11,8 +11,15 @@ import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.stmt.query.ColumnNameOrRawSql;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.query.OrderBy;
+import com.j256.ormlite.stmt.query.ShapedClause;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -31,6 +38,9 @@ import com.j256.ormlite.table.TableInfo;
  */
 public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 
+	/** number of rows fetched at a time by {@link #streaming()} if {@link #fetchSize(int)} is not called */
+	public static final int DEFAULT_STREAMING_FETCH_SIZE = 100;
+
 	private final FieldType idField;
 	private FieldType[] resultFieldTypes;
 
@@ -45,7 +55,13 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 	private String having;
 	private Long limit;
 	private Long offset;
+	private Integer fetchSize;
+	private boolean streaming;
 	private List<JoinInfo> joinList;
+	private Object[] pageKeys;
+	private boolean paging;
+	private Object idRangeStart;
+	private Object idRangeEnd;
 
 	// NOTE: anything added here should be added to the clear() method below
 
@@ -99,7 +115,29 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 	public PreparedQuery<T> prepare() throws SQLException {
 		// we only store things in the cache if there was not selects specified
 		boolean cacheStore = (selectList == null);
-		return super.prepareStatement(limit, cacheStore);
+		MappedPreparedStmt<T, ID> mappedStmt = super.prepareStatement(limit, cacheStore);
+		if (streaming && fetchSize == null) {
+			mappedStmt.setFetchSize(DEFAULT_STREAMING_FETCH_SIZE);
+		} else {
+			mappedStmt.setFetchSize(fetchSize);
+		}
+		mappedStmt.setForwardOnly(streaming);
+		return mappedStmt;
+	}
+
+	/**
+	 * Build and return a {@link QueryTemplate} which can be run many times with different argument values. Each of the
+	 * {@link SelectArg} (or other {@link ArgumentHolder}) arguments in the query that does not have a value set becomes
+	 * a positional parameter of the template. Arguments that already have a value keep that value. Unlike a
+	 * {@link PreparedQuery} with {@link SelectArg} arguments, the template is immutable and can be shared between
+	 * threads.
+	 */
+	public QueryTemplate<T> prepareTemplate() throws SQLException {
+		// we only store things in the cache if there was not selects specified
+		boolean cacheStore = (selectList == null);
+		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
+		MappedPreparedStmt<T, ID> mappedStmt = super.prepareStatement(limit, cacheStore, argList);
+		return new QueryTemplate<T>(mappedStmt, argList);
 	}
 
 	/**
@@ -247,6 +285,85 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		}
 	}
 
+	/**
+	 * Set the number of rows that the database driver should fetch from the database at a time when iterating through
+	 * the results. Without this, some drivers read all of the results into memory before the first row is returned.
+	 * The number is passed to the driver as a hint and what it does with it is database dependent.
+	 */
+	public QueryBuilder<T, ID> fetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * Ask the database driver to stream the results of the query for iterating through a large number of rows with
+	 * {@link Dao#iterator(PreparedQuery)} without holding them all in memory. The results will be forward-only and
+	 * read-only, whatever result flags are passed to the iterator, and will be fetched {@link #fetchSize(int)} rows at a
+	 * time which defaults to {@link #DEFAULT_STREAMING_FETCH_SIZE}.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> Drivers differ in what they need to stream. For example, MySQL needs the fetch size to be set to
+	 * {@link Integer#MIN_VALUE} and Postgres only streams when auto-commit is turned off.
+	 * </p>
+	 */
+	public QueryBuilder<T, ID> streaming() {
+		this.streaming = true;
+		return this;
+	}
+
+	/**
+	 * Only return the rows which come after a row in the order of the {@link #orderBy(String, boolean)} columns. This
+	 * is also called keyset or seek pagination. Used with {@link #limit(Long)} it returns the page of rows after the
+	 * last row of the previous page. Unlike {@link #offset(Long)}, the database can go straight to the page with an
+	 * index instead of reading and throwing away all of the rows that come before it. See {@link KeysetPager}.
+	 * 
+	 * <p>
+	 * While paging, the id column is added to the end of the order-by columns of the query if it is not already there
+	 * so that rows with the same values are always in the same order. The order-by columns of the builder are not
+	 * changed so the query for the first page should also order by the id, or use a {@link KeysetPager} which does this
+	 * for you. The order-by columns can't be raw SQL and their values can't be null. This works with the
+	 * {@link #where()} clauses of this and any joined query builders.
+	 * </p>
+	 */
+	public QueryBuilder<T, ID> pageAfter(T lastRow) throws SQLException {
+		return pageAfterKeys(getPageKeys(lastRow));
+	}
+
+	/**
+	 * Same as {@link #pageAfter(Object)} but with the values of the order-by columns and the id of the last row, as
+	 * returned by {@link #getPageKeys(Object)}. This allows the keys to be saved between requests as a cursor to the
+	 * next page. Passing null goes back to returning the first page.
+	 */
+	public QueryBuilder<T, ID> pageAfterKeys(Object... keys) throws SQLException {
+		if (keys == null) {
+			pageKeys = null;
+			paging = false;
+			return this;
+		}
+		List<OrderBy> pageOrderBys = getPageOrderBys();
+		if (keys.length != pageOrderBys.size()) {
+			throw new SQLException("Got " + keys.length + " page keys but there are " + pageOrderBys.size()
+					+ " order-by columns including the id");
+		}
+		pageKeys = keys.clone();
+		paging = true;
+		return this;
+	}
+
+	/**
+	 * Return the values of the order-by columns and the id of a row which can be passed to
+	 * {@link #pageAfterKeys(Object...)} to get the rows after it.
+	 */
+	public Object[] getPageKeys(T row) throws SQLException {
+		List<OrderBy> pageOrderBys = getPageOrderBys();
+		Object[] keys = new Object[pageOrderBys.size()];
+		for (int i = 0; i < keys.length; i++) {
+			FieldType fieldType = verifyColumnName(pageOrderBys.get(i).getColumnName());
+			keys[i] = fieldType.extractJavaFieldValue(row);
+		}
+		return keys;
+	}
+
 	/**
 	 * Set whether or not we should only return the count of the results. This query can then be used by
 	 * {@link Dao#countOf(PreparedQuery)}.
@@ -366,6 +483,142 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return dao.query(prepare());
 	}
 
+	/**
+	 * Split this query up by ranges of ids so that the ranges can be iterated through at the same time by different
+	 * threads, each with {@link Dao#iterator(PreparedQuery)} and its own database connection. For example:
+	 * 
+	 * <pre>
+	 * for (final PreparedQuery&lt;Account&gt; query : qb.prepareIdRanges(4)) {
+	 * 	executor.submit(new Callable&lt;Void&gt;() {
+	 * 		public Void call() throws SQLException {
+	 * 			CloseableIterator&lt;Account&gt; iterator = accountDao.iterator(query);
+	 * 			try {
+	 * 				...
+	 * 			} finally {
+	 * 				iterator.closeQuietly();
+	 * 			}
+	 * 			return null;
+	 * 		}
+	 * 	});
+	 * }
+	 * </pre>
+	 * 
+	 * <p>
+	 * The ranges are worked out from the minimum and maximum id of the rows that match the {@link #where()} clauses so
+	 * the id must be a whole number and the rows should be spread out evenly over the ids. The first range has no lower
+	 * bound and the last range has no upper bound so no rows are missed if the table changes in the meantime. Fewer
+	 * ranges are returned if there are not enough ids.
+	 * </p>
+	 */
+	public List<PreparedQuery<T>> prepareIdRanges(int rangeCount) throws SQLException {
+		if (rangeCount <= 0) {
+			throw new IllegalArgumentException("Range count must be positive: " + rangeCount);
+		}
+		if (idField == null) {
+			throw new SQLException("Class " + tableInfo.getDataClass() + " must have an id field to split by ranges");
+		}
+		Class<?> idType = idField.getType();
+		if (idType != int.class && idType != Integer.class && idType != long.class && idType != Long.class
+				&& idType != short.class && idType != Short.class) {
+			throw new SQLException("Id field " + idField.getFieldName() + " must be a whole number to split by ranges");
+		}
+		long[] minMax = queryMinMaxId();
+
+		List<PreparedQuery<T>> queries = new ArrayList<PreparedQuery<T>>(rangeCount);
+		try {
+			if (minMax != null) {
+				long min = minMax[0];
+				long max = minMax[1];
+				/*
+				 * The number of ids, max - min + 1, is rangeSize * rangeCount + remainder. It is worked out this way so it
+				 * can't overflow.
+				 */
+				long rangeSize = max / rangeCount - min / rangeCount;
+				long remainder = max % rangeCount - min % rangeCount + 1;
+				if (remainder < 0) {
+					remainder += rangeCount;
+					rangeSize--;
+				} else if (remainder >= rangeCount) {
+					remainder -= rangeCount;
+					rangeSize++;
+				}
+				long end = min;
+				long lastExtra = 0;
+				for (int i = 1; i < rangeCount; i++) {
+					// the remainder is spread over the ranges instead of all going into the last one
+					long extra = i * remainder / rangeCount;
+					long nextEnd = end + rangeSize + extra - lastExtra;
+					lastExtra = extra;
+					if (nextEnd == end) {
+						// there are fewer ids than ranges
+						continue;
+					}
+					end = nextEnd;
+					idRangeEnd = makeIdValue(idType, end);
+					queries.add(prepare());
+					idRangeStart = idRangeEnd;
+				}
+			}
+			idRangeEnd = null;
+			queries.add(prepare());
+		} finally {
+			idRangeStart = null;
+			idRangeEnd = null;
+		}
+		return queries;
+	}
+
+	/**
+	 * Return the minimum and maximum id of the rows that match the where clauses or null if there are none.
+	 */
+	private long[] queryMinMaxId() throws SQLException {
+		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
+		StringBuilder sb = new StringBuilder(64);
+		setAddTableName(joinList != null);
+		String statement;
+		try {
+			sb.append("SELECT MIN(");
+			appendColumnName(sb, idField.getColumnName());
+			sb.append("), MAX(");
+			appendColumnName(sb, idField.getColumnName());
+			sb.append(") ");
+			appendFrom(sb);
+			appendWhereStatement(sb, argList, WhereOperation.FIRST);
+			statement = sb.toString();
+		} finally {
+			setAddTableName(false);
+		}
+		ArgumentHolder[] selectArgs = argList.toArray(new ArgumentHolder[argList.size()]);
+		FieldType[] argFieldTypes = new FieldType[selectArgs.length];
+		for (int selectC = 0; selectC < selectArgs.length; selectC++) {
+			argFieldTypes[selectC] = selectArgs[selectC].getFieldType();
+		}
+		MappedPreparedStmt<T, ID> minMaxStmt = new MappedPreparedStmt<T, ID>(tableInfo, statement, argFieldTypes,
+				new FieldType[0], selectArgs, null, StatementType.SELECT_RAW, false);
+
+		ConnectionSource connectionSource = dao.getConnectionSource();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableName);
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			compiledStatement = minMaxStmt.compile(connection, StatementType.SELECT_RAW);
+			results = compiledStatement.runQuery(null);
+			if (!results.first()) {
+				return null;
+			}
+			long min = results.getLong(0);
+			if (results.wasNull(0)) {
+				// no rows match
+				return null;
+			}
+			return new long[] { min, results.getLong(1) };
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	/**
 	 * A short cut to {@link Dao#queryRaw(String, String...)}.
 	 */
@@ -454,6 +707,8 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		having = null;
 		limit = null;
 		offset = null;
+		fetchSize = null;
+		streaming = false;
 		if (joinList != null) {
 			// help gc
 			joinList.clear();
@@ -461,6 +716,8 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		}
 		addTableName = false;
 		alias = null;
+		pageKeys = null;
+		paging = false;
 	}
 
 	@Override
@@ -484,6 +741,10 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 			type = StatementType.SELECT_LONG;
 			sb.append("COUNT(").append(countOfQuery).append(") ");
 		}
+		appendFrom(sb);
+	}
+
+	private void appendFrom(StringBuilder sb) {
 		sb.append("FROM ");
 		databaseType.appendEscapedEntityName(sb, tableName);
 		if (alias != null) {
@@ -500,9 +761,125 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return resultFieldTypes;
 	}
 
+	@Override
+	protected boolean appendStatementShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		if (joinList != null) {
+			// the joined query builders are not part of the shape
+			return false;
+		}
+		shape.add(QueryBuilder.class);
+		shape.add(databaseType);
+		shape.add(distinct);
+		shape.add(selectIdColumn);
+		shape.add(isInnerQuery);
+		shape.add(alias);
+		shape.add(countOfQuery);
+		shape.add(having);
+		shape.add(limit);
+		shape.add(offset);
+		shape.add(columnsShape(selectList));
+		shape.add(columnsShape(groupByList));
+		boolean rawSql = (having != null || hasRawSql(selectList) || hasRawSql(groupByList));
+		List<Object> orderByShape = null;
+		if (orderByList != null) {
+			orderByShape = new ArrayList<Object>(orderByList.size() * 3);
+			for (OrderBy orderBy : orderByList) {
+				orderByShape.add(orderBy.getColumnName());
+				orderByShape.add(orderBy.isAscending());
+				orderByShape.add(orderBy.getRawSql());
+				if (orderBy.getRawSql() != null) {
+					rawSql = true;
+				}
+			}
+		}
+		shape.add(orderByShape);
+		shape.add(paging);
+		if (rawSql) {
+			shape.add(ShapedClause.RAW_SQL);
+		}
+		// the where arguments come before the page and order-by arguments
+		if (!appendWhereShape(shape, argList)) {
+			return false;
+		}
+		shape.add(idRangeStart != null);
+		shape.add(idRangeEnd != null);
+		if (idRangeStart != null) {
+			argList.add(makeIdRangeArg(idRangeStart));
+		}
+		if (idRangeEnd != null) {
+			argList.add(makeIdRangeArg(idRangeEnd));
+		}
+		if (pageKeys == null) {
+			shape.add(null);
+		} else {
+			shape.add(pageKeys.length);
+			// the same arguments in the same order as appendPageWhere(...)
+			List<OrderBy> pageOrderBys = getPageOrderBys();
+			for (int i = 0; i < pageKeys.length; i++) {
+				for (int j = 0; j <= i; j++) {
+					argList.add(makePageArg(pageOrderBys.get(j), pageKeys[j]));
+				}
+			}
+		}
+		if (orderByList != null) {
+			for (OrderBy orderBy : orderByList) {
+				if (orderBy.getRawSql() != null && orderBy.getOrderByArgs() != null) {
+					for (ArgumentHolder arg : orderBy.getOrderByArgs()) {
+						argList.add(arg);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected void setShapeResultFieldTypes(FieldType[] resultFieldTypes) {
+		this.resultFieldTypes = resultFieldTypes;
+		setAddTableName(false);
+	}
+
 	@Override
 	protected boolean appendWhereStatement(StringBuilder sb, List<ArgumentHolder> argList, WhereOperation operation)
 			throws SQLException {
+		if ((pageKeys == null && idRangeStart == null && idRangeEnd == null) || operation != WhereOperation.FIRST) {
+			return appendWhereStatements(sb, argList, operation);
+		}
+		StringBuilder whereSb = new StringBuilder();
+		if (appendWhereStatements(whereSb, argList, operation)) {
+			sb.append("WHERE ");
+		} else {
+			// the other clauses are wrapped so an OR in them doesn't take in the range and page clauses
+			int start = whereSb.indexOf("WHERE ") + "WHERE ".length();
+			sb.append("WHERE (").append(whereSb, start, whereSb.length()).append(") AND ");
+		}
+		boolean first = true;
+		if (idRangeStart != null) {
+			appendColumnName(sb, idField.getColumnName());
+			sb.append(" >= ? ");
+			argList.add(makeIdRangeArg(idRangeStart));
+			first = false;
+		}
+		if (idRangeEnd != null) {
+			if (!first) {
+				sb.append("AND ");
+			}
+			appendColumnName(sb, idField.getColumnName());
+			sb.append(" < ? ");
+			argList.add(makeIdRangeArg(idRangeEnd));
+			first = false;
+		}
+		if (pageKeys != null) {
+			if (!first) {
+				sb.append("AND ");
+			}
+			appendPageWhere(sb, argList);
+		}
+		return false;
+	}
+
+	private boolean appendWhereStatements(StringBuilder sb, List<ArgumentHolder> argList, WhereOperation operation)
+			throws SQLException {
 		boolean first = (operation == WhereOperation.FIRST);
 		if (this.where != null) {
 			first = super.appendWhereStatement(sb, argList, operation);
@@ -548,6 +925,99 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return (alias == null ? tableName : alias);
 	}
 
+	/**
+	 * Page from the first page. Like {@link #pageAfterKeys(Object...)}, the id is added to the order-by of the query.
+	 */
+	void pageFromStart() throws SQLException {
+		// make sure that we can page
+		getPageOrderBys();
+		pageKeys = null;
+		paging = true;
+	}
+
+	/**
+	 * Return a new list of the order-by columns that the page keys are in with the id column added if it is not there.
+	 */
+	List<OrderBy> getPageOrderBys() throws SQLException {
+		if (idField == null) {
+			throw new SQLException("Class " + tableInfo.getDataClass() + " must have an id field to page through it");
+		}
+		List<OrderBy> pageOrderBys = new ArrayList<OrderBy>();
+		boolean hasId = false;
+		if (orderByList != null) {
+			for (OrderBy orderBy : orderByList) {
+				if (orderBy.getRawSql() != null) {
+					throw new SQLException("Can't page through a raw order-by: " + orderBy.getRawSql());
+				}
+				if (orderBy.getColumnName().equals(idField.getColumnName())) {
+					hasId = true;
+				}
+				pageOrderBys.add(orderBy);
+			}
+		}
+		if (!hasId) {
+			// the id makes sure that rows with the same values are in the same order
+			pageOrderBys.add(new OrderBy(idField.getColumnName(), true));
+		}
+		return pageOrderBys;
+	}
+
+	/**
+	 * Append the page clause: (c1 > ?) OR (c1 = ? AND c2 > ?) OR ... which, unlike (c1, c2) > (?, ?), is supported by
+	 * all of the databases and can have columns in different directions.
+	 */
+	private void appendPageWhere(StringBuilder sb, List<ArgumentHolder> argList) throws SQLException {
+		List<OrderBy> pageOrderBys = getPageOrderBys();
+		sb.append('(');
+		for (int i = 0; i < pageKeys.length; i++) {
+			if (i > 0) {
+				sb.append(" OR ");
+			}
+			sb.append('(');
+			for (int j = 0; j <= i; j++) {
+				OrderBy orderBy = pageOrderBys.get(j);
+				if (j > 0) {
+					sb.append(" AND ");
+				}
+				appendColumnName(sb, orderBy.getColumnName());
+				if (j < i) {
+					sb.append(" = ?");
+				} else if (orderBy.isAscending()) {
+					sb.append(" > ?");
+				} else {
+					sb.append(" < ?");
+				}
+				argList.add(makePageArg(orderBy, pageKeys[j]));
+			}
+			sb.append(')');
+		}
+		sb.append(") ");
+	}
+
+	private ArgumentHolder makeIdRangeArg(Object id) {
+		SelectArg arg = new SelectArg();
+		arg.setMetaInfo(idField.getColumnName(), idField);
+		arg.setValue(id);
+		return arg;
+	}
+
+	private Object makeIdValue(Class<?> idType, long id) {
+		if (idType == int.class || idType == Integer.class) {
+			return (int) id;
+		} else if (idType == short.class || idType == Short.class) {
+			return (short) id;
+		} else {
+			return id;
+		}
+	}
+
+	private ArgumentHolder makePageArg(OrderBy orderBy, Object key) throws SQLException {
+		SelectArg arg = new SelectArg();
+		arg.setMetaInfo(orderBy.getColumnName(), verifyColumnName(orderBy.getColumnName()));
+		arg.setValue(key);
+		return arg;
+	}
+
 	private void addOrderBy(OrderBy orderBy) {
 		if (orderByList == null) {
 			orderByList = new ArrayList<OrderBy>();
@@ -805,10 +1275,13 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		sb.append(' ');
 	}
 
-	private void appendOrderBys(StringBuilder sb, List<ArgumentHolder> argList) {
+	private void appendOrderBys(StringBuilder sb, List<ArgumentHolder> argList) throws SQLException {
 		boolean first = true;
-		if (hasOrderStuff()) {
-			appendOrderBys(sb, first, argList);
+		if (paging) {
+			appendOrderBys(sb, first, getPageOrderBys(), argList);
+			first = false;
+		} else if (hasOrderStuff()) {
+			appendOrderBys(sb, first, orderByList, argList);
 			first = false;
 		}
 		/*
@@ -818,7 +1291,7 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		if (joinList != null) {
 			for (JoinInfo joinInfo : joinList) {
 				if (joinInfo.queryBuilder != null && joinInfo.queryBuilder.hasOrderStuff()) {
-					joinInfo.queryBuilder.appendOrderBys(sb, first, argList);
+					joinInfo.queryBuilder.appendOrderBys(sb, first, joinInfo.queryBuilder.orderByList, argList);
 					first = false;
 				}
 			}
@@ -829,11 +1302,12 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return (orderByList != null && !orderByList.isEmpty());
 	}
 
-	private void appendOrderBys(StringBuilder sb, boolean first, List<ArgumentHolder> argList) {
+	private void appendOrderBys(StringBuilder sb, boolean first, List<OrderBy> orderBys,
+			List<ArgumentHolder> argList) {
 		if (first) {
 			sb.append("ORDER BY ");
 		}
-		for (OrderBy orderBy : orderByList) {
+		for (OrderBy orderBy : orderBys) {
 			if (first) {
 				first = false;
 			} else {
@@ -859,6 +1333,29 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		sb.append(' ');
 	}
 
+	private List<Object> columnsShape(List<ColumnNameOrRawSql> columnList) {
+		if (columnList == null) {
+			return null;
+		}
+		List<Object> columnsShape = new ArrayList<Object>(columnList.size() * 2);
+		for (ColumnNameOrRawSql column : columnList) {
+			columnsShape.add(column.getColumnName());
+			columnsShape.add(column.getRawSql());
+		}
+		return columnsShape;
+	}
+
+	private boolean hasRawSql(List<ColumnNameOrRawSql> columnList) {
+		if (columnList != null) {
+			for (ColumnNameOrRawSql column : columnList) {
+				if (column.getRawSql() != null) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	private void appendColumnName(StringBuilder sb, String columnName) {
 		if (addTableName) {
 			appendTableQualifier(sb);
@@ -0,0 +1,150 @@
+package com.j256.ormlite.stmt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.Dao.DaoObserver;
+import com.j256.ormlite.dao.ObjectCache;
+
+/**
+ * Cache of the results of the queries of a DAO which is enabled with {@link Dao#setQueryResultCache(boolean)}. For
+ * each query, the statement and the values of its arguments are mapped to the ids of the rows that it returned. The
+ * next time the same query is made, the objects are looked up by id in the {@link ObjectCache} of the DAO instead of
+ * running the query again. If any of the objects are no longer in the object cache then the query is run.
+ *
+ * <p>
+ * The cache is registered as a {@link DaoObserver} of the DAO and all of the results are thrown away whenever
+ * {@link Dao#notifyChanges()} is called.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Only queries which read from the table of the DAO are cached so queries with joins, sub-queries or any
+ * raw SQL (raw where clauses, having, and raw select, group-by or order-by columns) run each time. Changes made with the
+ * raw methods or outside of the DAO are not seen until {@link #clear()} or {@link Dao#notifyChanges()} is called.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class QueryResultCache implements DaoObserver {
+
+	/** default number of queries whose results are held in the cache */
+	public static final int DEFAULT_MAX_QUERIES = 100;
+
+	private final int maxQueries;
+	private final Map<List<Object>, Object[]> resultMap;
+	// incremented on each change so results of queries that were running during a change are not stored
+	private long changeCount;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public QueryResultCache() {
+		this(DEFAULT_MAX_QUERIES);
+	}
+
+	/**
+	 * @param maxQueries
+	 *            Maximum number of queries whose results are held in the cache. Once it is full, the results of the
+	 *            least-recently-used query are ejected.
+	 */
+	public QueryResultCache(final int maxQueries) {
+		this.maxQueries = maxQueries;
+		this.resultMap = new LinkedHashMap<List<Object>, Object[]>(16, 0.75F, true) {
+			private static final long serialVersionUID = -3560612498271578224L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<List<Object>, Object[]> eldest) {
+				return size() > maxQueries;
+			}
+		};
+	}
+
+	@Override
+	public void onChange() {
+		clear();
+	}
+
+	/**
+	 * Remove all of the query results from the cache.
+	 */
+	public synchronized void clear() {
+		resultMap.clear();
+		changeCount++;
+	}
+
+	/**
+	 * Return the number of queries whose results are in the cache.
+	 */
+	public synchronized int size() {
+		return resultMap.size();
+	}
+
+	/**
+	 * Return the maximum number of queries whose results are held in the cache.
+	 */
+	public int getMaxQueries() {
+		return maxQueries;
+	}
+
+	/**
+	 * Return the number of queries that were answered from the cache.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Return the number of queries that had to be run.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Look up the results of a query in the object cache. Returns null if the query is not in the cache or if any of
+	 * its objects are not in the object cache.
+	 */
+	<T> List<T> getResults(Class<T> clazz, List<Object> key, ObjectCache objectCache) {
+		Object[] ids;
+		synchronized (this) {
+			ids = resultMap.get(key);
+		}
+		if (ids != null) {
+			List<T> results = new ArrayList<T>(ids.length);
+			for (Object id : ids) {
+				T data = objectCache.get(clazz, id);
+				if (data == null) {
+					// it has been ejected from the object cache
+					results = null;
+					break;
+				}
+				results.add(data);
+			}
+			if (results != null) {
+				hitCount.incrementAndGet();
+				return results;
+			}
+		}
+		missCount.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Return the number of changes which is passed to {@link #putResults(List, long, Object[])} after the query is run.
+	 */
+	synchronized long getChangeCount() {
+		return changeCount;
+	}
+
+	/**
+	 * Store the ids of the results of a query unless there has been a change since the query was started.
+	 */
+	synchronized void putResults(List<Object> key, long startChangeCount, Object[] ids) {
+		if (startChangeCount == changeCount) {
+			resultMap.put(key, ids);
+		}
+	}
+}
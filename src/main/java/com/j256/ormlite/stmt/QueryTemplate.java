@@ -0,0 +1,165 @@
+package com.j256.ormlite.stmt;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
+
+/**
+ * An immutable query which can be run many times with different argument values. This is built with
+ * {@link QueryBuilder#prepareTemplate()}. Each of the {@link SelectArg} arguments in the query that did not have a value
+ * when the template was built is a positional parameter of the template, in the order that the arguments appear in the
+ * SQL. For example:
+ *
+ * <pre>
+ * QueryBuilder&lt;Account, String&gt; qb = accountDao.queryBuilder();
+ * qb.where().eq(&quot;name&quot;, new SelectArg()).and().gt(&quot;age&quot;, new SelectArg());
+ * QueryTemplate&lt;Account&gt; template = qb.prepareTemplate();
+ * ...
+ * List&lt;Account&gt; accounts = template.query(accountDao, &quot;Bob&quot;, 21);
+ * </pre>
+ *
+ * <p>
+ * The SQL is built once when the template is created and each call binds its arguments to its own copy of the
+ * statement so a template can be shared between threads without using {@link ThreadLocalSelectArg}. The values of the
+ * arguments that were set when the template was built are copied into the template so changing those
+ * {@link SelectArg}s afterwards does not change the template.
+ * </p>
+ *
+ * @param <T>
+ *            The class that the code will be operating on.
+ * @author graywatson
+ */
+public class QueryTemplate<T> {
+
+	private final MappedPreparedStmt<T, ?> mappedStmt;
+	private final TemplateArg[] templateArgs;
+	private final int parameterCount;
+
+	QueryTemplate(MappedPreparedStmt<T, ?> mappedStmt, List<ArgumentHolder> argList) {
+		this.mappedStmt = mappedStmt;
+		this.templateArgs = new TemplateArg[argList.size()];
+		int parameterCount = 0;
+		for (int i = 0; i < templateArgs.length; i++) {
+			templateArgs[i] = new TemplateArg(argList.get(i));
+			if (templateArgs[i].parameter) {
+				parameterCount++;
+			}
+		}
+		this.parameterCount = parameterCount;
+	}
+
+	/**
+	 * Return the SQL statement of the template.
+	 */
+	public String getStatement() {
+		return mappedStmt.getStatement();
+	}
+
+	/**
+	 * Return the number of positional parameters that need to be passed to the template.
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * Return a prepared query with the parameters of the template set to the arguments. The returned query is not
+	 * shared and can be used with any of the {@link Dao} methods that take a {@link PreparedQuery}.
+	 *
+	 * @throws SQLException
+	 *             If the number of arguments does not match the number of parameters of the template.
+	 */
+	public PreparedQuery<T> bind(Object... args) throws SQLException {
+		if (args.length != parameterCount) {
+			throw new SQLException("Query template has " + parameterCount + " parameters but " + args.length
+					+ " arguments were passed in: " + getStatement());
+		}
+		ArgumentHolder[] argHolders = new ArgumentHolder[templateArgs.length];
+		int argC = 0;
+		for (int i = 0; i < templateArgs.length; i++) {
+			TemplateArg templateArg = templateArgs[i];
+			if (templateArg.parameter) {
+				argHolders[i] = templateArg.toArgumentHolder(args[argC++]);
+			} else {
+				argHolders[i] = templateArg.toArgumentHolder(templateArg.value);
+			}
+		}
+		return mappedStmt.withArgumentHolders(argHolders);
+	}
+
+	/**
+	 * Run the template with the arguments and return the results as a list. See {@link Dao#query(PreparedQuery)}.
+	 */
+	public List<T> query(Dao<T, ?> dao, Object... args) throws SQLException {
+		return dao.query(bind(args));
+	}
+
+	/**
+	 * Run the template with the arguments and return the first result or null if none. See
+	 * {@link Dao#queryForFirst(PreparedQuery)}.
+	 */
+	public T queryForFirst(Dao<T, ?> dao, Object... args) throws SQLException {
+		return dao.queryForFirst(bind(args));
+	}
+
+	/**
+	 * Run the template with the arguments and return an iterator over the results. See
+	 * {@link Dao#iterator(PreparedQuery)}.
+	 *
+	 * <p>
+	 * <b>WARNING:</b> The iterator must be closed when you are done with it. See {@link CloseableIterator}.
+	 * </p>
+	 */
+	public CloseableIterator<T> iterator(Dao<T, ?> dao, Object... args) throws SQLException {
+		return dao.iterator(bind(args));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " " + getStatement();
+	}
+
+	/**
+	 * Information about one of the arguments of the template copied out of its argument holder.
+	 */
+	private static class TemplateArg {
+		final String columnName;
+		final FieldType fieldType;
+		final SqlType sqlType;
+		final boolean parameter;
+		final Object value;
+		// argument holder that we can't copy
+		final ArgumentHolder argHolder;
+
+		public TemplateArg(ArgumentHolder argHolder) {
+			this.columnName = argHolder.getColumnName();
+			this.fieldType = argHolder.getFieldType();
+			this.sqlType = argHolder.getSqlType();
+			if (argHolder instanceof BaseArgumentHolder) {
+				BaseArgumentHolder baseArgHolder = (BaseArgumentHolder) argHolder;
+				this.parameter = !baseArgHolder.isValueSet();
+				this.value = (parameter ? null : baseArgHolder.getValue());
+				this.argHolder = null;
+			} else {
+				// we don't know how to get the value out so the holder is used as is
+				this.parameter = false;
+				this.value = null;
+				this.argHolder = argHolder;
+			}
+		}
+
+		public ArgumentHolder toArgumentHolder(Object value) {
+			if (argHolder != null) {
+				return argHolder;
+			}
+			SelectArg selectArg = new SelectArg(sqlType, value);
+			selectArg.setMetaInfo(columnName, fieldType);
+			return selectArg;
+		}
+	}
+}
@@ -263,6 +263,13 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 		}
 	}
 
+	/**
+	 * Cancel the query if it is still running. Support for this is database dependent.
+	 */
+	void cancel() throws SQLException {
+		compiledStmt.cancel();
+	}
+
 	@Override
 	public void closeQuietly() {
 		IOUtils.closeQuietly(this);
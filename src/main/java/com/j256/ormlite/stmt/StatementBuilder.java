@@ -9,7 +9,9 @@ import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.StatementShapeCache.CachedStatement;
 import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
+import com.j256.ormlite.stmt.query.ShapedClause;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -71,10 +73,40 @@ public abstract class StatementBuilder<T, ID> {
 	 *            Limit for queries. Can be null if none.
 	 */
 	protected MappedPreparedStmt<T, ID> prepareStatement(Long limit, boolean cacheStore) throws SQLException {
-		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
-		String statement = buildStatementString(argList);
+		return prepareStatement(limit, cacheStore, new ArrayList<ArgumentHolder>());
+	}
+
+	/**
+	 * Prepare our statement and add its arguments to the arg-list.
+	 */
+	MappedPreparedStmt<T, ID> prepareStatement(Long limit, boolean cacheStore, List<ArgumentHolder> argList)
+			throws SQLException {
+		StatementShapeCache shapeCache = tableInfo.getStatementShapeCache();
+		List<Object> shape = new ArrayList<Object>();
+		CachedStatement cachedStatement = null;
+		if (appendStatementShape(shape, argList)) {
+			cachedStatement = shapeCache.get(shape);
+		} else {
+			shape = null;
+		}
+		String statement;
+		FieldType[] resultFieldTypes;
+		if (cachedStatement == null) {
+			argList.clear();
+			statement = buildStatementString(argList);
+			resultFieldTypes = getResultFieldTypes();
+			if (shape != null) {
+				shapeCache.put(shape, new CachedStatement(statement, type, resultFieldTypes));
+			}
+		} else {
+			// same shape as a previous statement so we just need the arguments that were collected with the shape
+			statement = cachedStatement.statement;
+			type = cachedStatement.type;
+			resultFieldTypes = cachedStatement.resultFieldTypes;
+			setShapeResultFieldTypes(resultFieldTypes);
+			logger.debug("reusing statement {}", statement);
+		}
 		ArgumentHolder[] selectArgs = argList.toArray(new ArgumentHolder[argList.size()]);
-		FieldType[] resultFieldTypes = getResultFieldTypes();
 		FieldType[] argFieldTypes = new FieldType[argList.size()];
 		for (int selectC = 0; selectC < selectArgs.length; selectC++) {
 			argFieldTypes[selectC] = selectArgs[selectC].getFieldType();
@@ -82,8 +114,12 @@ public abstract class StatementBuilder<T, ID> {
 		if (!type.isOkForStatementBuilder()) {
 			throw new IllegalStateException("Building a statement from a " + type + " statement is not allowed");
 		}
-		return new MappedPreparedStmt<T, ID>(tableInfo, statement, argFieldTypes, resultFieldTypes, selectArgs,
-				(databaseType.isLimitSqlSupported() ? null : limit), type, cacheStore);
+		MappedPreparedStmt<T, ID> mappedStmt = new MappedPreparedStmt<T, ID>(tableInfo, statement, argFieldTypes,
+				resultFieldTypes, selectArgs, (databaseType.isLimitSqlSupported() ? null : limit), type, cacheStore);
+		// statements described by their shape only read from our table unless they have raw SQL
+		mappedStmt.setResultCacheable(shape != null && type == StatementType.SELECT
+				&& !shape.contains(ShapedClause.RAW_SQL));
+		return mappedStmt;
 	}
 
 	/**
@@ -134,6 +170,36 @@ public abstract class StatementBuilder<T, ID> {
 		appendStatementEnd(sb, argList);
 	}
 
+	/**
+	 * Add to the shape list the objects which determine the SQL generated by
+	 * {@link #appendStatementString(StringBuilder, List)} and add to the arg-list the same arguments in the same order.
+	 * Statements with equal shapes generate the same SQL so it can be reused from the {@link StatementShapeCache}.
+	 * 
+	 * @return False if the statement cannot be described by its shape which is the default.
+	 */
+	protected boolean appendStatementShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		return false;
+	}
+
+	/**
+	 * Add the shape of the WHERE part of the statement to the list.
+	 */
+	protected boolean appendWhereShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		if (where == null) {
+			shape.add(null);
+			return true;
+		} else {
+			return where.appendShape(shape, argList);
+		}
+	}
+
+	/**
+	 * Called with the result field-types of a cached statement instead of building the statement string.
+	 */
+	protected void setShapeResultFieldTypes(FieldType[] resultFieldTypes) {
+		// noop
+	}
+
 	/**
 	 * Append the start of our statement string to the StringBuilder.
 	 */
@@ -3,7 +3,9 @@ package com.j256.ormlite.stmt;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
@@ -15,7 +17,9 @@ import com.j256.ormlite.dao.RawRowMapper;
 import com.j256.ormlite.dao.RawRowObjectMapper;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.ForeignFetchBatch;
 import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
@@ -26,10 +30,13 @@ import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.stmt.mapped.MappedCreate;
 import com.j256.ormlite.stmt.mapped.MappedDelete;
 import com.j256.ormlite.stmt.mapped.MappedDeleteCollection;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.mapped.MappedQueryForFieldEq;
+import com.j256.ormlite.stmt.mapped.MappedQueryForIds;
 import com.j256.ormlite.stmt.mapped.MappedRefresh;
 import com.j256.ormlite.stmt.mapped.MappedUpdate;
 import com.j256.ormlite.stmt.mapped.MappedUpdateId;
+import com.j256.ormlite.stmt.mapped.MappedUpsert;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -60,6 +67,9 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	private MappedCreate<T, ID> mappedInsert;
 	private MappedUpdate<T, ID> mappedUpdate;
 	private MappedUpdateId<T, ID> mappedUpdateId;
+	private MappedUpsert<T, ID> mappedUpsert;
+	private boolean batchForeignAutoRefresh;
+	private final boolean prefetchForeignCollections;
 	private MappedDelete<T, ID> mappedDelete;
 	private MappedRefresh<T, ID> mappedRefresh;
 	private String countStarQuery;
@@ -81,6 +91,14 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		this.databaseType = databaseType;
 		this.tableInfo = tableInfo;
 		this.dao = dao;
+		boolean prefetch = false;
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType.isForeignCollectionPrefetch()) {
+				prefetch = true;
+				break;
+			}
+		}
+		this.prefetchForeignCollections = prefetch;
 	}
 
 	/**
@@ -94,6 +112,18 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		return mappedQueryForId.execute(databaseConnection, id, objectCache);
 	}
 
+	/**
+	 * Return a map of the ids to the objects which match them. See
+	 * {@link MappedQueryForIds#queryForIds(DatabaseType, TableInfo, DatabaseConnection, Collection, Map, ObjectCache)}.
+	 */
+	public Map<ID, T> queryForIds(DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache)
+			throws SQLException {
+		Map<ID, T> results = new HashMap<ID, T>();
+		// have to build this on the fly because the collection has variable number of args
+		MappedQueryForIds.queryForIds(databaseType, tableInfo, databaseConnection, ids, results, objectCache);
+		return results;
+	}
+
 	/**
 	 * Return the first object that matches the {@link PreparedStmt} or null if none.
 	 */
@@ -194,20 +224,79 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public List<T> query(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt, ObjectCache objectCache)
 			throws SQLException {
-		SelectIterator<T, ID> iterator = buildIterator(/* no dao specified because no removes */null, connectionSource,
-				preparedStmt, objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		return query(connectionSource, preparedStmt, objectCache, null);
+	}
+
+	/**
+	 * Return a list of all of the data in the table that matches the {@link PreparedStmt} parameter. If the result
+	 * cache is not null then the results are looked up in it and stored in it when the object cache is also enabled.
+	 */
+	public List<T> query(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt, ObjectCache objectCache,
+			QueryResultCache resultCache) throws SQLException {
+		List<Object> resultCacheKey = null;
+		long resultCacheChangeCount = 0;
+		// batches are only notified of changes at the end
+		if (resultCache != null && objectCache != null && preparedStmt instanceof MappedPreparedStmt
+				&& !localIsInBatchMode.get()) {
+			resultCacheKey = ((MappedPreparedStmt<T, ?>) preparedStmt).getResultCacheKey();
+			if (resultCacheKey != null) {
+				resultCacheChangeCount = resultCache.getChangeCount();
+				List<T> results = resultCache.getResults(tableInfo.getDataClass(), resultCacheKey, objectCache);
+				if (results != null) {
+					logger.debug("query of '{}' returned {} cached results", preparedStmt.getStatement(),
+							results.size());
+					return results;
+				}
+			}
+		}
+		ForeignFetchBatch fetchBatch = null;
+		if (batchForeignAutoRefresh || prefetchForeignCollections) {
+			fetchBatch = ForeignFetchBatch.start(batchForeignAutoRefresh);
+		}
 		try {
 			List<T> results = new ArrayList<T>();
-			while (iterator.hasNextThrow()) {
-				results.add(iterator.nextThrow());
+			SelectIterator<T, ID> iterator = buildIterator(/* no dao specified because no removes */null,
+					connectionSource, preparedStmt, objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+			try {
+				while (iterator.hasNextThrow()) {
+					results.add(iterator.nextThrow());
+				}
+				logger.debug("query of '{}' returned {} results", preparedStmt.getStatement(), results.size());
+			} finally {
+				IOUtils.closeThrowSqlException(iterator, "iterator");
+			}
+			if (fetchBatch != null) {
+				fetchBatch.fetch();
+			}
+			if (resultCacheKey != null) {
+				Object[] ids = extractIds(results);
+				if (ids != null) {
+					resultCache.putResults(resultCacheKey, resultCacheChangeCount, ids);
+				}
 			}
-			logger.debug("query of '{}' returned {} results", preparedStmt.getStatement(), results.size());
 			return results;
 		} finally {
-			IOUtils.closeThrowSqlException(iterator, "iterator");
+			if (fetchBatch != null) {
+				fetchBatch.end();
+			}
 		}
 	}
 
+	/**
+	 * Return the ids of the results or null if any of them do not have an id.
+	 */
+	private Object[] extractIds(List<T> results) throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		Object[] ids = new Object[results.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = idField.extractJavaFieldValue(results.get(i));
+			if (ids[i] == null) {
+				return null;
+			}
+		}
+		return ids;
+	}
+
 	/**
 	 * Create and return a SelectIterator for the class using the default mapped query for all statement.
 	 */
@@ -462,6 +551,26 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		return result;
 	}
 
+	/**
+	 * Create new entries in the database from a collection of objects. The objects are inserted in batches of up to
+	 * batchSize rows using {@link DatabaseConnection#insertBatch}. If batchSize is 1 or less then each of the objects
+	 * is inserted on its own.
+	 */
+	public int create(DatabaseConnection databaseConnection, Collection<T> datas, int batchSize,
+			ObjectCache objectCache) throws SQLException {
+		return createChunks(databaseConnection, datas, batchSize, false, objectCache);
+	}
+
+	/**
+	 * Create new entries in the database from a collection of objects using multi-row insert statements of up to
+	 * batchSize rows if the database type supports them. See
+	 * {@link MappedCreate#insertBulk(DatabaseType, DatabaseConnection, List, ObjectCache)}.
+	 */
+	public int createBulk(DatabaseConnection databaseConnection, Collection<T> datas, int batchSize,
+			ObjectCache objectCache) throws SQLException {
+		return createChunks(databaseConnection, datas, batchSize, true, objectCache);
+	}
+
 	/**
 	 * Update an object in the database.
 	 */
@@ -476,6 +585,53 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		return result;
 	}
 
+	/**
+	 * Set whether or not the {@link DatabaseField#foreignAutoRefresh()} fields of the objects returned by
+	 * {@link #query(ConnectionSource, PreparedStmt, ObjectCache)} are fetched with one query per foreign field after
+	 * all of the rows have been read instead of one query per row. See {@link ForeignFetchBatch}.
+	 */
+	public void setBatchForeignAutoRefresh(boolean batchForeignAutoRefresh) {
+		this.batchForeignAutoRefresh = batchForeignAutoRefresh;
+	}
+
+	/**
+	 * Returns true if objects can be created or updated with a single native upsert statement. See
+	 * {@link MappedUpsert#isUpsertable(DatabaseType, TableInfo)}.
+	 */
+	public boolean isUpsertSupported() {
+		return MappedUpsert.isUpsertable(databaseType, tableInfo);
+	}
+
+	/**
+	 * Insert or update a collection of objects using native upsert statements sent in batches of up to batchSize
+	 * objects.
+	 */
+	public int upsert(DatabaseConnection databaseConnection, Collection<T> datas, int batchSize,
+			ObjectCache objectCache) throws SQLException {
+		if (mappedUpsert == null) {
+			mappedUpsert = MappedUpsert.build(databaseType, tableInfo);
+		}
+		int result = 0;
+		List<T> chunk = new ArrayList<T>(Math.max(1, Math.min(batchSize, datas.size())));
+		for (T data : datas) {
+			if (data == null) {
+				continue;
+			}
+			chunk.add(data);
+			if (chunk.size() >= batchSize) {
+				result += mappedUpsert.upsertBatch(databaseConnection, chunk, objectCache);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			result += mappedUpsert.upsertBatch(databaseConnection, chunk, objectCache);
+		}
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return result;
+	}
+
 	/**
 	 * Update an object in the database to change its id to the newId parameter.
 	 */
@@ -602,6 +758,49 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	private int createChunks(DatabaseConnection databaseConnection, Collection<T> datas, int batchSize,
+			boolean multiRow, ObjectCache objectCache) throws SQLException {
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(databaseType, tableInfo);
+		}
+		int result = 0;
+		if (batchSize <= 1) {
+			for (T data : datas) {
+				if (data != null) {
+					result += mappedInsert.insert(databaseType, databaseConnection, data, objectCache);
+				}
+			}
+		} else {
+			List<T> chunk = new ArrayList<T>(Math.min(batchSize, datas.size()));
+			for (T data : datas) {
+				if (data == null) {
+					continue;
+				}
+				chunk.add(data);
+				if (chunk.size() >= batchSize) {
+					result += createChunk(databaseConnection, chunk, multiRow, objectCache);
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) {
+				result += createChunk(databaseConnection, chunk, multiRow, objectCache);
+			}
+		}
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return result;
+	}
+
+	private int createChunk(DatabaseConnection databaseConnection, List<T> chunk, boolean multiRow,
+			ObjectCache objectCache) throws SQLException {
+		if (multiRow) {
+			return mappedInsert.insertBulk(databaseType, databaseConnection, chunk, objectCache);
+		} else {
+			return mappedInsert.insertBatch(databaseType, databaseConnection, chunk, objectCache);
+		}
+	}
+
 	private <CT> CT doCallBatchTasks(ConnectionSource connectionSource, Callable<CT> callable) throws SQLException {
 		boolean saved = false;
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
@@ -0,0 +1,106 @@
+package com.j256.ormlite.stmt;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+/**
+ * Cache of the SQL generated by the statement builders of a table so that a query with the same "shape" does not have
+ * its SQL built again. The shape of a query is its builder settings and the structure of its where clauses: the
+ * columns, operations, groupings, orderings, and any values that are written into the SQL. Arguments such as
+ * {@link SelectArg} are only represented by their position so queries that differ just in their argument values share
+ * the same SQL. Literal values are part of the SQL and therefore part of the shape so {@link SelectArg} should be used
+ * for values that change from query to query.
+ *
+ * <p>
+ * Queries with joins, sub-queries, or values which are not known to be immutable are not cached. When the cache is full
+ * it is cleared so queries with ever-changing literal values can't grow it without bound.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class StatementShapeCache {
+
+	/** default number of statement shapes cached for each table */
+	public static final int DEFAULT_MAX_SHAPES = 256;
+
+	private final int maxShapes;
+	private final ConcurrentHashMap<List<Object>, CachedStatement> shapeMap =
+			new ConcurrentHashMap<List<Object>, CachedStatement>();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	public StatementShapeCache() {
+		this(DEFAULT_MAX_SHAPES);
+	}
+
+	public StatementShapeCache(int maxShapes) {
+		this.maxShapes = maxShapes;
+	}
+
+	/**
+	 * Return the number of times that the SQL of a statement was found in the cache.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Return the number of times that the SQL of a statement had to be built.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Return the number of shapes in the cache.
+	 */
+	public int size() {
+		return shapeMap.size();
+	}
+
+	/**
+	 * Remove all of the shapes from the cache.
+	 */
+	public void clear() {
+		shapeMap.clear();
+	}
+
+	CachedStatement get(List<Object> shape) {
+		CachedStatement cachedStatement = shapeMap.get(shape);
+		if (cachedStatement == null) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return cachedStatement;
+	}
+
+	void put(List<Object> shape, CachedStatement cachedStatement) {
+		if (maxShapes <= 0) {
+			return;
+		}
+		if (shapeMap.size() >= maxShapes) {
+			shapeMap.clear();
+		}
+		shapeMap.put(shape, cachedStatement);
+	}
+
+	/**
+	 * The SQL built for a shape and the settings that were made by the builder while building it.
+	 */
+	static class CachedStatement {
+		final String statement;
+		final StatementType type;
+		final FieldType[] resultFieldTypes;
+
+		public CachedStatement(String statement, StatementType type, FieldType[] resultFieldTypes) {
+			this.statement = statement;
+			this.type = type;
+			this.resultFieldTypes = resultFieldTypes;
+		}
+	}
+}
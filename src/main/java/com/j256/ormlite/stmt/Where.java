@@ -21,6 +21,7 @@ import com.j256.ormlite.stmt.query.ManyClause;
 import com.j256.ormlite.stmt.query.NeedsFutureClause;
 import com.j256.ormlite.stmt.query.Not;
 import com.j256.ormlite.stmt.query.Raw;
+import com.j256.ormlite.stmt.query.ShapedClause;
 import com.j256.ormlite.stmt.query.SimpleComparison;
 import com.j256.ormlite.table.TableInfo;
 
@@ -536,6 +537,23 @@ public class Where<T, ID> {
 		return sb.toString();
 	}
 
+	/**
+	 * Add the shape of the where clauses to the list. Returns false if the clauses are not finished or cannot be
+	 * described by their shape.
+	 */
+	boolean appendShape(List<Object> shape, List<ArgumentHolder> columnArgList) throws SQLException {
+		if (clauseStackLevel != 1 || needsFuture != null) {
+			// building the SQL will throw
+			return false;
+		}
+		Clause clause = peek();
+		if (clause instanceof ShapedClause) {
+			return ((ShapedClause) clause).appendShape(shape, columnArgList);
+		} else {
+			return false;
+		}
+	}
+
 	/**
 	 * Used by the internal classes to add the where SQL to the {@link StringBuilder}.
 	 * 
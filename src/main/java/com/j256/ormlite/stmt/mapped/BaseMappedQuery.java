@@ -1,12 +1,11 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
 
 import com.j256.ormlite.dao.BaseForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.types.BaseDataType;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.TableInfo;
@@ -19,8 +18,11 @@ import com.j256.ormlite.table.TableInfo;
 public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID> implements GenericRowMapper<T> {
 
 	protected final FieldType[] resultsFieldTypes;
-	// cache of column names to results position
-	private Map<String, Integer> columnPositions = null;
+	// data type of the resultsFieldTypes that can be read without boxing or null if not a primitive field
+	private final BaseDataType[] primitiveDataTypes;
+	// cache of the results position of each of the resultsFieldTypes, looked up from the first results
+	private int[] columnPositions = null;
+	private int idColumnPosition = -1;
 	private Object parent = null;
 	private Object parentId = null;
 
@@ -28,20 +30,24 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 			FieldType[] resultsFieldTypes) {
 		super(tableInfo, statement, argFieldTypes);
 		this.resultsFieldTypes = resultsFieldTypes;
+		this.primitiveDataTypes = findPrimitiveDataTypes(resultsFieldTypes);
 	}
 
 	@Override
 	public T mapRow(DatabaseResults results) throws SQLException {
-		Map<String, Integer> colPosMap;
-		if (columnPositions == null) {
-			colPosMap = new HashMap<String, Integer>();
-		} else {
-			colPosMap = columnPositions;
+		int[] colPositions = columnPositions;
+		if (colPositions == null) {
+			colPositions = findColumnPositions(results);
+			// this may be done by multiple threads at once but they will all come up with the same positions
+			columnPositions = colPositions;
 		}
 
 		ObjectCache objectCache = results.getObjectCacheForRetrieve();
 		if (objectCache != null) {
-			Object id = idField.resultToJava(results, colPosMap);
+			if (idColumnPosition < 0) {
+				idColumnPosition = results.findColumn(idField.getColumnName());
+			}
+			Object id = idField.resultToJava(results, idColumnPosition);
 			T cachedInstance = objectCache.get(clazz, id);
 			if (cachedInstance != null) {
 				// if we have a cached instance for this id then return it
@@ -54,11 +60,14 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		// populate its fields
 		Object id = null;
 		boolean foreignCollections = false;
-		for (FieldType fieldType : resultsFieldTypes) {
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
 			if (fieldType.isForeignCollection()) {
 				foreignCollections = true;
+			} else if (primitiveDataTypes != null && primitiveDataTypes[i] != null) {
+				assignPrimitive(instance, fieldType, primitiveDataTypes[i], results, colPositions[i]);
 			} else {
-				Object val = fieldType.resultToJava(results, colPosMap);
+				Object val = fieldType.resultToJava(results, colPositions[i]);
 				/*
 				 * This is pretty subtle. We introduced multiple foreign fields to the same type which use the {@link
 				 * ForeignCollectionField} foreignColumnName field. The bug that was created was that all the fields
@@ -92,12 +101,81 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		if (objectCache != null && id != null) {
 			objectCache.put(clazz, id, instance);
 		}
-		if (columnPositions == null) {
-			columnPositions = colPosMap;
-		}
 		return instance;
 	}
 
+	/**
+	 * Look up the position in the results of each of our results field types. Foreign collections are not columns so
+	 * they get a -1. This also records the id position if the id is one of the results fields.
+	 */
+	private int[] findColumnPositions(DatabaseResults results) throws SQLException {
+		int[] positions = new int[resultsFieldTypes.length];
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
+			if (fieldType.isForeignCollection()) {
+				positions[i] = -1;
+			} else {
+				positions[i] = results.findColumn(fieldType.getColumnName());
+				if (idField != null && fieldType.getColumnName().equals(idField.getColumnName())) {
+					idColumnPosition = positions[i];
+				}
+			}
+		}
+		return positions;
+	}
+
+	/**
+	 * Read the primitive value from the results and set it on the instance without boxing it.
+	 */
+	private void assignPrimitive(T instance, FieldType fieldType, BaseDataType dataType, DatabaseResults results,
+			int columnPos) throws SQLException {
+		Class<?> type = fieldType.getType();
+		if (type == int.class) {
+			fieldType.assignInt(instance, dataType.resultToInt(fieldType, results, columnPos));
+		} else if (type == long.class) {
+			fieldType.assignLong(instance, dataType.resultToLong(fieldType, results, columnPos));
+		} else if (type == boolean.class) {
+			fieldType.assignBoolean(instance, dataType.resultToBoolean(fieldType, results, columnPos));
+		} else if (type == double.class) {
+			fieldType.assignDouble(instance, dataType.resultToDouble(fieldType, results, columnPos));
+		} else if (type == float.class) {
+			fieldType.assignFloat(instance, dataType.resultToFloat(fieldType, results, columnPos));
+		} else if (type == short.class) {
+			fieldType.assignShort(instance, dataType.resultToShort(fieldType, results, columnPos));
+		} else if (type == byte.class) {
+			fieldType.assignByte(instance, dataType.resultToByte(fieldType, results, columnPos));
+		} else {
+			// must be a char since those are the only primitives that we let through
+			fieldType.assignChar(instance, dataType.resultToChar(fieldType, results, columnPos));
+		}
+	}
+
+	/**
+	 * Find the data types of the primitive fields that can be read without boxing. The id field is left out since we
+	 * need its value as an object for the cache and the foreign collections. Returns null if there are none.
+	 */
+	private static BaseDataType[] findPrimitiveDataTypes(FieldType[] resultsFieldTypes) {
+		BaseDataType[] dataTypes = null;
+		if (resultsFieldTypes == null) {
+			// update and delete statements don't have results
+			return null;
+		}
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
+			if (fieldType.isId() || fieldType.isForeignCollection()) {
+				continue;
+			}
+			BaseDataType dataType = fieldType.getPrimitiveDataType();
+			if (dataType != null) {
+				if (dataTypes == null) {
+					dataTypes = new BaseDataType[resultsFieldTypes.length];
+				}
+				dataTypes[i] = dataType;
+			}
+		}
+		return dataTypes;
+	}
+
 	/**
 	 * If we have a foreign collection object then this sets the value on the foreign object in the class.
 	 */
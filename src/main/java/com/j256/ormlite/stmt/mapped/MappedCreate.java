@@ -1,9 +1,12 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.misc.SqlExceptionUtil;
@@ -21,13 +24,16 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 	private final String queryNextSequenceStmt;
 	private String dataClassName;
 	private int versionFieldTypeIndex;
+	// index in the statement of the "(?,?,...)" values which are repeated for multi-row inserts or -1 if none
+	private final int valuesIndex;
 
 	private MappedCreate(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
-			String queryNextSequenceStmt, int versionFieldTypeIndex) {
+			String queryNextSequenceStmt, int versionFieldTypeIndex, int valuesIndex) {
 		super(tableInfo, statement, argFieldTypes);
 		this.dataClassName = tableInfo.getDataClass().getSimpleName();
 		this.queryNextSequenceStmt = queryNextSequenceStmt;
 		this.versionFieldTypeIndex = versionFieldTypeIndex;
+		this.valuesIndex = valuesIndex;
 	}
 
 	/**
@@ -36,55 +42,17 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 	public int insert(DatabaseType databaseType, DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
 		KeyHolder keyHolder = null;
-		if (idField != null) {
-			boolean assignId;
-			if (idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data)) {
-				assignId = false;
-			} else {
-				assignId = true;
-			}
-			if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
-				if (assignId) {
-					idField.assignField(data, idField.generateId(), false, objectCache);
-				}
-			} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
-				if (assignId) {
-					assignSequenceId(databaseConnection, data, objectCache);
-				}
-			} else if (idField.isGeneratedId()) {
-				if (assignId) {
-					// get the id back from the database
-					keyHolder = new KeyHolder();
-				}
-			} else {
-				// the id should have been set by the caller already
-			}
+		if (assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache)) {
+			// get the id back from the database
+			keyHolder = new KeyHolder();
 		}
 
 		try {
 			// implement {@link DatabaseField#foreignAutoCreate()}, need to do this _before_ getFieldObjects() below
-			if (tableInfo.isForeignAutoCreate()) {
-				for (FieldType fieldType : tableInfo.getFieldTypes()) {
-					if (!fieldType.isForeignAutoCreate()) {
-						continue;
-					}
-					// get the field value
-					Object foreignObj = fieldType.extractRawJavaFieldValue(data);
-					if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
-						fieldType.createWithForeignDao(foreignObj);
-					}
-				}
-			}
+			createForeignObjects(data);
 
 			Object[] args = getFieldObjects(data);
-			Object versionDefaultValue = null;
-			// implement {@link DatabaseField#version()}
-			if (versionFieldTypeIndex >= 0 && args[versionFieldTypeIndex] == null) {
-				// if the version is null then we need to initialize it before create
-				FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
-				versionDefaultValue = versionFieldType.moveToNextValue(null);
-				args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValue);
-			}
+			Object versionDefaultValue = assignVersionDefault(args);
 
 			int rowC;
 			try {
@@ -104,38 +72,128 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 				logger.trace("insert arguments: {}", (Object) args);
 			}
 			if (rowC > 0) {
-				if (versionDefaultValue != null) {
-					argFieldTypes[versionFieldTypeIndex].assignField(data, versionDefaultValue, false, null);
+				assignAfterInsert(data, versionDefaultValue, keyHolder != null,
+						(keyHolder == null ? null : keyHolder.getKey()), objectCache);
+			}
+
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run insert stmt on object " + data + ": " + statement, e);
+		}
+	}
+
+	/**
+	 * Create a number of objects in the database using a single batch of inserts with the same statement. If the
+	 * objects do not all need their generated-ids returned from the database in the same way then they are inserted
+	 * one at a time.
+	 */
+	public int insertBatch(DatabaseType databaseType, DatabaseConnection databaseConnection, List<T> datas,
+			ObjectCache objectCache) throws SQLException {
+		if (datas.size() == 1) {
+			return insert(databaseType, databaseConnection, datas.get(0), objectCache);
+		}
+
+		/*
+		 * The key-holder is only needed for database generated-ids which are never assigned before the insert so if the
+		 * objects disagree about it then nothing has been changed and we can fall back to inserting them one at a time.
+		 */
+		boolean[] keysNeeded = new boolean[datas.size()];
+		for (int i = 0; i < keysNeeded.length; i++) {
+			keysNeeded[i] = assignIdBeforeInsert(databaseType, databaseConnection, datas.get(i), objectCache);
+			if (keysNeeded[i] != keysNeeded[0]) {
+				int rowC = 0;
+				for (T data : datas) {
+					rowC += insert(databaseType, databaseConnection, data, objectCache);
 				}
-				if (keyHolder != null) {
-					// assign the key returned by the database to the object's id field after it was inserted
-					Number key = keyHolder.getKey();
-					if (key == null) {
-						// may never happen but let's be careful out there
-						throw new SQLException(
-								"generated-id key was not set by the update call, maybe a schema mismatch between entity and database table?");
-					}
-					if (key.longValue() == 0L) {
-						// sanity check because the generated-key returned is 0 by default, may never happen
-						throw new SQLException(
-								"generated-id key must not be 0 value, maybe a schema mismatch between entity and database table?");
-					}
-					assignIdValue(data, key, "keyholder", objectCache);
+				return rowC;
+			}
+		}
+		boolean keyNeeded = keysNeeded[0];
+		ListKeyHolder keyHolder = null;
+		if (keyNeeded) {
+			keyHolder = new ListKeyHolder(datas.size());
+		}
+
+		try {
+			List<Object[]> argsList = new ArrayList<Object[]>(datas.size());
+			Object[] versionDefaultValues = new Object[datas.size()];
+			for (int i = 0; i < datas.size(); i++) {
+				T data = datas.get(i);
+				createForeignObjects(data);
+				Object[] args = getFieldObjects(data);
+				versionDefaultValues[i] = assignVersionDefault(args);
+				argsList.add(args);
+			}
+
+			int rowC;
+			try {
+				rowC = databaseConnection.insertBatch(statement, argsList, argFieldTypes, keyHolder);
+			} catch (SQLException e) {
+				logger.debug("insert batch of {} rows with statement '{}' and {} args, threw exception: {}",
+						new Object[] { datas.size(), statement, argFieldTypes.length, e });
+				throw e;
+			}
+			logger.debug("insert batch of {} rows with statement '{}' and {} args, changed {} rows",
+					new Object[] { datas.size(), statement, argFieldTypes.length, rowC });
+			if (rowC > 0) {
+				if (keyHolder != null && keyHolder.keys.size() != datas.size()) {
+					throw new SQLException("insert batch of " + datas.size() + " rows returned "
+							+ keyHolder.keys.size() + " generated-id keys");
 				}
-				/*
-				 * If we have a cache and if all of the foreign-collection fields have been assigned then add to cache.
-				 * However, if one of the foreign collections has not be assigned then don't add it to the cache.
-				 */
-				if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
-					Object id = idField.extractJavaFieldValue(data);
-					objectCache.put(clazz, id, data);
+				for (int i = 0; i < datas.size(); i++) {
+					assignAfterInsert(datas.get(i), versionDefaultValues[i], keyNeeded,
+							(keyHolder == null ? null : keyHolder.keys.get(i)), objectCache);
 				}
 			}
 
 			return rowC;
 		} catch (SQLException e) {
-			throw SqlExceptionUtil.create("Unable to run insert stmt on object " + data + ": " + statement, e);
+			throw SqlExceptionUtil.create(
+					"Unable to run insert stmt on batch of " + datas.size() + " objects: " + statement, e);
+		}
+	}
+
+	/**
+	 * Create a number of objects in the database using "INSERT INTO xxx (...) VALUES (...),(...)" statements which
+	 * insert multiple rows at once. The number of rows in each statement is limited by
+	 * {@link DatabaseType#getMaxStatementArguments()}. Because most databases do not return all of the generated keys
+	 * from a multi-row insert, objects whose generated-ids come back from the database are inserted with
+	 * {@link #insertBatch(DatabaseType, DatabaseConnection, List, ObjectCache)} instead. The same happens if the
+	 * database type does not support multi-row inserts.
+	 */
+	public int insertBulk(DatabaseType databaseType, DatabaseConnection databaseConnection, List<T> datas,
+			ObjectCache objectCache) throws SQLException {
+		if (!databaseType.isMultiRowInsertSupported() || valuesIndex < 0 || datas.size() <= 1) {
+			return insertBatch(databaseType, databaseConnection, datas, objectCache);
+		}
+
+		List<T> multiRowDatas = new ArrayList<T>(datas.size());
+		List<T> keyDatas = null;
+		for (T data : datas) {
+			if (assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache)) {
+				if (keyDatas == null) {
+					keyDatas = new ArrayList<T>();
+				}
+				keyDatas.add(data);
+			} else {
+				multiRowDatas.add(data);
+			}
 		}
+
+		int rowC = 0;
+		if (keyDatas != null) {
+			rowC += insertBatch(databaseType, databaseConnection, keyDatas, objectCache);
+		}
+		int rowsPerStatement = multiRowDatas.size();
+		int maxArgs = databaseType.getMaxStatementArguments();
+		if (maxArgs > 0) {
+			rowsPerStatement = Math.max(1, Math.min(rowsPerStatement, maxArgs / argFieldTypes.length));
+		}
+		for (int start = 0; start < multiRowDatas.size(); start += rowsPerStatement) {
+			int end = Math.min(start + rowsPerStatement, multiRowDatas.size());
+			rowC += insertMultiRow(databaseConnection, multiRowDatas.subList(start, end), objectCache);
+		}
+		return rowC;
 	}
 
 	public static <T, ID> MappedCreate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo) {
@@ -143,6 +201,7 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		appendTableName(databaseType, sb, "INSERT INTO ", tableInfo.getTableName());
 		int argFieldC = 0;
 		int versionFieldTypeIndex = -1;
+		int valuesIndex = -1;
 		// first we count up how many arguments we are going to have
 		for (FieldType fieldType : tableInfo.getFieldTypes()) {
 			if (isFieldCreatable(databaseType, fieldType)) {
@@ -171,7 +230,9 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 				appendFieldColumnName(databaseType, sb, fieldType, null);
 				argFieldTypes[argFieldC++] = fieldType;
 			}
-			sb.append(") VALUES (");
+			sb.append(") VALUES ");
+			valuesIndex = sb.length();
+			sb.append('(');
 			first = true;
 			for (FieldType fieldType : tableInfo.getFieldTypes()) {
 				if (!isFieldCreatable(databaseType, fieldType)) {
@@ -188,7 +249,8 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 		FieldType idField = tableInfo.getIdField();
 		String queryNext = buildQueryNextSequence(databaseType, idField);
-		return new MappedCreate<T, ID>(tableInfo, sb.toString(), argFieldTypes, queryNext, versionFieldTypeIndex);
+		return new MappedCreate<T, ID>(tableInfo, sb.toString(), argFieldTypes, queryNext, versionFieldTypeIndex,
+				valuesIndex);
 	}
 
 	private boolean foreignCollectionsAreAssigned(FieldType[] foreignCollections, Object data) throws SQLException {
@@ -233,6 +295,157 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
+	/**
+	 * Insert the objects, which already have their ids assigned, with a single multi-row insert statement.
+	 */
+	private int insertMultiRow(DatabaseConnection databaseConnection, List<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		int numRows = datas.size();
+		String rowValues = statement.substring(valuesIndex);
+		StringBuilder sb = new StringBuilder(valuesIndex + numRows * (rowValues.length() + 1));
+		sb.append(statement, 0, valuesIndex);
+		Object[] args = new Object[numRows * argFieldTypes.length];
+		FieldType[] rowsFieldTypes = new FieldType[args.length];
+		Object[] versionDefaultValues = new Object[numRows];
+		try {
+			for (int i = 0; i < numRows; i++) {
+				T data = datas.get(i);
+				// implement {@link DatabaseField#foreignAutoCreate()}, need to do this _before_ getFieldObjects() below
+				createForeignObjects(data);
+				Object[] rowArgs = getFieldObjects(data);
+				versionDefaultValues[i] = assignVersionDefault(rowArgs);
+				System.arraycopy(rowArgs, 0, args, i * argFieldTypes.length, argFieldTypes.length);
+				System.arraycopy(argFieldTypes, 0, rowsFieldTypes, i * argFieldTypes.length, argFieldTypes.length);
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append(rowValues);
+			}
+			String multiRowStatement = sb.toString();
+
+			int rowC;
+			try {
+				rowC = databaseConnection.insert(multiRowStatement, args, rowsFieldTypes, null);
+			} catch (SQLException e) {
+				logger.debug("insert {} rows with multi-row statement and {} args, threw exception: {}", numRows,
+						args.length, e);
+				throw e;
+			}
+			logger.debug("insert {} rows with multi-row statement and {} args, changed {} rows", numRows,
+					args.length, rowC);
+			if (rowC > 0) {
+				for (int i = 0; i < numRows; i++) {
+					assignAfterInsert(datas.get(i), versionDefaultValues[i], false, null, objectCache);
+				}
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run multi-row insert stmt on " + numRows + " objects: "
+					+ statement, e);
+		}
+	}
+
+	/**
+	 * Assign the id to the object if it is generated by us or by a sequence before the insert.
+	 * 
+	 * @return True if the id is generated by the database and needs to be returned from the insert.
+	 */
+	private boolean assignIdBeforeInsert(DatabaseType databaseType, DatabaseConnection databaseConnection, T data,
+			ObjectCache objectCache) throws SQLException {
+		if (idField == null) {
+			return false;
+		}
+		boolean assignId;
+		if (idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data)) {
+			assignId = false;
+		} else {
+			assignId = true;
+		}
+		if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
+			if (assignId) {
+				idField.assignField(data, idField.generateId(), false, objectCache);
+			}
+			return false;
+		} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
+			if (assignId) {
+				assignSequenceId(databaseConnection, data, objectCache);
+			}
+			return false;
+		} else if (idField.isGeneratedId()) {
+			return assignId;
+		} else {
+			// the id should have been set by the caller already
+			return false;
+		}
+	}
+
+	/**
+	 * Implement {@link DatabaseField#foreignAutoCreate()} by creating any foreign objects that do not have ids yet.
+	 */
+	private void createForeignObjects(T data) throws SQLException {
+		if (!tableInfo.isForeignAutoCreate()) {
+			return;
+		}
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (!fieldType.isForeignAutoCreate()) {
+				continue;
+			}
+			// get the field value
+			Object foreignObj = fieldType.extractRawJavaFieldValue(data);
+			if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
+				fieldType.createWithForeignDao(foreignObj);
+			}
+		}
+	}
+
+	/**
+	 * Implement {@link DatabaseField#version()} by initializing the version argument if it is null.
+	 * 
+	 * @return The version value that needs to be assigned to the object after the insert or null if none.
+	 */
+	private Object assignVersionDefault(Object[] args) throws SQLException {
+		if (versionFieldTypeIndex < 0 || args[versionFieldTypeIndex] != null) {
+			return null;
+		}
+		// if the version is null then we need to initialize it before create
+		FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
+		Object versionDefaultValue = versionFieldType.moveToNextValue(null);
+		args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValue);
+		return versionDefaultValue;
+	}
+
+	/**
+	 * Update the object with the version and generated-id after it has been inserted and add it to the cache.
+	 */
+	private void assignAfterInsert(T data, Object versionDefaultValue, boolean keyNeeded, Number key,
+			ObjectCache objectCache) throws SQLException {
+		if (versionDefaultValue != null) {
+			argFieldTypes[versionFieldTypeIndex].assignField(data, versionDefaultValue, false, null);
+		}
+		if (keyNeeded) {
+			// assign the key returned by the database to the object's id field after it was inserted
+			if (key == null) {
+				// may never happen but let's be careful out there
+				throw new SQLException(
+						"generated-id key was not set by the update call, maybe a schema mismatch between entity and database table?");
+			}
+			if (key.longValue() == 0L) {
+				// sanity check because the generated-key returned is 0 by default, may never happen
+				throw new SQLException(
+						"generated-id key must not be 0 value, maybe a schema mismatch between entity and database table?");
+			}
+			assignIdValue(data, key, "keyholder", objectCache);
+		}
+		/*
+		 * If we have a cache and if all of the foreign-collection fields have been assigned then add to cache. However,
+		 * if one of the foreign collections has not be assigned then don't add it to the cache.
+		 */
+		if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
+			Object id = idField.extractJavaFieldValue(data);
+			objectCache.put(clazz, id, data);
+		}
+	}
+
 	private void assignSequenceId(DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
 		// call the query-next-sequence stmt to increment the sequence
@@ -270,4 +483,20 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 			}
 		}
 	}
+
+	/**
+	 * Key holder which collects one generated key for each of the rows in a batch.
+	 */
+	private static class ListKeyHolder implements GeneratedKeyHolder {
+		final List<Number> keys;
+
+		public ListKeyHolder(int size) {
+			this.keys = new ArrayList<Number>(size);
+		}
+
+		@Override
+		public void addKey(Number key) {
+			keys.add(key);
+		}
+	}
 }
@@ -1,6 +1,11 @@
 package com.j256.ormlite.stmt.mapped;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
@@ -10,6 +15,7 @@ import com.j256.ormlite.stmt.ArgumentHolder;
 import com.j256.ormlite.stmt.PreparedDelete;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.PreparedUpdate;
+import com.j256.ormlite.stmt.QueryResultCache;
 import com.j256.ormlite.stmt.StatementBuilder;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
@@ -28,6 +34,9 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 	private final Long limit;
 	private final StatementType type;
 	private final boolean cacheStore;
+	private boolean resultCacheable;
+	private Integer fetchSize;
+	private boolean forwardOnly;
 
 	public MappedPreparedStmt(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
 							  FieldType[] resultFieldTypes, ArgumentHolder[] argHolders, Long limit, StatementType type,
@@ -52,6 +61,10 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 			throw new SQLException("Could not compile this " + this.type + " statement since the caller is expecting a "
 					+ type + " statement.  Check your QueryBuilder methods.");
 		}
+		if (forwardOnly) {
+			// the default is forward-only and read-only results
+			resultFlags = DatabaseConnection.DEFAULT_RESULT_FLAGS;
+		}
 		CompiledStatement stmt =
 				databaseConnection.compileStatement(statement, type, argFieldTypes, resultFlags, cacheStore);
 		// this may return null if the stmt had to be closed
@@ -80,6 +93,71 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 		argHolders[index].setValue(value);
 	}
 
+	/**
+	 * Return a copy of this statement with the same SQL but which uses different argument holders. There must be one
+	 * holder for each of the arguments of this statement.
+	 */
+	public MappedPreparedStmt<T, ID> withArgumentHolders(ArgumentHolder[] argHolders) throws SQLException {
+		if (argHolders.length != this.argHolders.length) {
+			throw new SQLException("Statement has " + this.argHolders.length + " arguments but " + argHolders.length
+					+ " argument holders were passed in");
+		}
+		MappedPreparedStmt<T, ID> copy = new MappedPreparedStmt<T, ID>(tableInfo, statement, argFieldTypes,
+				resultsFieldTypes, argHolders, limit, type, cacheStore);
+		copy.resultCacheable = resultCacheable;
+		copy.fetchSize = fetchSize;
+		copy.forwardOnly = forwardOnly;
+		return copy;
+	}
+
+	/**
+	 * Set the number of rows to fetch from the database at a time or null for the driver's default. This is set by the
+	 * query builder.
+	 */
+	public void setFetchSize(Integer fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Set to true to always compile the query with the default forward-only and read-only result flags so the driver
+	 * doesn't have to keep the rows that have been read. This is set by the query builder.
+	 */
+	public void setForwardOnly(boolean forwardOnly) {
+		this.forwardOnly = forwardOnly;
+	}
+
+	/**
+	 * Set whether the results of this query only depend on the table of the class so they can be held in a
+	 * {@link QueryResultCache}. This is set by the statement builder.
+	 */
+	public void setResultCacheable(boolean resultCacheable) {
+		this.resultCacheable = resultCacheable;
+	}
+
+	/**
+	 * Return the key of the results of this query in a {@link QueryResultCache} which is made up of the statement and
+	 * the current values of its arguments. Returns null if the results cannot be cached.
+	 */
+	public List<Object> getResultCacheKey() throws SQLException {
+		if (!resultCacheable) {
+			return null;
+		}
+		List<Object> key = new ArrayList<Object>(argHolders.length + 2);
+		key.add(statement);
+		key.add(limit);
+		for (ArgumentHolder argHolder : argHolders) {
+			Object value = argHolder.getSqlArgValue();
+			if (value instanceof Date) {
+				// dates can be changed so we take a copy
+				value = ((Date) value).clone();
+			} else if (!isImmutableValue(value)) {
+				return null;
+			}
+			key.add(value);
+		}
+		return key;
+	}
+
 	/**
 	 * Assign arguments to the statement.
 	 * 
@@ -92,6 +170,9 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 				// we use this if SQL statement LIMITs are not supported by this database type
 				stmt.setMaxRows(limit.intValue());
 			}
+			if (fetchSize != null) {
+				stmt.setFetchSize(fetchSize);
+			}
 			// set any arguments if we are logging our object
 			Object[] argValues = null;
 			if (logger.isLevelEnabled(Level.TRACE) && argHolders.length > 0) {
@@ -124,4 +205,11 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 			}
 		}
 	}
+
+	private static boolean isImmutableValue(Object value) {
+		return (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+				|| value instanceof Short || value instanceof Byte || value instanceof Double || value instanceof Float
+				|| value instanceof Boolean || value instanceof Character || value instanceof Enum
+				|| value instanceof BigInteger || value instanceof BigDecimal);
+	}
 }
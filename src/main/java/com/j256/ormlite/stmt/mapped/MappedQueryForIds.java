@@ -0,0 +1,153 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Mapped statement for querying for the objects that correspond to a collection of IDs using "WHERE id IN (...)".
+ *
+ * @author graywatson
+ */
+public class MappedQueryForIds<T, ID> extends BaseMappedQuery<T, ID> {
+
+	/**
+	 * Maximum number of ids in a single IN clause if the database type does not have a smaller argument limit. Some
+	 * databases (Oracle for one) do not allow more than 1000 items in an IN list.
+	 */
+	public static final int DEFAULT_MAX_IDS_PER_QUERY = 1000;
+
+	private MappedQueryForIds(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
+			FieldType[] resultsFieldTypes) {
+		super(tableInfo, statement, argFieldTypes, resultsFieldTypes);
+	}
+
+	/**
+	 * Query for the objects that correspond to the ids and add them to the results map. Objects that are in the cache
+	 * are returned from it. The rest are queried for in chunks using {@link DatabaseType#getMaxStatementArguments()}
+	 * and are added to the cache by the queries. Ids that do not match a row are not added to the map.
+	 */
+	public static <T, ID> void queryForIds(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Collection<ID> ids, Map<ID, T> results, ObjectCache objectCache)
+			throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Cannot query-for-ids with " + tableInfo.getDataClass()
+					+ " because it doesn't have an id field");
+		}
+		Class<T> clazz = tableInfo.getDataClass();
+		Set<ID> missingIds = new LinkedHashSet<ID>();
+		for (ID id : ids) {
+			if (id == null || results.containsKey(id)) {
+				continue;
+			}
+			T cached = null;
+			if (objectCache != null) {
+				cached = objectCache.get(clazz, id);
+			}
+			if (cached == null) {
+				missingIds.add(id);
+			} else {
+				results.put(id, cached);
+			}
+		}
+		if (missingIds.isEmpty()) {
+			return;
+		}
+
+		int maxIds = DEFAULT_MAX_IDS_PER_QUERY;
+		int maxArgs = databaseType.getMaxStatementArguments();
+		if (maxArgs > 0 && maxArgs < maxIds) {
+			maxIds = maxArgs;
+		}
+		List<ID> chunk = new ArrayList<ID>(Math.min(maxIds, missingIds.size()));
+		MappedQueryForIds<T, ID> mappedQuery = null;
+		for (ID id : missingIds) {
+			chunk.add(id);
+			if (chunk.size() >= maxIds) {
+				if (mappedQuery == null) {
+					// full sized chunks can all use the same statement
+					mappedQuery = build(databaseType, tableInfo, idField, maxIds);
+				}
+				mappedQuery.execute(databaseConnection, chunk, results, objectCache);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			build(databaseType, tableInfo, idField, chunk.size()).execute(databaseConnection, chunk, results,
+					objectCache);
+		}
+	}
+
+	private void execute(DatabaseConnection databaseConnection, List<ID> ids, Map<ID, T> results,
+			ObjectCache objectCache) throws SQLException {
+		Object[] args = new Object[ids.size()];
+		for (int i = 0; i < args.length; i++) {
+			args[i] = convertIdToFieldObject(ids.get(i));
+		}
+		CompiledStatement compiledStatement =
+				databaseConnection.compileStatement(statement, StatementType.SELECT, argFieldTypes,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS, true);
+		int resultC = 0;
+		try {
+			for (int i = 0; i < args.length; i++) {
+				compiledStatement.setObject(i, args[i], argFieldTypes[i].getSqlType());
+			}
+			DatabaseResults databaseResults = compiledStatement.runQuery(objectCache);
+			try {
+				while (databaseResults.next()) {
+					T result = mapRow(databaseResults);
+					@SuppressWarnings("unchecked")
+					ID id = (ID) idField.extractJavaFieldValue(result);
+					results.put(id, result);
+					resultC++;
+				}
+			} finally {
+				IOUtils.closeThrowSqlException(databaseResults, "results");
+			}
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run query-for-ids stmt: " + statement, e);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+		logger.debug("query-for-ids using '{}' and {} args, got {} results", statement, args.length, resultC);
+		if (args.length > 0) {
+			// need to do the (Object) cast to force args to be a single object and not an array
+			logger.trace("query-for-ids arguments: {}", (Object) args);
+		}
+	}
+
+	private static <T, ID> MappedQueryForIds<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			FieldType idField, int numIds) {
+		StringBuilder sb = new StringBuilder(64 + numIds * 2);
+		appendTableName(databaseType, sb, "SELECT * FROM ", tableInfo.getTableName());
+		sb.append("WHERE ");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(" IN (");
+		FieldType[] argFieldTypes = new FieldType[numIds];
+		for (int i = 0; i < numIds; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+			argFieldTypes[i] = idField;
+		}
+		sb.append(") ");
+		return new MappedQueryForIds<T, ID>(tableInfo, sb.toString(), argFieldTypes, tableInfo.getFieldTypes());
+	}
+}
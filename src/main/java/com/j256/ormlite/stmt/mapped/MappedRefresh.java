@@ -40,6 +40,19 @@ public class MappedRefresh<T, ID> extends MappedQueryForFieldEq<T, ID> {
 				fieldType.assignField(data, fieldType.extractJavaFieldValue(result), false, objectCache);
 			}
 		}
+		if (objectCache != null) {
+			T cachedData = objectCache.get(clazz, id);
+			if (cachedData != null && cachedData != data) {
+				// copy each field from the refreshed data into the cached object
+				for (FieldType fieldType : resultsFieldTypes) {
+					if (fieldType != idField) {
+						fieldType.assignField(cachedData, fieldType.extractJavaFieldValue(data), false, objectCache);
+					}
+				}
+				// caches that hold copies of the objects need the changes put back
+				objectCache.put(clazz, id, cachedData);
+			}
+		}
 		return 1;
 	}
 
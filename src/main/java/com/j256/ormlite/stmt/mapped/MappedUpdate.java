@@ -116,6 +116,8 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 										objectCache);
 							}
 						}
+						// caches that hold copies of the objects need the changes put back
+						objectCache.put(clazz, id, cachedData);
 					}
 				}
 			}
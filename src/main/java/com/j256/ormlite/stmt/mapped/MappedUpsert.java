@@ -0,0 +1,134 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Mapped statement for inserting an object or updating the existing row with the same id using the native "upsert"
+ * support of the database. See {@link DatabaseType#appendUpsert(StringBuilder, String, FieldType[], FieldType)}.
+ *
+ * @author graywatson
+ */
+public class MappedUpsert<T, ID> extends BaseMappedStatement<T, ID> {
+
+	private MappedUpsert(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes) {
+		super(tableInfo, statement, argFieldTypes);
+	}
+
+	/**
+	 * Returns true if the objects of the table can be saved with a native upsert statement. Tables with version fields
+	 * or foreign auto-create fields need the separate create or update handling.
+	 */
+	public static <T, ID> boolean isUpsertable(DatabaseType databaseType, TableInfo<T, ID> tableInfo) {
+		if (!databaseType.isUpsertSupported() || tableInfo.getIdField() == null || tableInfo.isForeignAutoCreate()) {
+			return false;
+		}
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType.isVersion()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static <T, ID> MappedUpsert<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
+			throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Cannot upsert " + tableInfo.getDataClass() + " because it doesn't have an id field");
+		}
+		List<FieldType> fieldTypeList = new ArrayList<FieldType>();
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (isFieldUpsertable(fieldType)) {
+				fieldTypeList.add(fieldType);
+			}
+		}
+		FieldType[] argFieldTypes = fieldTypeList.toArray(new FieldType[fieldTypeList.size()]);
+		StringBuilder sb = new StringBuilder(128);
+		databaseType.appendUpsert(sb, tableInfo.getTableName(), argFieldTypes, idField);
+		return new MappedUpsert<T, ID>(tableInfo, sb.toString(), argFieldTypes);
+	}
+
+	/**
+	 * Insert the object into the database or update the existing row with the same id.
+	 */
+	public int upsert(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
+		try {
+			Object[] args = getFieldObjects(data);
+			int rowC = databaseConnection.update(statement, args, argFieldTypes);
+			logger.debug("upsert data with statement '{}' and {} args, changed {} rows", statement, args.length, rowC);
+			if (args.length > 0) {
+				// need to do the (Object) cast to force args to be a single object
+				logger.trace("upsert arguments: {}", (Object) args);
+			}
+			if (rowC > 0) {
+				updateCache(data, objectCache);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run upsert stmt on object " + data + ": " + statement, e);
+		}
+	}
+
+	/**
+	 * Insert or update a number of objects using a single batch of upsert statements.
+	 */
+	public int upsertBatch(DatabaseConnection databaseConnection, List<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		if (datas.size() == 1) {
+			return upsert(databaseConnection, datas.get(0), objectCache);
+		}
+		try {
+			List<Object[]> argsList = new ArrayList<Object[]>(datas.size());
+			for (T data : datas) {
+				argsList.add(getFieldObjects(data));
+			}
+			int rowC = databaseConnection.insertBatch(statement, argsList, argFieldTypes, null);
+			logger.debug("upsert batch of {} rows with statement '{}', changed {} rows", datas.size(), statement, rowC);
+			if (rowC > 0) {
+				for (T data : datas) {
+					updateCache(data, objectCache);
+				}
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to run upsert stmt on batch of " + datas.size() + " objects: "
+					+ statement, e);
+		}
+	}
+
+	private void updateCache(T data, ObjectCache objectCache) throws SQLException {
+		if (objectCache == null) {
+			return;
+		}
+		// if the row was updated then the cached object needs to be updated as well
+		Object id = idField.extractJavaFieldValue(data);
+		T cachedData = objectCache.get(clazz, id);
+		if (cachedData != null && cachedData != data) {
+			// copy each field from the upserted data into the cached object
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (fieldType != idField) {
+					fieldType.assignField(cachedData, fieldType.extractJavaFieldValue(data), false, objectCache);
+				}
+			}
+			// caches that hold copies of the objects need the changes put back
+			objectCache.put(clazz, id, cachedData);
+		}
+	}
+
+	private static boolean isFieldUpsertable(FieldType fieldType) {
+		if (fieldType.isForeignCollection() || fieldType.isReadOnly()) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.j256.ormlite.stmt.query;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -14,7 +16,7 @@ import com.j256.ormlite.stmt.SelectArg;
  * 
  * @author graywatson
  */
-abstract class BaseComparison implements Comparison {
+abstract class BaseComparison implements Comparison, ShapedClause {
 
 	private static final String NUMBER_CHARACTERS = "0123456789.-+";
 	protected final String columnName;
@@ -49,6 +51,14 @@ abstract class BaseComparison implements Comparison {
 		appendValue(databaseType, sb, argList);
 	}
 
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		shape.add(getClass());
+		shape.add(columnName);
+		shape.add(fieldType);
+		return appendValueShape(shape, argList);
+	}
+
 	@Override
 	public String getColumnName() {
 		return columnName;
@@ -60,6 +70,14 @@ abstract class BaseComparison implements Comparison {
 		appendArgOrValue(databaseType, fieldType, sb, argList, value);
 	}
 
+	/**
+	 * Add the shape of the value of the comparison. This needs to match what
+	 * {@link #appendValue(DatabaseType, StringBuilder, List)} does.
+	 */
+	protected boolean appendValueShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		return appendArgOrValueShape(fieldType, shape, argList, value);
+	}
+
 	/**
 	 * Append to the string builder either a {@link ArgumentHolder} argument or a value object.
 	 */
@@ -123,6 +141,48 @@ abstract class BaseComparison implements Comparison {
 		}
 	}
 
+	/**
+	 * Add the shape of either a {@link ArgumentHolder} argument or a value object. This needs to match what
+	 * {@link #appendArgOrValue(DatabaseType, FieldType, StringBuilder, List, Object)} does.
+	 */
+	protected boolean appendArgOrValueShape(FieldType fieldType, List<Object> shape, List<ArgumentHolder> argList,
+			Object argOrValue) throws SQLException {
+		if (argOrValue == null) {
+			// building the SQL will throw
+			return false;
+		} else if (argOrValue instanceof ArgumentHolder) {
+			ArgumentHolder argHolder = (ArgumentHolder) argOrValue;
+			argHolder.setMetaInfo(columnName, fieldType);
+			argList.add(argHolder);
+			shape.add(ArgumentHolder.class);
+			return true;
+		} else if (argOrValue instanceof ColumnArg) {
+			ColumnArg columnArg = (ColumnArg) argOrValue;
+			shape.add(ColumnArg.class);
+			shape.add(columnArg.getTableName());
+			shape.add(columnArg.getColumnName());
+			return true;
+		} else if (fieldType.isArgumentHolderRequired()) {
+			ArgumentHolder argHolder = new SelectArg();
+			argHolder.setMetaInfo(columnName, fieldType);
+			argHolder.setValue(argOrValue);
+			argList.add(argHolder);
+			shape.add(ArgumentHolder.class);
+			return true;
+		} else if (fieldType.isForeign() && fieldType.getType().isAssignableFrom(argOrValue.getClass())) {
+			FieldType idFieldType = fieldType.getForeignIdField();
+			shape.add(idFieldType);
+			return appendArgOrValueShape(idFieldType, shape, argList, idFieldType.extractJavaFieldValue(argOrValue));
+		} else if (isImmutableValue(argOrValue)) {
+			// the value is written into the SQL so it is part of the shape
+			shape.add(argOrValue);
+			return true;
+		} else {
+			// we can't use a value that may be changed as part of a cache key
+			return false;
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -132,4 +192,12 @@ abstract class BaseComparison implements Comparison {
 		sb.append(value);
 		return sb.toString();
 	}
+
+	private static boolean isImmutableValue(Object value) {
+		Class<?> clazz = value.getClass();
+		return clazz == String.class || clazz == Integer.class || clazz == Long.class || clazz == Short.class
+				|| clazz == Byte.class || clazz == Boolean.class || clazz == Character.class || clazz == Double.class
+				|| clazz == Float.class || clazz == BigInteger.class || clazz == BigDecimal.class
+				|| value instanceof Enum;
+	}
 }
@@ -42,4 +42,14 @@ public class Between extends BaseComparison {
 		sb.append("AND ");
 		appendArgOrValue(databaseType, fieldType, sb, argList, high);
 	}
+
+	@Override
+	protected boolean appendValueShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		if (low == null || high == null) {
+			// building the SQL will throw
+			return false;
+		}
+		return appendArgOrValueShape(fieldType, shape, argList, low)
+				&& appendArgOrValueShape(fieldType, shape, argList, high);
+	}
 }
@@ -13,7 +13,7 @@ import com.j256.ormlite.stmt.Where;
  * 
  * @author graywatson
  */
-public class Exists implements Clause {
+public class Exists implements ShapedClause {
 
 	private final InternalQueryBuilderWrapper subQueryBuilder;
 
@@ -28,4 +28,10 @@ public class Exists implements Clause {
 		subQueryBuilder.appendStatementString(sb, argList);
 		sb.append(") ");
 	}
+
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) {
+		// the sub-query is not part of the shape
+		return false;
+	}
 }
@@ -1,6 +1,7 @@
 package com.j256.ormlite.stmt.query;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -60,4 +61,18 @@ public class In extends BaseComparison {
 		}
 		sb.append(") ");
 	}
+
+	@Override
+	protected boolean appendValueShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		shape.add(in);
+		// the values are in their own list so the number of them is part of the shape
+		List<Object> valueShape = new ArrayList<Object>();
+		for (Object value : objects) {
+			if (!appendArgOrValueShape(fieldType, valueShape, argList, value)) {
+				return false;
+			}
+		}
+		shape.add(valueShape);
+		return true;
+	}
 }
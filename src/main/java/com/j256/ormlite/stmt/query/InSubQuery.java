@@ -52,4 +52,10 @@ public class InSubQuery extends BaseComparison {
 		}
 		sb.append(") ");
 	}
+
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) {
+		// the sub-query is not part of the shape
+		return false;
+	}
 }
@@ -28,4 +28,10 @@ public class IsNull extends BaseComparison {
 	public void appendValue(DatabaseType databaseType, StringBuilder sb, List<ArgumentHolder> argList) {
 		// there is no value
 	}
+
+	@Override
+	protected boolean appendValueShape(List<Object> shape, List<ArgumentHolder> argList) {
+		// there is no value
+		return true;
+	}
 }
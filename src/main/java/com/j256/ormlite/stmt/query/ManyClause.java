@@ -1,6 +1,7 @@
 package com.j256.ormlite.stmt.query;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.j256.ormlite.db.DatabaseType;
@@ -11,7 +12,7 @@ import com.j256.ormlite.stmt.ArgumentHolder;
  * 
  * @author graywatson
  */
-public class ManyClause implements Clause, NeedsFutureClause {
+public class ManyClause implements ShapedClause, NeedsFutureClause {
 
 	public static final String AND_OPERATION = "AND";
 	public static final String OR_OPERATION = "OR";
@@ -72,6 +73,41 @@ public class ManyClause implements Clause, NeedsFutureClause {
 		sb.append(") ");
 	}
 
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		// the sub-clauses are in their own list so the grouping is part of the shape
+		List<Object> clauseShape = new ArrayList<Object>();
+		clauseShape.add(operation);
+		if (!appendClauseShape(first, clauseShape, argList)) {
+			return false;
+		}
+		if (second != null && !appendClauseShape(second, clauseShape, argList)) {
+			return false;
+		}
+		if (others != null) {
+			for (int i = startOthersAt; i < others.length; i++) {
+				if (!appendClauseShape(others[i], clauseShape, argList)) {
+					return false;
+				}
+			}
+		}
+		shape.add(ManyClause.class);
+		shape.add(clauseShape);
+		return true;
+	}
+
+	/**
+	 * Add the shape of a clause to the list. Returns false if the clause does not support shapes.
+	 */
+	static boolean appendClauseShape(Clause clause, List<Object> shape, List<ArgumentHolder> argList)
+			throws SQLException {
+		if (clause instanceof ShapedClause) {
+			return ((ShapedClause) clause).appendShape(shape, argList);
+		} else {
+			return false;
+		}
+	}
+
 	@Override
 	public void setMissingClause(Clause right) {
 		second = right;
@@ -12,7 +12,7 @@ import com.j256.ormlite.stmt.Where;
  * 
  * @author graywatson
  */
-public class Not implements Clause, NeedsFutureClause {
+public class Not implements ShapedClause, NeedsFutureClause {
 
 	private Comparison comparison = null;
 	private Exists exists = null;
@@ -70,6 +70,16 @@ public class Not implements Clause, NeedsFutureClause {
 		sb.append(") ");
 	}
 
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		if (comparison == null) {
+			// building the SQL will throw or the exists sub-query is not part of the shape
+			return false;
+		}
+		shape.add(Not.class);
+		return ManyClause.appendClauseShape(comparison, shape, argList);
+	}
+
 	@Override
 	public String toString() {
 		if (comparison == null) {
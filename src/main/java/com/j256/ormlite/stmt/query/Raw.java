@@ -10,7 +10,7 @@ import com.j256.ormlite.stmt.ArgumentHolder;
  * 
  * @author graywatson
  */
-public class Raw implements Clause {
+public class Raw implements ShapedClause {
 
 	private final String statement;
 	private final ArgumentHolder[] args;
@@ -28,4 +28,14 @@ public class Raw implements Clause {
 			argList.add(arg);
 		}
 	}
+
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) {
+		shape.add(RAW_SQL);
+		shape.add(statement);
+		for (ArgumentHolder arg : args) {
+			argList.add(arg);
+		}
+		return true;
+	}
 }
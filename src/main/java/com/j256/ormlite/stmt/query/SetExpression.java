@@ -35,4 +35,11 @@ public class SetExpression extends BaseComparison {
 		// we know it is a string so just append it
 		sb.append(argOrValue).append(' ');
 	}
+
+	@Override
+	protected boolean appendArgOrValueShape(FieldType fieldType, List<Object> shape, List<ArgumentHolder> argList,
+			Object argOrValue) {
+		shape.add(argOrValue);
+		return true;
+	}
 }
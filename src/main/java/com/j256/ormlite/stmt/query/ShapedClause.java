@@ -0,0 +1,31 @@
+package com.j256.ormlite.stmt.query;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.stmt.ArgumentHolder;
+
+/**
+ * Internal interface for clauses whose SQL can be described by a shape so the SQL can be cached by the statement
+ * builder. Clauses that don't implement this are always built.
+ * 
+ * @author graywatson
+ */
+public interface ShapedClause extends Clause {
+
+	/**
+	 * Added to the shape of clauses and statements with raw SQL. Their SQL can still be cached but not their results
+	 * since the raw SQL may read from other tables.
+	 */
+	public static final Object RAW_SQL = new Object();
+
+	/**
+	 * Add to the shape list the objects which determine the SQL generated by
+	 * {@link #appendSql(DatabaseType, String, StringBuilder, List)} and add to the arg-list the same arguments in the
+	 * same order. Clauses with equal shapes generate the same SQL.
+	 * 
+	 * @return False if the SQL of this clause cannot be described by its shape in which case it is always built.
+	 */
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException;
+}
@@ -1,8 +1,10 @@
 package com.j256.ormlite.stmt.query;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.ArgumentHolder;
 
 /**
  * Internal class handling a simple comparison query part where the operation is passed in.
@@ -26,6 +28,12 @@ public class SimpleComparison extends BaseComparison {
 		this.operation = operation;
 	}
 
+	@Override
+	public boolean appendShape(List<Object> shape, List<ArgumentHolder> argList) throws SQLException {
+		shape.add(operation);
+		return super.appendShape(shape, argList);
+	}
+
 	@Override
 	public void appendOperation(StringBuilder sb) {
 		sb.append(operation);
@@ -0,0 +1,465 @@
+package com.j256.ormlite.support;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+/**
+ * Database connection proxy which keeps a bounded LRU cache of the statements returned by
+ * {@link #compileStatement(String, StatementType, FieldType[], int, boolean)} so the same SQL is not prepared over and
+ * over on the same connection. Statements are keyed by the SQL text, the statement type, the result flags, the
+ * cache-store flag and the max-rows, timeout and fetch-size settings. This can be installed with the
+ * {@link CachingDatabaseConnectionProxyFactory}.
+ *
+ * <p>
+ * When a statement returned by this proxy is closed (by {@code SelectIterator.close()} for example), its last results
+ * are closed and it is returned to the cache instead of being closed. The cache only holds idle statements so if the
+ * same SQL is compiled again while the first statement is still open (a nested iterator for example), a new statement
+ * is prepared and the extra one is closed when it is returned. Statements that have been canceled are closed instead
+ * of cached. All of the cached statements are closed when the connection is closed.
+ * </p>
+ *
+ * <p>
+ * The {@link #queryForOne(String, Object[], FieldType[], GenericRowMapper, ObjectCache)},
+ * {@link #update(String, Object[], FieldType[])} and {@link #delete(String, Object[], FieldType[])} methods used by
+ * {@code Dao.queryForId(...)}, {@code Dao.update(...)} and {@code Dao.delete(...)} are run with the cached statements
+ * as well. So is {@link #insert(String, Object[], FieldType[], GeneratedKeyHolder)} if there is no generated key.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Inserts which return a generated key (for {@code generatedId} fields) and batch inserts are passed
+ * through to the real connection uncached since a compiled statement can't return the generated keys.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class CachingDatabaseConnectionProxy extends DatabaseConnectionProxy {
+
+	/** default number of statements cached for each connection */
+	public static final int DEFAULT_MAX_CACHED_STATEMENTS = 50;
+
+	private static Logger logger = LoggerFactory.getLogger(CachingDatabaseConnectionProxy.class);
+
+	private final int maxCachedStatements;
+	private final Map<StatementKey, CompiledStatement> statementCache;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+	private boolean closed;
+
+	public CachingDatabaseConnectionProxy(DatabaseConnection proxy) {
+		this(proxy, DEFAULT_MAX_CACHED_STATEMENTS);
+	}
+
+	public CachingDatabaseConnectionProxy(DatabaseConnection proxy, int maxCachedStatements) {
+		super(proxy);
+		this.maxCachedStatements = maxCachedStatements;
+		this.statementCache = new LinkedHashMap<StatementKey, CompiledStatement>(16, 0.75F, true);
+	}
+
+	@Override
+	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
+			int resultFlags, boolean cacheStore) throws SQLException {
+		// the real statement is looked up when it is run since the max-rows and timeout settings are part of the key
+		return new CachedCompiledStatement(statement, type, argFieldTypes, resultFlags, cacheStore);
+	}
+
+	@Override
+	public int insert(String statement, Object[] args, FieldType[] argfieldDbs, GeneratedKeyHolder keyHolder)
+			throws SQLException {
+		if (keyHolder != null) {
+			// we can't get the generated keys from a compiled statement
+			return super.insert(statement, args, argfieldDbs, keyHolder);
+		}
+		return runUpdate(statement, StatementType.UPDATE, args, argfieldDbs);
+	}
+
+	@Override
+	public int update(String statement, Object[] args, FieldType[] argfieldDbs) throws SQLException {
+		return runUpdate(statement, StatementType.UPDATE, args, argfieldDbs);
+	}
+
+	@Override
+	public int delete(String statement, Object[] args, FieldType[] argfieldDbs) throws SQLException {
+		return runUpdate(statement, StatementType.DELETE, args, argfieldDbs);
+	}
+
+	@Override
+	public <T> Object queryForOne(String statement, Object[] args, FieldType[] argfieldDbs,
+			GenericRowMapper<T> rowMapper, ObjectCache objectCache) throws SQLException {
+		CompiledStatement compiledStatement =
+				compileStatement(statement, StatementType.SELECT, argfieldDbs, DEFAULT_RESULT_FLAGS, true);
+		try {
+			assignArgs(compiledStatement, args, argfieldDbs);
+			DatabaseResults results = compiledStatement.runQuery(objectCache);
+			if (!results.next()) {
+				// no results at all
+				return null;
+			}
+			T first = rowMapper.mapRow(results);
+			if (results.next()) {
+				return MORE_THAN_ONE;
+			} else {
+				return first;
+			}
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			closed = true;
+		}
+		closeCachedStatements();
+		super.close();
+	}
+
+	@Override
+	public void closeQuietly() {
+		synchronized (this) {
+			closed = true;
+		}
+		try {
+			closeCachedStatements();
+		} catch (IOException e) {
+			// ignored
+		}
+		super.closeQuietly();
+	}
+
+	/**
+	 * Return the number of times a statement was returned from the cache.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of times a statement had to be prepared because it was not in the cache.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of statements that were closed because the cache was full.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Return the number of idle statements in the cache.
+	 */
+	public synchronized int getCachedStatementCount() {
+		return statementCache.size();
+	}
+
+	/**
+	 * Close all of the idle statements and clear the cache. Statements which are currently in use are not affected.
+	 */
+	public void closeCachedStatements() throws IOException {
+		List<CompiledStatement> statements;
+		synchronized (this) {
+			statements = new ArrayList<CompiledStatement>(statementCache.values());
+			statementCache.clear();
+		}
+		for (CompiledStatement statement : statements) {
+			statement.close();
+		}
+	}
+
+	private int runUpdate(String statement, StatementType type, Object[] args, FieldType[] argFieldTypes)
+			throws SQLException {
+		CompiledStatement compiledStatement =
+				compileStatement(statement, type, argFieldTypes, DEFAULT_RESULT_FLAGS, false);
+		try {
+			assignArgs(compiledStatement, args, argFieldTypes);
+			return compiledStatement.runUpdate();
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	private void assignArgs(CompiledStatement compiledStatement, Object[] args, FieldType[] argFieldTypes)
+			throws SQLException {
+		if (args == null) {
+			return;
+		}
+		for (int i = 0; i < args.length; i++) {
+			compiledStatement.setObject(i, args[i], argFieldTypes[i].getSqlType());
+		}
+	}
+
+	/**
+	 * Get an idle statement from the cache or prepare a new one if none.
+	 */
+	private CompiledStatement acquireStatement(StatementKey key, FieldType[] argFieldTypes) throws SQLException {
+		CompiledStatement compiledStatement;
+		synchronized (this) {
+			compiledStatement = statementCache.remove(key);
+			if (compiledStatement == null) {
+				missCount++;
+			} else {
+				hitCount++;
+			}
+		}
+		if (compiledStatement == null) {
+			compiledStatement =
+					super.compileStatement(key.statement, key.type, argFieldTypes, key.resultFlags, key.cacheStore);
+			if (compiledStatement == null) {
+				throw new SQLException("Could not compile statement, connection is null: " + key.statement);
+			}
+			if (key.maxRows >= 0) {
+				compiledStatement.setMaxRows(key.maxRows);
+			}
+			if (key.queryTimeoutMillis >= 0) {
+				compiledStatement.setQueryTimeout(key.queryTimeoutMillis);
+			}
+			if (key.fetchSize >= 0) {
+				compiledStatement.setFetchSize(key.fetchSize);
+			}
+		} else {
+			logger.trace("reusing cached statement: {}", key.statement);
+		}
+		return compiledStatement;
+	}
+
+	/**
+	 * Called when a statement is closed by the caller. The statement is either put back in the cache or closed.
+	 */
+	private void returnStatement(StatementKey key, CompiledStatement statement, boolean reusable) throws IOException {
+		CompiledStatement toClose = null;
+		synchronized (this) {
+			if (!reusable || closed || maxCachedStatements <= 0 || statementCache.containsKey(key)) {
+				toClose = statement;
+			} else {
+				statementCache.put(key, statement);
+				if (statementCache.size() > maxCachedStatements) {
+					// the iteration order is least recently used first
+					Map.Entry<StatementKey, CompiledStatement> eldest = statementCache.entrySet().iterator().next();
+					toClose = eldest.getValue();
+					statementCache.remove(eldest.getKey());
+					evictionCount++;
+				}
+			}
+		}
+		if (toClose != null) {
+			toClose.close();
+		}
+	}
+
+	/**
+	 * Wrapper around the real compiled statement which returns it to the cache when it is closed. The arguments and
+	 * settings are held until the statement is first used so we can look for a cached statement that has the same
+	 * max-rows, timeout, and fetch-size settings.
+	 */
+	private class CachedCompiledStatement implements CompiledStatement {
+
+		private final String statementStr;
+		private final StatementType type;
+		private final FieldType[] argFieldTypes;
+		private final int resultFlags;
+		private final boolean cacheStore;
+		private final List<Object> pendingArgs = new ArrayList<Object>();
+		private final List<SqlType> pendingSqlTypes = new ArrayList<SqlType>();
+		private int maxRows = -1;
+		private long queryTimeoutMillis = -1;
+		private int fetchSize = -1;
+		private CompiledStatement statement;
+		private DatabaseResults results;
+		private boolean reusable = true;
+		private boolean returned;
+
+		public CachedCompiledStatement(String statementStr, StatementType type, FieldType[] argFieldTypes,
+				int resultFlags, boolean cacheStore) {
+			this.statementStr = statementStr;
+			this.type = type;
+			this.argFieldTypes = argFieldTypes;
+			this.resultFlags = resultFlags;
+			this.cacheStore = cacheStore;
+		}
+
+		@Override
+		public int getColumnCount() throws SQLException {
+			return getStatement().getColumnCount();
+		}
+
+		@Override
+		public String getColumnName(int columnIndex) throws SQLException {
+			return getStatement().getColumnName(columnIndex);
+		}
+
+		@Override
+		public int runUpdate() throws SQLException {
+			return getStatement().runUpdate();
+		}
+
+		@Override
+		public DatabaseResults runQuery(ObjectCache objectCache) throws SQLException {
+			results = getStatement().runQuery(objectCache);
+			return results;
+		}
+
+		@Override
+		public int runExecute() throws SQLException {
+			return getStatement().runExecute();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (returned) {
+				return;
+			}
+			returned = true;
+			if (statement == null) {
+				return;
+			}
+			try {
+				// closing a real statement closes its results so we have to do it by hand
+				if (results != null) {
+					results.close();
+					results = null;
+				}
+			} finally {
+				returnStatement(buildKey(), statement, reusable);
+				statement = null;
+			}
+		}
+
+		@Override
+		public void closeQuietly() {
+			IOUtils.closeQuietly(this);
+		}
+
+		@Override
+		public void cancel() throws SQLException {
+			if (statement != null) {
+				reusable = false;
+				statement.cancel();
+			}
+		}
+
+		@Override
+		public void setObject(int parameterIndex, Object obj, SqlType sqlType) throws SQLException {
+			if (statement == null) {
+				while (pendingArgs.size() <= parameterIndex) {
+					pendingArgs.add(null);
+					pendingSqlTypes.add(null);
+				}
+				pendingArgs.set(parameterIndex, obj);
+				pendingSqlTypes.set(parameterIndex, sqlType);
+			} else {
+				statement.setObject(parameterIndex, obj, sqlType);
+			}
+		}
+
+		@Override
+		public void setMaxRows(int max) throws SQLException {
+			maxRows = max;
+			if (statement != null) {
+				statement.setMaxRows(max);
+			}
+		}
+
+		@Override
+		public void setQueryTimeout(long millis) throws SQLException {
+			queryTimeoutMillis = millis;
+			if (statement != null) {
+				statement.setQueryTimeout(millis);
+			}
+		}
+
+		@Override
+		public void setFetchSize(int rows) throws SQLException {
+			fetchSize = rows;
+			if (statement != null) {
+				statement.setFetchSize(rows);
+			}
+		}
+
+		private CompiledStatement getStatement() throws SQLException {
+			if (returned) {
+				throw new SQLException("Statement has already been closed: " + statementStr);
+			}
+			if (statement == null) {
+				statement = acquireStatement(buildKey(), argFieldTypes);
+				for (int i = 0; i < pendingArgs.size(); i++) {
+					SqlType sqlType = pendingSqlTypes.get(i);
+					if (sqlType != null) {
+						statement.setObject(i, pendingArgs.get(i), sqlType);
+					}
+				}
+				pendingArgs.clear();
+				pendingSqlTypes.clear();
+			}
+			return statement;
+		}
+
+		private StatementKey buildKey() {
+			return new StatementKey(statementStr, type, resultFlags, cacheStore, maxRows, queryTimeoutMillis,
+					fetchSize);
+		}
+	}
+
+	/**
+	 * Key for the statement cache.
+	 */
+	private static class StatementKey {
+		final String statement;
+		final StatementType type;
+		final int resultFlags;
+		final boolean cacheStore;
+		final int maxRows;
+		final long queryTimeoutMillis;
+		final int fetchSize;
+
+		public StatementKey(String statement, StatementType type, int resultFlags, boolean cacheStore, int maxRows,
+				long queryTimeoutMillis, int fetchSize) {
+			this.statement = statement;
+			this.type = type;
+			this.resultFlags = resultFlags;
+			this.cacheStore = cacheStore;
+			this.maxRows = maxRows;
+			this.queryTimeoutMillis = queryTimeoutMillis;
+			this.fetchSize = fetchSize;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = statement.hashCode();
+			result = 31 * result + type.hashCode();
+			result = 31 * result + resultFlags;
+			result = 31 * result + (cacheStore ? 1 : 0);
+			result = 31 * result + maxRows;
+			result = 31 * result + (int) (queryTimeoutMillis ^ (queryTimeoutMillis >>> 32));
+			result = 31 * result + fetchSize;
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			StatementKey other = (StatementKey) obj;
+			return statement.equals(other.statement) && type == other.type && resultFlags == other.resultFlags
+					&& cacheStore == other.cacheStore && maxRows == other.maxRows
+					&& queryTimeoutMillis == other.queryTimeoutMillis && fetchSize == other.fetchSize;
+		}
+	}
+}
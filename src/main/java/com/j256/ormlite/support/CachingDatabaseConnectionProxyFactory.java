@@ -0,0 +1,52 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+
+/**
+ * Database connection proxy factory which wraps each connection in a {@link CachingDatabaseConnectionProxy} so the
+ * compiled statements are cached per connection. For example:
+ * 
+ * <pre>
+ * JdbcConnectionSource.setDatabaseConnectionProxyFactory(new CachingDatabaseConnectionProxyFactory(100));
+ * </pre>
+ * 
+ * <p>
+ * If you have another proxy factory that you want to use as well, pass it in to the constructor and the caching proxy
+ * will wrap the connections it creates.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class CachingDatabaseConnectionProxyFactory implements DatabaseConnectionProxyFactory {
+
+	private final int maxCachedStatements;
+	private final DatabaseConnectionProxyFactory proxyFactory;
+
+	public CachingDatabaseConnectionProxyFactory() {
+		this(CachingDatabaseConnectionProxy.DEFAULT_MAX_CACHED_STATEMENTS, null);
+	}
+
+	public CachingDatabaseConnectionProxyFactory(int maxCachedStatements) {
+		this(maxCachedStatements, null);
+	}
+
+	/**
+	 * @param maxCachedStatements
+	 *            Maximum number of idle statements cached for each connection.
+	 * @param proxyFactory
+	 *            Factory whose proxy connections are wrapped by the caching proxy or null if none.
+	 */
+	public CachingDatabaseConnectionProxyFactory(int maxCachedStatements, DatabaseConnectionProxyFactory proxyFactory) {
+		this.maxCachedStatements = maxCachedStatements;
+		this.proxyFactory = proxyFactory;
+	}
+
+	@Override
+	public DatabaseConnection createProxy(DatabaseConnection realConnection) throws SQLException {
+		DatabaseConnection connection = realConnection;
+		if (proxyFactory != null) {
+			connection = proxyFactory.createProxy(realConnection);
+		}
+		return new CachingDatabaseConnectionProxy(connection, maxCachedStatements);
+	}
+}
@@ -76,4 +76,11 @@ public interface CompiledStatement extends Closeable {
 	 * </p>
 	 */
 	public void setQueryTimeout(long millis) throws SQLException;
+
+	/**
+	 * Set the number of rows that should be fetched from the database at a time when more are needed. Without this
+	 * some drivers read all of the results into memory before returning the first row. This is a hint which may or
+	 * may not be supported by all database types.
+	 */
+	public void setFetchSize(int rows) throws SQLException;
 }
@@ -3,6 +3,7 @@ package com.j256.ormlite.support;
 import java.io.Closeable;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
@@ -101,6 +102,25 @@ public interface DatabaseConnection extends Closeable {
 	public int insert(String statement, Object[] args, FieldType[] argfieldDbs, GeneratedKeyHolder keyHolder)
 			throws SQLException;
 
+	/**
+	 * Perform a number of SQL inserts using the same statement as a single batch. This allows the backend to prepare
+	 * the statement once and send all of the rows to the database in one round-trip.
+	 * 
+	 * @param statement
+	 *            SQL statement to use for inserting.
+	 * @param argsList
+	 *            List of object arguments for the SQL '?'s, one array for each row to be inserted.
+	 * @param argFieldTypes
+	 *            Field types of the arguments.
+	 * @param keyHolder
+	 *            The holder that gets set with the generated key values which may be null. If not null then
+	 *            {@link GeneratedKeyHolder#addKey(Number)} is called once for each row in the same order as the
+	 *            argsList.
+	 * @return The number of rows affected by the inserts. With some database types, this value may be invalid.
+	 */
+	public int insertBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException;
+
 	/**
 	 * Perform a SQL update with the associated SQL statement, arguments, and types.
 	 * 
@@ -3,6 +3,7 @@ package com.j256.ormlite.support;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
@@ -105,6 +106,16 @@ public class DatabaseConnectionProxy implements DatabaseConnection {
 		}
 	}
 
+	@Override
+	public int insertBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException {
+		if (proxy == null) {
+			return 0;
+		} else {
+			return proxy.insertBatch(statement, argsList, argFieldTypes, keyHolder);
+		}
+	}
+
 	@Override
 	public int update(String statement, Object[] args, FieldType[] argfieldDbs) throws SQLException {
 		if (proxy == null) {
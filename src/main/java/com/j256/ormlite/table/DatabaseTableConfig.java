@@ -6,7 +6,9 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.fast.BaseTableConfig;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.DatabaseFieldConfig;
 import com.j256.ormlite.field.FieldType;
@@ -133,6 +135,14 @@ public class DatabaseTableConfig<T> {
 		return fieldConfigs;
 	}
 
+	/**
+	 * Create the table information for this configuration. This is called by the DAO once the field types have been
+	 * extracted and can be overridden by configurations that know how to build their objects without reflection.
+	 */
+	public <ID> TableInfo<T, ID> createTableInfo(DatabaseType databaseType, Dao<T, ID> dao) throws SQLException {
+		return new TableInfo<T, ID>(databaseType, dao, this);
+	}
+
 	/**
 	 * Return the constructor for this class. If not constructor has been set on the class then it will be found on the
 	 * class through reflection.
@@ -155,6 +165,12 @@ public class DatabaseTableConfig<T> {
 	 */
 	public static <T> DatabaseTableConfig<T> fromClass(ConnectionSource connectionSource, Class<T> clazz)
 			throws SQLException {
+		DatabaseTableConfig<T> generatedConfig = BaseTableConfig.findGeneratedConfig(clazz);
+		if (generatedConfig != null) {
+			// the processor generated a config for the class at compile time so we don't need to go through reflection
+			generatedConfig.extractFieldTypes(connectionSource);
+			return generatedConfig;
+		}
 		String tableName = extractTableName(clazz);
 		DatabaseType databaseType = connectionSource.getDatabaseType();
 		if (databaseType.isEntityNamesMustBeUpCase()) {
@@ -14,6 +14,7 @@ import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ReflectiveFieldType;
 import com.j256.ormlite.misc.BaseDaoEnabled;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.stmt.StatementShapeCache;
 import com.j256.ormlite.support.ConnectionSource;
 
 /**
@@ -38,6 +39,7 @@ public class TableInfo<T, ID> {
 	private final FieldType idField;
 	private final Constructor<T> constructor;
 	private final boolean foreignAutoCreate;
+	private final StatementShapeCache statementShapeCache = new StatementShapeCache();
 	private Map<String, FieldType> fieldNameMap;
 
 	/**
@@ -222,6 +224,13 @@ public class TableInfo<T, ID> {
 		return foreignAutoCreate;
 	}
 
+	/**
+	 * Return the cache of the SQL built by the query builders for this table.
+	 */
+	public StatementShapeCache getStatementShapeCache() {
+		return statementShapeCache;
+	}
+
 	/**
 	 * Return an array with the fields that are {@link ForeignCollection}s or a blank array if none.
 	 */
@@ -242,7 +251,10 @@ public class TableInfo<T, ID> {
 		return false;
 	}
 
-	private static <T, ID> void wireNewInstance(Dao<T, ID> baseDaoImpl, T instance) {
+	/**
+	 * Set the DAO on the new instance if it is a {@link BaseDaoEnabled} object.
+	 */
+	protected static <T, ID> void wireNewInstance(Dao<T, ID> baseDaoImpl, T instance) {
 		if (instance instanceof BaseDaoEnabled) {
 			@SuppressWarnings("unchecked")
 			BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) instance;
@@ -3,6 +3,7 @@ package com.j256.ormlite.dao;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.junit.Test;
@@ -40,11 +41,77 @@ public class LazyForeignCollectionTest extends BaseCoreTest {
 		assertEquals(0, result.foreign.refreshCollection());
 	}
 
+	@Test
+	public void testSizeIsEmptyContains() throws Exception {
+		Dao<Lazy, Integer> lazyDao = createDao(Lazy.class, true);
+		Dao<Foreign, Integer> foreignDao = createDao(Foreign.class, true);
+		Lazy lazy1 = new Lazy();
+		assertEquals(1, lazyDao.create(lazy1));
+		Lazy lazy2 = new Lazy();
+		assertEquals(1, lazyDao.create(lazy2));
+		Foreign foreign1 = new Foreign();
+		foreign1.lazy = lazy1;
+		assertEquals(1, foreignDao.create(foreign1));
+		Foreign foreign2 = new Foreign();
+		foreign2.lazy = lazy1;
+		assertEquals(1, foreignDao.create(foreign2));
+		Foreign other = new Foreign();
+		other.lazy = lazy2;
+		assertEquals(1, foreignDao.create(other));
+
+		ForeignCollection<Foreign> collection = lazyDao.queryForId(lazy1.id).foreign;
+		assertEquals(2, collection.size());
+		assertFalse(collection.isEmpty());
+		// matched by id and not by equals
+		Foreign match = new Foreign();
+		match.id = foreign1.id;
+		assertTrue(collection.contains(match));
+		assertTrue(collection.contains(foreign2));
+		assertFalse(collection.contains(other));
+		assertFalse(collection.contains(new Foreign()));
+		assertFalse(collection.contains(null));
+		assertFalse(collection.contains("wrong class"));
+
+		// the counts go to the database each time
+		Foreign foreign3 = new Foreign();
+		assertTrue(collection.add(foreign3));
+		assertEquals(3, collection.size());
+		assertTrue(collection.contains(foreign3));
+		assertEquals(1, foreignDao.delete(foreign1));
+		assertEquals(2, collection.size());
+		assertFalse(collection.contains(foreign1));
+
+		Lazy empty = new Lazy();
+		assertEquals(1, lazyDao.create(empty));
+		collection = lazyDao.queryForId(empty.id).foreign;
+		assertEquals(0, collection.size());
+		assertTrue(collection.isEmpty());
+	}
+
+	@Test
+	public void testContainsNoId() throws Exception {
+		Dao<Lazy, Integer> lazyDao = createDao(Lazy.class, true);
+		Dao<NoId, Void> noIdDao = createDao(NoId.class, true);
+		Lazy lazy = new Lazy();
+		assertEquals(1, lazyDao.create(lazy));
+		NoId noId = new NoId();
+		noId.lazy = lazy;
+		noId.stuff = "pwojfwe";
+		assertEquals(1, noIdDao.create(noId));
+
+		ForeignCollection<NoId> collection = lazyDao.queryForId(lazy.id).noIds;
+		assertEquals(1, collection.size());
+		// no id so this goes through the iterator and uses equals
+		assertFalse(collection.contains(noId));
+	}
+
 	protected static class Lazy {
 		@DatabaseField(generatedId = true)
 		int id;
 		@ForeignCollectionField
 		ForeignCollection<Foreign> foreign;
+		@ForeignCollectionField
+		ForeignCollection<NoId> noIds;
 		public Lazy() {
 		}
 	}
@@ -57,4 +124,13 @@ public class LazyForeignCollectionTest extends BaseCoreTest {
 		public Foreign() {
 		}
 	}
+
+	protected static class NoId {
+		@DatabaseField(foreign = true)
+		Lazy lazy;
+		@DatabaseField
+		String stuff;
+		public NoId() {
+		}
+	}
 }
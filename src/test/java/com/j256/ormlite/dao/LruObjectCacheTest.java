@@ -2,6 +2,7 @@ package com.j256.ormlite.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
@@ -99,10 +100,41 @@ public class LruObjectCacheTest extends BaseObjectCacheTest {
 		assertSame(foo2, foo3);
 	}
 
+	@Test
+	public void testStats() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		LruObjectCache cache = new LruObjectCache(1);
+		dao.setObjectCache(cache);
+
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		assertSame(foo1, dao.queryForId(foo1.id));
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		assertNull(cache.get(Foo.class, foo1.id));
+
+		ObjectCacheStats stats = ((StatsObjectCache) dao.getObjectCache()).getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(2, stats.getPutCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(0, stats.getClearedReferenceCount());
+		assertEquals(0.5, stats.getHitRate(), 0.0);
+
+		cache.registerClass(Foo2.class);
+		cache.put(Foo2.class, 1, new Foo2());
+		assertEquals(1, cache.getStats(Foo2.class).getPutCount());
+		assertEquals(3, cache.getStatsAll().getPutCount());
+		assertEquals(0, cache.getStats(String.class).getRequestCount());
+	}
+
 	@Override
 	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
 		LruObjectCache cache = new LruObjectCache(10);
 		dao.setObjectCache(cache);
 		return cache;
 	}
+
+	protected static class Foo2 {
+	}
 }
@@ -0,0 +1,182 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DatabaseField;
+
+public class NegativeIdCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setNegativeIdCache(true);
+		NegativeIdCache cache = dao.getNegativeIdCache();
+
+		assertNull(dao.queryForId(100));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMissCount());
+		assertNull(dao.queryForId(100));
+		assertFalse(dao.idExists(100));
+		assertEquals(2, cache.getHitCount());
+
+		assertFalse(dao.idExists(101));
+		assertEquals(2, cache.size());
+		assertFalse(dao.idExists(101));
+		assertEquals(3, cache.getHitCount());
+	}
+
+	@Test
+	public void testCreate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setNegativeIdCache(true);
+		NegativeIdCache cache = dao.getNegativeIdCache();
+		assertNull(dao.queryForId(1));
+		assertNull(dao.queryForId(2));
+
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		assertEquals(1, foo.id);
+		assertNotNull(dao.queryForId(1));
+		assertTrue(dao.idExists(1));
+		// only the created id is removed
+		assertEquals(1, cache.size());
+		assertNull(dao.queryForId(2));
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testCreateOrUpdate() throws Exception {
+		Dao<Bar, Integer> dao = createDao(Bar.class, true);
+		dao.setNegativeIdCache(true);
+		NegativeIdCache cache = dao.getNegativeIdCache();
+		Bar bar = new Bar();
+		bar.id = 10;
+		assertNull(dao.queryForId(bar.id));
+		assertTrue(dao.createOrUpdate(bar).isCreated());
+		assertNotNull(dao.queryForId(bar.id));
+
+		assertFalse(dao.idExists(11));
+		assertEquals(1, cache.size());
+		bar.id = 11;
+		assertNotNull(dao.createIfNotExists(bar));
+		assertTrue(dao.idExists(11));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testUpdateId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setNegativeIdCache(true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		int oldId = foo.id;
+		assertFalse(dao.idExists(100));
+		assertEquals(1, dao.updateId(foo, 100));
+		assertTrue(dao.idExists(100));
+		assertFalse(dao.idExists(oldId));
+	}
+
+	@Test
+	public void testUpdateKeepsIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setNegativeIdCache(true);
+		NegativeIdCache cache = dao.getNegativeIdCache();
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		assertFalse(dao.idExists(100));
+		foo.val = 10;
+		assertEquals(1, dao.update(foo));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testDeleteClears() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setNegativeIdCache(true);
+		NegativeIdCache cache = dao.getNegativeIdCache();
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		assertFalse(dao.idExists(100));
+		assertEquals(1, dao.delete(foo));
+		assertEquals(0, cache.size());
+		assertFalse(dao.idExists(foo.id));
+		assertEquals(1, cache.size());
+		assertFalse(dao.idExists(100));
+		assertEquals(0, dao.deleteById(100));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testNotifyChanges() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setNegativeIdCache(true);
+		NegativeIdCache cache = dao.getNegativeIdCache();
+		assertNull(dao.queryForId(1));
+		assertEquals(1, dao.executeRaw("INSERT INTO foo (" + Foo.ID_COLUMN_NAME + ", " + Foo.VAL_COLUMN_NAME
+				+ ") VALUES (1, 1)"));
+		// raw changes are not seen
+		assertNull(dao.queryForId(1));
+		dao.notifyChanges();
+		assertEquals(0, cache.size());
+		assertNotNull(dao.queryForId(1));
+
+		// batches remove all of the ids at the end
+		assertFalse(dao.idExists(2));
+		dao.callBatchTasks(new Callable<Void>() {
+			@Override
+			public Void call() throws SQLException {
+				dao.create(new Foo());
+				return null;
+			}
+		});
+		assertTrue(dao.idExists(2));
+		assertFalse(dao.idExists(3));
+		assertEquals(1, dao.create(Arrays.asList(new Foo())));
+		assertTrue(dao.idExists(3));
+	}
+
+	@Test
+	public void testMaxIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		NegativeIdCache cache = new NegativeIdCache(2);
+		dao.setNegativeIdCache(cache);
+		for (int i = 0; i < 5; i++) {
+			assertFalse(dao.idExists(i));
+		}
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getMaxIds());
+		cache.clear();
+		assertEquals(0, cache.size());
+		dao.setNegativeIdCache(false);
+		assertNull(dao.getNegativeIdCache());
+	}
+
+	@Test
+	public void testChangeDuringLookup() {
+		NegativeIdCache cache = new NegativeIdCache();
+		long changeCount = cache.getChangeCount();
+		cache.remove(1);
+		cache.putMissing(1, changeCount);
+		assertFalse(cache.isMissing(1));
+		cache.putMissing(1, cache.getChangeCount());
+		assertTrue(cache.isMissing(1));
+	}
+
+	protected static class Bar {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+}
@@ -0,0 +1,192 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+
+public class OffHeapObjectCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		OffHeapObjectCache cache = new OffHeapObjectCache(1024 * 1024);
+		dao.setObjectCache(cache);
+
+		Foo foo = new Foo();
+		foo.val = 1234;
+		foo.stringField = "hello";
+		assertEquals(1, dao.create(foo));
+		assertEquals(1, cache.size(Foo.class));
+
+		Foo result = dao.queryForId(foo.id);
+		assertNotSame(foo, result);
+		assertEquals(foo.id, result.id);
+		assertEquals(foo.val, result.val);
+		assertEquals(foo.stringField, result.stringField);
+		assertEquals(1, cache.getHitCount());
+		// each lookup is a new instance
+		assertNotSame(result, dao.queryForId(foo.id));
+		assertEquals(2, cache.getHitCount());
+		assertTrue(cache.getAllocatedBytes() > 0);
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(new OffHeapObjectCache(1024 * 1024));
+		Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+
+		Foo update = new Foo();
+		update.id = foo.id;
+		update.val = 2;
+		assertEquals(1, dao.update(update));
+		assertEquals(2, dao.queryForId(foo.id).val);
+
+		update.val = 3;
+		dao.createOrUpdate(update);
+		assertEquals(3, dao.queryForId(foo.id).val);
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(new OffHeapObjectCache(1024 * 1024));
+		Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+
+		// change the row behind the dao's back
+		assertEquals(1, dao.updateRaw("UPDATE foo SET " + Foo.VAL_COLUMN_NAME + " = 2 WHERE " + Foo.ID_COLUMN_NAME
+				+ " = " + foo.id));
+		assertEquals(1, dao.queryForId(foo.id).val);
+		assertEquals(1, dao.refresh(foo));
+		assertEquals(2, foo.val);
+		assertEquals(2, dao.queryForId(foo.id).val);
+	}
+
+	@Test
+	public void testFieldTypes() throws Exception {
+		Dao<Stuff, Integer> dao = createDao(Stuff.class, true);
+		dao.setObjectCache(new OffHeapObjectCache(1024 * 1024));
+		Stuff stuff = new Stuff();
+		stuff.bytes = new byte[] { 1, 2, 3 };
+		stuff.date = new Date(1234567890L);
+		stuff.ourEnum = OurEnum.SECOND;
+		stuff.bool = true;
+		stuff.doubleField = 1.5;
+		assertEquals(1, dao.create(stuff));
+
+		Stuff result = dao.queryForId(stuff.id);
+		assertNotSame(stuff, result);
+		assertArrayEquals(stuff.bytes, result.bytes);
+		assertEquals(stuff.date, result.date);
+		assertEquals(stuff.ourEnum, result.ourEnum);
+		assertEquals(stuff.bool, result.bool);
+		assertEquals(stuff.doubleField, result.doubleField, 0.0);
+		assertNull(result.string);
+	}
+
+	@Test
+	public void testSegmentEviction() throws Exception {
+		OffHeapObjectCache cache = new OffHeapObjectCache(200, 100);
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(cache);
+		for (int i = 0; i < 20; i++) {
+			Foo foo = new Foo();
+			foo.stringField = "some string " + i;
+			assertEquals(1, dao.create(foo));
+		}
+		assertTrue(cache.getEvictionCount() > 0);
+		assertEquals(20, cache.size(Foo.class) + cache.getEvictionCount());
+		assertEquals(200, cache.getAllocatedBytes());
+		// the newest objects survive
+		assertNotNull(cache.get(Foo.class, 20));
+		assertNull(cache.get(Foo.class, 1));
+
+		// too big for a segment
+		Foo big = new Foo();
+		big.stringField = new String(new char[200]).replace((char) 0, 'x');
+		assertEquals(1, dao.create(big));
+		assertNull(cache.get(Foo.class, big.id));
+	}
+
+	@Test
+	public void testRemoveClearUpdateId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		OffHeapObjectCache cache = new OffHeapObjectCache(1024 * 1024);
+		dao.setObjectCache(cache);
+		Foo foo = new Foo();
+		foo.val = 10;
+		assertEquals(1, dao.create(foo));
+
+		Foo updated = cache.updateId(Foo.class, foo.id, 100);
+		assertNotNull(updated);
+		assertEquals(100, updated.id);
+		assertNull(cache.get(Foo.class, foo.id));
+		assertEquals(10, cache.get(Foo.class, 100).val);
+		assertNull(cache.updateId(Foo.class, foo.id, 101));
+
+		cache.remove(Foo.class, 100);
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(1, dao.create(new Foo()));
+		assertEquals(1, cache.sizeAll());
+		cache.clear(Foo.class);
+		assertEquals(0, cache.sizeAll());
+		assertEquals(1, dao.create(new Foo()));
+		cache.clearAll();
+		assertEquals(0, cache.sizeAll());
+
+		// not registered through a dao
+		cache.registerClass(Stuff.class);
+		cache.put(Stuff.class, 1, new Stuff());
+		assertNull(cache.get(Stuff.class, 1));
+	}
+
+	@Test
+	public void testDelete() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		OffHeapObjectCache cache = new OffHeapObjectCache(1024 * 1024);
+		dao.setObjectCache(cache);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		assertEquals(1, dao.delete(foo));
+		assertEquals(0, cache.size(Foo.class));
+		assertNull(dao.queryForId(foo.id));
+	}
+
+	protected static class Stuff {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(dataType = DataType.BYTE_ARRAY)
+		byte[] bytes;
+		@DatabaseField
+		Date date;
+		@DatabaseField
+		OurEnum ourEnum;
+		@DatabaseField
+		boolean bool;
+		@DatabaseField
+		double doubleField;
+		@DatabaseField
+		String string;
+	}
+
+	private enum OurEnum {
+		FIRST,
+		SECOND,
+		;
+	}
+}
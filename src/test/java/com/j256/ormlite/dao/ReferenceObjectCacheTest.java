@@ -2,7 +2,9 @@ package com.j256.ormlite.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -150,6 +152,105 @@ public class ReferenceObjectCacheTest extends BaseObjectCacheTest {
 		assertEquals(1, cache.size(Foo.class));
 	}
 
+	@Test
+	public void testStats() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		dao.setObjectCache(cache);
+
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		assertSame(foo, dao.queryForId(foo.id));
+		assertNull(cache.get(Foo.class, foo.id + 1));
+		int id = foo.id;
+
+		foo = null;
+		System.gc();
+		assertNull(cache.get(Foo.class, id));
+
+		ObjectCacheStats stats = ((StatsObjectCache) dao.getObjectCache()).getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(2, stats.getMissCount());
+		assertEquals(1, stats.getPutCount());
+		assertEquals(0, stats.getEvictionCount());
+		assertEquals(1, stats.getClearedReferenceCount());
+		assertEquals(stats.getPutCount(), cache.getStatsAll().getPutCount());
+	}
+
+	@Test
+	public void testCollectedRemovedByPut() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		for (int i = 0; i < 100; i++) {
+			cache.put(Foo.class, i, new Foo());
+		}
+		Foo foo = new Foo();
+		for (int i = 0; i < 100 && cache.size(Foo.class) > 1; i++) {
+			System.gc();
+			Thread.sleep(10);
+			// each put removes some of the collected entries
+			cache.put(Foo.class, 1000, foo);
+		}
+		assertEquals(1, cache.size(Foo.class));
+		assertSame(foo, cache.get(Foo.class, 1000));
+		assertEquals(100, cache.getStats(Foo.class).getClearedReferenceCount());
+	}
+
+	@Test
+	public void testCollectedRemovedAFewAtATime() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		int numFoos = ReferenceObjectCache.MAX_COLLECTED_REMOVED_PER_CALL * 3;
+		for (int i = 0; i < numFoos; i++) {
+			cache.put(Foo.class, i, new Foo());
+		}
+		System.gc();
+		Thread.sleep(10);
+		assertNull(cache.get(Foo.class, numFoos));
+		assertTrue(cache.size(Foo.class) >= numFoos - ReferenceObjectCache.MAX_COLLECTED_REMOVED_PER_CALL);
+	}
+
+	@Test
+	public void testCleanerThread() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		cache.startCleanerThread();
+		// only one thread
+		cache.startCleanerThread();
+		try {
+			for (int i = 0; i < 100; i++) {
+				cache.put(Foo.class, i, new Foo());
+			}
+			for (int i = 0; i < 100 && cache.size(Foo.class) > 0; i++) {
+				System.gc();
+				Thread.sleep(10);
+			}
+			assertEquals(0, cache.size(Foo.class));
+		} finally {
+			cache.stopCleanerThread();
+		}
+	}
+
+	@Test
+	public void testUpdateIdThenCollected() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertSame(foo, cache.updateId(Foo.class, 1, 2));
+		assertNull(cache.get(Foo.class, 1));
+		assertSame(foo, cache.get(Foo.class, 2));
+
+		foo = null;
+		for (int i = 0; i < 100 && cache.size(Foo.class) > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+			cache.get(Foo.class, 3);
+		}
+		// the entry under the new id is removed
+		assertEquals(0, cache.size(Foo.class));
+	}
+
 	@Override
 	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
 		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
@@ -0,0 +1,195 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class TinyLfuObjectCacheTest extends BaseObjectCacheTest {
+
+	@Test
+	public void testStuff() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		TinyLfuObjectCache cache = new TinyLfuObjectCache(2);
+		dao.setObjectCache(cache);
+
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		assertEquals(1, cache.size(Foo.class));
+		assertSame(foo1, dao.queryForId(foo1.id));
+
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		assertEquals(2, cache.size(Foo.class));
+		assertSame(foo2, dao.queryForId(foo2.id));
+
+		Foo foo3 = new Foo();
+		assertEquals(1, dao.create(foo3));
+		assertEquals(2, cache.size(Foo.class));
+		// the newest object always goes into the cache
+		assertSame(foo3, dao.queryForId(foo3.id));
+		assertEquals(1, cache.getEvictionCount(Foo.class));
+	}
+
+	@Test
+	public void testScanResistant() {
+		TinyLfuObjectCache cache = new TinyLfuObjectCache(10, 1);
+		cache.registerClass(Foo.class);
+		Foo[] hot = new Foo[9];
+		for (int i = 0; i < hot.length; i++) {
+			hot[i] = new Foo();
+			cache.put(Foo.class, i, hot[i]);
+		}
+		for (int count = 0; count < 5; count++) {
+			for (int i = 0; i < hot.length; i++) {
+				assertSame(hot[i], cache.get(Foo.class, i));
+			}
+		}
+		// objects used once don't push out the ones used often
+		for (int i = 1000; i < 1100; i++) {
+			cache.put(Foo.class, i, new Foo());
+		}
+		assertEquals(10, cache.size(Foo.class));
+		for (int i = 0; i < hot.length; i++) {
+			assertSame(hot[i], cache.get(Foo.class, i));
+		}
+		// the last object is in the window
+		assertNotNull(cache.get(Foo.class, 1099));
+		assertNull(cache.get(Foo.class, 1000));
+	}
+
+	@Test
+	public void testCounters() {
+		TinyLfuObjectCache cache = new TinyLfuObjectCache(1);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Foo2.class);
+		cache.put(Foo.class, 1, new Foo());
+		assertNotNull(cache.get(Foo.class, 1));
+		assertNull(cache.get(Foo.class, 2));
+		assertNull(cache.get(Foo2.class, 2));
+		cache.put(Foo.class, 2, new Foo());
+		assertNull(cache.get(Foo.class, 1));
+
+		assertEquals(1, cache.getHitCount(Foo.class));
+		assertEquals(2, cache.getMissCount(Foo.class));
+		assertEquals(1, cache.getEvictionCount(Foo.class));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(0, cache.getHitCount(Foo3.class));
+	}
+
+	@Test
+	public void testClassCapacity() {
+		TinyLfuObjectCache cache = new TinyLfuObjectCache(100);
+		cache.setCapacity(Foo2.class, 1);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Foo2.class);
+		for (int i = 0; i < 10; i++) {
+			cache.put(Foo.class, i, new Foo());
+			cache.put(Foo2.class, i, new Foo2());
+		}
+		assertEquals(10, cache.size(Foo.class));
+		assertEquals(1, cache.size(Foo2.class));
+		assertEquals(11, cache.sizeAll());
+
+		// changing the capacity of a registered class empties it
+		cache.setCapacity(Foo.class, 0);
+		assertEquals(0, cache.size(Foo.class));
+		cache.put(Foo.class, 1, new Foo());
+		assertEquals(0, cache.size(Foo.class));
+	}
+
+	@Test
+	public void testRemoveClearUpdateId() {
+		TinyLfuObjectCache cache = new TinyLfuObjectCache(10);
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertSame(foo, cache.updateId(Foo.class, 1, 2));
+		assertNull(cache.get(Foo.class, 1));
+		assertSame(foo, cache.get(Foo.class, 2));
+		assertNull(cache.updateId(Foo.class, 1, 3));
+		cache.remove(Foo.class, 2);
+		assertEquals(0, cache.size(Foo.class));
+		cache.put(Foo.class, 1, foo);
+		cache.clearAll();
+		assertEquals(0, cache.sizeAll());
+		// not registered
+		cache.put(Foo2.class, 1, new Foo2());
+		assertNull(cache.get(Foo2.class, 1));
+		assertNull(cache.updateId(Foo2.class, 1, 2));
+	}
+
+	@Test
+	public void testManyThreads() throws Exception {
+		final TinyLfuObjectCache cache = new TinyLfuObjectCache(1000);
+		cache.registerClass(Foo.class);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 8; t++) {
+			final int offset = t * 100;
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < 10000; i++) {
+							int id = offset + (i % 500);
+							Foo foo = cache.get(Foo.class, id);
+							if (foo == null) {
+								foo = new Foo();
+								foo.id = id;
+								cache.put(Foo.class, id, foo);
+							} else {
+								assertEquals(id, foo.id);
+							}
+						}
+					} catch (Throwable th) {
+						failure.set(th);
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(failure.get());
+		assertTrue(cache.size(Foo.class) <= 1000);
+		assertEquals(80000, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void testQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+
+		dao.setObjectCache(new TinyLfuObjectCache(1024));
+		Foo foo2 = dao.queryForId(foo.id);
+		assertNotSame(foo, foo2);
+		assertSame(foo2, dao.queryForId(foo.id));
+	}
+
+	@Override
+	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
+		TinyLfuObjectCache cache = new TinyLfuObjectCache(10);
+		dao.setObjectCache(cache);
+		return cache;
+	}
+
+	protected static class Foo2 {
+	}
+
+	protected static class Foo3 {
+	}
+}
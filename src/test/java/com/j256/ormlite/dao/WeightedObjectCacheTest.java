@@ -0,0 +1,151 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+
+public class WeightedObjectCacheTest extends BaseObjectCacheTest {
+
+	@Test
+	public void testFieldTypeWeigher() throws Exception {
+		Dao<Blob, Integer> dao = createDao(Blob.class, true);
+		WeightedObjectCache cache = new WeightedObjectCache(100000);
+		dao.setObjectCache(cache);
+
+		Blob small = new Blob();
+		small.bytes = new byte[10];
+		assertEquals(1, dao.create(small));
+		long smallWeight = cache.getWeight(Blob.class);
+		Blob big = new Blob();
+		big.bytes = new byte[10000];
+		assertEquals(1, dao.create(big));
+		long bigWeight = cache.getWeight(Blob.class) - smallWeight;
+		assertTrue(bigWeight >= smallWeight + 10000 - 10);
+		assertEquals(smallWeight + bigWeight, cache.getWeight());
+		assertSame(big, dao.queryForId(big.id));
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception {
+		WeightedObjectCache cache = new WeightedObjectCache(300);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Blob.class);
+		cache.setWeigher(Blob.class, new ObjectWeigher<Blob>() {
+			@Override
+			public long weigh(Blob data) {
+				return data.bytes.length;
+			}
+		});
+
+		Foo foo = new Foo();
+		// default weight
+		cache.put(Foo.class, 1, foo);
+		assertEquals(WeightedObjectCache.DEFAULT_OBJECT_WEIGHT, cache.getWeight());
+		Blob blob1 = new Blob();
+		blob1.bytes = new byte[40];
+		cache.put(Blob.class, 1, blob1);
+		assertEquals(WeightedObjectCache.DEFAULT_OBJECT_WEIGHT + 40, cache.getWeight());
+
+		// the foo was used last so the blob goes first
+		assertSame(foo, cache.get(Foo.class, 1));
+		Blob blob2 = new Blob();
+		blob2.bytes = new byte[40];
+		cache.put(Blob.class, 2, blob2);
+		assertNull(cache.get(Blob.class, 1));
+		assertSame(foo, cache.get(Foo.class, 1));
+		assertSame(blob2, cache.get(Blob.class, 2));
+		assertEquals(1, cache.getEvictionCount());
+
+		// the coldest class gives up its objects
+		Blob blob3 = new Blob();
+		blob3.bytes = new byte[200];
+		cache.put(Blob.class, 3, blob3);
+		assertNull(cache.get(Foo.class, 1));
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(2, cache.size(Blob.class));
+		assertEquals(240, cache.getWeight());
+		assertTrue(cache.getWeight() <= cache.getMaxWeight());
+	}
+
+	@Test
+	public void testTooBig() {
+		WeightedObjectCache cache = new WeightedObjectCache(100);
+		cache.registerClass(Foo.class);
+		cache.setWeigher(Foo.class, new ObjectWeigher<Foo>() {
+			@Override
+			public long weigh(Foo data) {
+				return data.val;
+			}
+		});
+		Foo foo = new Foo();
+		foo.val = 10;
+		cache.put(Foo.class, 1, foo);
+		assertNotNull(cache.get(Foo.class, 1));
+		Foo big = new Foo();
+		big.val = 101;
+		cache.put(Foo.class, 1, big);
+		// replaced by nothing
+		assertNull(cache.get(Foo.class, 1));
+		assertEquals(0, cache.getWeight());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testClearAndUpdateId() {
+		WeightedObjectCache cache = new WeightedObjectCache(10000);
+		cache.registerClass(Foo.class);
+		cache.registerClass(Blob.class);
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		cache.put(Blob.class, 1, new Blob());
+		assertSame(foo, cache.updateId(Foo.class, 1, 2));
+		assertNull(cache.updateId(Foo.class, 1, 2));
+		assertSame(foo, cache.get(Foo.class, 2));
+		assertEquals(2, cache.sizeAll());
+		cache.clear(Foo.class);
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(1, cache.size(Blob.class));
+		assertEquals(WeightedObjectCache.DEFAULT_OBJECT_WEIGHT, cache.getWeight());
+		cache.remove(Blob.class, 1);
+		assertEquals(0, cache.getWeight());
+		cache.put(Foo.class, 1, foo);
+		cache.clearAll();
+		assertEquals(0, cache.sizeAll());
+		assertEquals(0, cache.getWeight(Foo.class));
+	}
+
+	@Test
+	public void testQueryForId() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+
+		dao.setObjectCache(new WeightedObjectCache(100000));
+		Foo foo2 = dao.queryForId(foo.id);
+		assertNotSame(foo, foo2);
+		assertSame(foo2, dao.queryForId(foo.id));
+	}
+
+	@Override
+	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
+		WeightedObjectCache cache = new WeightedObjectCache(100000);
+		dao.setObjectCache(cache);
+		return cache;
+	}
+
+	protected static class Blob {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(dataType = DataType.BYTE_ARRAY)
+		byte[] bytes;
+	}
+}
@@ -12,8 +12,11 @@ import org.junit.Test;
 
 import com.j256.ormlite.BaseCoreTest;
 import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ReflectiveFieldType;
+import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.TableInfo;
 
 public class BaseSqliteDatabaseTypeTest extends BaseCoreTest {
 
@@ -58,6 +61,32 @@ public class BaseSqliteDatabaseTypeTest extends BaseCoreTest {
 		assertTrue(new OurSqliteDatabaseType().isCreateIfNotExistsSupported());
 	}
 
+	@Test
+	public void testMultiRowInsert() {
+		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
+		assertTrue(dbType.isMultiRowInsertSupported());
+		assertEquals(999, dbType.getMaxStatementArguments());
+	}
+
+	@Test
+	public void testAppendUpsert() throws Exception {
+		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
+		// older versions of Sqlite don't support upserts
+		assertFalse(dbType.isUpsertSupported());
+		dbType.setUpsertSupported(true);
+		assertTrue(dbType.isUpsertSupported());
+		TableInfo<Upsert, Integer> tableInfo = new TableInfo<Upsert, Integer>(dbType, null,
+				DatabaseTableConfig.fromClass(connectionSource, Upsert.class));
+		StringBuilder sb = new StringBuilder();
+		dbType.appendUpsert(sb, "upsert", tableInfo.getFieldTypes(), tableInfo.getIdField());
+		assertEquals("INSERT INTO `upsert` (`id`,`stuff`) VALUES (?,?) ON CONFLICT (`id`) DO UPDATE SET "
+				+ "`stuff`=excluded.`stuff`", sb.toString());
+
+		sb.setLength(0);
+		dbType.appendUpsert(sb, "upsert", new FieldType[] { tableInfo.getIdField() }, tableInfo.getIdField());
+		assertEquals("INSERT INTO `upsert` (`id`) VALUES (?) ON CONFLICT (`id`) DO NOTHING", sb.toString());
+	}
+
 	@Test
 	public void testGetFieldConverter() throws Exception {
 		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
@@ -72,6 +101,13 @@ public class BaseSqliteDatabaseTypeTest extends BaseCoreTest {
 				dbType.getFieldConverter(DataType.STRING.getDataPersister(), null));
 	}
 
+	protected static class Upsert {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+
 	private static class OurSqliteDatabaseType extends BaseSqliteDatabaseType {
 		@Override
 		public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
@@ -0,0 +1,156 @@
+package com.j256.ormlite.fast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.TableInfo;
+
+public class FastFieldTypeTest extends BaseCoreTest {
+
+	@Test
+	public void testAssignAndExtract() throws Exception {
+		DatabaseFieldConfig fieldConfig = new DatabaseFieldConfig("stuff");
+		FastFieldType fieldType =
+				new FastFieldType(connectionSource, "local", fieldConfig, Local.class, String.class, null,
+						new LocalAccessor(1));
+		assertEquals("stuff", fieldType.getColumnName());
+		assertEquals(DataType.STRING.getDataPersister(), fieldType.getDataPersister());
+		assertEquals(String.class, fieldType.getGenericType());
+
+		Local local = new Local();
+		fieldType.assignField(local, "hello", false, null);
+		assertEquals("hello", local.stuff);
+		assertEquals("hello", fieldType.extractJavaFieldValue(local));
+	}
+
+	@Test
+	public void testAccessorThrows() throws Exception {
+		DatabaseFieldConfig fieldConfig = new DatabaseFieldConfig("id");
+		FastFieldType fieldType =
+				new FastFieldType(connectionSource, "local", fieldConfig, Local.class, int.class, null,
+						new LocalAccessor(0));
+		try {
+			// can't assign null to a primitive
+			fieldType.assignField(new Local(), null, false, null);
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testDao() throws Exception {
+		Dao<Local, Integer> dao = createDao(new LocalTableConfig(), true);
+		Local local = new Local();
+		local.stuff = "pickles";
+		assertEquals(1, dao.create(local));
+		assertTrue(local.id != 0);
+
+		Local result = dao.queryForId(local.id);
+		assertNotNull(result);
+		assertEquals(local.id, result.id);
+		assertEquals(local.stuff, result.stuff);
+		for (FieldType fieldType : ((BaseDaoImpl<Local, Integer>) dao).getTableInfo()
+				.getFieldTypes()) {
+			assertEquals(FastFieldType.class, fieldType.getClass());
+		}
+	}
+
+	protected static class Local {
+		int id;
+		String stuff;
+	}
+
+	private static class LocalAccessor implements FieldAccessor {
+		private final int index;
+
+		public LocalAccessor(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public Object getValue(Object object) {
+			if (index == 0) {
+				return ((Local) object).id;
+			} else {
+				return ((Local) object).stuff;
+			}
+		}
+
+		@Override
+		public void setValue(Object object, Object value) {
+			if (index == 0) {
+				((Local) object).id = (Integer) value;
+			} else {
+				((Local) object).stuff = (String) value;
+			}
+		}
+	}
+
+	private static class LocalTableConfig extends BaseTableConfig<Local> {
+
+		private final Map<String, FieldTypeFactoryHolder> factories = new HashMap<String, FieldTypeFactoryHolder>();
+
+		public LocalTableConfig() {
+			super(Local.class, "local", buildFieldConfigs());
+			List<DatabaseFieldConfig> fieldConfigs = getFieldConfigs();
+			for (int i = 0; i < fieldConfigs.size(); i++) {
+				final int index = i;
+				final Class<?> fieldClass = (i == 0 ? int.class : String.class);
+				factories.put(fieldConfigs.get(i).getFieldName(),
+						new FieldTypeFactoryHolder(fieldConfigs.get(i), new BaseFieldTypeFactory() {
+							@Override
+							protected FieldType createFieldType(DatabaseFieldConfig config,
+									ConnectionSource connectionSource, String tableName) throws SQLException {
+								return new FastFieldType(connectionSource, tableName, config, Local.class, fieldClass,
+										null, new LocalAccessor(index));
+							}
+						}));
+			}
+		}
+
+		@Override
+		protected FieldType[] convertFieldConfigs(ConnectionSource connectionSource, List<DatabaseFieldConfig> all)
+				throws SQLException {
+			return getFieldTypes(connectionSource, getTableName(), all, factories);
+		}
+
+		@Override
+		public <ID> TableInfo<Local, ID> createTableInfo(DatabaseType databaseType, Dao<Local, ID> dao)
+				throws SQLException {
+			return new BaseFastTableInfo<Local, ID>(databaseType, dao, this) {
+				@Override
+				protected Local createEntity() {
+					return new Local();
+				}
+			};
+		}
+
+		private static List<DatabaseFieldConfig> buildFieldConfigs() {
+			List<DatabaseFieldConfig> fieldConfigs = new ArrayList<DatabaseFieldConfig>();
+			DatabaseFieldConfig config = new DatabaseFieldConfig("id");
+			config.setGeneratedId(true);
+			fieldConfigs.add(config);
+			fieldConfigs.add(new DatabaseFieldConfig("stuff"));
+			return fieldConfigs;
+		}
+	}
+}
@@ -203,6 +203,10 @@ public class DatabaseFieldConfigLoaderTest extends BaseCoreTest {
 		body.append("foreignCollectionEager=true").append(LINE_SEP);
 		checkConfigOutput(config, body, writer, buffer);
 
+		config.setForeignCollectionPrefetch(true);
+		body.append("foreignCollectionPrefetch=true").append(LINE_SEP);
+		checkConfigOutput(config, body, writer, buffer);
+
 		int maxEager = 341;
 		config.setForeignCollectionMaxEagerLevel(maxEager);
 		body.append("foreignCollectionMaxEagerLevel=").append(maxEager).append(LINE_SEP);
@@ -343,6 +347,7 @@ public class DatabaseFieldConfigLoaderTest extends BaseCoreTest {
 		// foreign collections
 		eb.append(config1.isForeignCollection(), config2.isForeignCollection());
 		eb.append(config1.isForeignCollectionEager(), config2.isForeignCollectionEager());
+		eb.append(config1.isForeignCollectionPrefetch(), config2.isForeignCollectionPrefetch());
 		eb.append(config1.getForeignCollectionOrderColumnName(), config2.getForeignCollectionOrderColumnName());
 		eb.append(config1.getForeignCollectionMaxEagerLevel(), config2.getForeignCollectionMaxEagerLevel());
 		eb.append(config1.getForeignCollectionForeignFieldName(), config2.getForeignCollectionForeignFieldName());
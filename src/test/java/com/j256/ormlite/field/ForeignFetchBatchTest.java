@@ -0,0 +1,352 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.WrappedConnectionSource;
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.dao.EagerForeignCollection;
+import com.j256.ormlite.dao.ForeignCollection;
+import com.j256.ormlite.dao.LazyForeignCollection;
+import com.j256.ormlite.dao.LruObjectCache;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.h2.H2DatabaseType;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+public class ForeignFetchBatchTest extends BaseCoreTest {
+
+	private CountingConnectionSource countingConnectionSource;
+
+	@Override
+	@Before
+	public void before() throws Exception {
+		countingConnectionSource = new CountingConnectionSource(new H2ConnectionSource());
+		connectionSource = countingConnectionSource;
+		databaseType = connectionSource.getDatabaseType();
+		DaoManager.clearCache();
+	}
+
+	@Test
+	public void testBatchForeignAutoRefresh() throws Exception {
+		Dao<Order, Integer> orderDao = createDao(Order.class, true);
+		Dao<Account, Integer> accountDao = createDao(Account.class, true);
+		Account account1 = new Account();
+		account1.name = "fwepjfewp";
+		assertEquals(1, accountDao.create(account1));
+		Account account2 = new Account();
+		account2.name = "ofewkfewop";
+		assertEquals(1, accountDao.create(account2));
+		for (int i = 0; i < 10; i++) {
+			Order order = new Order();
+			order.account = (i % 2 == 0 ? account1 : account2);
+			assertEquals(1, orderDao.create(order));
+		}
+		Order noAccount = new Order();
+		noAccount.account = new Account();
+		noAccount.account.id = account2.id + 100;
+		assertEquals(1, orderDao.create(noAccount));
+
+		// without batching each of the rows gets its own query
+		countingConnectionSource.readOnlyCount = 0;
+		List<Order> results = orderDao.queryForAll();
+		assertEquals(11, results.size());
+		assertEquals(1 + results.size(), countingConnectionSource.readOnlyCount);
+		checkOrders(results, account1, account2);
+
+		orderDao.setBatchForeignAutoRefresh(true);
+		countingConnectionSource.readOnlyCount = 0;
+		results = orderDao.queryForAll();
+		assertEquals(11, results.size());
+		// one for the orders and one for all of the accounts
+		assertEquals(2, countingConnectionSource.readOnlyCount);
+		checkOrders(results, account1, account2);
+	}
+
+	@Test
+	public void testBatchForeignAutoRefreshCache() throws Exception {
+		Dao<Order, Integer> orderDao = createDao(Order.class, true);
+		Dao<Account, Integer> accountDao = createDao(Account.class, true);
+		accountDao.setObjectCache(new LruObjectCache(10));
+		orderDao.setBatchForeignAutoRefresh(true);
+		Account account = new Account();
+		account.name = "fwepjfewp";
+		assertEquals(1, accountDao.create(account));
+		for (int i = 0; i < 3; i++) {
+			Order order = new Order();
+			order.account = account;
+			assertEquals(1, orderDao.create(order));
+		}
+
+		countingConnectionSource.readOnlyCount = 0;
+		List<Order> results = orderDao.queryForAll();
+		assertEquals(3, results.size());
+		// the account comes from the foreign cache
+		assertEquals(1, countingConnectionSource.readOnlyCount);
+		for (Order result : results) {
+			assertSame(account, result.account);
+		}
+	}
+
+	@Test
+	public void testBatchMaxForeignAutoRefreshLevel() throws Exception {
+		Dao<Order, Integer> orderDao = createDao(Order.class, true);
+		Dao<Account, Integer> accountDao = createDao(Account.class, true);
+		Dao<Owner, Integer> ownerDao = createDao(Owner.class, true);
+		ownerDao.setBatchForeignAutoRefresh(true);
+		Account account = new Account();
+		account.name = "fwepjfewp";
+		assertEquals(1, accountDao.create(account));
+		Order order = new Order();
+		order.account = account;
+		assertEquals(1, orderDao.create(order));
+		Owner owner = new Owner();
+		owner.order = order;
+		assertEquals(1, ownerDao.create(owner));
+
+		List<Owner> results = ownerDao.queryForAll();
+		assertEquals(1, results.size());
+		Order resultOrder = results.get(0).order;
+		assertNotNull(resultOrder);
+		assertEquals(order.id, resultOrder.id);
+		// the order is refreshed but the level is 1 so its account is just a shell
+		assertEquals(account.id, resultOrder.account.id);
+		assertNull(resultOrder.account.name);
+	}
+
+	@Test
+	public void testPrefetchForeignCollection() throws Exception {
+		Dao<Customer, Integer> customerDao = createDao(Customer.class, true);
+		Dao<Item, Integer> itemDao = createDao(Item.class, true);
+		int numCustomers = 5;
+		for (int i = 0; i < numCustomers; i++) {
+			Customer customer = new Customer();
+			customer.name = "customer" + i;
+			assertEquals(1, customerDao.create(customer));
+			// the last customer has no items
+			for (int j = 0; j < numCustomers - 1 - i; j++) {
+				Item item = new Item();
+				item.customer = customer;
+				item.val = j;
+				assertEquals(1, itemDao.create(item));
+			}
+		}
+
+		countingConnectionSource.readOnlyCount = 0;
+		List<Customer> results = customerDao.queryForAll();
+		// one for the customers and one for all of the items
+		assertEquals(2, countingConnectionSource.readOnlyCount);
+		assertEquals(numCustomers, results.size());
+		for (int i = 0; i < numCustomers; i++) {
+			Customer result = results.get(i);
+			assertTrue(result.items instanceof EagerForeignCollection);
+			assertEquals(numCustomers - 1 - i, result.items.size());
+			int val = numCustomers - 1 - i;
+			for (Item item : result.items) {
+				// ordered by the val descending
+				assertEquals(--val, item.val);
+				assertSame(result, item.customer);
+			}
+		}
+
+		// the collection still works like an eager collection
+		Customer customer = results.get(numCustomers - 1);
+		Item item = new Item();
+		item.val = 100;
+		assertTrue(customer.items.add(item));
+		assertEquals(1, customer.items.size());
+		assertEquals(1, customerDao.queryForId(customer.id).items.size());
+	}
+
+	@Test
+	public void testPrefetchForeignCollectionChunked() throws Exception {
+		connectionSource.setDatabaseType(new SmallArgsDatabaseType());
+		databaseType = connectionSource.getDatabaseType();
+		Dao<Customer, Integer> customerDao = createDao(Customer.class, true);
+		Dao<Item, Integer> itemDao = createDao(Item.class, true);
+		for (int i = 0; i < 5; i++) {
+			Customer customer = new Customer();
+			assertEquals(1, customerDao.create(customer));
+			Item item = new Item();
+			item.customer = customer;
+			assertEquals(1, itemDao.create(item));
+		}
+
+		countingConnectionSource.readOnlyCount = 0;
+		List<Customer> results = customerDao.queryForAll();
+		// 2 parent ids per query means 3 queries for the items
+		assertEquals(4, countingConnectionSource.readOnlyCount);
+		for (Customer result : results) {
+			assertEquals(1, result.items.size());
+		}
+	}
+
+	@Test
+	public void testPrefetchForeignCollectionSameParentId() throws Exception {
+		Dao<Customer, Integer> customerDao = createDao(Customer.class, true);
+		Dao<Item, Integer> itemDao = createDao(Item.class, true);
+		Customer customer = new Customer();
+		assertEquals(1, customerDao.create(customer));
+		for (int i = 0; i < 2; i++) {
+			Item item = new Item();
+			item.customer = customer;
+			item.val = i;
+			assertEquals(1, itemDao.create(item));
+		}
+
+		// the join returns the customer once for each of its items
+		List<Customer> results = customerDao.queryBuilder().join(itemDao.queryBuilder()).query();
+		assertEquals(2, results.size());
+		assertNotSame(results.get(0), results.get(1));
+		for (Customer result : results) {
+			assertEquals(2, result.items.size());
+			for (Item item : result.items) {
+				assertSame(result, item.customer);
+			}
+		}
+	}
+
+	@Test
+	public void testPrefetchForeignCollectionNotList() throws Exception {
+		Dao<Customer, Integer> customerDao = createDao(Customer.class, true);
+		Dao<Item, Integer> itemDao = createDao(Item.class, true);
+		Customer customer = new Customer();
+		assertEquals(1, customerDao.create(customer));
+		Item item = new Item();
+		item.customer = customer;
+		assertEquals(1, itemDao.create(item));
+
+		// without a query list the collection is eager fetched on its own
+		Customer result = customerDao.queryForId(customer.id);
+		assertTrue(result.items instanceof EagerForeignCollection);
+		assertEquals(1, result.items.size());
+		CloseableIterator<Customer> iterator = customerDao.iterator();
+		try {
+			assertEquals(1, iterator.next().items.size());
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testPrefetchMaxEagerLevel() throws Exception {
+		Dao<Node, Integer> nodeDao = createDao(Node.class, true);
+		Node root = new Node();
+		assertEquals(1, nodeDao.create(root));
+		Node child = new Node();
+		child.parent = root;
+		assertEquals(1, nodeDao.create(child));
+		Node grandChild = new Node();
+		grandChild.parent = child;
+		assertEquals(1, nodeDao.create(grandChild));
+
+		List<Node> results = nodeDao.queryBuilder().where().eq(Node.ID_FIELD, root.id).query();
+		assertEquals(1, results.size());
+		Node result = results.get(0);
+		assertTrue(result.children instanceof EagerForeignCollection);
+		assertEquals(1, result.children.size());
+		Node resultChild = result.children.iterator().next();
+		assertEquals(child.id, resultChild.id);
+		// the max eager level is 1 so the child's collection is lazy
+		assertTrue(resultChild.children instanceof LazyForeignCollection);
+		assertEquals(1, resultChild.children.size());
+	}
+
+	private void checkOrders(List<Order> results, Account account1, Account account2) {
+		for (int i = 0; i < 10; i++) {
+			Account expected = (i % 2 == 0 ? account1 : account2);
+			Account account = results.get(i).account;
+			assertEquals(expected.id, account.id);
+			assertEquals(expected.name, account.name);
+		}
+		// no matching account row so it is null just like the non-batched query
+		assertNull(results.get(10).account);
+	}
+
+	protected static class Account {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+	}
+
+	protected static class Order {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true)
+		Account account;
+	}
+
+	protected static class Owner {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true, maxForeignAutoRefreshLevel = 1)
+		Order order;
+	}
+
+	protected static class Customer {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@ForeignCollectionField(prefetch = true, orderColumnName = Item.VAL_FIELD, orderAscending = false)
+		ForeignCollection<Item> items;
+	}
+
+	protected static class Item {
+		public static final String VAL_FIELD = "val";
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true)
+		Customer customer;
+		@DatabaseField(columnName = VAL_FIELD)
+		int val;
+	}
+
+	protected static class Node {
+		public static final String ID_FIELD = "id";
+		@DatabaseField(generatedId = true, columnName = ID_FIELD)
+		int id;
+		@DatabaseField(foreign = true)
+		Node parent;
+		@ForeignCollectionField(prefetch = true)
+		ForeignCollection<Node> children;
+	}
+
+	private static class SmallArgsDatabaseType extends H2DatabaseType {
+		public SmallArgsDatabaseType() throws SQLException {
+			super();
+		}
+		@Override
+		public int getMaxStatementArguments() {
+			return 2;
+		}
+	}
+
+	private static class CountingConnectionSource extends WrappedConnectionSource {
+		int readOnlyCount;
+
+		public CountingConnectionSource(ConnectionSource cs) {
+			super(cs);
+		}
+
+		@Override
+		public DatabaseConnection getReadOnlyConnection(String tableName) throws SQLException {
+			readOnlyCount++;
+			return super.getReadOnlyConnection(tableName);
+		}
+	}
+}
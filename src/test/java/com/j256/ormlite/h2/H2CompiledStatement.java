@@ -90,6 +90,11 @@ public class H2CompiledStatement implements CompiledStatement {
 		preparedStatement.setQueryTimeout(Long.valueOf(millis).intValue() / 1000);
 	}
 
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		preparedStatement.setFetchSize(rows);
+	}
+
 	public static int sqlTypeToJdbcInt(SqlType sqlType) {
 		switch (sqlType) {
 			case STRING:
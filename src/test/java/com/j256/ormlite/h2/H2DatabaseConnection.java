@@ -10,6 +10,7 @@ import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
@@ -119,6 +120,52 @@ public class H2DatabaseConnection implements DatabaseConnection {
 		return rowN;
 	}
 
+	@Override
+	public int insertBatch(String statement, List<Object[]> argsList, FieldType[] argFieldTypes,
+			GeneratedKeyHolder keyHolder) throws SQLException {
+		if (keyHolder != null) {
+			/*
+			 * H2 only returns the key from the last row of a batch so we run the prepared statement once per row to get
+			 * each of the generated keys.
+			 */
+			PreparedStatement stmt = connection.prepareStatement(statement, Statement.RETURN_GENERATED_KEYS);
+			try {
+				int rowN = 0;
+				for (Object[] args : argsList) {
+					statementSetArgs(stmt, args, argFieldTypes);
+					rowN += stmt.executeUpdate();
+					ResultSet resultSet = stmt.getGeneratedKeys();
+					ResultSetMetaData metaData = resultSet.getMetaData();
+					if (resultSet.next()) {
+						keyHolder.addKey(getIdColumnData(resultSet, metaData, 1));
+					}
+					resultSet.close();
+				}
+				return rowN;
+			} finally {
+				stmt.close();
+			}
+		}
+		PreparedStatement stmt = connection.prepareStatement(statement);
+		try {
+			for (Object[] args : argsList) {
+				statementSetArgs(stmt, args, argFieldTypes);
+				stmt.addBatch();
+			}
+			int rowN = 0;
+			for (int rowC : stmt.executeBatch()) {
+				if (rowC > 0) {
+					rowN += rowC;
+				} else if (rowC == Statement.SUCCESS_NO_INFO) {
+					rowN++;
+				}
+			}
+			return rowN;
+		} finally {
+			stmt.close();
+		}
+	}
+
 	@Override
 	public int update(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
 		PreparedStatement stmt = connection.prepareStatement(statement);
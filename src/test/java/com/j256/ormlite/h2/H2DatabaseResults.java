@@ -98,7 +98,7 @@ public class H2DatabaseResults implements DatabaseResults {
 		if (string == null || string.length() == 0) {
 			return 0;
 		} else if (string.length() == 1) {
-			return string.charAt(columnIndex);
+			return string.charAt(0);
 		} else {
 			throw new SQLException("More than 1 character stored in database column: " + columnIndex);
 		}
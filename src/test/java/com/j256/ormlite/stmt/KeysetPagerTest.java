@@ -0,0 +1,188 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.QueryBuilder.JoinWhereOperation;
+import com.j256.ormlite.stmt.QueryBuilderTest.Bar;
+import com.j256.ormlite.stmt.QueryBuilderTest.Baz;
+
+public class KeysetPagerTest extends BaseCoreTest {
+
+	@Test
+	public void testPages() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 10);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.orderBy(Foo.VAL_COLUMN_NAME, true);
+		KeysetPager<Foo, Integer> pager = new KeysetPager<Foo, Integer>(qb, 3);
+		assertNull(pager.getCursor());
+		List<Foo> results = new ArrayList<Foo>();
+		List<Foo> page;
+		int pageCount = 0;
+		while (!(page = pager.nextPage()).isEmpty()) {
+			assertTrue(page.size() <= 3);
+			results.addAll(page);
+			pageCount++;
+		}
+		assertEquals(4, pageCount);
+		// ordered by val and then by the id
+		assertIds(new int[] { 1, 6, 2, 7, 3, 8, 4, 9, 5, 10 }, results);
+		assertEquals(foos.size(), results.size());
+	}
+
+	@Test
+	public void testDescending() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 10);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.orderBy(Foo.VAL_COLUMN_NAME, false).orderBy(Foo.ID_COLUMN_NAME, true);
+		qb.limit(4L);
+		List<Foo> results = qb.query();
+		assertIds(new int[] { 5, 10, 4, 9 }, results);
+		results = qb.pageAfter(results.get(results.size() - 1)).query();
+		assertIds(new int[] { 3, 8, 2, 7 }, results);
+		results = qb.pageAfter(results.get(results.size() - 1)).query();
+		assertIds(new int[] { 1, 6 }, results);
+	}
+
+	@Test
+	public void testWhereAndCursor() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 10);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		// the OR must not take in the page clause
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 1).or().eq(Foo.VAL_COLUMN_NAME, 3);
+		qb.orderBy(Foo.VAL_COLUMN_NAME, true);
+		KeysetPager<Foo, Integer> pager = new KeysetPager<Foo, Integer>(qb, 2);
+		assertIds(new int[] { 1, 6 }, pager.nextPage());
+		Object[] cursor = pager.getCursor();
+		assertEquals(2, cursor.length);
+
+		// carry on with a new pager
+		pager = new KeysetPager<Foo, Integer>(qb, 2);
+		pager.setCursor(cursor);
+		assertIds(new int[] { 3, 8 }, pager.nextPage());
+		assertIds(new int[] {}, pager.nextPage());
+
+		pager.setCursor(null);
+		assertIds(new int[] { 1, 6 }, pager.nextPage());
+	}
+
+	@Test
+	public void testJoin() throws Exception {
+		Dao<Bar, Integer> barDao = createDao(Bar.class, true);
+		Dao<Baz, Integer> bazDao = createDao(Baz.class, true);
+		Bar bar1 = new Bar();
+		bar1.val = 1;
+		assertEquals(1, barDao.create(bar1));
+		Bar bar2 = new Bar();
+		bar2.val = 2;
+		assertEquals(1, barDao.create(bar2));
+		for (int i = 0; i < 6; i++) {
+			Baz baz = new Baz();
+			baz.val = 10 - i;
+			baz.bar = (i % 2 == 0 ? bar1 : bar2);
+			assertEquals(1, bazDao.create(baz));
+		}
+
+		QueryBuilder<Bar, Integer> barQb = barDao.queryBuilder();
+		barQb.where().eq(Bar.VAL_FIELD, bar1.val);
+		QueryBuilder<Baz, Integer> bazQb = bazDao.queryBuilder();
+		bazQb.where().gt(Baz.VAL_FIELD, 5);
+		bazQb.orderBy(Baz.VAL_FIELD, true).join(barQb, QueryBuilder.JoinType.INNER, JoinWhereOperation.OR);
+		KeysetPager<Baz, Integer> pager = new KeysetPager<Baz, Integer>(bazQb, 2);
+		List<Integer> vals = new ArrayList<Integer>();
+		List<Baz> page;
+		while (!(page = pager.nextPage()).isEmpty()) {
+			for (Baz baz : page) {
+				vals.add(baz.val);
+			}
+		}
+		// all of the bazs except val 5 which is not over 5 and is joined to bar2
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int val : new int[] { 6, 7, 8, 9, 10 }) {
+			expected.add(val);
+		}
+		assertEquals(expected, vals);
+	}
+
+	@Test
+	public void testBadKeys() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.orderBy(Foo.VAL_COLUMN_NAME, true);
+		try {
+			qb.pageAfterKeys(1);
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		qb.reset();
+		qb.orderByRaw(Foo.VAL_COLUMN_NAME);
+		try {
+			qb.pageAfterKeys(1);
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testOrderByNotChanged() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 10);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.orderBy(Foo.VAL_COLUMN_NAME, true);
+		String statement = qb.prepareStatementString();
+		assertFalse(statement.contains(Foo.ID_COLUMN_NAME));
+
+		List<Foo> foos = qb.query();
+		qb.getPageKeys(foos.get(0));
+		KeysetPager<Foo, Integer> pager = new KeysetPager<Foo, Integer>(qb, 3);
+		assertEquals(statement, qb.prepareStatementString());
+		pager.nextPage();
+		String pageStatement = qb.prepareStatementString();
+		assertTrue(pageStatement.contains(Foo.ID_COLUMN_NAME));
+		pager.nextPage();
+
+		// stop paging
+		qb.pageAfterKeys((Object[]) null);
+		qb.limit(null);
+		assertEquals(statement, qb.prepareStatementString());
+		assertEquals(10, qb.query().size());
+	}
+
+	private List<Foo> createFoos(Dao<Foo, Integer> dao, int num) throws SQLException {
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.val = (i % 5) + 1;
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		return foos;
+	}
+
+	private void assertIds(int[] expected, List<Foo> results) {
+		assertEquals(expected.length, results.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], results.get(i).id);
+		}
+	}
+}
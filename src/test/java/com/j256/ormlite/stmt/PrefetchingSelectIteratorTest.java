@@ -0,0 +1,200 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
+
+public class PrefetchingSelectIteratorTest extends BaseCoreStmtTest {
+
+	@Test
+	public void testIterator() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		int numFoos = 20;
+		createFoos(dao, numFoos);
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.orderBy(Foo.ID_COLUMN_NAME, true);
+		CloseableIterator<Foo> iterator = dao.prefetchIterator(qb.prepare(), 3);
+		try {
+			for (int i = 0; i < numFoos; i++) {
+				assertTrue(iterator.hasNext());
+				assertTrue(iterator.hasNext());
+				Foo foo = iterator.next();
+				assertEquals(i + 1, foo.id);
+				assertSame(foo, iterator.current());
+			}
+			assertFalse(iterator.hasNext());
+			assertNull(iterator.nextThrow());
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testCloseEarly() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 20);
+
+		CloseableIterator<Foo> iterator = dao.prefetchIterator(dao.queryBuilder().prepare(), 2);
+		assertTrue(iterator.hasNext());
+		iterator.next();
+		// the background thread is waiting on the full buffer
+		Thread.sleep(100);
+		iterator.close();
+		assertFalse(iterator.hasNext());
+		iterator.close();
+		assertEquals(20, dao.countOf());
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 3);
+
+		CloseableIterator<Foo> iterator = dao.prefetchIterator(dao.queryBuilder().prepare(), 10);
+		try {
+			while (iterator.hasNext()) {
+				iterator.next();
+				iterator.remove();
+			}
+		} finally {
+			iterator.close();
+		}
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testForwardOnly() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 1);
+		CloseableIterator<Foo> iterator = dao.prefetchIterator(dao.queryBuilder().prepare(), 1);
+		try {
+			iterator.first();
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			// expected
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testException() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 5);
+
+		GenericRowMapper<Foo> rowMapper = new GenericRowMapper<Foo>() {
+			private int rowC;
+
+			@Override
+			public Foo mapRow(DatabaseResults results) throws SQLException {
+				if (++rowC > 2) {
+					throw new SQLException("bad row");
+				}
+				return new Foo();
+			}
+		};
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().prepare();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(FOO_TABLE_NAME);
+		SelectIterator<Foo, Integer> selectIterator = new SelectIterator<Foo, Integer>(Foo.class, dao, rowMapper,
+				connectionSource, connection, preparedQuery.compile(connection, StatementType.SELECT), null, null);
+		CloseableIterator<Foo> iterator = new PrefetchingSelectIterator<Foo, Integer>(Foo.class, dao, selectIterator, 1);
+		assertTrue(iterator.hasNext());
+		iterator.next();
+		iterator.next();
+		try {
+			iterator.nextThrow();
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			assertEquals("bad row", e.getCause().getMessage());
+		}
+		assertFalse(iterator.hasNext());
+		iterator.close();
+	}
+
+	@Test
+	public void testError() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 2);
+
+		GenericRowMapper<Foo> rowMapper = new GenericRowMapper<Foo>() {
+			@Override
+			public Foo mapRow(DatabaseResults results) {
+				throw new OutOfMemoryError("no more room");
+			}
+		};
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().prepare();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(FOO_TABLE_NAME);
+		SelectIterator<Foo, Integer> selectIterator = new SelectIterator<Foo, Integer>(Foo.class, dao, rowMapper,
+				connectionSource, connection, preparedQuery.compile(connection, StatementType.SELECT), null, null);
+		CloseableIterator<Foo> iterator = new PrefetchingSelectIterator<Foo, Integer>(Foo.class, dao, selectIterator, 1);
+		try {
+			iterator.nextThrow();
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			assertTrue(e.getCause() instanceof OutOfMemoryError);
+		}
+		assertFalse(iterator.hasNext());
+		iterator.close();
+	}
+
+	@Test
+	public void testCloseDuringRow() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 5);
+
+		final CountDownLatch inRow = new CountDownLatch(1);
+		final AtomicBoolean interrupted = new AtomicBoolean();
+		GenericRowMapper<Foo> rowMapper = new GenericRowMapper<Foo>() {
+			private int rowC;
+
+			@Override
+			public Foo mapRow(DatabaseResults results) {
+				if (++rowC == 2) {
+					// stands in for a slow database call
+					inRow.countDown();
+					try {
+						Thread.sleep(200);
+					} catch (InterruptedException e) {
+						interrupted.set(true);
+					}
+				}
+				return new Foo();
+			}
+		};
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().prepare();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(FOO_TABLE_NAME);
+		SelectIterator<Foo, Integer> selectIterator = new SelectIterator<Foo, Integer>(Foo.class, dao, rowMapper,
+				connectionSource, connection, preparedQuery.compile(connection, StatementType.SELECT), null, null);
+		CloseableIterator<Foo> iterator = new PrefetchingSelectIterator<Foo, Integer>(Foo.class, dao, selectIterator, 1);
+		assertTrue(inRow.await(10, TimeUnit.SECONDS));
+		// the background thread stops after the row without being interrupted
+		iterator.close();
+		assertFalse(interrupted.get());
+		assertFalse(iterator.hasNext());
+	}
+
+	private void createFoos(Dao<Foo, Integer> dao, int num) throws SQLException {
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+		}
+	}
+}
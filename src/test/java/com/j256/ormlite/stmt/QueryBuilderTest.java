@@ -7,8 +7,10 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.Serializable;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -1392,6 +1394,156 @@ public class QueryBuilderTest extends BaseCoreStmtTest {
 		assertEquals(foo.stringField, results.get(0).stringField);
 	}
 
+	@Test
+	public void testPrepareIdRanges() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		// an empty table has one range
+		List<PreparedQuery<Foo>> queries = qb.prepareIdRanges(4);
+		assertEquals(1, queries.size());
+		assertEquals(0, dao.query(queries.get(0)).size());
+
+		int numFoos = 10;
+		for (int i = 0; i < numFoos; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+		}
+		queries = qb.prepareIdRanges(3);
+		assertEquals(3, queries.size());
+		List<Integer> ids = new ArrayList<Integer>();
+		for (PreparedQuery<Foo> query : queries) {
+			CloseableIterator<Foo> iterator = dao.iterator(query);
+			try {
+				assertTrue(iterator.hasNext());
+				while (iterator.hasNext()) {
+					ids.add(iterator.next().id);
+				}
+			} finally {
+				iterator.closeQuietly();
+			}
+		}
+		assertEquals(numFoos, ids.size());
+		for (int i = 0; i < numFoos; i++) {
+			assertEquals((Integer) (i + 1), ids.get(i));
+		}
+
+		// the ranges are AND'ed with the where
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 1).or().eq(Foo.VAL_COLUMN_NAME, 8);
+		qb.orderBy(Foo.ID_COLUMN_NAME, true);
+		queries = qb.prepareIdRanges(2);
+		assertEquals(2, queries.size());
+		List<Foo> results = dao.query(queries.get(0));
+		assertEquals(1, results.size());
+		assertEquals(1, results.get(0).val);
+		results = dao.query(queries.get(1));
+		assertEquals(1, results.size());
+		assertEquals(8, results.get(0).val);
+
+		// the ids that match the where are 2 to 9
+		assertEquals(8, qb.prepareIdRanges(100).size());
+		// can't have more ranges than ids
+		qb.reset();
+		assertEquals(numFoos, qb.prepareIdRanges(100).size());
+	}
+
+	@Test
+	public void testPrepareIdRangesSpread() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		int numFoos = 10;
+		for (int i = 0; i < numFoos; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+		}
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		// the remainder is spread over the ranges
+		List<PreparedQuery<Foo>> queries = qb.prepareIdRanges(4);
+		assertEquals(4, queries.size());
+		int[] sizes = new int[] { 2, 3, 2, 3 };
+		for (int i = 0; i < sizes.length; i++) {
+			assertEquals(sizes[i], dao.query(queries.get(i)).size());
+		}
+
+		// the ranges are worked out from the ids that match the where
+		qb.where().ge(Foo.VAL_COLUMN_NAME, 5);
+		queries = qb.prepareIdRanges(2);
+		assertEquals(2, queries.size());
+		assertEquals(2, dao.query(queries.get(0)).size());
+		assertEquals(3, dao.query(queries.get(1)).size());
+
+		// none match
+		qb.where().eq(Foo.VAL_COLUMN_NAME, 100);
+		queries = qb.prepareIdRanges(2);
+		assertEquals(1, queries.size());
+		assertEquals(0, dao.query(queries.get(0)).size());
+	}
+
+	@Test
+	public void testPrepareIdRangesJoin() throws Exception {
+		Dao<Bar, Integer> barDao = createDao(Bar.class, true);
+		Dao<Baz, Integer> bazDao = createDao(Baz.class, true);
+		for (int i = 0; i < 6; i++) {
+			Bar bar = new Bar();
+			bar.val = i % 2;
+			assertEquals(1, barDao.create(bar));
+			Baz baz = new Baz();
+			baz.bar = bar;
+			assertEquals(1, bazDao.create(baz));
+		}
+		QueryBuilder<Bar, Integer> barQb = barDao.queryBuilder();
+		barQb.where().eq(Bar.VAL_FIELD, 1);
+		QueryBuilder<Baz, Integer> bazQb = bazDao.queryBuilder().join(barQb);
+		// the bazs with the odd bars have ids 2 to 6
+		List<PreparedQuery<Baz>> queries = bazQb.prepareIdRanges(5);
+		assertEquals(5, queries.size());
+		List<Integer> ids = new ArrayList<Integer>();
+		for (PreparedQuery<Baz> query : queries) {
+			for (Baz baz : bazDao.query(query)) {
+				ids.add(baz.id);
+			}
+		}
+		assertEquals(Arrays.asList(2, 4, 6), ids);
+	}
+
+	@Test
+	public void testFetchSizeAndStreaming() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		int numFoos = 10;
+		for (int i = 0; i < numFoos; i++) {
+			assertEquals(1, dao.create(new Foo()));
+		}
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		assertEquals(numFoos, qb.fetchSize(3).query().size());
+
+		qb.reset();
+		qb.streaming();
+		// the scrolling flags are replaced with forward-only results
+		CloseableIterator<Foo> iterator = dao.iterator(qb.prepare(), ResultSet.TYPE_SCROLL_INSENSITIVE);
+		try {
+			assertEquals(1, iterator.next().id);
+			try {
+				iterator.previous();
+				fail("Should have thrown");
+			} catch (SQLException e) {
+				// expected
+			}
+			int fooC = 1;
+			while (iterator.hasNext()) {
+				assertEquals(++fooC, iterator.next().id);
+			}
+			assertEquals(numFoos, fooC);
+		} finally {
+			iterator.closeQuietly();
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testPrepareIdRangesNoId() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, true);
+		dao.queryBuilder().prepareIdRanges(2);
+	}
+
 	/* ======================================================================================================== */
 
 	private static class LimitInline extends BaseDatabaseType {
@@ -0,0 +1,220 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.LruObjectCache;
+import com.j256.ormlite.field.DatabaseField;
+
+public class QueryResultCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testQuery() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		dao.setQueryResultCache(true);
+		QueryResultCache cache = dao.getQueryResultCache();
+		Foo foo1 = createFoo(dao, 1);
+		createFoo(dao, 2);
+		Foo foo3 = createFoo(dao, 1);
+
+		PreparedQuery<Foo> query = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, 1).prepare();
+		List<Foo> results = dao.query(query);
+		assertEquals(2, results.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+
+		results = dao.query(query);
+		assertEquals(2, results.size());
+		assertSame(foo1, results.get(0));
+		assertSame(foo3, results.get(1));
+		assertEquals(1, cache.getHitCount());
+
+		// a new query with the same shape and arguments
+		results = dao.query(dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, 1).prepare());
+		assertEquals(2, results.size());
+		assertEquals(2, cache.getHitCount());
+
+		// different arguments are a different query
+		assertEquals(1, dao.query(dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, 2).prepare()).size());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testSelectArg() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		dao.setQueryResultCache(true);
+		QueryResultCache cache = dao.getQueryResultCache();
+		createFoo(dao, 1);
+		createFoo(dao, 2);
+
+		SelectArg arg = new SelectArg();
+		PreparedQuery<Foo> query = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, arg).prepare();
+		arg.setValue(1);
+		assertEquals(1, dao.query(query).get(0).val);
+		arg.setValue(2);
+		assertEquals(2, dao.query(query).get(0).val);
+		arg.setValue(1);
+		assertEquals(1, dao.query(query).get(0).val);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testInvalidatedByChanges() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		dao.setQueryResultCache(true);
+		QueryResultCache cache = dao.getQueryResultCache();
+		createFoo(dao, 1);
+
+		PreparedQuery<Foo> query = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, 1).prepare();
+		assertEquals(1, dao.query(query).size());
+		createFoo(dao, 1);
+		assertEquals(0, cache.size());
+		assertEquals(2, dao.query(query).size());
+
+		Foo foo = dao.query(query).get(0);
+		foo.val = 2;
+		assertEquals(1, dao.update(foo));
+		assertEquals(1, dao.query(query).size());
+
+		dao.delete(dao.query(query));
+		assertEquals(0, dao.query(query).size());
+
+		assertEquals(0, dao.query(query).size());
+		dao.callBatchTasks(new Callable<Void>() {
+			@Override
+			public Void call() throws SQLException {
+				createFoo(dao, 1);
+				return null;
+			}
+		});
+		assertEquals(1, dao.query(query).size());
+	}
+
+	@Test
+	public void testEjectedFromObjectCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(new LruObjectCache(1));
+		dao.setQueryResultCache(true);
+		QueryResultCache cache = dao.getQueryResultCache();
+		createFoo(dao, 1);
+		createFoo(dao, 1);
+
+		PreparedQuery<Foo> query = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, 1).prepare();
+		assertEquals(2, dao.query(query).size());
+		// only one of the objects is still in the object cache so the query is run again
+		assertEquals(2, dao.query(query).size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testNotCached() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setQueryResultCache(true);
+		QueryResultCache cache = dao.getQueryResultCache();
+		createFoo(dao, 1);
+
+		// no object cache
+		PreparedQuery<Foo> query = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, 1).prepare();
+		assertEquals(1, dao.query(query).size());
+		assertEquals(0, cache.size());
+
+		// sub-queries read from other tables
+		dao.setObjectCache(true);
+		QueryBuilder<Foo, Integer> innerQb = dao.queryBuilder();
+		innerQb.selectColumns(Foo.ID_COLUMN_NAME);
+		query = dao.queryBuilder().where().in(Foo.ID_COLUMN_NAME, innerQb).prepare();
+		assertEquals(1, dao.query(query).size());
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMissCount());
+
+		dao.setQueryResultCache(false);
+		assertNull(dao.getQueryResultCache());
+	}
+
+	@Test
+	public void testRawSqlNotCached() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Dao<Foreign, Integer> foreignDao = createDao(Foreign.class, true);
+		dao.setObjectCache(true);
+		dao.setQueryResultCache(true);
+		QueryResultCache cache = dao.getQueryResultCache();
+		Foo foo1 = createFoo(dao, 1);
+		Foo foo2 = createFoo(dao, 1);
+		Foreign foreign = new Foreign();
+		foreign.foo = foo1;
+		assertEquals(1, foreignDao.create(foreign));
+
+		// the raw clause reads from another table whose changes we don't see
+		StatementShapeCache shapeCache = ((BaseDaoImpl<Foo, Integer>) dao).getTableInfo().getStatementShapeCache();
+		String raw = Foo.ID_COLUMN_NAME + " IN (SELECT " + Foreign.FOO_COLUMN_NAME + " FROM foreign)";
+		assertEquals(1, dao.query(dao.queryBuilder().where().raw(raw).prepare()).size());
+		foreign = new Foreign();
+		foreign.foo = foo2;
+		assertEquals(1, foreignDao.create(foreign));
+		long shapeHits = shapeCache.getHitCount();
+		assertEquals(2, dao.query(dao.queryBuilder().where().raw(raw).prepare()).size());
+		// the SQL is still reused
+		assertEquals(shapeHits + 1, shapeCache.getHitCount());
+
+		assertEquals(2, dao.query(dao.queryBuilder().orderByRaw(Foo.VAL_COLUMN_NAME + " DESC").prepare()).size());
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.groupBy(Foo.ID_COLUMN_NAME).having("COUNT(*) > 0");
+		assertEquals(2, dao.query(qb.prepare()).size());
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMissCount());
+
+		// without raw SQL the results are cached
+		assertEquals(2, dao.query(dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, false).prepare()).size());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testMaxQueries() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		QueryResultCache cache = new QueryResultCache(2);
+		dao.setQueryResultCache(cache);
+		for (int i = 0; i < 5; i++) {
+			dao.query(dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, i).prepare());
+		}
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getMaxQueries());
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test(expected = SQLException.class)
+	public void testNoIdField() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, true);
+		dao.setQueryResultCache(true);
+	}
+
+	private Foo createFoo(Dao<Foo, Integer> dao, int val) throws SQLException {
+		Foo foo = new Foo();
+		foo.val = val;
+		assertEquals(1, dao.create(foo));
+		return foo;
+	}
+
+	protected static class NoId {
+		@DatabaseField
+		String stuff;
+	}
+}
@@ -0,0 +1,151 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+
+public class QueryTemplateTest extends BaseCoreTest {
+
+	@Test
+	public void testQuery() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = createFoo(dao, 10, "a");
+		Foo foo2 = createFoo(dao, 20, "b");
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().ge(Foo.VAL_COLUMN_NAME, new SelectArg()).and().eq(Foo.STRING_COLUMN_NAME, new SelectArg());
+		QueryTemplate<Foo> template = qb.prepareTemplate();
+		assertEquals(2, template.getParameterCount());
+
+		List<Foo> results = template.query(dao, 0, "a");
+		assertEquals(1, results.size());
+		assertEquals(foo1.id, results.get(0).id);
+		results = template.query(dao, 15, "b");
+		assertEquals(1, results.size());
+		assertEquals(foo2.id, results.get(0).id);
+		assertEquals(0, template.query(dao, 25, "b").size());
+
+		assertEquals(foo2.id, template.queryForFirst(dao, 0, "b").id);
+		assertNull(template.queryForFirst(dao, 0, "c"));
+
+		CloseableIterator<Foo> iterator = template.iterator(dao, 0, "a");
+		try {
+			assertTrue(iterator.hasNext());
+			assertEquals(foo1.id, iterator.next().id);
+			assertFalse(iterator.hasNext());
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testWrongArgumentCount() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, new SelectArg());
+		qb.prepareTemplate().query(dao, 1, 2);
+	}
+
+	@Test
+	public void testSetArgumentsCopied() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = createFoo(dao, 10, "a");
+		createFoo(dao, 10, "b");
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		SelectArg stringArg = new SelectArg(foo1.stringField);
+		qb.where().eq(Foo.VAL_COLUMN_NAME, new SelectArg()).and().eq(Foo.STRING_COLUMN_NAME, stringArg);
+		QueryTemplate<Foo> template = qb.prepareTemplate();
+		assertEquals(1, template.getParameterCount());
+		// changing the arg after the template is built doesn't change the template
+		stringArg.setValue("b");
+
+		List<Foo> results = template.query(dao, foo1.val);
+		assertEquals(1, results.size());
+		assertEquals(foo1.id, results.get(0).id);
+	}
+
+	@Test
+	public void testNoParameters() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoo(dao, 10, "a");
+		createFoo(dao, 20, "b");
+		QueryTemplate<Foo> template = dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, true).prepareTemplate();
+		assertEquals(0, template.getParameterCount());
+		assertEquals(2, template.query(dao).size());
+		assertNotNull(template.bind().getStatement());
+	}
+
+	@Test
+	public void testSharedBetweenThreads() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final int numThreads = 4;
+		final int numBinds = 50;
+		for (int i = 0; i < numThreads; i++) {
+			createFoo(dao, i, Integer.toString(i));
+		}
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, new SelectArg());
+		final QueryTemplate<Foo> template = qb.prepareTemplate();
+
+		// the threads only bind since our test connection source can't be used by more than one thread at a time
+		List<List<PreparedQuery<Foo>>> boundQueries = new ArrayList<List<PreparedQuery<Foo>>>();
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < numThreads; i++) {
+			final int val = i;
+			final List<PreparedQuery<Foo>> queries = new ArrayList<PreparedQuery<Foo>>();
+			boundQueries.add(queries);
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < numBinds; j++) {
+							queries.add(template.bind(val));
+						}
+					} catch (Throwable th) {
+						failure.set(th);
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(failure.get());
+
+		// each of the bound queries must still have its own thread's argument
+		for (int i = 0; i < numThreads; i++) {
+			List<PreparedQuery<Foo>> queries = boundQueries.get(i);
+			assertEquals(numBinds, queries.size());
+			for (PreparedQuery<Foo> query : queries) {
+				List<Foo> results = dao.query(query);
+				assertEquals(1, results.size());
+				assertEquals(i, results.get(0).val);
+			}
+		}
+	}
+
+	private Foo createFoo(Dao<Foo, Integer> dao, int val, String stringField) throws SQLException {
+		Foo foo = new Foo();
+		foo.val = val;
+		foo.stringField = stringField;
+		assertEquals(1, dao.create(foo));
+		return foo;
+	}
+}
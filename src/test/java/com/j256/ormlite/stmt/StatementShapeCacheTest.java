@@ -0,0 +1,146 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.stmt.StatementShapeCache.CachedStatement;
+
+public class StatementShapeCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testSameShapeReused() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		foo1.val = 10;
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		foo2.val = 20;
+		assertEquals(1, dao.create(foo2));
+		StatementShapeCache shapeCache = getShapeCache(dao);
+		shapeCache.clear();
+
+		long misses = shapeCache.getMissCount();
+		long hits = shapeCache.getHitCount();
+		PreparedQuery<Foo> query1 = prepareValQuery(dao, foo1.val);
+		assertEquals(misses + 1, shapeCache.getMissCount());
+		PreparedQuery<Foo> query2 = prepareValQuery(dao, foo2.val);
+		assertEquals(misses + 1, shapeCache.getMissCount());
+		assertEquals(hits + 1, shapeCache.getHitCount());
+		assertEquals(query1.getStatement(), query2.getStatement());
+
+		// the arguments are bound to the new values
+		assertEquals(foo1.id, dao.queryForFirst(query1).id);
+		assertEquals(foo2.id, dao.queryForFirst(query2).id);
+	}
+
+	@Test
+	public void testLiteralValuesInShape() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 10;
+		assertEquals(1, dao.create(foo));
+		StatementShapeCache shapeCache = getShapeCache(dao);
+
+		PreparedQuery<Foo> query1 = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, foo.val).prepare();
+		PreparedQuery<Foo> query2 = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, foo.val + 1).prepare();
+		assertFalse(query1.getStatement().equals(query2.getStatement()));
+		assertNotNull(dao.queryForFirst(query1));
+		assertNull(dao.queryForFirst(query2));
+
+		long hits = shapeCache.getHitCount();
+		PreparedQuery<Foo> query3 = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, foo.val).prepare();
+		assertEquals(hits + 1, shapeCache.getHitCount());
+		assertEquals(query1.getStatement(), query3.getStatement());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testGroupingInShape() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		// (a OR b) AND c
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		Where<Foo, Integer> where = qb.where();
+		where.and(where.or(where.eq(Foo.VAL_COLUMN_NAME, 1), where.eq(Foo.VAL_COLUMN_NAME, 2)),
+				where.eq(Foo.ID_COLUMN_NAME, 3));
+		PreparedQuery<Foo> query1 = qb.prepare();
+		// (a OR b OR c)
+		qb = dao.queryBuilder();
+		where = qb.where();
+		where.or(where.eq(Foo.VAL_COLUMN_NAME, 1), where.eq(Foo.VAL_COLUMN_NAME, 2), where.eq(Foo.ID_COLUMN_NAME, 3));
+		PreparedQuery<Foo> query2 = qb.prepare();
+		assertFalse(query1.getStatement().equals(query2.getStatement()));
+		assertEquals(qb.prepareStatementString(), query2.getStatement());
+	}
+
+	@Test
+	public void testInSizeInShape() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		SelectArg arg1 = new SelectArg();
+		SelectArg arg2 = new SelectArg();
+		PreparedQuery<Foo> query1 =
+				dao.queryBuilder().where().in(Foo.VAL_COLUMN_NAME, Arrays.asList(arg1, arg2)).prepare();
+		PreparedQuery<Foo> query2 =
+				dao.queryBuilder().where().in(Foo.VAL_COLUMN_NAME, Arrays.asList(new SelectArg())).prepare();
+		assertFalse(query1.getStatement().equals(query2.getStatement()));
+	}
+
+	@Test
+	public void testBuilderSettingsInShape() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 10;
+		assertEquals(1, dao.create(foo));
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq(Foo.VAL_COLUMN_NAME, new SelectArg(foo.val));
+		String statement = qb.prepare().getStatement();
+		qb.orderBy(Foo.ID_COLUMN_NAME, false);
+		PreparedQuery<Foo> ordered = qb.prepare();
+		assertFalse(statement.equals(ordered.getStatement()));
+		assertEquals(qb.prepareStatementString(), ordered.getStatement());
+		qb.selectColumns(Foo.VAL_COLUMN_NAME);
+		PreparedQuery<Foo> selected = qb.prepare();
+		assertEquals(qb.prepareStatementString(), selected.getStatement());
+		Foo result = dao.queryForFirst(selected);
+		assertEquals(foo.id, result.id);
+		assertEquals(foo.val, result.val);
+
+		// count-of changes the statement type
+		assertEquals(1, dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, new SelectArg(foo.val)).countOf());
+		assertEquals(0, dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, new SelectArg(foo.val + 1)).countOf());
+	}
+
+	@Test
+	public void testMaxShapes() {
+		CachedStatement cachedStatement = new CachedStatement("SELECT 1", StatementType.SELECT_RAW, null);
+		StatementShapeCache shapeCache = new StatementShapeCache(2);
+		shapeCache.put(Arrays.<Object> asList(1), cachedStatement);
+		shapeCache.put(Arrays.<Object> asList(2), cachedStatement);
+		assertEquals(2, shapeCache.size());
+		// cleared when full
+		shapeCache.put(Arrays.<Object> asList(3), cachedStatement);
+		assertEquals(1, shapeCache.size());
+		shapeCache = new StatementShapeCache(0);
+		shapeCache.put(Arrays.<Object> asList(1), cachedStatement);
+		assertEquals(0, shapeCache.size());
+	}
+
+	private PreparedQuery<Foo> prepareValQuery(Dao<Foo, Integer> dao, int val) throws Exception {
+		return dao.queryBuilder().orderBy(Foo.ID_COLUMN_NAME, true).where().eq(Foo.VAL_COLUMN_NAME, new SelectArg(val))
+				.prepare();
+	}
+
+	private StatementShapeCache getShapeCache(Dao<Foo, Integer> dao) {
+		return ((BaseDaoImpl<Foo, Integer>) dao).getTableInfo().getStatementShapeCache();
+	}
+}
@@ -17,6 +17,7 @@ import org.junit.Test;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ReflectiveFieldType;
@@ -77,6 +78,61 @@ public class BaseMappedQueryTest extends BaseCoreStmtTest {
 		verify(results, objectCache);
 	}
 
+	@Test
+	public void testMappedQueryColumnPositionsCached() throws Exception {
+		Field field = Foo.class.getDeclaredField(Foo.ID_COLUMN_NAME);
+		String tableName = "basefoo";
+		ReflectiveFieldType[] resultFieldTypes =
+				new ReflectiveFieldType[] { ReflectiveFieldType.createFieldType(connectionSource, tableName, field, Foo.class) };
+		BaseMappedQuery<Foo, Integer> baseMappedQuery = new BaseMappedQuery<Foo, Integer>(baseFooTableInfo,
+				"select * from " + tableName, new FieldType[0], resultFieldTypes) {
+		};
+		DatabaseResults results = createMock(DatabaseResults.class);
+		int colN = 1;
+		expect(results.getObjectCacheForRetrieve()).andReturn(null).times(2);
+		expect(results.getObjectCacheForStore()).andReturn(null).times(2);
+		// the column is only looked up once for both rows
+		expect(results.findColumn(Foo.ID_COLUMN_NAME)).andReturn(colN);
+		int id1 = 63365;
+		int id2 = 63366;
+		expect(results.getInt(colN)).andReturn(id1);
+		expect(results.getInt(colN)).andReturn(id2);
+		replay(results);
+		assertEquals(id1, baseMappedQuery.mapRow(results).id);
+		assertEquals(id2, baseMappedQuery.mapRow(results).id);
+		verify(results);
+	}
+
+	@Test
+	public void testPrimitiveFields() throws Exception {
+		Dao<Primitives, Integer> dao = createDao(Primitives.class, true);
+		Primitives primitives = new Primitives();
+		primitives.bool = true;
+		primitives.boolChar = true;
+		primitives.boolInt = true;
+		primitives.b = 1;
+		primitives.c = 'x';
+		primitives.s = 2;
+		primitives.i = 3;
+		primitives.l = 4;
+		primitives.f = 5.0F;
+		primitives.d = 6.0;
+		assertEquals(1, dao.create(primitives));
+
+		Primitives result = dao.queryForId(primitives.id);
+		assertNotNull(result);
+		assertEquals(primitives.bool, result.bool);
+		assertEquals(primitives.boolChar, result.boolChar);
+		assertEquals(primitives.boolInt, result.boolInt);
+		assertEquals(primitives.b, result.b);
+		assertEquals(primitives.c, result.c);
+		assertEquals(primitives.s, result.s);
+		assertEquals(primitives.i, result.i);
+		assertEquals(primitives.l, result.l);
+		assertEquals(primitives.f, result.f, 0.0F);
+		assertEquals(primitives.d, result.d, 0.0);
+	}
+
 	@Test
 	public void testInnerQueryCacheLookup() throws Exception {
 		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
@@ -139,6 +195,34 @@ public class BaseMappedQueryTest extends BaseCoreStmtTest {
 		assertEquals(foo.text, result.text);
 	}
 
+	protected static class Primitives {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		boolean bool;
+		@DatabaseField(dataType = DataType.BOOLEAN_CHAR)
+		boolean boolChar;
+		@DatabaseField(dataType = DataType.BOOLEAN_INTEGER)
+		boolean boolInt;
+		@DatabaseField
+		byte b;
+		@DatabaseField
+		char c;
+		@DatabaseField
+		short s;
+		@DatabaseField
+		int i;
+		@DatabaseField
+		long l;
+		@DatabaseField
+		float f;
+		@DatabaseField
+		double d;
+
+		public Primitives() {
+		}
+	}
+
 	protected static class Outer {
 		public static final String SOME_STRING_FIELD_NAME = "someString";
 		@DatabaseField(generatedId = true)
@@ -12,9 +12,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.easymock.IAnswer;
 import org.easymock.internal.LastControl;
@@ -356,6 +361,178 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		assertFalse(update.readOnly.equals(result.readOnly));
 	}
 
+	@Test
+	public void testCreateCollectionGeneratedIds() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		// make sure we go through a couple of full batches and a partial one
+		dao.setCreateBatchSize(2);
+		List<GeneratedId> datas = new ArrayList<GeneratedId>();
+		for (int i = 0; i < 5; i++) {
+			GeneratedId genId = new GeneratedId();
+			genId.stuff = "stuff" + i;
+			datas.add(genId);
+		}
+		assertEquals(5, dao.create(datas));
+		Set<Integer> ids = new HashSet<Integer>();
+		for (GeneratedId genId : datas) {
+			assertTrue(ids.add(genId.genId));
+			GeneratedId result = dao.queryForId(genId.genId);
+			assertNotNull(result);
+			assertEquals(genId.stuff, result.stuff);
+		}
+	}
+
+	@Test
+	public void testCreateCollectionNoBatch() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		dao.setCreateBatchSize(0);
+		GeneratedId genId1 = new GeneratedId();
+		GeneratedId genId2 = new GeneratedId();
+		assertEquals(2, dao.create(Arrays.asList(genId1, genId2)));
+		assertFalse(genId1.genId == genId2.genId);
+		assertEquals(2, dao.countOf());
+	}
+
+	@Test
+	public void testCreateCollectionMixedAllowGeneratedIdInsert() throws Exception {
+		Dao<AllowGeneratedIdInsert, Integer> dao = createDao(AllowGeneratedIdInsert.class, true);
+		AllowGeneratedIdInsert foo1 = new AllowGeneratedIdInsert();
+		AllowGeneratedIdInsert foo2 = new AllowGeneratedIdInsert();
+		foo2.id = 10002;
+		AllowGeneratedIdInsert foo3 = new AllowGeneratedIdInsert();
+		assertEquals(3, dao.create(Arrays.asList(foo1, foo2, foo3)));
+		assertEquals(10002, foo2.id);
+		assertFalse(foo1.id == foo3.id);
+		assertNotNull(dao.queryForId(foo1.id));
+		assertNotNull(dao.queryForId(foo2.id));
+		assertNotNull(dao.queryForId(foo3.id));
+	}
+
+	@Test
+	public void testCreateCollectionWithoutKeys() throws Exception {
+		Dao<BatchVersion, Integer> dao = createDao(BatchVersion.class, true);
+		List<BatchVersion> datas = new ArrayList<BatchVersion>();
+		for (int i = 0; i < 10; i++) {
+			BatchVersion data = new BatchVersion();
+			data.id = i + 1;
+			datas.add(data);
+		}
+		assertEquals(datas.size(), dao.create(datas));
+		for (BatchVersion data : datas) {
+			// the version should have been initialized on the object
+			assertNotNull(data.version);
+			BatchVersion result = dao.queryForId(data.id);
+			assertNotNull(result);
+			assertEquals(data.version, result.version);
+		}
+	}
+
+	@Test
+	public void testCreateCollectionForeignAutoCreate() throws Exception {
+		Dao<ForeignAutoCreate, Long> foreignAutoCreateDao = createDao(ForeignAutoCreate.class, true);
+		Dao<ForeignAutoCreateForeign, Long> foreignAutoCreateForeignDao =
+				createDao(ForeignAutoCreateForeign.class, true);
+
+		ForeignAutoCreate foo1 = new ForeignAutoCreate();
+		foo1.foreign = new ForeignAutoCreateForeign();
+		ForeignAutoCreate foo2 = new ForeignAutoCreate();
+		foo2.foreign = new ForeignAutoCreateForeign();
+		assertEquals(2, foreignAutoCreateDao.create(Arrays.asList(foo1, foo2)));
+
+		assertEquals(2, foreignAutoCreateForeignDao.countOf());
+		assertFalse(foo1.foreign.id == foo2.foreign.id);
+		ForeignAutoCreate result = foreignAutoCreateDao.queryForId((long) foo2.id);
+		assertNotNull(result);
+		assertEquals(foo2.foreign.id, result.foreign.id);
+	}
+
+	@Test
+	public void testCreateBulk() throws Exception {
+		Dao<BatchVersion, Integer> dao = createDao(BatchVersion.class, true);
+		List<BatchVersion> datas = new ArrayList<BatchVersion>();
+		for (int i = 0; i < 10; i++) {
+			BatchVersion data = new BatchVersion();
+			data.id = i + 1;
+			datas.add(data);
+		}
+		assertEquals(datas.size(), dao.createBulk(datas));
+		assertEquals(datas.size(), dao.countOf());
+		for (BatchVersion data : datas) {
+			assertNotNull(data.version);
+			BatchVersion result = dao.queryForId(data.id);
+			assertNotNull(result);
+			assertEquals(data.version, result.version);
+		}
+	}
+
+	@Test
+	public void testCreateBulkGeneratedIds() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		GeneratedId genId1 = new GeneratedId();
+		genId1.stuff = "pwoejfpwef";
+		GeneratedId genId2 = new GeneratedId();
+		genId2.stuff = "fwepfjwepf";
+		// these need their keys returned so they go through the batch insert
+		assertEquals(2, dao.createBulk(Arrays.asList(genId1, genId2)));
+		assertFalse(genId1.genId == genId2.genId);
+		assertEquals(genId1.stuff, dao.queryForId(genId1.genId).stuff);
+		assertEquals(genId2.stuff, dao.queryForId(genId2.genId).stuff);
+	}
+
+	@Test
+	public void testCreateBulkForeignAutoCreate() throws Exception {
+		Dao<BulkForeignAutoCreate, Integer> dao = createDao(BulkForeignAutoCreate.class, true);
+		Dao<ForeignAutoCreateForeign, Long> foreignDao = createDao(ForeignAutoCreateForeign.class, true);
+		BulkForeignAutoCreate foo1 = new BulkForeignAutoCreate();
+		foo1.id = 1;
+		foo1.foreign = new ForeignAutoCreateForeign();
+		BulkForeignAutoCreate foo2 = new BulkForeignAutoCreate();
+		foo2.id = 2;
+		foo2.foreign = new ForeignAutoCreateForeign();
+		assertEquals(2, dao.createBulk(Arrays.asList(foo1, foo2)));
+		assertEquals(2, foreignDao.countOf());
+		assertEquals(foo1.foreign.id, dao.queryForId(foo1.id).foreign.id);
+		assertEquals(foo2.foreign.id, dao.queryForId(foo2.id).foreign.id);
+	}
+
+	@Test
+	public void testCreateBulkMaxArguments() throws Exception {
+		DatabaseType databaseType = new MultiRowDatabaseType();
+		connectionSource.setDatabaseType(databaseType);
+		TableInfo<BatchVersion, Integer> tableInfo =
+				new TableInfo<BatchVersion, Integer>(connectionSource, null, BatchVersion.class);
+		StatementExecutor<BatchVersion, Integer> se =
+				new StatementExecutor<BatchVersion, Integer>(databaseType, tableInfo, null);
+		DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+		final List<String> statements = new ArrayList<String>();
+		expect(
+				databaseConnection.insert(isA(String.class), isA(Object[].class), isA(FieldType[].class),
+						(GeneratedKeyHolder) isNull())).andAnswer(new IAnswer<Integer>() {
+			@Override
+			public Integer answer() {
+				Object[] args = getCurrentArguments();
+				statements.add((String) args[0]);
+				return ((Object[]) args[1]).length / 2;
+			}
+		}).times(3);
+		replay(databaseConnection);
+		List<BatchVersion> datas = new ArrayList<BatchVersion>();
+		for (int i = 0; i < 5; i++) {
+			BatchVersion data = new BatchVersion();
+			data.id = i + 1;
+			datas.add(data);
+		}
+		// the 2 arguments per row and the limit of 5 arguments means 2 rows per statement
+		assertEquals(5, se.createBulk(databaseConnection, datas, 100, null));
+		verify(databaseConnection);
+		assertTrue(statements.get(0).endsWith(" VALUES (?,?),(?,?)"));
+		assertTrue(statements.get(1).endsWith(" VALUES (?,?),(?,?)"));
+		assertTrue(statements.get(2).endsWith(" VALUES (?,?)"));
+		for (BatchVersion data : datas) {
+			assertNotNull(data.version);
+		}
+	}
+
 	/* ================================================================================================= */
 
 	private static class GeneratedId {
@@ -410,6 +587,20 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		String stuff;
 	}
 
+	protected static class BatchVersion {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(version = true)
+		Integer version;
+	}
+
+	protected static class BulkForeignAutoCreate {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoCreate = true)
+		public ForeignAutoCreateForeign foreign;
+	}
+
 	protected static class GeneratedIdLong {
 		@DatabaseField(generatedId = true)
 		long id;
@@ -480,4 +671,27 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 			return true;
 		}
 	}
+
+	private static class MultiRowDatabaseType extends BaseDatabaseType {
+		@Override
+		public String getDriverClassName() {
+			return "foo.bar.baz";
+		}
+		@Override
+		public String getDatabaseName() {
+			return "fake";
+		}
+		@Override
+		public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
+			return false;
+		}
+		@Override
+		public boolean isMultiRowInsertSupported() {
+			return true;
+		}
+		@Override
+		public int getMaxStatementArguments() {
+			return 5;
+		}
+	}
 }
@@ -0,0 +1,113 @@
+package com.j256.ormlite.stmt.mapped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.LruObjectCache;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2DatabaseType;
+
+public class MappedQueryForIdsTest extends BaseCoreTest {
+
+	@Test
+	public void testQueryForIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.stringField = "stuff" + i;
+			assertEquals(1, dao.create(foo));
+			ids.add(foo.id);
+		}
+		// one that doesn't exist
+		ids.add(ids.get(ids.size() - 1) + 100);
+
+		Map<Integer, Foo> results = dao.queryForIds(ids);
+		assertEquals(5, results.size());
+		for (int i = 0; i < 5; i++) {
+			Foo result = results.get(ids.get(i));
+			assertEquals("stuff" + i, result.stringField);
+		}
+		assertFalse(results.containsKey(ids.get(5)));
+
+		assertTrue(dao.queryForIds(Collections.<Integer> emptyList()).isEmpty());
+	}
+
+	@Test
+	public void testQueryForIdsCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		// created before the cache is enabled so it isn't in the cache
+		dao.setObjectCache(new LruObjectCache(10));
+		Foo foo3 = new Foo();
+		assertEquals(1, dao.create(foo3));
+
+		Map<Integer, Foo> results = dao.queryForIds(Arrays.asList(foo1.id, foo2.id, foo3.id));
+		assertEquals(3, results.size());
+		// this comes from the cache
+		assertSame(foo3, results.get(foo3.id));
+		// the others are queried for and then put into the cache
+		Foo result1 = results.get(foo1.id);
+		assertNotSame(foo1, result1);
+		assertSame(result1, dao.queryForId(foo1.id));
+		assertSame(results.get(foo2.id), dao.queryForId(foo2.id));
+	}
+
+	@Test
+	public void testQueryForIdsChunked() throws Exception {
+		connectionSource.setDatabaseType(new SmallArgsDatabaseType());
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Integer> ids = new ArrayList<Integer>();
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			ids.add(foo.id);
+		}
+		// duplicates should be ignored
+		ids.add(ids.get(0));
+		Map<Integer, Foo> results = dao.queryForIds(ids);
+		assertEquals(5, results.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, results.get(ids.get(i)).val);
+		}
+	}
+
+	@Test(expected = SQLException.class)
+	public void testQueryForIdsNoId() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, true);
+		dao.queryForIds(Arrays.<Void> asList((Void) null));
+	}
+
+	protected static class NoId {
+		@DatabaseField
+		String stuff;
+	}
+
+	private static class SmallArgsDatabaseType extends H2DatabaseType {
+		public SmallArgsDatabaseType() throws SQLException {
+			super();
+		}
+		@Override
+		public int getMaxStatementArguments() {
+			return 2;
+		}
+	}
+}
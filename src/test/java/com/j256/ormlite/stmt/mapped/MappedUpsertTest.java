@@ -0,0 +1,201 @@
+package com.j256.ormlite.stmt.mapped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
+import com.j256.ormlite.dao.LruObjectCache;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2DatabaseType;
+import com.j256.ormlite.table.TableInfo;
+
+public class MappedUpsertTest extends BaseCoreTest {
+
+	@Override
+	@Before
+	public void before() throws Exception {
+		super.before();
+		databaseType = new UpsertDatabaseType();
+		connectionSource.setDatabaseType(databaseType);
+	}
+
+	@Test
+	public void testBuild() throws Exception {
+		MappedUpsert<NaturalId, String> mappedUpsert =
+				MappedUpsert.build(databaseType,
+						new TableInfo<NaturalId, String>(connectionSource, null, NaturalId.class));
+		assertEquals("MappedStatement: MERGE INTO `naturalid` (`name`,`stuff`) KEY (`name`) VALUES (?,?)",
+				mappedUpsert.toString());
+	}
+
+	@Test
+	public void testCreateOrUpdate() throws Exception {
+		Dao<NaturalId, String> dao = createDao(NaturalId.class, true);
+		NaturalId foo = new NaturalId();
+		foo.name = "pwojfe";
+		foo.stuff = "wpeofjwpe";
+		// a single object still goes through the query-by-id so we know which was done
+		CreateOrUpdateStatus status = dao.createOrUpdate(foo);
+		assertEquals(1, status.getNumLinesChanged());
+		assertTrue(status.isCreated());
+		assertFalse(status.isUpdated());
+		assertEquals(foo.stuff, dao.queryForId(foo.name).stuff);
+
+		foo.stuff = "new stuff";
+		status = dao.createOrUpdate(foo);
+		assertEquals(1, status.getNumLinesChanged());
+		assertTrue(status.isUpdated());
+		assertEquals(1, dao.countOf());
+		assertEquals(foo.stuff, dao.queryForId(foo.name).stuff);
+	}
+
+	@Test
+	public void testCreateOrUpdateAllNaturalId() throws Exception {
+		Dao<NaturalId, String> dao = createDao(NaturalId.class, true);
+		NaturalId foo = new NaturalId();
+		foo.name = "pwojfe";
+		foo.stuff = "wpeofjwpe";
+		assertEquals(1, dao.createOrUpdateAll(Arrays.asList(foo)));
+		assertEquals(foo.stuff, dao.queryForId(foo.name).stuff);
+
+		NaturalId bar = new NaturalId();
+		bar.name = "wegwe";
+		foo.stuff = "new stuff";
+		assertEquals(2, dao.createOrUpdateAll(Arrays.asList(foo, bar)));
+		assertEquals(2, dao.countOf());
+		assertEquals(foo.stuff, dao.queryForId(foo.name).stuff);
+	}
+
+	@Test
+	public void testCreateOrUpdateGeneratedId() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		GeneratedId foo = new GeneratedId();
+		foo.stuff = "wpeofjwpe";
+		// no id yet so it has to be created to get one
+		CreateOrUpdateStatus status = dao.createOrUpdate(foo);
+		assertTrue(status.isCreated());
+		assertTrue(foo.id != 0);
+
+		foo.stuff = "new stuff";
+		assertEquals(1, dao.createOrUpdate(foo).getNumLinesChanged());
+		assertEquals(1, dao.countOf());
+		assertEquals(foo.stuff, dao.queryForId(foo.id).stuff);
+	}
+
+	@Test
+	public void testCreateOrUpdateVersion() throws Exception {
+		Dao<VersionId, String> dao = createDao(VersionId.class, true);
+		VersionId foo = new VersionId();
+		foo.name = "pwojfe";
+		// version fields go through the create or update
+		assertTrue(dao.createOrUpdate(foo).isCreated());
+		int version = foo.version;
+		assertTrue(dao.createOrUpdate(foo).isUpdated());
+		assertEquals(version + 1, foo.version);
+	}
+
+	@Test
+	public void testCreateOrUpdateAll() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		dao.setCreateBatchSize(2);
+		GeneratedId existing = new GeneratedId();
+		existing.stuff = "old";
+		assertEquals(1, dao.create(existing));
+
+		List<GeneratedId> datas = new ArrayList<GeneratedId>();
+		existing.stuff = "updated";
+		datas.add(existing);
+		for (int i = 0; i < 4; i++) {
+			GeneratedId foo = new GeneratedId();
+			foo.stuff = "stuff" + i;
+			datas.add(foo);
+		}
+		assertEquals(datas.size(), dao.createOrUpdateAll(datas));
+		assertEquals(datas.size(), dao.countOf());
+		for (GeneratedId foo : datas) {
+			assertTrue(foo.id != 0);
+			assertEquals(foo.stuff, dao.queryForId(foo.id).stuff);
+		}
+	}
+
+	@Test
+	public void testUpdatesCache() throws Exception {
+		Dao<NaturalId, String> dao = createDao(NaturalId.class, true);
+		dao.setObjectCache(new LruObjectCache(10));
+		NaturalId foo = new NaturalId();
+		foo.name = "pwojfe";
+		foo.stuff = "wpeofjwpe";
+		assertEquals(1, dao.create(foo));
+		NaturalId cached = dao.queryForId(foo.name);
+		assertSame(foo, cached);
+
+		NaturalId other = new NaturalId();
+		other.name = foo.name;
+		other.stuff = "different";
+		assertEquals(1, dao.createOrUpdateAll(Arrays.asList(other)));
+		assertEquals(other.stuff, foo.stuff);
+	}
+
+	@Test
+	public void testNotUpsertable() throws Exception {
+		assertTrue(MappedUpsert.isUpsertable(databaseType, new TableInfo<NaturalId, String>(connectionSource, null,
+				NaturalId.class)));
+		assertFalse(MappedUpsert.isUpsertable(databaseType, new TableInfo<VersionId, String>(connectionSource, null,
+				VersionId.class)));
+		assertFalse(MappedUpsert.isUpsertable(databaseType, new TableInfo<NoId, Void>(connectionSource, null,
+				NoId.class)));
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBuildNoId() throws Exception {
+		MappedUpsert.build(databaseType, new TableInfo<NoId, Void>(connectionSource, null, NoId.class));
+	}
+
+	protected static class NaturalId {
+		@DatabaseField(id = true)
+		String name;
+		@DatabaseField
+		String stuff;
+	}
+
+	protected static class GeneratedId {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+
+	protected static class VersionId {
+		@DatabaseField(id = true)
+		String name;
+		@DatabaseField(version = true)
+		int version;
+	}
+
+	protected static class NoId {
+		@DatabaseField
+		String stuff;
+	}
+
+	private static class UpsertDatabaseType extends H2DatabaseType {
+		public UpsertDatabaseType() throws SQLException {
+			super();
+		}
+		@Override
+		public boolean isUpsertSupported() {
+			return true;
+		}
+	}
+}
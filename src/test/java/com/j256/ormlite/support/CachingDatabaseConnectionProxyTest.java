@@ -0,0 +1,223 @@
+package com.j256.ormlite.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+public class CachingDatabaseConnectionProxyTest extends BaseCoreTest {
+
+	private CachingDatabaseConnectionProxy lastProxy;
+
+	@Override
+	@Before
+	public void before() throws Exception {
+		H2ConnectionSource.setDatabaseConnectionProxyFactory(new CachingDatabaseConnectionProxyFactory(2) {
+			@Override
+			public DatabaseConnection createProxy(DatabaseConnection realConnection) throws SQLException {
+				lastProxy = (CachingDatabaseConnectionProxy) super.createProxy(realConnection);
+				return lastProxy;
+			}
+		});
+		super.before();
+	}
+
+	@Override
+	@After
+	public void after() throws Exception {
+		super.after();
+		H2ConnectionSource.setDatabaseConnectionProxyFactory(null);
+	}
+
+	@Test
+	public void testCachesStatements() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+		CachingDatabaseConnectionProxy proxy = getProxy();
+
+		long misses = proxy.getMissCount();
+		long hits = proxy.getHitCount();
+		assertEquals(1, dao.queryForAll().size());
+		assertEquals(misses + 1, proxy.getMissCount());
+		assertEquals(hits, proxy.getHitCount());
+		assertEquals(1, dao.queryForAll().size());
+		assertEquals(1, dao.queryForAll().size());
+		assertEquals(misses + 1, proxy.getMissCount());
+		assertEquals(hits + 2, proxy.getHitCount());
+
+		// same sql with a different argument value reuses the statement
+		SelectArg arg = new SelectArg();
+		PreparedQuery<Foo> query = dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, arg).prepare();
+		arg.setValue(foo.val);
+		assertEquals(1, dao.query(query).size());
+		arg.setValue(foo.val + 1);
+		assertEquals(0, dao.query(query).size());
+		assertEquals(misses + 2, proxy.getMissCount());
+		assertEquals(hits + 3, proxy.getHitCount());
+	}
+
+	@Test
+	public void testIteratorCloseReturnsStatement() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertEquals(1, dao.create(new Foo()));
+		assertEquals(1, dao.create(new Foo()));
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		proxy.closeCachedStatements();
+		assertEquals(0, proxy.getCachedStatementCount());
+
+		CloseableIterator<Foo> iterator = dao.iterator();
+		assertTrue(iterator.hasNext());
+		// nested use of the same sql needs its own statement
+		CloseableIterator<Foo> inner = dao.iterator();
+		assertNotNull(inner.next());
+		inner.close();
+		assertEquals(1, proxy.getCachedStatementCount());
+		assertNotNull(iterator.next());
+		iterator.close();
+		// the extra statement is closed instead of being cached twice
+		assertEquals(1, proxy.getCachedStatementCount());
+
+		long hits = proxy.getHitCount();
+		iterator = dao.iterator();
+		assertEquals(0, proxy.getCachedStatementCount());
+		iterator.close();
+		assertEquals(hits + 1, proxy.getHitCount());
+		assertEquals(1, proxy.getCachedStatementCount());
+	}
+
+	@Test
+	public void testMaxRowsPartOfKey() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertEquals(1, dao.create(new Foo()));
+		assertEquals(1, dao.create(new Foo()));
+		PreparedQuery<Foo> query = dao.queryBuilder().prepare();
+		// query-for-first sets the max-rows to 1
+		assertNotNull(dao.queryForFirst(query));
+		assertEquals(2, dao.query(query).size());
+		assertNotNull(dao.queryForFirst(query));
+		assertEquals(2, dao.query(query).size());
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		assertEquals(2, proxy.getCachedStatementCount());
+	}
+
+	@Test
+	public void testFetchSizePartOfKey() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertEquals(1, dao.create(new Foo()));
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		proxy.closeCachedStatements();
+		assertEquals(1, dao.queryBuilder().query().size());
+		assertEquals(1, dao.queryBuilder().fetchSize(10).query().size());
+		assertEquals(1, dao.queryBuilder().fetchSize(10).query().size());
+		assertEquals(2, proxy.getCachedStatementCount());
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertEquals(1, dao.create(new Foo()));
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		proxy.closeCachedStatements();
+		long evictions = proxy.getEvictionCount();
+		for (int i = 0; i < 3; i++) {
+			assertEquals(1, dao.queryBuilder().where().ge(Foo.VAL_COLUMN_NAME, -i).query().size());
+		}
+		assertEquals(2, proxy.getCachedStatementCount());
+		assertEquals(evictions + 1, proxy.getEvictionCount());
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		createDao(Foo.class, true);
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		CompiledStatement stmt =
+				proxy.compileStatement("select 1", StatementType.SELECT_RAW, null,
+						DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		assertEquals(1, stmt.getColumnCount());
+		proxy.close();
+		assertEquals(0, proxy.getCachedStatementCount());
+		// statements returned after the close are closed
+		stmt.close();
+		assertEquals(0, proxy.getCachedStatementCount());
+	}
+
+	@Test
+	public void testDaoMethodsUseCache() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		proxy.closeCachedStatements();
+
+		long misses = proxy.getMissCount();
+		long hits = proxy.getHitCount();
+		for (int i = 0; i < 3; i++) {
+			Foo result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(i, result.val);
+			foo.val = i + 1;
+			assertEquals(1, dao.update(foo));
+		}
+		assertNull(dao.queryForId(foo.id + 1));
+		assertEquals(1, dao.delete(foo));
+		assertNull(dao.queryForId(foo.id));
+		// one for the query-for-id, one for the update, and one for the delete
+		assertEquals(misses + 3, proxy.getMissCount());
+		assertEquals(hits + 6, proxy.getHitCount());
+	}
+
+	@Test
+	public void testInsertWithoutGeneratedKey() throws Exception {
+		Dao<NaturalId, Integer> dao = createDao(NaturalId.class, true);
+		CachingDatabaseConnectionProxy proxy = getProxy();
+		proxy.closeCachedStatements();
+
+		long misses = proxy.getMissCount();
+		long hits = proxy.getHitCount();
+		for (int i = 0; i < 3; i++) {
+			NaturalId naturalId = new NaturalId();
+			naturalId.id = i;
+			assertEquals(1, dao.create(naturalId));
+		}
+		assertEquals(misses + 1, proxy.getMissCount());
+		assertEquals(hits + 2, proxy.getHitCount());
+		assertEquals(3, dao.countOf());
+
+		// inserts with generated keys go to the real connection
+		Dao<Foo, Integer> fooDao = createDao(Foo.class, true);
+		misses = proxy.getMissCount();
+		hits = proxy.getHitCount();
+		Foo foo = new Foo();
+		assertEquals(1, fooDao.create(foo));
+		assertTrue(foo.id != 0);
+		assertEquals(misses, proxy.getMissCount());
+		assertEquals(hits, proxy.getHitCount());
+	}
+
+	private CachingDatabaseConnectionProxy getProxy() {
+		assertNotNull(lastProxy);
+		return lastProxy;
+	}
+
+	protected static class NaturalId {
+		@DatabaseField(id = true)
+		int id;
+	}
+}